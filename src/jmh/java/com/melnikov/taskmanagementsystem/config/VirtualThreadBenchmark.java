@@ -0,0 +1,80 @@
+package com.melnikov.taskmanagementsystem.config;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares request handling on Tomcat's default 200 platform threads with one virtual thread per
+ * request. Each simulated request does a little CPU work, then blocks for a simulated query while
+ * holding one of {@code poolSize} connections, the way a request holds a Hikari connection.
+ * Reports the time to drain a burst of {@code concurrency} simultaneous requests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VirtualThreadBenchmark {
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"1000", "10000"})
+    private int concurrency;
+
+    @Param({"10", "50", "500"})
+    private int poolSize;
+
+    @Param({"2"})
+    private long queryMillis;
+
+    private ExecutorService executor;
+
+    private Semaphore connections;
+
+    @Setup
+    public void setUp() {
+        // 200 is server.tomcat.threads.max
+        executor = "virtual".equals(threads) ? Executors.newVirtualThreadPerTaskExecutor() : Executors.newFixedThreadPool(200);
+        connections = new Semaphore(poolSize, true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public void burst(Blackhole blackhole) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            executor.execute(() -> {
+                try {
+                    Blackhole.consumeCPU(2_000);
+                    connections.acquire();
+                    try {
+                        Thread.sleep(queryMillis);
+                    }
+                    finally {
+                        connections.release();
+                    }
+                    blackhole.consume(done);
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+}
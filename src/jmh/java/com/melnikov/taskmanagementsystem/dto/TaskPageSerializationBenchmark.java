@@ -0,0 +1,59 @@
+package com.melnikov.taskmanagementsystem.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.melnikov.taskmanagementsystem.model.utils.Priority;
+import com.melnikov.taskmanagementsystem.model.utils.Status;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskPageSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+
+    private Page<TaskDTO> page;
+
+    @Setup
+    public void setUp() {
+        // same modules and defaults the application's mapper gets from Spring Boot
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<TaskDTO> tasks = new ArrayList<>(pageSize);
+        for (long i = 0; i < pageSize; i++) {
+            TaskDTO taskDTO = new TaskDTO();
+            taskDTO.setId(i + 1);
+            taskDTO.setTitle("Task " + i);
+            taskDTO.setDescription("Description of task " + i);
+            taskDTO.setStatus(Status.PENDING);
+            taskDTO.setPriority(Priority.MEDIUM);
+            taskDTO.setAuthorId(1L);
+            taskDTO.setAssigneeId(2L);
+            taskDTO.setCommentCount((int) (i % 7));
+            taskDTO.setLastActivityAt(Instant.now());
+            tasks.add(taskDTO);
+        }
+        page = new PageImpl<>(tasks, PageRequest.of(0, pageSize), 10_000);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
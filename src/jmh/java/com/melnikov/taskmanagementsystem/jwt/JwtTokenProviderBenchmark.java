@@ -0,0 +1,42 @@
+package com.melnikov.taskmanagementsystem.jwt;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private JwtTokenProvider jwtTokenProvider;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(username -> null);
+        jwtTokenProvider.setSecretKey("benchmark_jwt_secret");
+        jwtTokenProvider.setValidityInMilliseconds(3600000);
+        jwtTokenProvider.init();
+        token = jwtTokenProvider.createToken("user@example.com", "ROLE_USER");
+    }
+
+    @Benchmark
+    public String createToken() {
+        return jwtTokenProvider.createToken("user@example.com", "ROLE_USER");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtTokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public String getUsername() {
+        return jwtTokenProvider.getUsername(token);
+    }
+}
@@ -0,0 +1,76 @@
+package com.melnikov.taskmanagementsystem.service;
+
+import com.melnikov.taskmanagementsystem.dto.CommentWindowDTO;
+import com.melnikov.taskmanagementsystem.dto.TaskDTO;
+import com.melnikov.taskmanagementsystem.model.Comment;
+import com.melnikov.taskmanagementsystem.model.Task;
+import com.melnikov.taskmanagementsystem.model.User;
+import com.melnikov.taskmanagementsystem.model.utils.Priority;
+import com.melnikov.taskmanagementsystem.model.utils.Status;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskConversionBenchmark {
+
+    @Param({"0", "20", "200", "2000"})
+    private int commentCount;
+
+    private static final int COMMENT_WINDOW = 20;
+
+    private Task task;
+
+    // what the repository returns for the first window of the task detail: newest first, one extra row
+    private List<Comment> newestComments;
+
+    @Setup
+    public void setUp() {
+        User author = new User();
+        author.setId(1L);
+        author.setEmail("author@example.com");
+        User assignee = new User();
+        assignee.setId(2L);
+        assignee.setEmail("assignee@example.com");
+
+        task = new Task();
+        task.setId(1L);
+        task.setTitle("Benchmark task");
+        task.setDescription("Task used to measure DTO conversion");
+        task.setStatus(Status.IN_PROGRESS);
+        task.setPriority(Priority.HIGH);
+        task.setAuthor(author);
+        task.setAssignee(assignee);
+        task.setCommentCount(commentCount);
+        task.setLastActivityAt(Instant.now());
+        for (long i = 0; i < commentCount; i++) {
+            Comment comment = new Comment();
+            comment.setId(i + 1);
+            comment.setText("Comment number " + i);
+            comment.setTask(task);
+            comment.setAuthor(i % 2 == 0 ? author : assignee);
+            task.getComments().add(comment);
+        }
+        newestComments = new ArrayList<>(task.getComments().subList(Math.max(0, commentCount - COMMENT_WINDOW - 1), commentCount));
+        Collections.reverse(newestComments);
+    }
+
+    @Benchmark
+    public TaskDTO convertToSummaryDTO() {
+        return TaskService.convertToSummaryDTO(task);
+    }
+
+    @Benchmark
+    public CommentWindowDTO firstCommentWindow() {
+        return CommentService.toWindow(newestComments, COMMENT_WINDOW, CommentService::convertToDTO);
+    }
+}
@@ -0,0 +1,393 @@
+package com.melnikov.taskmanagementsystem.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Open-model load generator for a running instance of the application.
+ *
+ * <p>Requests are issued at a fixed arrival rate and each latency is measured from the moment the
+ * request was <em>scheduled</em> to start, not from when it was actually sent, so a stalled server
+ * (or a stalled generator) shows up in the percentiles instead of silently lowering the rate
+ * (no coordinated omission). Run with {@code mvn -Ploadtest -DskipTests verify}; every setting is a
+ * {@code -Dloadtest.*} system property, see {@link Settings}.
+ *
+ * <p>Writes per-endpoint percentile distributions ({@code <endpoint>.hgrm}), a per-second interval
+ * log ({@code latency.hlog}) and {@code summary.json} to the output directory.
+ */
+public final class LoadTest {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private static final String[] STATUSES = {"PENDING", "IN_PROGRESS", "COMPLETED"};
+
+    private final Settings settings;
+
+    private final HttpClient httpClient;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Random random;
+
+    private final List<Long> taskIds = new ArrayList<>();
+
+    private String token;
+
+    private long userId;
+
+    private LoadTest(Settings settings, ExecutorService executor) {
+        this.settings = settings;
+        this.random = new Random(settings.randomSeed);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(executor)
+                .connectTimeout(settings.timeout)
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.fromSystemProperties();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            LoadTest loadTest = new LoadTest(settings, executor);
+            loadTest.signIn();
+            loadTest.seedTasks();
+            loadTest.run();
+        }
+    }
+
+    private void signIn() throws IOException, InterruptedException {
+        JsonNode auth = send(post("/auth/signin", Map.of("email", settings.email, "password", settings.password)));
+        token = auth.get("token").asText();
+        userId = send(get("/api/users/email/" + settings.email)).get("id").asLong();
+        System.out.printf("Signed in as %s (user %d)%n", settings.email, userId);
+    }
+
+    private void seedTasks() throws IOException, InterruptedException {
+        for (int i = 0; i < settings.seedTasks; i++) {
+            Map<String, Object> task = Map.of("title", "Load test task " + i, "description", "Created by the load test",
+                    "status", "PENDING", "priority", "MEDIUM", "authorId", userId, "assigneeId", userId);
+            taskIds.add(send(post("/api/tasks", task)).get("id").asLong());
+        }
+        System.out.printf("Seeded %d tasks%n", taskIds.size());
+    }
+
+    private void run() throws IOException {
+        Map<String, Operation> operations = operations();
+        Operation[] schedule = weightedSchedule(operations);
+
+        Files.createDirectories(settings.output);
+        ScheduledExecutorService intervalLogger = Executors.newSingleThreadScheduledExecutor();
+        try (PrintStream hlog = new PrintStream(Files.newOutputStream(settings.output.resolve("latency.hlog")))) {
+            HistogramLogWriter logWriter = new HistogramLogWriter(hlog);
+            long startMillis = System.currentTimeMillis();
+            logWriter.outputStartTime(startMillis);
+            logWriter.setBaseTime(startMillis);
+            logWriter.outputLegend();
+            intervalLogger.scheduleAtFixedRate(() -> flushIntervals(operations, logWriter), 1, 1, TimeUnit.SECONDS);
+
+            drive(schedule);
+
+            intervalLogger.shutdown();
+            awaitQuietly(intervalLogger);
+            flushIntervals(operations, logWriter);
+        }
+        report(operations);
+    }
+
+    private void drive(Operation[] schedule) {
+        long intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / settings.rate));
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup.toNanos();
+        long end = measureFrom + settings.duration.toNanos();
+        AtomicInteger inFlight = new AtomicInteger();
+        System.out.printf("Driving %.1f req/s for %s after %s warmup%n", settings.rate, settings.duration, settings.warmup);
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long now;
+            while ((now = System.nanoTime()) < intended) {
+                LockSupport.parkNanos(intended - now);
+            }
+
+            Operation operation = schedule[random.nextInt(schedule.length)];
+            boolean measured = intended >= measureFrom;
+            if (inFlight.get() >= settings.maxInFlight) {
+                // the generator itself is saturated, count it rather than queueing without bound
+                if (measured) {
+                    operation.dropped.increment();
+                }
+                continue;
+            }
+            HttpRequest request = operation.request.apply(random);
+            inFlight.incrementAndGet();
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                inFlight.decrementAndGet();
+                if (!measured) {
+                    return;
+                }
+                long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended);
+                operation.recorder.recordValue(Math.min(latencyMicros, HIGHEST_TRACKABLE_MICROS));
+                if (error != null || response.statusCode() >= 400) {
+                    operation.errors.increment();
+                }
+                if (error == null && response.statusCode() == 429) {
+                    operation.throttled.increment();
+                }
+            });
+        }
+
+        // let in-flight requests finish so their latencies are recorded
+        long deadline = System.nanoTime() + settings.timeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+
+    private Map<String, Operation> operations() {
+        Map<String, Function<Random, HttpRequest>> requests = new LinkedHashMap<>();
+        requests.put("getTask", r -> get("/api/tasks/" + randomTaskId(r)));
+        requests.put("listTasks", r -> get("/api/tasks?size=20&page=" + r.nextInt(5) + "&sort=lastActivityAt,desc"));
+        requests.put("getComments", r -> get("/api/comments/task/" + randomTaskId(r) + "?size=20"));
+        requests.put("updateStatus", r -> put("/api/tasks/" + randomTaskId(r) + "/status",
+                Map.of("status", STATUSES[r.nextInt(STATUSES.length)])));
+        requests.put("createComment", r -> post("/api/comments",
+                Map.of("text", "Load test comment", "taskId", randomTaskId(r), "authorId", userId)));
+        requests.put("listUsers", r -> get("/api/users?size=20"));
+
+        Map<String, Operation> operations = new LinkedHashMap<>();
+        settings.mix.forEach((name, weight) -> {
+            Function<Random, HttpRequest> request = requests.get(name);
+            if (request == null) {
+                throw new IllegalArgumentException("Unknown operation '" + name + "', expected one of " + requests.keySet());
+            }
+            operations.put(name, new Operation(name, weight, request));
+        });
+        return operations;
+    }
+
+    private static Operation[] weightedSchedule(Map<String, Operation> operations) {
+        List<Operation> schedule = new ArrayList<>();
+        for (Operation operation : operations.values()) {
+            for (int i = 0; i < operation.weight; i++) {
+                schedule.add(operation);
+            }
+        }
+        if (schedule.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix must contain at least one operation with a positive weight");
+        }
+        return schedule.toArray(new Operation[0]);
+    }
+
+    private long randomTaskId(Random r) {
+        return taskIds.get(r.nextInt(taskIds.size()));
+    }
+
+    private static void flushIntervals(Map<String, Operation> operations, HistogramLogWriter logWriter) {
+        synchronized (logWriter) {
+            for (Operation operation : operations.values()) {
+                Histogram interval = operation.recorder.getIntervalHistogram();
+                operation.total.add(interval);
+                if (interval.getTotalCount() > 0) {
+                    interval.setTag(operation.name);
+                    logWriter.outputIntervalHistogram(interval);
+                }
+            }
+        }
+    }
+
+    private void report(Map<String, Operation> operations) throws IOException {
+        double seconds = settings.duration.toMillis() / 1000.0;
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("rate", settings.rate);
+        summary.put("durationSeconds", seconds);
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+
+        System.out.printf("%n%-14s %9s %9s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "dropped", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operation operation : operations.values()) {
+            Histogram total = operation.total;
+            Map<String, Object> endpoint = new LinkedHashMap<>();
+            endpoint.put("count", total.getTotalCount());
+            endpoint.put("errors", operation.errors.sum());
+            endpoint.put("dropped", operation.dropped.sum());
+            endpoint.put("throttled", operation.throttled.sum());
+            endpoint.put("throughput", total.getTotalCount() / seconds);
+            endpoint.put("p50Ms", millis(total, 50));
+            endpoint.put("p90Ms", millis(total, 90));
+            endpoint.put("p99Ms", millis(total, 99));
+            endpoint.put("p999Ms", millis(total, 99.9));
+            endpoint.put("maxMs", total.getMaxValue() / 1000.0);
+            endpoints.put(operation.name, endpoint);
+
+            System.out.printf("%-14s %9d %9d %9d %9.1f %9.2f %9.2f %9.2f %9.2f%n", operation.name,
+                    total.getTotalCount(), operation.errors.sum(), operation.dropped.sum(), total.getTotalCount() / seconds,
+                    millis(total, 50), millis(total, 99), millis(total, 99.9), total.getMaxValue() / 1000.0);
+
+            try (PrintStream hgrm = new PrintStream(Files.newOutputStream(settings.output.resolve(operation.name + ".hgrm")))) {
+                total.outputPercentileDistribution(hgrm, 1000.0);
+            }
+        }
+        summary.put("endpoints", endpoints);
+        long throttled = operations.values().stream().mapToLong(operation -> operation.throttled.sum()).sum();
+        if (throttled > 0) {
+            // the whole run signs in as one user, so the per-user limits cap it well below the server's capacity
+            System.out.printf("%nWARNING: %d requests were rate limited (429), the run measured the rate limiter rather than "
+                    + "the server; start the server with --rate-limit.enabled=false%n", throttled);
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(settings.output.resolve("summary.json").toFile(), summary);
+        System.out.printf("%nResults written to %s%n", settings.output.toAbsolutePath());
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private JsonNode send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " returned " + response.statusCode()
+                    + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest post(String path, Object body) {
+        return request(path).POST(json(body)).build();
+    }
+
+    private HttpRequest put(String path, Object body) {
+        return request(path).PUT(json(body)).build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(settings.url + path))
+                .timeout(settings.timeout)
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        }
+        catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private static void awaitQuietly(ScheduledExecutorService executor) {
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Operation {
+        private final String name;
+        private final int weight;
+        private final Function<Random, HttpRequest> request;
+        private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        private final Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder throttled = new LongAdder();
+
+        private Operation(String name, int weight, Function<Random, HttpRequest> request) {
+            this.name = name;
+            this.weight = weight;
+            this.request = request;
+        }
+    }
+
+    /**
+     * Settings read from {@code -Dloadtest.*} system properties.
+     */
+    private static final class Settings {
+        private String url;
+        private String email;
+        private String password;
+        private double rate;
+        private Duration duration;
+        private Duration warmup;
+        private Duration timeout;
+        private Map<String, Integer> mix;
+        private int seedTasks;
+        private int maxInFlight;
+        private long randomSeed;
+        private Path output;
+
+        static Settings fromSystemProperties() {
+            Settings settings = new Settings();
+            settings.url = property("url", "http://localhost:8080");
+            settings.email = property("email", "admin@example.com");
+            settings.password = property("password", "admin");
+            settings.rate = Double.parseDouble(property("rate", "200"));
+            settings.duration = Duration.parse(property("duration", "PT60S"));
+            settings.warmup = Duration.parse(property("warmup", "PT10S"));
+            settings.timeout = Duration.parse(property("timeout", "PT10S"));
+            settings.mix = parseMix(property("mix", "getTask=40,listTasks=20,getComments=10,updateStatus=15,createComment=10,listUsers=5"));
+            settings.seedTasks = Integer.parseInt(property("seed-tasks", "100"));
+            settings.maxInFlight = Integer.parseInt(property("max-in-flight", "5000"));
+            settings.randomSeed = Long.parseLong(property("random-seed", "42"));
+            settings.output = Path.of(property("output", "target/loadtest"));
+            if (settings.rate <= 0 || settings.seedTasks < 1) {
+                throw new IllegalArgumentException("loadtest.rate and loadtest.seed-tasks must be positive");
+            }
+            return settings;
+        }
+
+        private static Map<String, Integer> parseMix(String mix) {
+            Map<String, Integer> weights = new LinkedHashMap<>();
+            for (String entry : mix.split(",")) {
+                String[] parts = entry.trim().split("=");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("loadtest.mix entries must look like name=weight: " + entry);
+                }
+                weights.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+            }
+            return weights;
+        }
+
+        private static String property(String name, String defaultValue) {
+            return System.getProperty("loadtest." + name, defaultValue);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.melnikov.taskmanagementsystem.cache;
+
+import com.melnikov.taskmanagementsystem.event.TaskChangeEvent;
+import com.melnikov.taskmanagementsystem.event.UserChangeEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Tells every node which entities changed, so in-process caches can evict them. Task and user
+ * changes are published as {@code task:<id>} and {@code user:<id>}; a key reaches the listeners
+ * only if the transaction that published it commits. Task changes are also carried whole to the
+ * {@link TaskChangeListener}s of every node, on the same terms.
+ */
+@Slf4j
+public abstract class CacheInvalidationBus {
+
+    private final List<CacheInvalidationListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final List<TaskChangeListener> taskChangeListeners = new CopyOnWriteArrayList<>();
+
+    public static String taskKey(Long taskId) {
+        return "task:" + taskId;
+    }
+
+    public static String userKey(Long userId) {
+        return "user:" + userId;
+    }
+
+    public void addListener(CacheInvalidationListener listener) {
+        listeners.add(listener);
+    }
+
+    public void addTaskChangeListener(TaskChangeListener listener) {
+        taskChangeListeners.add(listener);
+    }
+
+    @EventListener
+    public void onTaskChange(TaskChangeEvent event) {
+        publish(taskKey(event.taskId()));
+        publishTaskChange(event);
+    }
+
+    @EventListener
+    public void onUserChange(UserChangeEvent event) {
+        publish(userKey(event.userId()));
+    }
+
+    public abstract void publish(String key);
+
+    public abstract void publishTaskChange(TaskChangeEvent event);
+
+    protected void evict(String key) {
+        for (CacheInvalidationListener listener : listeners) {
+            try {
+                listener.evict(key);
+            }
+            catch (RuntimeException e) {
+                log.warn("Failed to evict {} from {}: {}", key, listener, e.getMessage());
+            }
+        }
+    }
+
+    protected void evictAll() {
+        for (CacheInvalidationListener listener : listeners) {
+            try {
+                listener.evictAll();
+            }
+            catch (RuntimeException e) {
+                log.warn("Failed to flush {}: {}", listener, e.getMessage());
+            }
+        }
+    }
+
+    protected void deliver(TaskChangeEvent event) {
+        for (TaskChangeListener listener : taskChangeListeners) {
+            try {
+                listener.onTaskChange(event);
+            }
+            catch (RuntimeException e) {
+                log.warn("Failed to deliver change of task {} to {}: {}", event.taskId(), listener, e.getMessage());
+            }
+        }
+    }
+
+    protected void changesMissed() {
+        for (TaskChangeListener listener : taskChangeListeners) {
+            try {
+                listener.onChangesMissed();
+            }
+            catch (RuntimeException e) {
+                log.warn("Failed to reset {}: {}", listener, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.melnikov.taskmanagementsystem.cache;
+
+/**
+ * A local cache that drops entries when the {@link CacheInvalidationBus} reports a change on any node.
+ */
+public interface CacheInvalidationListener {
+
+    void evict(String key);
+
+    /**
+     * Called when invalidations may have been missed, e.g. after the bus reconnected.
+     */
+    void evictAll();
+}
@@ -0,0 +1,38 @@
+package com.melnikov.taskmanagementsystem.cache;
+
+import com.melnikov.taskmanagementsystem.event.TaskChangeEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Single-node stand-in for {@link PostgresCacheInvalidationBus}, used with H2 and in tests.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.bus", havingValue = "in-memory", matchIfMissing = true)
+public class InMemoryCacheInvalidationBus extends CacheInvalidationBus {
+
+    @Override
+    public void publish(String key) {
+        afterCommit(() -> evict(key));
+    }
+
+    @Override
+    public void publishTaskChange(TaskChangeEvent event) {
+        afterCommit(() -> deliver(event));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,193 @@
+package com.melnikov.taskmanagementsystem.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.melnikov.taskmanagementsystem.event.TaskChangeEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Publishes keys with {@code pg_notify} in the current transaction, so PostgreSQL delivers them
+ * only on commit, and listens on a dedicated connection outside the pool. Task changes go as JSON
+ * on a second channel. Notifications sent while that connection was down are lost, so every
+ * (re)connect flushes the local caches and tells the task change listeners.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.bus", havingValue = "postgres")
+@Slf4j
+public class PostgresCacheInvalidationBus extends CacheInvalidationBus implements InitializingBean, DisposableBean {
+
+    static final String CHANNEL = "cache_invalidation";
+
+    static final String TASK_CHANGE_CHANNEL = "task_change_events";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final Callable<Connection> connectionFactory;
+
+    private volatile boolean running;
+
+    private volatile Connection connection;
+
+    private Thread listenerThread;
+
+    @Value("${cache.invalidation.poll-timeout:PT10S}")
+    private Duration pollTimeout = Duration.ofSeconds(10);
+
+    @Value("${cache.invalidation.reconnect-delay:PT5S}")
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+
+    @Autowired
+    public PostgresCacheInvalidationBus(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                                        DataSourceProperties dataSourceProperties) {
+        this(jdbcTemplate, objectMapper, () -> DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword()));
+    }
+
+    PostgresCacheInvalidationBus(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, Callable<Connection> connectionFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.connectionFactory = connectionFactory;
+    }
+
+    @Override
+    public void publish(String key) {
+        jdbcTemplate.query("select pg_notify(?, ?)", rs -> null, CHANNEL, key);
+    }
+
+    @Override
+    public void publishTaskChange(TaskChangeEvent event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        }
+        catch (JsonProcessingException e) {
+            throw new IllegalStateException("Can't serialize change of task " + event.taskId(), e);
+        }
+        jdbcTemplate.query("select pg_notify(?, ?)", rs -> null, TASK_CHANGE_CHANNEL, payload);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        running = true;
+        listenerThread = Thread.ofVirtual().name("cache-invalidation-listener").start(this::listen);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        closeQuietly(connection);
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+            listenerThread.join(reconnectDelay.toMillis());
+        }
+    }
+
+    void listen() {
+        while (running) {
+            try (Connection listening = connect()) {
+                connection = listening;
+                // anything published while we weren't listening is gone
+                evictAll();
+                changesMissed();
+                while (running && poll(listening)) {
+                    // keep polling
+                }
+            }
+            catch (Exception e) {
+                if (running) {
+                    log.warn("Cache invalidation listener disconnected, reconnecting in {}: {}", reconnectDelay, e.getMessage());
+                }
+            }
+            finally {
+                connection = null;
+            }
+            if (running) {
+                try {
+                    Thread.sleep(reconnectDelay.toMillis());
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    Connection connect() throws Exception {
+        Connection listening = connectionFactory.call();
+        try (Statement statement = listening.createStatement()) {
+            statement.execute("LISTEN " + CHANNEL);
+            statement.execute("LISTEN " + TASK_CHANGE_CHANNEL);
+        }
+        catch (SQLException e) {
+            closeQuietly(listening);
+            throw e;
+        }
+        log.info("Listening for cache invalidations on channels {} and {}", CHANNEL, TASK_CHANGE_CHANNEL);
+        return listening;
+    }
+
+    /**
+     * Waits up to the poll timeout for notifications, evicts their keys and delivers their task
+     * changes. Returns false once the connection is no longer usable.
+     */
+    boolean poll(Connection listening) throws SQLException {
+        PGNotification[] notifications = listening.unwrap(PGConnection.class)
+                .getNotifications((int) pollTimeout.toMillis());
+        if (notifications == null || notifications.length == 0) {
+            return listening.isValid((int) Math.max(1, pollTimeout.toSeconds()));
+        }
+        for (PGNotification notification : notifications) {
+            if (TASK_CHANGE_CHANNEL.equals(notification.getName())) {
+                deliver(notification.getParameter());
+            }
+            else {
+                evict(notification.getParameter());
+            }
+        }
+        return true;
+    }
+
+    private void deliver(String payload) {
+        TaskChangeEvent event;
+        try {
+            event = objectMapper.readValue(payload, TaskChangeEvent.class);
+        }
+        catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed task change notification: {}", e.getMessage());
+            return;
+        }
+        deliver(event);
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        }
+        catch (SQLException e) {
+            log.debug("Failed to close the cache invalidation connection: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.melnikov.taskmanagementsystem.cache;
+
+import com.melnikov.taskmanagementsystem.event.TaskChangeEvent;
+
+/**
+ * Receives every committed {@link TaskChangeEvent} of any node through the {@link CacheInvalidationBus}.
+ */
+public interface TaskChangeListener {
+
+    void onTaskChange(TaskChangeEvent event);
+
+    /**
+     * Called when changes may have been missed, e.g. after the bus reconnected.
+     */
+    void onChangesMissed();
+}
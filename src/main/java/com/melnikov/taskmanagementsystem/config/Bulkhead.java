@@ -0,0 +1,12 @@
+package com.melnikov.taskmanagementsystem.config;
+
+/**
+ * Share of the connection pool a thread draws from, see {@link BulkheadDataSource}.
+ */
+public enum Bulkhead {
+    AUTH,
+    READS,
+    WRITES,
+    // scheduled jobs, queue workers and anything else running outside a request
+    BACKGROUND
+}
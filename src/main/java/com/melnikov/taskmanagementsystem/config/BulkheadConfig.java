@@ -0,0 +1,60 @@
+package com.melnikov.taskmanagementsystem.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Active with {@code db.bulkheads.enabled=true}: publishes the state of the {@link BulkheadDataSource}s
+ * that {@link DataSourceStack} put around the primary and every replica pool, tagged with the pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "db.bulkheads.enabled", havingValue = "true")
+@Slf4j
+public class BulkheadConfig {
+
+    @Bean
+    public MeterBinder dataSourceBulkheadMetrics(DataSource dataSource) {
+        return registry -> DataSourceStack.pools(dataSource).forEach((pool, poolDataSource) -> {
+            BulkheadDataSource bulkheads;
+            try {
+                bulkheads = poolDataSource.unwrap(BulkheadDataSource.class);
+            }
+            catch (SQLException e) {
+                log.warn("No bulkheads found on data source {}", poolDataSource);
+                return;
+            }
+            for (Bulkhead bulkhead : Bulkhead.values()) {
+                Tags tags = Tags.of("bulkhead", bulkhead.name().toLowerCase(Locale.ROOT), "pool", pool);
+                Gauge.builder("db.bulkhead.max", bulkheads, b -> b.getMaxConnections(bulkhead))
+                        .description("Connections the bulkhead may hold at once")
+                        .baseUnit("connections")
+                        .tags(tags)
+                        .register(registry);
+                Gauge.builder("db.bulkhead.active", bulkheads, b -> b.getActiveConnections(bulkhead))
+                        .description("Connections held by the bulkhead or being fetched for it")
+                        .baseUnit("connections")
+                        .tags(tags)
+                        .register(registry);
+                Gauge.builder("db.bulkhead.pending", bulkheads, b -> b.getPendingThreads(bulkhead))
+                        .description("Threads waiting for a connection of the bulkhead")
+                        .baseUnit("threads")
+                        .tags(tags)
+                        .register(registry);
+                FunctionCounter.builder("db.bulkhead.rejected", bulkheads, b -> b.getRejected(bulkhead))
+                        .description("Callers that gave up waiting for a connection of the bulkhead")
+                        .tags(tags)
+                        .register(registry);
+            }
+        });
+    }
+}
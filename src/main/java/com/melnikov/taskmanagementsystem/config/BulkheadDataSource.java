@@ -0,0 +1,129 @@
+package com.melnikov.taskmanagementsystem.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Splits one connection pool between {@link Bulkhead}s, each capped by its own
+ * {@link ConcurrencyLimitingDataSource}. A thread picks its bulkhead with {@link #setBulkhead}; threads
+ * that pick none, scheduled jobs and queue workers included, draw from {@link Bulkhead#BACKGROUND}.
+ * As long as the caps add up to no more than the pool size, a bulkhead that runs dry only makes its
+ * own callers wait, so a long export can't starve sign-ins and busy queue workers can't starve
+ * interactive writes.
+ */
+@Slf4j
+public class BulkheadDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private static final ThreadLocal<Bulkhead> currentBulkhead = new ThreadLocal<>();
+
+    private final Map<Bulkhead, ConcurrencyLimitingDataSource> bulkheads = new EnumMap<>(Bulkhead.class);
+
+    private final Map<Bulkhead, Integer> maxConnections;
+
+    private final Map<Bulkhead, LongAdder> rejected = new EnumMap<>(Bulkhead.class);
+
+    public BulkheadDataSource(DataSource targetDataSource, Map<Bulkhead, Integer> maxConnections, Duration acquireTimeout) {
+        this(targetDataSource, maxConnections, Map.of(), acquireTimeout);
+    }
+
+    /**
+     * @param acquireTimeouts how long callers of a bulkhead wait for a connection, {@code defaultAcquireTimeout}
+     *                        for bulkheads missing here
+     */
+    public BulkheadDataSource(DataSource targetDataSource, Map<Bulkhead, Integer> maxConnections,
+                              Map<Bulkhead, Duration> acquireTimeouts, Duration defaultAcquireTimeout) {
+        super(targetDataSource);
+        for (Bulkhead bulkhead : Bulkhead.values()) {
+            Integer max = maxConnections.get(bulkhead);
+            if (max == null || max < 1) {
+                throw new IllegalArgumentException("Bulkhead " + bulkhead + " needs at least one connection, got " + max);
+            }
+            Duration acquireTimeout = acquireTimeouts.getOrDefault(bulkhead, defaultAcquireTimeout);
+            bulkheads.put(bulkhead, new ConcurrencyLimitingDataSource(targetDataSource, max, acquireTimeout));
+            rejected.put(bulkhead, new LongAdder());
+        }
+        this.maxConnections = new EnumMap<>(maxConnections);
+    }
+
+    /**
+     * Sets the bulkhead of the current thread, {@code null} resets it to the default.
+     *
+     * @return the bulkhead set before, to restore once done
+     */
+    public static Bulkhead setBulkhead(Bulkhead bulkhead) {
+        Bulkhead previous = currentBulkhead.get();
+        if (bulkhead != null) {
+            currentBulkhead.set(bulkhead);
+        }
+        else {
+            currentBulkhead.remove();
+        }
+        return previous;
+    }
+
+    public static Bulkhead getBulkhead() {
+        Bulkhead bulkhead = currentBulkhead.get();
+        return bulkhead != null ? bulkhead : Bulkhead.BACKGROUND;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Bulkhead bulkhead = getBulkhead();
+        try {
+            return bulkheads.get(bulkhead).getConnection();
+        }
+        catch (SQLTransientConnectionException e) {
+            rejected.get(bulkhead).increment();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Bulkhead bulkhead = getBulkhead();
+        try {
+            return bulkheads.get(bulkhead).getConnection(username, password);
+        }
+        catch (SQLTransientConnectionException e) {
+            rejected.get(bulkhead).increment();
+            throw e;
+        }
+    }
+
+    public int getMaxConnections(Bulkhead bulkhead) {
+        return maxConnections.get(bulkhead);
+    }
+
+    public int getActiveConnections(Bulkhead bulkhead) {
+        return maxConnections.get(bulkhead) - bulkheads.get(bulkhead).getAvailablePermits();
+    }
+
+    public int getPendingThreads(Bulkhead bulkhead) {
+        return bulkheads.get(bulkhead).getQueueLength();
+    }
+
+    public long getRejected(Bulkhead bulkhead) {
+        return rejected.get(bulkhead).sum();
+    }
+
+    @Override
+    public void close() {
+        if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            }
+            catch (Exception e) {
+                log.warn("Failed to close data source {}: {}", closeable, e.getMessage());
+            }
+        }
+    }
+}
@@ -8,10 +8,13 @@ import com.melnikov.taskmanagementsystem.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+// runs before DatasetGenerator, which needs the roles
 @Component
+@Order(0)
 public class DataInitializer implements ApplicationRunner {
 
     private final RoleRepository roleRepository;
@@ -0,0 +1,29 @@
+package com.melnikov.taskmanagementsystem.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the data source into the stack built by {@link DataSourceStack}.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceStack(Environment environment) {
+        DataSourceStack stack = new DataSourceStack(environment);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SqlStatementCountingDataSource)) {
+                    return stack.wrap(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,152 @@
+package com.melnikov.taskmanagementsystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the wrappers around the application data source in one place and in a fixed order,
+ * outermost first:
+ * <ol>
+ *     <li>{@link SqlStatementCountingDataSource}, always;</li>
+ *     <li>{@link ReadReplicaDataSource} with {@code db.replicas.enabled=true};</li>
+ *     <li>{@link DeadlineDataSource} unless {@code deadlines.enabled=false};</li>
+ *     <li>{@link BulkheadDataSource} with {@code db.bulkheads.enabled=true};</li>
+ *     <li>{@link ConcurrencyLimitingDataSource} with {@code spring.threads.virtual.enabled=true};</li>
+ *     <li>the pool.</li>
+ * </ol>
+ * Every replica pool gets the same deadline, bulkhead and concurrency wrappers as the primary, so
+ * replica reads are bounded the same way and each pool's bulkheads only count its own connections.
+ */
+@Slf4j
+public class DataSourceStack {
+
+    private final Binder binder;
+
+    private final boolean virtualThreads;
+
+    public DataSourceStack(Environment environment) {
+        this.binder = Binder.get(environment);
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment);
+    }
+
+    public DataSource wrap(DataSource primary) {
+        DataSource pools = wrapPool(primary);
+        if (property("db.replicas.enabled", Boolean.class, false)) {
+            List<DataSource> replicas = new ArrayList<>();
+            for (HikariDataSource replica : replicaPools()) {
+                replicas.add(wrapPool(replica));
+            }
+            pools = new ReadReplicaDataSource(pools, replicas);
+        }
+        return new SqlStatementCountingDataSource(pools);
+    }
+
+    /**
+     * The per-pool stacks under {@code dataSource}, by pool: {@code primary}, then {@code replica-1} and on.
+     */
+    public static Map<String, DataSource> pools(DataSource dataSource) {
+        Map<String, DataSource> pools = new LinkedHashMap<>();
+        try {
+            if (dataSource.isWrapperFor(ReadReplicaDataSource.class)) {
+                ReadReplicaDataSource router = dataSource.unwrap(ReadReplicaDataSource.class);
+                pools.put("primary", router.getPrimary());
+                for (int i = 0; i < router.getReplicas().size(); i++) {
+                    pools.put("replica-" + (i + 1), router.getReplicas().get(i));
+                }
+                return pools;
+            }
+        }
+        catch (SQLException e) {
+            log.debug("Can't look for replicas behind {}: {}", dataSource, e.getMessage());
+        }
+        pools.put("primary", dataSource);
+        return pools;
+    }
+
+    DataSource wrapPool(DataSource pool) {
+        DataSource dataSource = pool;
+        if (virtualThreads) {
+            dataSource = new ConcurrencyLimitingDataSource(dataSource,
+                    property("db.virtual-threads.max-concurrency", Integer.class, 20),
+                    property("db.virtual-threads.acquire-timeout", Duration.class, Duration.ofSeconds(5)));
+        }
+        if (property("db.bulkheads.enabled", Boolean.class, false)) {
+            dataSource = bulkheads(pool, dataSource);
+        }
+        if (property("deadlines.enabled", Boolean.class, true)) {
+            dataSource = new DeadlineDataSource(dataSource);
+        }
+        return dataSource;
+    }
+
+    private BulkheadDataSource bulkheads(DataSource pool, DataSource target) {
+        Map<Bulkhead, Integer> maxConnections = new EnumMap<>(Bulkhead.class);
+        maxConnections.put(Bulkhead.AUTH, property("db.bulkheads.auth.max-connections", Integer.class, 2));
+        maxConnections.put(Bulkhead.READS, property("db.bulkheads.reads.max-connections", Integer.class, 4));
+        maxConnections.put(Bulkhead.WRITES, property("db.bulkheads.writes.max-connections", Integer.class, 4));
+        maxConnections.put(Bulkhead.BACKGROUND, property("db.bulkheads.background.max-connections", Integer.class, 6));
+        int queueConcurrency = property("jobs.queue.concurrency", Integer.class, 4);
+        if (queueConcurrency >= maxConnections.get(Bulkhead.BACKGROUND)) {
+            log.warn("{} queue workers can hold all {} background connections, scheduled jobs and the outbox relay will wait for them",
+                    queueConcurrency, maxConnections.get(Bulkhead.BACKGROUND));
+        }
+        warnIfOversubscribed(pool, maxConnections.values().stream().mapToInt(Integer::intValue).sum());
+        Duration backgroundAcquireTimeout = property("db.bulkheads.background.acquire-timeout", Duration.class, Duration.ofSeconds(30));
+        return new BulkheadDataSource(target, maxConnections, Map.of(Bulkhead.BACKGROUND, backgroundAcquireTimeout),
+                property("db.bulkheads.acquire-timeout", Duration.class, Duration.ofSeconds(2)));
+    }
+
+    private List<HikariDataSource> replicaPools() {
+        List<String> urls = binder.bind("db.replicas.urls", Bindable.listOf(String.class)).orElse(List.of());
+        String username = property("db.replicas.username", String.class, property("spring.datasource.username", String.class, ""));
+        String password = property("db.replicas.password", String.class, property("spring.datasource.password", String.class, ""));
+        int maximumPoolSize = property("db.replicas.maximum-pool-size", Integer.class, 10);
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(url.trim())
+                    .username(username)
+                    .password(password)
+                    .build();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return replicas;
+    }
+
+    private <T> T property(String name, Class<T> type, T defaultValue) {
+        return binder.bind(name, type).orElse(defaultValue);
+    }
+
+    private static void warnIfOversubscribed(DataSource dataSource, int totalMaxConnections) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+                if (totalMaxConnections > pool.getMaximumPoolSize()) {
+                    log.warn("Bulkheads allow {} connections but pool {} only has {}, a busy bulkhead can still starve the others",
+                            totalMaxConnections, pool.getPoolName(), pool.getMaximumPoolSize());
+                }
+            }
+        }
+        catch (SQLException e) {
+            log.debug("Can't determine the pool size of {}: {}", dataSource, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.melnikov.taskmanagementsystem.config;
+
+import com.melnikov.taskmanagementsystem.model.utils.Priority;
+import com.melnikov.taskmanagementsystem.model.utils.Status;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills users, tasks and comments with a synthetic dataset for scale testing. Enabled with
+ * {@code dataset.generate.enabled=true}; appends to whatever is already in the database.
+ *
+ * <p>Assignees and comment authors follow a Zipf distribution over the generated users and the
+ * number of comments per task follows a Lomax (Pareto II) distribution, so a few tasks are very
+ * hot. Work is split into fixed chunks, each with its own random stream derived from
+ * {@code dataset.seed}, which makes the data independent of thread scheduling. Only comment ids
+ * depend on insert order.
+ */
+@Component
+@Order(10)
+@ConditionalOnProperty(name = "dataset.generate.enabled", havingValue = "true")
+@Slf4j
+public class DatasetGenerator implements ApplicationRunner {
+
+    private static final int USER_CHUNK_SIZE = 10_000;
+
+    private static final int TASK_CHUNK_SIZE = 1_000;
+
+    private static final Status[] STATUSES = Status.values();
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${dataset.seed:42}")
+    private long seed = 42;
+
+    @Value("${dataset.users:1000}")
+    private long users = 1000;
+
+    @Value("${dataset.tasks:100000}")
+    private long tasks = 100_000;
+
+    @Value("${dataset.comments-per-task:5}")
+    private double commentsPerTask = 5;
+
+    @Value("${dataset.comment-tail:1.5}")
+    private double commentTail = 1.5;
+
+    @Value("${dataset.max-comments-per-task:10000}")
+    private int maxCommentsPerTask = 10_000;
+
+    @Value("${dataset.zipf-exponent:1.1}")
+    private double zipfExponent = 1.1;
+
+    @Value("${dataset.unassigned-ratio:0.05}")
+    private double unassignedRatio = 0.05;
+
+    @Value("${dataset.history:P730D}")
+    private Duration history = Duration.ofDays(730);
+
+    // timestamps are spread back from this instant; defaults to the start of the current UTC day
+    @Value("${dataset.as-of:}")
+    private String asOf = "";
+
+    @Value("${dataset.threads:4}")
+    private int threads = 4;
+
+    @Value("${dataset.batch-size:1000}")
+    private int batchSize = 1000;
+
+    @Autowired
+    public DatasetGenerator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            PasswordEncoder passwordEncoder) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        generate();
+    }
+
+    public void generate() throws InterruptedException, ExecutionException {
+        if (users < 1 || tasks < 0 || commentsPerTask < 0 || commentTail <= 1.0) {
+            throw new IllegalArgumentException("dataset.users must be positive, dataset.tasks and dataset.comments-per-task "
+                    + "non-negative and dataset.comment-tail greater than 1");
+        }
+        Long roleId = jdbcTemplate.query("select id from roles where name = 'ROLE_USER'",
+                rs -> rs.next() ? rs.getLong(1) : null);
+        if (roleId == null) {
+            throw new IllegalStateException("ROLE_USER must exist before generating a dataset");
+        }
+        long userBase = maxId("select max(id) from users");
+        long taskBase = Math.max(maxId("select max(id) from tasks"), maxId("select max(id) from archived_tasks"));
+        Instant anchor = asOf.isBlank() ? Instant.now().truncatedTo(ChronoUnit.DAYS) : Instant.parse(asOf);
+        String passwordHash = passwordEncoder.encode("password");
+        ZipfSampler userSampler = new ZipfSampler(users, zipfExponent);
+        long started = System.nanoTime();
+        log.info("Generating {} users and {} tasks (about {} comments) with seed {}",
+                users, tasks, (long) (tasks * commentsPerTask), seed);
+
+        AtomicLong comments = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> userChunks = new ArrayList<>();
+            for (long from = 0; from < users; from += USER_CHUNK_SIZE) {
+                long chunkFrom = from;
+                long chunkTo = Math.min(users, from + USER_CHUNK_SIZE);
+                userChunks.add(executor.submit(() -> insertUsers(userBase, chunkFrom, chunkTo, roleId, passwordHash)));
+            }
+            await(userChunks);
+
+            List<Future<?>> taskChunks = new ArrayList<>();
+            for (long from = 0; from < tasks; from += TASK_CHUNK_SIZE) {
+                long chunk = from / TASK_CHUNK_SIZE;
+                long chunkFrom = from;
+                long chunkTo = Math.min(tasks, from + TASK_CHUNK_SIZE);
+                taskChunks.add(executor.submit(() -> comments.addAndGet(
+                        insertTasks(chunk, userBase, taskBase, chunkFrom, chunkTo, userSampler, anchor))));
+            }
+            await(taskChunks);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        restartIdentity("users", userBase + users);
+        restartIdentity("tasks", taskBase + tasks);
+        log.info("Generated {} users, {} tasks and {} comments in {} s", users, tasks, comments.get(),
+                Duration.ofNanos(System.nanoTime() - started).toSeconds());
+    }
+
+    private void insertUsers(long userBase, long from, long to, long roleId, String passwordHash) {
+        List<Object[]> rows = new ArrayList<>((int) (to - from));
+        for (long i = from; i < to; i++) {
+            long id = userBase + i + 1;
+            rows.add(new Object[]{id, "dataset-" + id + "@example.com", passwordHash, roleId});
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                "insert into users (id, email, password, role_id) values (?, ?, ?, ?)", rows, batchSize,
+                (ps, row) -> {
+                    ps.setLong(1, (Long) row[0]);
+                    ps.setString(2, (String) row[1]);
+                    ps.setString(3, (String) row[2]);
+                    ps.setLong(4, (Long) row[3]);
+                }));
+    }
+
+    private long insertTasks(long chunk, long userBase, long taskBase, long from, long to,
+                             ZipfSampler userSampler, Instant anchor) {
+        SplittableRandom random = new SplittableRandom(seed ^ (chunk * 0x9E3779B97F4A7C15L));
+        List<Object[]> taskRows = new ArrayList<>((int) (to - from));
+        List<Object[]> commentRows = new ArrayList<>();
+        long historySeconds = Math.max(1, history.toSeconds());
+        for (long i = from; i < to; i++) {
+            long id = taskBase + i + 1;
+            int commentCount = commentCount(random, commentsPerTask, commentTail, maxCommentsPerTask);
+            Long assigneeId = random.nextDouble() < unassignedRatio ? null : userBase + userSampler.sample(random);
+            taskRows.add(new Object[]{
+                    id,
+                    "Task " + id,
+                    "Generated task " + id,
+                    STATUSES[random.nextInt(STATUSES.length)].name(),
+                    PRIORITIES[random.nextInt(PRIORITIES.length)].name(),
+                    userBase + 1 + random.nextLong(users),
+                    assigneeId,
+                    commentCount,
+                    Timestamp.from(anchor.minusSeconds(random.nextLong(historySeconds)))
+            });
+            for (int c = 0; c < commentCount; c++) {
+                commentRows.add(new Object[]{"Comment " + c + " on task " + id, id, userBase + userSampler.sample(random)});
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate("insert into tasks (id, title, description, status, priority, author_id, "
+                            + "assignee_id, comment_count, last_activity_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    taskRows, batchSize, (ps, row) -> {
+                        for (int column = 0; column < row.length; column++) {
+                            ps.setObject(column + 1, row[column]);
+                        }
+                    });
+            jdbcTemplate.batchUpdate("insert into comments (text, task_id, author_id) values (?, ?, ?)",
+                    commentRows, batchSize, (ps, row) -> {
+                        ps.setString(1, (String) row[0]);
+                        ps.setLong(2, (Long) row[1]);
+                        ps.setLong(3, (Long) row[2]);
+                    });
+        });
+        if (chunk % 100 == 0) {
+            log.info("Generated tasks up to {}", to);
+        }
+        return commentRows.size();
+    }
+
+    private long maxId(String sql) {
+        Long max = jdbcTemplate.queryForObject(sql, Long.class);
+        return max != null ? max : 0;
+    }
+
+    // ids were inserted explicitly, move the identity past them so the application keeps working
+    private void restartIdentity(String table, long maxId) {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        if ("PostgreSQL".equals(product)) {
+            jdbcTemplate.queryForObject("select setval(pg_get_serial_sequence(?, 'id'), ?)", Long.class, table, maxId);
+        }
+        else {
+            jdbcTemplate.execute("alter table " + table + " alter column id restart with " + (maxId + 1));
+        }
+    }
+
+    private static void await(List<Future<?>> futures) throws InterruptedException, ExecutionException {
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    /**
+     * Lomax sample with the given mean: most tasks get a handful of comments, a few get thousands.
+     */
+    static int commentCount(SplittableRandom random, double mean, double tail, int max) {
+        if (mean <= 0) {
+            return 0;
+        }
+        double scale = mean * (tail - 1);
+        double value = scale * (Math.pow(1.0 - random.nextDouble(), -1.0 / tail) - 1);
+        return (int) Math.min(max, Math.floor(value));
+    }
+
+    /**
+     * Samples ranks 1..n with probability proportional to 1 / rank^exponent via a precomputed CDF.
+     */
+    static final class ZipfSampler {
+
+        private final double[] cdf;
+
+        ZipfSampler(long n, double exponent) {
+            if (n > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Too many users for the Zipf sampler: " + n);
+            }
+            cdf = new double[(int) n];
+            double sum = 0;
+            for (int rank = 1; rank <= n; rank++) {
+                sum += 1.0 / Math.pow(rank, exponent);
+                cdf[rank - 1] = sum;
+            }
+            for (int i = 0; i < cdf.length; i++) {
+                cdf[i] /= sum;
+            }
+        }
+
+        long sample(SplittableRandom random) {
+            int index = Arrays.binarySearch(cdf, random.nextDouble());
+            return Math.min(index >= 0 ? index : -index - 1, cdf.length - 1) + 1L;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.melnikov.taskmanagementsystem.config;
+
+import com.melnikov.taskmanagementsystem.limit.Deadline;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Applies the request {@link Deadline} to JDBC: no statement is created once it has passed, and
+ * every statement gets a query timeout of at most the time left, so the driver cancels a slow query
+ * when the caller has given up. JDBC timeouts are in whole seconds, the time left is rounded up.
+ * Fetching a connection isn't checked: the transaction manager does it on begin, where a failure
+ * would surface as a generic {@code CannotCreateTransactionException}.
+ */
+@Slf4j
+public class DeadlineDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("createStatement", "prepareStatement", "prepareCall");
+
+    public DeadlineDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return withDeadline(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return withDeadline(super.getConnection(username, password));
+    }
+
+    @Override
+    public void close() {
+        if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            }
+            catch (Exception e) {
+                log.warn("Failed to close data source {}: {}", closeable, e.getMessage());
+            }
+        }
+    }
+
+    static void applyTimeout(Statement statement) throws SQLException {
+        Deadline deadline = Deadline.current();
+        if (deadline == null) {
+            return;
+        }
+        int seconds = (int) Math.max(1, (deadline.remaining().toMillis() + 999) / 1000);
+        int current = statement.getQueryTimeout();
+        if (current == 0 || current > seconds) {
+            statement.setQueryTimeout(seconds);
+        }
+    }
+
+    private Connection withDeadline(Connection connection) {
+        InvocationHandler handler = (proxy, method, args) -> invoke(proxy, connection, method, args);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+
+    private Object invoke(Object proxy, Connection connection, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                break;
+        }
+        boolean statementFactory = STATEMENT_FACTORIES.contains(method.getName());
+        if (statementFactory) {
+            Deadline.check();
+        }
+        Object result;
+        try {
+            result = method.invoke(connection, args);
+        }
+        catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+        if (statementFactory && result instanceof Statement statement) {
+            applyTimeout(statement);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,57 @@
+package com.melnikov.taskmanagementsystem.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+/**
+ * R2DBC pool for the read-only reactive API. The pool is deliberately not exposed as a
+ * {@code ConnectionFactory} bean: Spring Boot backs off the JDBC {@code DataSource} (and with it JPA)
+ * as soon as one exists, so only the {@link DatabaseClient} is published.
+ */
+@Configuration
+public class R2dbcConfig implements DisposableBean {
+
+    @Value("${r2dbc.url}")
+    private String url;
+
+    @Value("${r2dbc.username:}")
+    private String username = "";
+
+    @Value("${r2dbc.password:}")
+    private String password = "";
+
+    @Value("${r2dbc.pool.max-size:20}")
+    private int maxSize = 20;
+
+    @Value("${r2dbc.pool.max-acquire-time:PT5S}")
+    private Duration maxAcquireTime = Duration.ofSeconds(5);
+
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public DatabaseClient databaseClient() {
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(
+                        ConnectionFactoryBuilder.withUrl(url).username(username).password(password).build())
+                .name("r2dbc-read")
+                .initialSize(0)
+                .maxSize(maxSize)
+                .maxAcquireTime(maxAcquireTime)
+                .build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.melnikov.taskmanagementsystem.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to the replicas, round-robin, and everything else to the primary.
+ * The physical connection is only fetched at the first statement, after the transaction manager has
+ * marked it read-only. Replicas are used only on threads that allowed it with
+ * {@link #setReplicaReadsAllowed}, so authentication, scheduled jobs and mutating requests stay on
+ * the primary by default.
+ */
+@Slf4j
+public class ReadReplicaDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private static final ThreadLocal<Boolean> replicaReadsAllowed = new ThreadLocal<>();
+
+    private final DataSource primary;
+
+    private final List<DataSource> replicas;
+
+    public ReadReplicaDataSource(DataSource primary, List<DataSource> replicas) {
+        super(primary);
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required");
+        }
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        setReadOnlyDataSource(new ReplicaRouter(primary, this.replicas));
+    }
+
+    public static void setReplicaReadsAllowed(boolean allowed) {
+        if (allowed) {
+            replicaReadsAllowed.set(Boolean.TRUE);
+        }
+        else {
+            replicaReadsAllowed.remove();
+        }
+    }
+
+    public static boolean isReplicaReadsAllowed() {
+        return replicaReadsAllowed.get() != null;
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public List<DataSource> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(ReadReplicaDataSource::closeQuietly);
+        closeQuietly(primary);
+    }
+
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            }
+            catch (Exception e) {
+                log.warn("Failed to close data source {}: {}", dataSource, e.getMessage());
+            }
+        }
+    }
+
+    private static class ReplicaRouter extends AbstractRoutingDataSource {
+
+        private static final String PRIMARY = "primary";
+
+        private final int replicaCount;
+
+        private final AtomicInteger next = new AtomicInteger();
+
+        ReplicaRouter(DataSource primary, List<DataSource> replicas) {
+            Map<Object, Object> targets = new HashMap<>();
+            targets.put(PRIMARY, primary);
+            for (int i = 0; i < replicas.size(); i++) {
+                targets.put(i, replicas.get(i));
+            }
+            this.replicaCount = replicas.size();
+            setTargetDataSources(targets);
+            setLenientFallback(false);
+            afterPropertiesSet();
+        }
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return isReplicaReadsAllowed() ? Math.floorMod(next.getAndIncrement(), replicaCount) : PRIMARY;
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.melnikov.taskmanagementsystem.config;
 
+import com.melnikov.taskmanagementsystem.filter.ConcurrencyLimitFilter;
+import com.melnikov.taskmanagementsystem.filter.RateLimitFilter;
+import com.melnikov.taskmanagementsystem.jfr.JfrPasswordEncoder;
 import com.melnikov.taskmanagementsystem.jwt.JwtConfigurer;
 import com.melnikov.taskmanagementsystem.jwt.JwtTokenProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -22,14 +26,43 @@ public class SecurityConfig {
 
     private JwtTokenProvider jwtTokenProvider;
 
+    private RateLimitFilter rateLimitFilter;
+
+    private ConcurrencyLimitFilter concurrencyLimitFilter;
+
     @Autowired
     public void setJwtTokenProvider(JwtTokenProvider jwtTokenProvider) {
         this.jwtTokenProvider = jwtTokenProvider;
     }
 
+    @Autowired
+    public void setRateLimitFilter(RateLimitFilter rateLimitFilter) {
+        this.rateLimitFilter = rateLimitFilter;
+    }
+
+    @Autowired
+    public void setConcurrencyLimitFilter(ConcurrencyLimitFilter concurrencyLimitFilter) {
+        this.concurrencyLimitFilter = concurrencyLimitFilter;
+    }
+
+    // the limit filters run inside the security chain only
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter filter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilterRegistration(ConcurrencyLimitFilter filter) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new JfrPasswordEncoder(new BCryptPasswordEncoder());
     }
 
     @Bean
@@ -48,12 +81,17 @@ public class SecurityConfig {
                 .requestMatchers("/auth/signin").permitAll()
                 .requestMatchers("/auth/signup").permitAll()
                 .requestMatchers("/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs/**").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
+                // metrics name every endpoint and job, scrape them with an admin token
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .requestMatchers("/api/users/**").hasRole("ADMIN")
+                .requestMatchers("/api/admin/**").hasRole("ADMIN")
                 .requestMatchers("/api/tasks/**").authenticated()
                 .requestMatchers("/api/comments/**").authenticated()
+                .requestMatchers("/api/reactive/**").authenticated()
                 .anyRequest().authenticated()
                 .and()
-                .apply(new JwtConfigurer(jwtTokenProvider));
+                .apply(new JwtConfigurer(jwtTokenProvider, rateLimitFilter, concurrencyLimitFilter));
 
         return http.build();
     }
@@ -0,0 +1,50 @@
+package com.melnikov.taskmanagementsystem.config;
+
+/**
+ * Counts the SQL statements prepared on the current thread while a counting scope is open. Every
+ * JDBC statement created through the application data source is recorded by
+ * {@link SqlStatementCountingDataSource}, Hibernate, {@code JdbcTemplate} and plain JDBC alike;
+ * the R2DBC connection factory of the reactive endpoints is not covered. Scopes are opened per
+ * request by {@link com.melnikov.taskmanagementsystem.filter.SqlStatementCountFilter} and by tests
+ * through {@link #countStatements(Runnable)}.
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    public static void record() {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+    }
+
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    public static int current() {
+        int[] count = COUNT.get();
+        return count != null ? count[0] : 0;
+    }
+
+    public static int stop() {
+        int statements = current();
+        COUNT.remove();
+        return statements;
+    }
+
+    public static int countStatements(Runnable action) {
+        start();
+        try {
+            action.run();
+            return current();
+        }
+        finally {
+            COUNT.remove();
+        }
+    }
+}
@@ -50,7 +50,7 @@ public class AuthController {
     @Operation(summary = "Sign in", description = "Sign in with email and password. FOR EVERYBODY.")
     public ResponseEntity<AuthResponseDTO> signIn(@Valid @RequestBody AuthRequestDTO request) {
         try {
-            log.info("Signing in user with details {}", request);
+            log.debug("Signing in user with details {}", request);
             return authenticateUser(request);
         }
         catch (AuthenticationException e) {
@@ -69,7 +69,7 @@ public class AuthController {
         requestDTO.setPassword(createUserDTO.getPassword());
 
         try {
-            log.info("Signing up user with details {}", createUserDTO);
+            log.debug("Signing up user with details {}", createUserDTO);
             return authenticateUser(requestDTO);
         }
         catch (AuthenticationException e) {
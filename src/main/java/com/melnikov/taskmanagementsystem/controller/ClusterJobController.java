@@ -0,0 +1,49 @@
+package com.melnikov.taskmanagementsystem.controller;
+
+import com.melnikov.taskmanagementsystem.dto.ClusterJobDTO;
+import com.melnikov.taskmanagementsystem.dto.JobRunDTO;
+import com.melnikov.taskmanagementsystem.service.ClusterJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/jobs")
+@Slf4j
+public class ClusterJobController {
+
+    private final ClusterJobService clusterJobService;
+
+    @Autowired
+    public ClusterJobController(ClusterJobService clusterJobService) {
+        this.clusterJobService = clusterJobService;
+    }
+
+    @GetMapping
+    @Operation(summary = "Get scheduled jobs", description = "Retrieve all cluster-wide scheduled jobs with their last run. FOR ADMIN ONLY.")
+    public ResponseEntity<List<ClusterJobDTO>> getJobs() {
+        log.debug("Fetching all scheduled jobs");
+        return ResponseEntity.ok(clusterJobService.getJobs());
+    }
+
+    @GetMapping("/{name}/runs")
+    @Operation(summary = "Get job runs", description = "Retrieve run history of a scheduled job, newest first. FOR ADMIN ONLY.")
+    public ResponseEntity<Page<JobRunDTO>> getRuns(@PathVariable String name, Pageable pageable) {
+        log.debug("Fetching runs of job: {}", name);
+        return ResponseEntity.ok(clusterJobService.getRuns(name, pageable));
+    }
+
+    @PostMapping("/{name}/runs")
+    @Operation(summary = "Run job", description = "Start a scheduled job now in the background. The run is skipped if the job is already running on any node. FOR ADMIN ONLY.")
+    public ResponseEntity<Void> runJob(@PathVariable String name) {
+        log.debug("Triggering job: {}", name);
+        clusterJobService.trigger(name);
+        return ResponseEntity.accepted().build();
+    }
+}
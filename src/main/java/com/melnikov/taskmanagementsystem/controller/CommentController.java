@@ -1,6 +1,7 @@
 package com.melnikov.taskmanagementsystem.controller;
 
 import com.melnikov.taskmanagementsystem.dto.CommentDTO;
+import com.melnikov.taskmanagementsystem.dto.CommentWindowDTO;
 import com.melnikov.taskmanagementsystem.dto.create.CreateCommentDTO;
 import com.melnikov.taskmanagementsystem.service.CommentService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -31,7 +32,7 @@ public class CommentController {
     @Operation(summary = "Get all comments", description = "Retrieve a paginated list of all comments. FOR ADMIN ONLY.")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Page<CommentDTO>> getAllComments(Pageable pageable) {
-        log.info("Fetching all comments with pageable: {}", pageable);
+        log.debug("Fetching all comments with pageable: {}", pageable);
         Page<CommentDTO> comments = commentService.getAllComments(pageable);
         return ResponseEntity.ok(comments);
     }
@@ -40,7 +41,7 @@ public class CommentController {
     @Operation(summary = "Get comment by id", description = "Retrieve a comment with provided id. FOR ADMIN AND COMMENT AUTHOR.")
     @PreAuthorize("hasRole('ADMIN') or @commentService.isCommentAuthor(#id, authentication.principal.email)")
     public ResponseEntity<CommentDTO> getCommentById(@PathVariable Long id, Authentication authentication) {
-        log.info("Fetching comment by id: {}", id);
+        log.debug("Fetching comment by id: {}", id);
         CommentDTO comment = commentService.getCommentById(id);
         if (comment != null) {
             return ResponseEntity.ok(comment);
@@ -54,7 +55,7 @@ public class CommentController {
     @Operation(summary = "Create a new comment", description = "Create a new comment with the provided details. FOR ADMIN AND TASK AUTHOR/ASSIGNEE.")
     @PreAuthorize("hasRole('ADMIN') or @taskService.isTaskAuthorOrAssignee(#createCommentDTO.taskId, authentication.principal.email)")
     public ResponseEntity<CommentDTO> createComment(@RequestBody CreateCommentDTO createCommentDTO, Authentication authentication) {
-        log.info("Creating new comment with details: {}", createCommentDTO);
+        log.debug("Creating new comment with details: {}", createCommentDTO);
         CommentDTO createdComment = commentService.createComment(createCommentDTO);
         return ResponseEntity.ok(createdComment);
     }
@@ -63,7 +64,7 @@ public class CommentController {
     @Operation(summary = "Update comment", description = "Update comment with provided id. FOR ADMIN AND COMMENT AUTHOR.")
     @PreAuthorize("hasRole('ADMIN') or @commentService.isCommentAuthor(#id, authentication.principal.email)")
     public ResponseEntity<CommentDTO> updateComment(@PathVariable Long id, @RequestBody CommentDTO commentDTO, Authentication authentication) {
-        log.info("Updating comment with id: {} and details: {}", id, commentDTO);
+        log.debug("Updating comment with id: {} and details: {}", id, commentDTO);
         CommentDTO updatedComment = commentService.updateComment(id, commentDTO);
         if (updatedComment != null) {
             return ResponseEntity.ok(updatedComment);
@@ -77,17 +78,20 @@ public class CommentController {
     @Operation(summary = "Delete comment", description = "Delete comment with provided id. FOR ADMIN AND COMMENT AUTHOR.")
     @PreAuthorize("hasRole('ADMIN') or @commentService.isCommentAuthor(#id, authentication.principal.email)")
     public ResponseEntity<Void> deleteComment(@PathVariable Long id, Authentication authentication) {
-        log.info("Deleting comment with id: {}", id);
+        log.debug("Deleting comment with id: {}", id);
         commentService.deleteComment(id);
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/task/{taskId}")
-    @Operation(summary = "Get all comments for a specific task", description = "Retrieve a paginated list of all comments related to a task with provided id. FOR ADMIN AND TASK AUTHOR/ASSIGNEE.")
+    @Operation(summary = "Get comments for a specific task", description = "Retrieve comments related to a task with provided id, newest first. Pass nextCursor of the previous response as 'before' to load older comments. FOR ADMIN AND TASK AUTHOR/ASSIGNEE.")
     @PreAuthorize("hasRole('ADMIN') or @taskService.isTaskAuthorOrAssignee(#taskId, authentication.principal.email)")
-    public ResponseEntity<Page<CommentDTO>> getCommentsByTaskId(@PathVariable Long taskId, Pageable pageable, Authentication authentication) {
-        log.info("Fetching comments for task with id: {} and pageable: {}", taskId, pageable);
-        Page<CommentDTO> comments = commentService.getCommentsByTaskId(taskId, pageable);
+    public ResponseEntity<CommentWindowDTO> getCommentsByTaskId(@PathVariable Long taskId,
+                                                                @RequestParam(required = false) Long before,
+                                                                @RequestParam(defaultValue = "20") int size,
+                                                                Authentication authentication) {
+        log.debug("Fetching comments for task with id: {} before comment id: {} and size: {}", taskId, before, size);
+        CommentWindowDTO comments = commentService.getCommentsByTaskId(taskId, before, size);
         return ResponseEntity.ok(comments);
     }
 }
\ No newline at end of file
@@ -0,0 +1,99 @@
+package com.melnikov.taskmanagementsystem.controller;
+
+import com.melnikov.taskmanagementsystem.dto.RecordingDTO;
+import com.melnikov.taskmanagementsystem.service.ProfilingService;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/profiling")
+@Slf4j
+public class ProfilingController {
+
+    private final ProfilingService profilingService;
+
+    @Autowired
+    public ProfilingController(ProfilingService profilingService) {
+        this.profilingService = profilingService;
+    }
+
+    @PostMapping("/recordings")
+    @Operation(summary = "Start JFR recording", description = "Start a JDK Flight Recorder recording with 'default' or 'profile' settings. It stops on its own after the given ISO-8601 duration (10 minutes at most). FOR ADMIN ONLY.")
+    public ResponseEntity<RecordingDTO> startRecording(@RequestParam(defaultValue = "profile") String settings,
+                                                       @RequestParam(required = false) Duration duration) throws IOException, ParseException {
+        log.debug("Starting JFR recording with settings: {} and duration: {}", settings, duration);
+        return ResponseEntity.ok(profilingService.startRecording(settings, duration));
+    }
+
+    @GetMapping("/recordings")
+    @Operation(summary = "Get JFR recordings", description = "Retrieve all on-demand JFR recordings. FOR ADMIN ONLY.")
+    public ResponseEntity<List<RecordingDTO>> getRecordings() {
+        log.debug("Fetching all JFR recordings");
+        return ResponseEntity.ok(profilingService.getRecordings());
+    }
+
+    @GetMapping("/recordings/{id}")
+    @Operation(summary = "Get JFR recording", description = "Retrieve state of a JFR recording. FOR ADMIN ONLY.")
+    public ResponseEntity<RecordingDTO> getRecording(@PathVariable long id) {
+        log.debug("Fetching JFR recording with id: {}", id);
+        return ResponseEntity.ok(profilingService.getRecording(id));
+    }
+
+    @PostMapping("/recordings/{id}/stop")
+    @Operation(summary = "Stop JFR recording", description = "Stop a running JFR recording. FOR ADMIN ONLY.")
+    public ResponseEntity<RecordingDTO> stopRecording(@PathVariable long id) {
+        log.debug("Stopping JFR recording with id: {}", id);
+        return ResponseEntity.ok(profilingService.stopRecording(id));
+    }
+
+    @GetMapping("/recordings/{id}/file")
+    @Operation(summary = "Download JFR recording", description = "Stream the .jfr file of a recording, a snapshot if it is still running. FOR ADMIN ONLY.")
+    public ResponseEntity<StreamingResponseBody> downloadRecording(@PathVariable long id) throws IOException {
+        log.debug("Downloading JFR recording with id: {}", id);
+        return jfrFile(profilingService.dumpRecording(id), "recording-" + id + ".jfr");
+    }
+
+    @DeleteMapping("/recordings/{id}")
+    @Operation(summary = "Delete JFR recording", description = "Stop and discard a JFR recording. FOR ADMIN ONLY.")
+    public ResponseEntity<Void> deleteRecording(@PathVariable long id) {
+        log.debug("Deleting JFR recording with id: {}", id);
+        profilingService.deleteRecording(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/continuous/file")
+    @Operation(summary = "Dump continuous JFR recording", description = "Stream the rolling on-disk buffer of the continuous JFR recording, e.g. right after an incident. FOR ADMIN ONLY.")
+    public ResponseEntity<StreamingResponseBody> downloadContinuousRecording() throws IOException {
+        log.debug("Downloading continuous JFR recording");
+        return jfrFile(profilingService.dumpContinuousRecording(), "continuous.jfr");
+    }
+
+    private ResponseEntity<StreamingResponseBody> jfrFile(Path file, String filename) throws IOException {
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            }
+            finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(Files.size(file))
+                .body(body);
+    }
+}
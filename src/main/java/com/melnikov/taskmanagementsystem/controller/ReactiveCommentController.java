@@ -0,0 +1,38 @@
+package com.melnikov.taskmanagementsystem.controller;
+
+import com.melnikov.taskmanagementsystem.dto.CommentDTO;
+import com.melnikov.taskmanagementsystem.service.ReactiveTaskService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("/api/reactive/comments")
+@Tag(name = "Reactive comments", description = "Non-blocking read-only comment queries")
+@Slf4j
+public class ReactiveCommentController {
+
+    private final ReactiveTaskService reactiveTaskService;
+
+    @Autowired
+    public ReactiveCommentController(ReactiveTaskService reactiveTaskService) {
+        this.reactiveTaskService = reactiveTaskService;
+    }
+
+    @GetMapping(value = "/task/{taskId}", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Stream comments for a specific task", description = "Stream comments related to a task with provided id, newest first. Pass the id of the last received comment as 'before' to load older comments. FOR ADMIN AND TASK AUTHOR/ASSIGNEE.")
+    @PreAuthorize("hasRole('ADMIN') or @taskService.isTaskAuthorOrAssignee(#taskId, authentication.principal.email)")
+    public Flux<CommentDTO> getCommentsByTaskId(@PathVariable Long taskId,
+                                                @RequestParam(required = false) Long before,
+                                                @RequestParam(defaultValue = "20") int size,
+                                                Authentication authentication) {
+        log.debug("Streaming comments for task with id: {} before comment id: {} and size: {}", taskId, before, size);
+        return reactiveTaskService.getCommentsByTaskId(taskId, before, size);
+    }
+}
@@ -0,0 +1,55 @@
+package com.melnikov.taskmanagementsystem.controller;
+
+import com.melnikov.taskmanagementsystem.dto.TaskDTO;
+import com.melnikov.taskmanagementsystem.service.ReactiveTaskService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/reactive/tasks")
+@Tag(name = "Reactive tasks", description = "Non-blocking read-only task queries")
+@Slf4j
+public class ReactiveTaskController {
+
+    private final ReactiveTaskService reactiveTaskService;
+
+    @Autowired
+    public ReactiveTaskController(ReactiveTaskService reactiveTaskService) {
+        this.reactiveTaskService = reactiveTaskService;
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Stream all tasks", description = "Stream a page of all tasks as newline-delimited JSON, or as a JSON array with Accept: application/json. FOR ADMIN AND USER.")
+    public Flux<TaskDTO> getAllTasks(Pageable pageable) {
+        log.debug("Streaming all tasks with pageable: {}", pageable);
+        return reactiveTaskService.getAllTasks(pageable);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get task by ID", description = "Retrieve a task by its ID. FOR ADMIN AND USER.")
+    public Mono<TaskDTO> getTaskById(@PathVariable Long id) {
+        log.debug("Fetching task by id: {}", id);
+        return reactiveTaskService.getTaskById(id);
+    }
+
+    @GetMapping(value = "/author/{authorId}", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Stream tasks by author ID", description = "Stream a page of tasks created by a specific author. FOR ADMIN AND USER.")
+    public Flux<TaskDTO> getTasksByAuthorId(@PathVariable Long authorId, Pageable pageable) {
+        log.debug("Streaming tasks by author id: {} and pageable: {}", authorId, pageable);
+        return reactiveTaskService.getTasksByAuthorId(authorId, pageable);
+    }
+
+    @GetMapping(value = "/assignee/{assigneeId}", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Stream tasks by assignee ID", description = "Stream a page of tasks assigned to a specific user. FOR ADMIN AND USER.")
+    public Flux<TaskDTO> getTasksByAssigneeId(@PathVariable Long assigneeId, Pageable pageable) {
+        log.debug("Streaming tasks by assignee id: {} and pageable: {}", assigneeId, pageable);
+        return reactiveTaskService.getTasksByAssigneeId(assigneeId, pageable);
+    }
+}
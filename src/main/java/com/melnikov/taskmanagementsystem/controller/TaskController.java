@@ -28,9 +28,9 @@ public class TaskController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all tasks", description = "Retrieve a paginated list of all tasks. FOR ADMIN AND USER.")
+    @Operation(summary = "Get all tasks", description = "Retrieve a paginated list of all tasks. Use sort=lastActivityAt,desc for an activity board. FOR ADMIN AND USER.")
     public ResponseEntity<Page<TaskDTO>> getAllTasks(Pageable pageable) {
-        log.info("Fetching all tasks with pageable: {}", pageable);
+        log.debug("Fetching all tasks with pageable: {}", pageable);
         Page<TaskDTO> tasks = taskService.getAllTasks(pageable);
         return ResponseEntity.ok(tasks);
     }
@@ -38,7 +38,7 @@ public class TaskController {
     @GetMapping("/{id}")
     @Operation(summary = "Get task by ID", description = "Retrieve a task by its ID. FOR ADMIN AND USER.")
     public ResponseEntity<TaskDTO> getTaskById(@PathVariable Long id) {
-        log.info("Fetching task by id: {}", id);
+        log.debug("Fetching task by id: {}", id);
         TaskDTO task = taskService.getTaskById(id);
         if (task != null) {
             return ResponseEntity.ok(task);
@@ -52,7 +52,7 @@ public class TaskController {
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Create a new task", description = "Create a new task with the provided details. FOR ADMIN ONLY.")
     public ResponseEntity<TaskDTO> createTask(@RequestBody CreateTaskDTO createTaskDTO) {
-        log.info("Creating new task with details: {}", createTaskDTO);
+        log.debug("Creating new task with details: {}", createTaskDTO);
         TaskDTO createdTask = taskService.createTask(createTaskDTO);
         return ResponseEntity.ok(createdTask);
     }
@@ -61,7 +61,7 @@ public class TaskController {
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Update a task", description = "Update an existing task by its ID. FOR ADMIN ONLY.")
     public ResponseEntity<TaskDTO> updateTask(@PathVariable Long id, @RequestBody TaskDTO taskDTO) {
-        log.info("Updating task with id: {} and details: {}", id, taskDTO);
+        log.debug("Updating task with id: {} and details: {}", id, taskDTO);
         TaskDTO updatedTask = taskService.updateTask(id, taskDTO);
         if (updatedTask != null) {
             return ResponseEntity.ok(updatedTask);
@@ -73,9 +73,13 @@ public class TaskController {
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Delete a task", description = "Delete a task by its ID. FOR ADMIN ONLY.")
-    public ResponseEntity<Void> deleteTask(@PathVariable Long id) {
-        log.info("Deleting task with id: {}", id);
+    @Operation(summary = "Delete a task", description = "Delete a task by its ID. With deferred=true the task is hidden immediately and its comments are purged in the background. FOR ADMIN ONLY.")
+    public ResponseEntity<Void> deleteTask(@PathVariable Long id, @RequestParam(defaultValue = "false") boolean deferred) {
+        log.debug("Deleting task with id: {} deferred: {}", id, deferred);
+        if (deferred) {
+            taskService.softDeleteTask(id);
+            return ResponseEntity.accepted().build();
+        }
         taskService.deleteTask(id);
         return ResponseEntity.noContent().build();
     }
@@ -83,7 +87,7 @@ public class TaskController {
     @GetMapping("/author/{authorId}")
     @Operation(summary = "Get tasks by author ID", description = "Retrieve a paginated list of tasks created by a specific author. FOR ADMIN AND USER.")
     public ResponseEntity<Page<TaskDTO>> getTasksByAuthorId(@PathVariable Long authorId, Pageable pageable) {
-        log.info("Fetching tasks by author id: {} and pageable: {}", authorId, pageable);
+        log.debug("Fetching tasks by author id: {} and pageable: {}", authorId, pageable);
         Page<TaskDTO> tasks = taskService.getTasksByAuthorId(authorId, pageable);
         return ResponseEntity.ok(tasks);
     }
@@ -91,7 +95,7 @@ public class TaskController {
     @GetMapping("/assignee/{assigneeId}")
     @Operation(summary = "Get tasks by assignee ID", description = "Retrieve a paginated list of tasks assigned to a specific user. FOR ADMIN AND USER.")
     public ResponseEntity<Page<TaskDTO>> getTasksByAssigneeId(@PathVariable Long assigneeId, Pageable pageable) {
-        log.info("Fetching tasks by assignee id: {} and pageable: {}", assigneeId, pageable);
+        log.debug("Fetching tasks by assignee id: {} and pageable: {}", assigneeId, pageable);
         Page<TaskDTO> tasks = taskService.getTasksByAssigneeId(assigneeId, pageable);
         return ResponseEntity.ok(tasks);
     }
@@ -100,7 +104,7 @@ public class TaskController {
     @PreAuthorize("hasRole('ADMIN') or @taskService.isTaskAssignee(#id, authentication.principal.email)")
     @Operation(summary = "Update task status", description = "Update the status of an existing task by its ID. FOR ADMIN AND TASK ASSIGNEE.")
     public ResponseEntity<TaskDTO> updateTaskStatus(@PathVariable Long id, @RequestBody TaskDTO taskDTO, Authentication authentication) {
-        log.info("Updating task status with id: {} and status: {}", id, taskDTO.getStatus());
+        log.debug("Updating task status with id: {} and status: {}", id, taskDTO.getStatus());
         TaskDTO updatedTask = taskService.updateTaskStatus(id, taskDTO.getStatus());
         if (updatedTask != null) {
             return ResponseEntity.ok(updatedTask);
@@ -114,7 +118,7 @@ public class TaskController {
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Update task priority", description = "Update the priority of an existing task by its ID. FOR ADMIN ONLY.")
     public ResponseEntity<TaskDTO> updateTaskPriority(@PathVariable Long id, @RequestBody TaskDTO taskDTO) {
-        log.info("Updating task priority with id: {} and priority: {}", id, taskDTO.getPriority());
+        log.debug("Updating task priority with id: {} and priority: {}", id, taskDTO.getPriority());
         TaskDTO updatedTask = taskService.updateTaskPriority(id, taskDTO.getPriority());
         if (updatedTask != null) {
             return ResponseEntity.ok(updatedTask);
@@ -128,7 +132,7 @@ public class TaskController {
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Update task assignee", description = "Update the assignee of an existing task by its ID. FOR ADMIN ONLY.")
     public ResponseEntity<TaskDTO> updateTaskAssignee(@PathVariable Long id, @RequestBody TaskDTO taskDTO) {
-        log.info("Updating task assignee with id: {} and assignee id: {}", id, taskDTO.getAssigneeId());
+        log.debug("Updating task assignee with id: {} and assignee id: {}", id, taskDTO.getAssigneeId());
         TaskDTO updatedTask = taskService.updateTaskAssignee(id, taskDTO.getAssigneeId());
         if (updatedTask != null) {
             return ResponseEntity.ok(updatedTask);
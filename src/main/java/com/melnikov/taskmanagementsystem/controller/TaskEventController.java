@@ -0,0 +1,35 @@
+package com.melnikov.taskmanagementsystem.controller;
+
+import com.melnikov.taskmanagementsystem.model.User;
+import com.melnikov.taskmanagementsystem.service.TaskEventStreamService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/tasks")
+@Tag(name = "Task events", description = "Live changes of the tasks a user authors or is assigned to")
+@Slf4j
+public class TaskEventController {
+
+    private final TaskEventStreamService taskEventStreamService;
+
+    @Autowired
+    public TaskEventController(TaskEventStreamService taskEventStreamService) {
+        this.taskEventStreamService = taskEventStreamService;
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream task changes", description = "Server-Sent Events for tasks the current user authors or is assigned to, including their comments. Reconnect with the Last-Event-ID header to receive missed events; a 'reset' event means they are no longer available and the tasks should be reloaded. FOR ADMIN AND USER.")
+    public SseEmitter streamTaskEvents(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                                       Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        log.debug("Streaming task events for user with id: {} after event id: {}", user.getId(), lastEventId);
+        return taskEventStreamService.subscribe(user.getId(), lastEventId);
+    }
+}
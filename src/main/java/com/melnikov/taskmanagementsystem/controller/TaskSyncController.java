@@ -0,0 +1,36 @@
+package com.melnikov.taskmanagementsystem.controller;
+
+import com.melnikov.taskmanagementsystem.dto.TaskChangesDTO;
+import com.melnikov.taskmanagementsystem.model.User;
+import com.melnikov.taskmanagementsystem.service.TaskSyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/tasks")
+@Tag(name = "Task sync", description = "Incremental sync of the tasks a user authors or is assigned to")
+@Slf4j
+public class TaskSyncController {
+
+    private final TaskSyncService taskSyncService;
+
+    @Autowired
+    public TaskSyncController(TaskSyncService taskSyncService) {
+        this.taskSyncService = taskSyncService;
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Get task changes", description = "Retrieve tasks and comments of the current user created or updated after the 'since' sequence, plus ids of deleted ones. Continue with 'nextSince' while 'hasMore' is true. Without 'since' only the current sequence is returned; 410 means the changes were pruned and the tasks should be reloaded. FOR ADMIN AND USER.")
+    public ResponseEntity<TaskChangesDTO> getChanges(@RequestParam(required = false) Long since,
+                                                     @RequestParam(defaultValue = "100") int size,
+                                                     Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        log.debug("Fetching changes for user with id: {} since: {} and size: {}", user.getId(), since, size);
+        return ResponseEntity.ok(taskSyncService.getChanges(user.getId(), since, size));
+    }
+}
@@ -1,7 +1,9 @@
 package com.melnikov.taskmanagementsystem.controller;
 
+import com.melnikov.taskmanagementsystem.dto.OffboardingJobDTO;
 import com.melnikov.taskmanagementsystem.dto.UserDTO;
 import com.melnikov.taskmanagementsystem.dto.create.CreateUserDTO;
+import com.melnikov.taskmanagementsystem.service.UserOffboardingService;
 import com.melnikov.taskmanagementsystem.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.extern.slf4j.Slf4j;
@@ -18,15 +20,18 @@ public class UserController {
 
     private final UserService userService;
 
+    private final UserOffboardingService userOffboardingService;
+
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserOffboardingService userOffboardingService) {
         this.userService = userService;
+        this.userOffboardingService = userOffboardingService;
     }
 
     @GetMapping
     @Operation(summary = "Get all users", description = "Retrieve a paginated list of all users. FOR ADMIN ONLY.")
     public ResponseEntity<Page<UserDTO>> getAllUsers(Pageable pageable) {
-        log.info("Fetching all users with pageable: {}", pageable);
+        log.debug("Fetching all users with pageable: {}", pageable);
         Page<UserDTO> users = userService.getAllUsers(pageable);
         return ResponseEntity.ok(users);
     }
@@ -34,7 +39,7 @@ public class UserController {
     @GetMapping("/{id}")
     @Operation(summary = "Get user by id", description = "Retrieve a user by given id. FOR ADMIN ONLY.")
     public ResponseEntity<UserDTO> getUserById(@PathVariable Long id) {
-        log.info("Fetching user by id: {}", id);
+        log.debug("Fetching user by id: {}", id);
         UserDTO user = userService.getUserById(id);
         if (user != null) {
             return ResponseEntity.ok(user);
@@ -47,7 +52,7 @@ public class UserController {
     @PostMapping
     @Operation(summary = "Create user", description = "Create new user with provided email, password and role. FOR ADMIN ONLY.")
     public ResponseEntity<UserDTO> createUser(@RequestBody CreateUserDTO createUserDTO) {
-        log.info("Creating new user with details: {}", createUserDTO);
+        log.debug("Creating new user with details: {}", createUserDTO);
         UserDTO createdUser = userService.createUser(createUserDTO);
         return ResponseEntity.ok(createdUser);
     }
@@ -55,7 +60,7 @@ public class UserController {
     @PutMapping("/{id}")
     @Operation(summary = "Update user", description = "Update user with given id information with provided email, password and role. FOR ADMIN ONLY.")
     public ResponseEntity<UserDTO> updateUser(@PathVariable Long id, @RequestBody UserDTO userDTO) {
-        log.info("Updating user with id: {} and details: {}", id, userDTO);
+        log.debug("Updating user with id: {} and details: {}", id, userDTO);
         UserDTO updatedUser = userService.updateUser(id, userDTO);
         if (updatedUser != null) {
             return ResponseEntity.ok(updatedUser);
@@ -68,15 +73,30 @@ public class UserController {
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete user", description = "Delete user with given id. FOR ADMIN ONLY.")
     public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
-        log.info("Deleting user with id: {}", id);
+        log.debug("Deleting user with id: {}", id);
         userService.deleteUser(id);
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/{id}/offboarding")
+    @Operation(summary = "Offboard user", description = "Start a background job that moves assigned tasks to the successor (or unassigns them), re-attributes authored tasks and comments to the successor in small batches and then deletes the user. FOR ADMIN ONLY.")
+    public ResponseEntity<OffboardingJobDTO> offboardUser(@PathVariable Long id, @RequestParam(required = false) Long successorId) {
+        log.debug("Offboarding user with id: {} and successor id: {}", id, successorId);
+        OffboardingJobDTO job = userOffboardingService.startOffboarding(id, successorId);
+        return ResponseEntity.accepted().body(job);
+    }
+
+    @GetMapping("/offboarding/{jobId}")
+    @Operation(summary = "Get offboarding job", description = "Retrieve progress of an offboarding job. FOR ADMIN ONLY.")
+    public ResponseEntity<OffboardingJobDTO> getOffboardingJob(@PathVariable String jobId) {
+        log.debug("Fetching offboarding job with id: {}", jobId);
+        return ResponseEntity.ok(userOffboardingService.getJob(jobId));
+    }
+
     @GetMapping("/email/{email}")
     @Operation(summary = "Get user by email", description = "Retrieve user with provided email address. FOR ADMIN ONLY.")
     public ResponseEntity<UserDTO> getUserByEmail(@PathVariable String email) {
-        log.info("Fetching user by email: {}", email);
+        log.debug("Fetching user by email: {}", email);
         UserDTO user = userService.getUserByEmail(email);
         if (user != null) {
             return ResponseEntity.ok(user);
@@ -0,0 +1,13 @@
+package com.melnikov.taskmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClusterJobDTO {
+    private String name;
+    private JobRunDTO lastRun;
+}
@@ -0,0 +1,15 @@
+package com.melnikov.taskmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentWindowDTO {
+    private List<CommentDTO> comments;
+    private Long nextCursor;
+}
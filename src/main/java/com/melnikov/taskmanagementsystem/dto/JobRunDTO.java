@@ -0,0 +1,20 @@
+package com.melnikov.taskmanagementsystem.dto;
+
+import com.melnikov.taskmanagementsystem.model.utils.JobStatus;
+import com.melnikov.taskmanagementsystem.model.utils.JobTrigger;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+public class JobRunDTO {
+    private Long id;
+    private String jobName;
+    private String node;
+    private JobTrigger trigger;
+    private JobStatus status;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private Long durationMillis;
+    private String error;
+}
@@ -0,0 +1,20 @@
+package com.melnikov.taskmanagementsystem.dto;
+
+import com.melnikov.taskmanagementsystem.model.utils.JobStatus;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+public class OffboardingJobDTO {
+    private String id;
+    private Long userId;
+    private Long successorId;
+    private JobStatus status;
+    private long assignedTasksMoved;
+    private long authoredTasksMoved;
+    private long commentsMoved;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String error;
+}
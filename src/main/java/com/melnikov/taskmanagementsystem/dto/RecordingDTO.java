@@ -0,0 +1,17 @@
+package com.melnikov.taskmanagementsystem.dto;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Data
+public class RecordingDTO {
+    private long id;
+    private String name;
+    private String state;
+    private Instant startedAt;
+    private Instant stoppedAt;
+    private Duration duration;
+    private long size;
+}
@@ -0,0 +1,19 @@
+package com.melnikov.taskmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskChangesDTO {
+    private List<TaskDTO> tasks;
+    private List<CommentDTO> comments;
+    private List<Long> deletedTaskIds;
+    private List<Long> deletedCommentIds;
+    private Long nextSince;
+    private boolean hasMore;
+}
@@ -4,6 +4,7 @@ import com.melnikov.taskmanagementsystem.model.utils.Priority;
 import com.melnikov.taskmanagementsystem.model.utils.Status;
 import lombok.Data;
 
+import java.time.Instant;
 import java.util.List;
 
 @Data
@@ -16,4 +17,8 @@ public class TaskDTO {
     private Long authorId;
     private Long assigneeId;
     private List<CommentDTO> comments;
+    private Integer commentCount;
+    private Long commentsCursor;
+    private Instant lastActivityAt;
+    private boolean archived;
 }
@@ -0,0 +1,19 @@
+package com.melnikov.taskmanagementsystem.dto;
+
+import com.melnikov.taskmanagementsystem.model.utils.ChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskEventDTO {
+    private Long id;
+    private ChangeType type;
+    private Long taskId;
+    private Long commentId;
+    private Instant occurredAt;
+}
@@ -2,11 +2,13 @@ package com.melnikov.taskmanagementsystem.dto;
 
 import com.melnikov.taskmanagementsystem.model.utils.RoleName;
 import lombok.Data;
+import lombok.ToString;
 
 @Data
 public class UserDTO {
     private Long id;
     private String email;
+    @ToString.Exclude
     private String password;
     private RoleName role;
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.melnikov.taskmanagementsystem.dto.auth;
 
 import lombok.Data;
+import lombok.ToString;
 
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -12,5 +13,6 @@ public class AuthRequestDTO {
     private String email;
 
     @NotBlank(message = "Password is required")
+    @ToString.Exclude
     private String password;
 }
\ No newline at end of file
@@ -2,10 +2,12 @@ package com.melnikov.taskmanagementsystem.dto.create;
 
 import com.melnikov.taskmanagementsystem.model.utils.RoleName;
 import lombok.Data;
+import lombok.ToString;
 
 @Data
 public class CreateUserDTO {
     private String email;
+    @ToString.Exclude
     private String password;
     private RoleName role;
 }
@@ -0,0 +1,11 @@
+package com.melnikov.taskmanagementsystem.event;
+
+import java.time.Instant;
+
+/**
+ * An outbox message as handed to an {@code OutboxSink}. {@code id} grows with every message, so
+ * consumers can use it to drop the duplicates at-least-once delivery may produce.
+ */
+public record OutboxEvent(Long id, String aggregateType, Long aggregateId, String eventType, String payload,
+                          Instant createdAt) {
+}
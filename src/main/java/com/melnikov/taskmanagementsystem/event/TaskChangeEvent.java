@@ -0,0 +1,32 @@
+package com.melnikov.taskmanagementsystem.event;
+
+import com.melnikov.taskmanagementsystem.model.Task;
+import com.melnikov.taskmanagementsystem.model.User;
+import com.melnikov.taskmanagementsystem.model.utils.ChangeType;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Published by {@code TaskService} and {@code CommentService} after each mutation of a task or one of
+ * its comments. {@code userIds} are the users the change concerns: the task author, its assignee and,
+ * after a reassignment, the previous assignee.
+ */
+public record TaskChangeEvent(ChangeType type, Long taskId, Long commentId, Set<Long> userIds) {
+
+    public static TaskChangeEvent of(ChangeType type, Task task, Long commentId, User... alsoNotify) {
+        Set<Long> userIds = new LinkedHashSet<>();
+        addUser(userIds, task.getAuthor());
+        addUser(userIds, task.getAssignee());
+        for (User user : alsoNotify) {
+            addUser(userIds, user);
+        }
+        return new TaskChangeEvent(type, task.getId(), commentId, Set.copyOf(userIds));
+    }
+
+    private static void addUser(Set<Long> userIds, User user) {
+        if (user != null && user.getId() != null) {
+            userIds.add(user.getId());
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.melnikov.taskmanagementsystem.event;
+
+import com.melnikov.taskmanagementsystem.model.utils.ChangeType;
+
+/**
+ * Published by {@code UserService} after a user is created, updated or deleted.
+ */
+public record UserChangeEvent(ChangeType type, Long userId) {
+}
@@ -3,12 +3,15 @@ package com.melnikov.taskmanagementsystem.exception;
 import com.melnikov.taskmanagementsystem.dto.error.ErrorResponse;
 import com.melnikov.taskmanagementsystem.exception.auth.InvalidJwtAuthenticationException;
 import com.melnikov.taskmanagementsystem.exception.comment.CommentNotFoundException;
+import com.melnikov.taskmanagementsystem.exception.request.DeadlineExceededException;
 import com.melnikov.taskmanagementsystem.exception.resource.ResourceNotFoundException;
 import com.melnikov.taskmanagementsystem.exception.task.AssigneeNotFoundException;
 import com.melnikov.taskmanagementsystem.exception.task.AuthorNotFoundException;
+import com.melnikov.taskmanagementsystem.exception.task.SyncCursorExpiredException;
 import com.melnikov.taskmanagementsystem.exception.task.TaskNotFoundException;
 import com.melnikov.taskmanagementsystem.exception.user.RoleNotFoundException;
 import com.melnikov.taskmanagementsystem.exception.user.UserNotFoundException;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -76,6 +79,19 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(SyncCursorExpiredException.class)
+    public ResponseEntity<ErrorResponse> handleSyncCursorExpiredException(SyncCursorExpiredException ex, WebRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.GONE.value(), ex.getMessage(), request.getDescription(false));
+        return new ResponseEntity<>(errorResponse, HttpStatus.GONE);
+    }
+
+    @ExceptionHandler({DeadlineExceededException.class, QueryTimeoutException.class})
+    public ResponseEntity<ErrorResponse> handleDeadlineExceededException(RuntimeException ex, WebRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.GATEWAY_TIMEOUT.value(), "Request deadline exceeded",
+                request.getDescription(false));
+        return new ResponseEntity<>(errorResponse, HttpStatus.GATEWAY_TIMEOUT);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex, WebRequest request) {
         ErrorResponse errorResponse = new ErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR.value(), "An unexpected error occurred",
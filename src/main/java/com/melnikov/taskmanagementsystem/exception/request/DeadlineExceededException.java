@@ -0,0 +1,7 @@
+package com.melnikov.taskmanagementsystem.exception.request;
+
+public class DeadlineExceededException extends RuntimeException {
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
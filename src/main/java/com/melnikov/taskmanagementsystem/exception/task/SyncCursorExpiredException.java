@@ -0,0 +1,7 @@
+package com.melnikov.taskmanagementsystem.exception.task;
+
+public class SyncCursorExpiredException extends RuntimeException {
+    public SyncCursorExpiredException(String message) {
+        super(message);
+    }
+}
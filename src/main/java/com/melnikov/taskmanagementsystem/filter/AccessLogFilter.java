@@ -0,0 +1,140 @@
+package com.melnikov.taskmanagementsystem.filter;
+
+import com.melnikov.taskmanagementsystem.jwt.JwtTokenFilter;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes one structured (JSON) line per request to the {@code ACCESS_LOG} logger.
+ * The logger is bound to a non-blocking async appender in logback-spring.xml, so the
+ * request thread only formats the line and hands it to a bounded queue.
+ * Successful fast requests are sampled; errors and slow requests are always logged.
+ * Only the route template is recorded, never query strings or headers.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    static final String LOGGER_NAME = "ACCESS_LOG";
+
+    private static final Logger accessLog = LoggerFactory.getLogger(LOGGER_NAME);
+
+    @Value("${access-log.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${access-log.sample-rate:1.0}")
+    private double sampleRate = 1.0;
+
+    @Value("${access-log.slow-threshold:PT1S}")
+    private Duration slowThreshold = Duration.ofSeconds(1);
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean failed = false;
+        try {
+            filterChain.doFilter(request, response);
+        }
+        catch (IOException | ServletException | RuntimeException e) {
+            failed = true;
+            throw e;
+        }
+        finally {
+            if (enabled && accessLog.isInfoEnabled()) {
+                if (!failed && request.isAsyncStarted()) {
+                    // reactive and streaming responses: the status is only known once the async request completes
+                    request.getAsyncContext().addListener(new AsyncListener() {
+                        @Override
+                        public void onComplete(AsyncEvent event) {
+                            log(request, response.getStatus(), System.nanoTime() - start);
+                        }
+
+                        @Override
+                        public void onTimeout(AsyncEvent event) {
+                        }
+
+                        @Override
+                        public void onError(AsyncEvent event) {
+                        }
+
+                        @Override
+                        public void onStartAsync(AsyncEvent event) {
+                        }
+                    });
+                }
+                else {
+                    log(request, failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(),
+                            System.nanoTime() - start);
+                }
+            }
+        }
+    }
+
+    private void log(HttpServletRequest request, int status, long durationNanos) {
+        if (shouldLog(status, durationNanos)) {
+            accessLog.info(format(request, status, durationNanos));
+        }
+    }
+
+    boolean shouldLog(int status, long durationNanos) {
+        if (status >= 500 || durationNanos >= slowThreshold.toNanos()) {
+            return true;
+        }
+        return sampleRate >= 1.0 || (sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    static String format(HttpServletRequest request, int status, long durationNanos) {
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Object user = request.getAttribute(JwtTokenFilter.AUTHENTICATED_USER_ATTRIBUTE);
+
+        StringBuilder line = new StringBuilder(160);
+        line.append("{\"ts\":\"").append(Instant.now()).append('"');
+        appendField(line, "method", request.getMethod());
+        appendField(line, "route", route != null ? route.toString() : request.getRequestURI());
+        line.append(",\"status\":").append(status);
+        line.append(",\"durationMs\":").append(durationNanos / 1_000_000).append('.')
+                .append(String.format("%03d", (durationNanos / 1_000) % 1_000));
+        if (user != null) {
+            appendField(line, "user", user.toString());
+        }
+        appendField(line, "remote", request.getRemoteAddr());
+        return line.append('}').toString();
+    }
+
+    private static void appendField(StringBuilder line, String name, String value) {
+        line.append(",\"").append(name).append("\":\"");
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    line.append('\\').append(c);
+                }
+                else if (c < 0x20) {
+                    line.append(String.format("\\u%04x", (int) c));
+                }
+                else {
+                    line.append(c);
+                }
+            }
+        }
+        line.append('"');
+    }
+}
@@ -0,0 +1,45 @@
+package com.melnikov.taskmanagementsystem.filter;
+
+import com.melnikov.taskmanagementsystem.config.Bulkhead;
+import com.melnikov.taskmanagementsystem.config.BulkheadDataSource;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Picks the connection {@link Bulkhead} of a request: sign-in and sign-up use {@link Bulkhead#AUTH},
+ * other reads {@link Bulkhead#READS} and everything else {@link Bulkhead#WRITES}. Runs after the
+ * security filters, whose user lookup picks {@link Bulkhead#AUTH} on its own.
+ */
+@Component
+@ConditionalOnProperty(name = "db.bulkheads.enabled", havingValue = "true")
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Bulkhead previous = BulkheadDataSource.setBulkhead(bulkhead(request));
+        try {
+            filterChain.doFilter(request, response);
+        }
+        finally {
+            BulkheadDataSource.setBulkhead(previous);
+        }
+    }
+
+    static Bulkhead bulkhead(HttpServletRequest request) {
+        if (request.getRequestURI().startsWith("/auth/")) {
+            return Bulkhead.AUTH;
+        }
+        return SAFE_METHODS.contains(request.getMethod()) ? Bulkhead.READS : Bulkhead.WRITES;
+    }
+}
@@ -0,0 +1,171 @@
+package com.melnikov.taskmanagementsystem.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.melnikov.taskmanagementsystem.dto.error.ErrorResponse;
+import com.melnikov.taskmanagementsystem.limit.AdaptiveConcurrencyLimiter;
+import com.melnikov.taskmanagementsystem.limit.RequestPriority;
+import com.melnikov.taskmanagementsystem.model.utils.RoleName;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sheds load in front of the controllers with {@link AdaptiveConcurrencyLimiter}. Runs right after
+ * {@code JwtTokenFilter}, so admin requests can be told apart; a refused request gets a 503 with
+ * {@code Retry-After} without touching the database again. Added to the security chain by
+ * {@code JwtConfigurer} and kept out of the servlet filter chain by {@code SecurityConfig}.
+ */
+@Component
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    @Value("${load-shedding.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${load-shedding.bulk-paths:/api/tasks,/api/tasks/author/**,/api/tasks/assignee/**,/api/comments,/api/users,/api/reactive/**}")
+    private List<String> bulkPaths = List.of("/api/tasks", "/api/tasks/author/**", "/api/tasks/assignee/**", "/api/comments",
+            "/api/users", "/api/reactive/**");
+
+    // long-lived streams would hold a slot for their whole life
+    @Value("${load-shedding.exempt-paths:/actuator/**,/api/tasks/events}")
+    private List<String> exemptPaths = List.of("/actuator/**", "/api/tasks/events");
+
+    @Value("${load-shedding.retry-after:PT1S}")
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    @Autowired
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || matches(exemptPaths, request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestPriority priority = priority(request);
+        if (!limiter.tryAcquire(priority)) {
+            log.debug("Shedding {} request {} {}, limit: {}", priority, request.getMethod(), request.getRequestURI(), limiter.getLimit());
+            reject(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        }
+        finally {
+            if (!failed && request.isAsyncStarted()) {
+                // the slot is held until the async request actually ends
+                releaseOnAsyncEnd(request, response, start);
+            }
+            else {
+                limiter.release(Duration.ofNanos(System.nanoTime() - start), failed || isServerError(response));
+            }
+        }
+    }
+
+    private void releaseOnAsyncEnd(HttpServletRequest request, HttpServletResponse response, long start) {
+        AtomicBoolean released = new AtomicBoolean();
+        request.getAsyncContext().addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                release(isServerError(response));
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                release(true);
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                release(true);
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+                // a new cycle drops the listeners, carry this one over
+                event.getAsyncContext().addListener(this);
+            }
+
+            // a timeout or an error is followed by onComplete, the slot must be freed only once
+            private void release(boolean failed) {
+                if (released.compareAndSet(false, true)) {
+                    limiter.release(Duration.ofNanos(System.nanoTime() - start), failed);
+                }
+            }
+        });
+    }
+
+    private static boolean isServerError(HttpServletResponse response) {
+        return response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+    }
+
+    RequestPriority priority(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        boolean safe = SAFE_METHODS.contains(request.getMethod());
+        if (path.startsWith("/auth/") || !safe && isAdmin()) {
+            return RequestPriority.CRITICAL;
+        }
+        if (safe && matches(bulkPaths, path)) {
+            return RequestPriority.BULK;
+        }
+        return RequestPriority.NORMAL;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter.toSeconds())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Server is overloaded, retry later", "uri=" + request.getRequestURI()));
+    }
+
+    private boolean matches(List<String> patterns, String path) {
+        for (String pattern : patterns) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> RoleName.ROLE_ADMIN.name().equals(authority.getAuthority()));
+    }
+}
@@ -0,0 +1,89 @@
+package com.melnikov.taskmanagementsystem.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.melnikov.taskmanagementsystem.dto.error.ErrorResponse;
+import com.melnikov.taskmanagementsystem.jwt.JwtTokenFilter;
+import com.melnikov.taskmanagementsystem.limit.RateLimitGroup;
+import com.melnikov.taskmanagementsystem.limit.RateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Rate limits requests per authenticated user, or per client IP for {@code /auth/*} and anonymous
+ * requests, and reports the bucket in {@code RateLimit-*} headers. Runs right after
+ * {@code JwtTokenFilter}, which resolves the user; like {@link ConcurrencyLimitFilter} it is only
+ * part of the security chain.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final RateLimiter rateLimiter;
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${rate-limit.exempt-paths:/actuator/**}")
+    private List<String> exemptPaths = List.of("/actuator/**");
+
+    @Autowired
+    public RateLimitFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || exemptPaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, request.getRequestURI()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimitGroup group = group(request);
+        String user = (String) request.getAttribute(JwtTokenFilter.AUTHENTICATED_USER_ATTRIBUTE);
+        // the client address is only trustworthy behind a proxy with server.forward-headers-strategy set
+        String key = group == RateLimitGroup.AUTH || user == null ? "ip:" + request.getRemoteAddr() : "user:" + user;
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(group, key);
+        response.setHeader("RateLimit-Limit", String.valueOf(decision.limit()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(decision.remaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(decision.resetSeconds()));
+        if (!decision.allowed()) {
+            log.debug("Rate limited {} request {} {} of {}", group, request.getMethod(), request.getRequestURI(), key);
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, decision.retryAfterSeconds())));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(HttpStatus.TOO_MANY_REQUESTS.value(),
+                    "Too many requests, retry later", "uri=" + request.getRequestURI()));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    static RateLimitGroup group(HttpServletRequest request) {
+        if (request.getRequestURI().startsWith("/auth/")) {
+            return RateLimitGroup.AUTH;
+        }
+        return SAFE_METHODS.contains(request.getMethod()) ? RateLimitGroup.READS : RateLimitGroup.WRITES;
+    }
+}
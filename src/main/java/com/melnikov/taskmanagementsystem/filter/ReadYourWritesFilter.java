@@ -0,0 +1,83 @@
+package com.melnikov.taskmanagementsystem.filter;
+
+import com.melnikov.taskmanagementsystem.config.ReadReplicaDataSource;
+import com.melnikov.taskmanagementsystem.jwt.JwtTokenFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Decides per request whether its read-only transactions may go to a replica. Mutating requests
+ * stay on the primary, and so does every request of a user for {@code db.replicas.read-your-writes-window}
+ * after their last mutation, so they don't read data older than what they just wrote. The time of
+ * the last mutation travels with the client in the {@value #LAST_WRITE_COOKIE} cookie, so the
+ * window holds whichever node serves the next request. Runs after the security filters, which
+ * resolve the user.
+ */
+@Component
+@ConditionalOnProperty(name = "db.replicas.enabled", havingValue = "true")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String LAST_WRITE_COOKIE = "last-write";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    @Value("${db.replicas.read-your-writes-window:PT5S}")
+    private Duration window = Duration.ofSeconds(5);
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String user = (String) request.getAttribute(JwtTokenFilter.AUTHENTICATED_USER_ATTRIBUTE);
+        boolean mutating = !SAFE_METHODS.contains(request.getMethod());
+        if (mutating && user != null) {
+            // the response may be committed by the time the chain returns, so the cookie goes first
+            markWrite(response);
+        }
+        ReadReplicaDataSource.setReplicaReadsAllowed(!mutating && !wroteRecently(request, user));
+        try {
+            filterChain.doFilter(request, response);
+        }
+        finally {
+            ReadReplicaDataSource.setReplicaReadsAllowed(false);
+        }
+    }
+
+    private boolean wroteRecently(HttpServletRequest request, String user) {
+        Cookie cookie = WebUtils.getCookie(request, LAST_WRITE_COOKIE);
+        if (user == null || cookie == null) {
+            return false;
+        }
+        try {
+            // the cookie expires with the window, the check keeps a client that ignores that from
+            // pinning itself to the primary for good
+            return System.currentTimeMillis() - Long.parseLong(cookie.getValue()) < window.toMillis();
+        }
+        catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private void markWrite(HttpServletResponse response) {
+        ResponseCookie cookie = ResponseCookie.from(LAST_WRITE_COOKIE, String.valueOf(System.currentTimeMillis()))
+                .path("/")
+                .maxAge(Duration.ofSeconds((window.toMillis() + 999) / 1000))
+                .httpOnly(true)
+                .sameSite("Lax")
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+}
@@ -0,0 +1,158 @@
+package com.melnikov.taskmanagementsystem.filter;
+
+import com.melnikov.taskmanagementsystem.limit.Deadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gives every request a {@link Deadline}. The budget is the first of {@code deadlines.path-timeouts}
+ * matching the path, or {@code deadlines.default-timeout}; a client may shorten it with the
+ * {@value #TIMEOUT_HEADER} header, in milliseconds, to what it is willing to wait. Runs before the
+ * security filters, so the user lookup counts against the budget too. An async request gets the time
+ * left as its async timeout, after which Spring MVC cancels the reactive query behind it.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "deadlines.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class RequestDeadlineFilter extends OncePerRequestFilter implements InitializingBean {
+
+    static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final Counter expired;
+
+    private Map<String, Duration> pathBudgets = Map.of();
+
+    @Value("${deadlines.default-timeout:PT10S}")
+    private Duration defaultTimeout = Duration.ofSeconds(10);
+
+    // pattern=duration pairs, the first match wins
+    @Value("${deadlines.path-timeouts:/auth/**=PT5S}")
+    private List<String> pathTimeouts = List.of("/auth/**=PT5S");
+
+    // long-lived streams and recording downloads have no deadline
+    @Value("${deadlines.exempt-paths:/actuator/**,/api/tasks/events,/api/admin/profiling/**}")
+    private List<String> exemptPaths = List.of("/actuator/**", "/api/tasks/events", "/api/admin/profiling/**");
+
+    @Autowired
+    public RequestDeadlineFilter(MeterRegistry meterRegistry) {
+        this.expired = Counter.builder("http.deadline.expired")
+                .description("Requests still running when their deadline passed")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Map<String, Duration> budgets = new LinkedHashMap<>();
+        for (String entry : pathTimeouts) {
+            int separator = entry.lastIndexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected pattern=duration in deadlines.path-timeouts, got " + entry);
+            }
+            budgets.put(entry.substring(0, separator).trim(), Duration.parse(entry.substring(separator + 1).trim()));
+        }
+        pathBudgets = budgets;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        for (String pattern : exemptPaths) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Deadline deadline = Deadline.after(budget(request));
+        Deadline previous = Deadline.set(deadline);
+        try {
+            filterChain.doFilter(request, response);
+        }
+        finally {
+            Deadline.set(previous);
+            if (request.isAsyncStarted()) {
+                limitAsync(request, deadline);
+            }
+            else if (deadline.isExpired()) {
+                expired.increment();
+                log.debug("Request {} {} outlived its deadline of {}", request.getMethod(), request.getRequestURI(), deadline.getBudget());
+            }
+        }
+    }
+
+    Duration budget(HttpServletRequest request) {
+        Duration budget = defaultTimeout;
+        String path = request.getRequestURI();
+        for (Map.Entry<String, Duration> entry : pathBudgets.entrySet()) {
+            if (pathMatcher.match(entry.getKey(), path)) {
+                budget = entry.getValue();
+                break;
+            }
+        }
+        String requested = request.getHeader(TIMEOUT_HEADER);
+        if (requested != null) {
+            try {
+                long millis = Long.parseLong(requested.trim());
+                if (millis > 0 && millis < budget.toMillis()) {
+                    budget = Duration.ofMillis(millis);
+                }
+            }
+            catch (NumberFormatException e) {
+                log.debug("Ignoring malformed {} header: {}", TIMEOUT_HEADER, requested);
+            }
+        }
+        return budget;
+    }
+
+    private void limitAsync(HttpServletRequest request, Deadline deadline) {
+        // zero would mean no timeout at all
+        request.getAsyncContext().setTimeout(Math.max(1, deadline.remaining().toMillis()));
+        request.getAsyncContext().addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                expired.increment();
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+    }
+}
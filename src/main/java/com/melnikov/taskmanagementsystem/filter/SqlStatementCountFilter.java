@@ -0,0 +1,96 @@
+package com.melnikov.taskmanagementsystem.filter;
+
+import com.melnikov.taskmanagementsystem.config.SqlStatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements issued while handling each request and records them per endpoint
+ * in the {@code http.server.sql.statements} summary. Requests over the configured budget are
+ * logged at WARN. In diagnostic mode the count is also returned in the
+ * {@value #STATEMENT_COUNT_HEADER} response header.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENT_COUNT_HEADER = "X-SQL-Statement-Count";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${diagnostics.sql-statements.header:false}")
+    private boolean headerEnabled = false;
+
+    @Value("${diagnostics.sql-statements.budget:0}")
+    private int budget = 0;
+
+    @Autowired
+    public SqlStatementCountFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        HttpServletResponse target = headerEnabled ? new StatementCountResponse(response) : response;
+        SqlStatementCounter.start();
+        try {
+            filterChain.doFilter(request, target);
+        }
+        finally {
+            if (!response.isCommitted()) {
+                writeHeader(response);
+            }
+            record(request, SqlStatementCounter.stop());
+        }
+    }
+
+    private void record(HttpServletRequest request, int statements) {
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = route != null ? route.toString() : "UNKNOWN";
+        DistributionSummary.builder("http.server.sql.statements")
+                .description("SQL statements issued per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statements);
+        if (budget > 0 && statements > budget) {
+            log.warn("{} {} issued {} SQL statements, budget is {}", request.getMethod(), uri, statements, budget);
+        }
+    }
+
+    private void writeHeader(HttpServletResponse response) {
+        if (headerEnabled) {
+            response.setHeader(STATEMENT_COUNT_HEADER, Integer.toString(SqlStatementCounter.current()));
+        }
+    }
+
+    // sets the header at the last moment headers can still change, i.e. right before the body is committed
+    private class StatementCountResponse extends OnCommittedResponseWrapper {
+
+        StatementCountResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeader((HttpServletResponse) getResponse());
+        }
+    }
+}
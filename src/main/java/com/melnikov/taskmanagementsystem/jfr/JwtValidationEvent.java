@@ -0,0 +1,23 @@
+package com.melnikov.taskmanagementsystem.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.melnikov.taskmanagementsystem.JwtValidation")
+@Label("JWT Validation")
+@Description("Signature and expiry check of a bearer token")
+@Category({"Task Management System", "Security"})
+@StackTrace(false)
+public class JwtValidationEvent extends Event {
+
+    @Label("Valid")
+    boolean valid;
+
+    public void setValid(boolean valid) {
+        this.valid = valid;
+    }
+}
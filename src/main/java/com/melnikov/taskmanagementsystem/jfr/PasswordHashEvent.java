@@ -0,0 +1,19 @@
+package com.melnikov.taskmanagementsystem.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.melnikov.taskmanagementsystem.PasswordHash")
+@Label("Password Hash")
+@Description("BCrypt encode or match of a password")
+@Category({"Task Management System", "Security"})
+@StackTrace(false)
+public class PasswordHashEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+}
@@ -0,0 +1,23 @@
+package com.melnikov.taskmanagementsystem.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.melnikov.taskmanagementsystem.TaskOperation")
+@Label("Task Operation")
+@Description("A call into TaskService")
+@Category({"Task Management System", "Service"})
+@StackTrace(false)
+public class TaskOperationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Task Id")
+    @Description("Id of the task the operation targets, 0 when it is not about a single task")
+    long taskId;
+}
@@ -0,0 +1,45 @@
+package com.melnikov.taskmanagementsystem.jfr;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps every public TaskService method in a {@link TaskOperationEvent}. The task id is taken
+ * from an {@code id} or {@code taskId} parameter when the method has one.
+ */
+@Aspect
+@Component
+public class TaskOperationEventAspect {
+
+    @Around("execution(public * com.melnikov.taskmanagementsystem.service.TaskService.*(..))")
+    public Object recordTaskOperation(ProceedingJoinPoint joinPoint) throws Throwable {
+        TaskOperationEvent event = new TaskOperationEvent();
+        event.begin();
+        try {
+            return joinPoint.proceed();
+        }
+        finally {
+            event.end();
+            if (event.shouldCommit()) {
+                MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+                event.operation = signature.getName();
+                event.taskId = taskId(signature.getParameterNames(), joinPoint.getArgs());
+                event.commit();
+            }
+        }
+    }
+
+    static long taskId(String[] parameterNames, Object[] args) {
+        if (parameterNames != null) {
+            for (int i = 0; i < parameterNames.length; i++) {
+                if (("id".equals(parameterNames[i]) || "taskId".equals(parameterNames[i])) && args[i] instanceof Long id) {
+                    return id;
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -1,5 +1,7 @@
 package com.melnikov.taskmanagementsystem.jwt;
 
+import com.melnikov.taskmanagementsystem.filter.ConcurrencyLimitFilter;
+import com.melnikov.taskmanagementsystem.filter.RateLimitFilter;
 import org.springframework.security.config.annotation.SecurityConfigurerAdapter;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.DefaultSecurityFilterChain;
@@ -9,13 +11,24 @@ public class JwtConfigurer extends SecurityConfigurerAdapter<DefaultSecurityFilt
 
     private final JwtTokenProvider jwtTokenProvider;
 
-    public JwtConfigurer(JwtTokenProvider jwtTokenProvider) {
+    private final RateLimitFilter rateLimitFilter;
+
+    private final ConcurrencyLimitFilter concurrencyLimitFilter;
+
+    public JwtConfigurer(JwtTokenProvider jwtTokenProvider, RateLimitFilter rateLimitFilter,
+                         ConcurrencyLimitFilter concurrencyLimitFilter) {
         this.jwtTokenProvider = jwtTokenProvider;
+        this.rateLimitFilter = rateLimitFilter;
+        this.concurrencyLimitFilter = concurrencyLimitFilter;
     }
 
     @Override
     public void configure(HttpSecurity http) {
         JwtTokenFilter customFilter = new JwtTokenFilter(jwtTokenProvider);
         http.addFilterBefore(customFilter, UsernamePasswordAuthenticationFilter.class);
+        // after authentication, so limits can tell users and admin requests apart; rate limiting
+        // first, a request over its rate never takes a concurrency slot
+        http.addFilterAfter(rateLimitFilter, JwtTokenFilter.class);
+        http.addFilterAfter(concurrencyLimitFilter, RateLimitFilter.class);
     }
 }
\ No newline at end of file
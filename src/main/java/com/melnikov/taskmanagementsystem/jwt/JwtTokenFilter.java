@@ -3,32 +3,52 @@ package com.melnikov.taskmanagementsystem.jwt;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.web.filter.GenericFilterBean;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 
 @Slf4j
 public class JwtTokenFilter extends GenericFilterBean {
 
+    /**
+     * Request attribute holding the authenticated username, so outer filters can still read it
+     * after the security context has been cleared at the end of the chain.
+     */
+    public static final String AUTHENTICATED_USER_ATTRIBUTE = JwtTokenFilter.class.getName() + ".user";
+
     private final JwtTokenProvider jwtTokenProvider;
 
+    private final SecurityContextRepository securityContextRepository = new RequestAttributeSecurityContextRepository();
+
     public JwtTokenFilter(JwtTokenProvider jwtTokenProvider) {
         this.jwtTokenProvider = jwtTokenProvider;
     }
 
     @Override
     public void doFilter(ServletRequest req, ServletResponse res, FilterChain filterChain) throws IOException, ServletException {
-        log.info("Processing JWT token filter for request: {}", ((HttpServletRequest) req).getRequestURI());
+        log.debug("Processing JWT token filter for request: {}", ((HttpServletRequest) req).getRequestURI());
+        // async results (reactive endpoints) are written on a second dispatch, reuse the user loaded by the first one
+        if (req.getDispatcherType() == DispatcherType.ASYNC && SecurityContextHolder.getContext().getAuthentication() != null) {
+            filterChain.doFilter(req, res);
+            return;
+        }
         String token = jwtTokenProvider.resolveToken((HttpServletRequest) req);
         if (token != null && jwtTokenProvider.validateToken(token)) {
             Authentication auth = jwtTokenProvider.getAuthentication(token);
             if (auth != null) {
                 SecurityContextHolder.getContext().setAuthentication(auth);
+                securityContextRepository.saveContext(SecurityContextHolder.getContext(),
+                        (HttpServletRequest) req, (HttpServletResponse) res);
+                req.setAttribute(AUTHENTICATED_USER_ATTRIBUTE, auth.getName());
             }
         }
         filterChain.doFilter(req, res);
@@ -1,9 +1,11 @@
 package com.melnikov.taskmanagementsystem.jwt;
 
 import com.melnikov.taskmanagementsystem.exception.auth.InvalidJwtAuthenticationException;
+import com.melnikov.taskmanagementsystem.jfr.JwtValidationEvent;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.annotation.Timed;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -43,7 +45,7 @@ public class JwtTokenProvider {
     }
 
     public String createToken(String username, String role) {
-        log.info("Creating JWT token for user: {}", username);
+        log.debug("Creating JWT token for user: {}", username);
         Claims claims = Jwts.claims().setSubject(username);
         claims.put("role", role);
 
@@ -58,8 +60,9 @@ public class JwtTokenProvider {
                 .compact();
     }
 
+    @Timed("jwt.authentication")
     public Authentication getAuthentication(String token) {
-        log.info("Getting authentication for token: {}", token);
+        log.debug("Resolving authentication from JWT token");
         String username = getUsername(token);
 
         UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
@@ -68,12 +71,12 @@ public class JwtTokenProvider {
     }
 
     public String getUsername(String token) {
-        log.info("Extracting username from token: {}", token);
+        log.debug("Extracting username from JWT token");
         return Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token).getBody().getSubject();
     }
 
     public String resolveToken(HttpServletRequest req) {
-        log.info("Resolving token from request: {}", req.getRequestURI());
+        log.debug("Resolving token from request: {}", req.getRequestURI());
         String bearerToken = req.getHeader("Authorization");
 
         if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
@@ -82,15 +85,25 @@ public class JwtTokenProvider {
         return null;
     }
 
+    @Timed("jwt.validation")
     public boolean validateToken(String token) {
-        log.info("Validating token: {}", token);
+        log.debug("Validating JWT token");
+        JwtValidationEvent event = new JwtValidationEvent();
+        event.begin();
         try {
             Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token);
+            event.setValid(true);
             return true;
         }
         catch (Exception e) {
-            log.warn("Invalid or expired JWT token: {}", token);
+            log.warn("Invalid or expired JWT token: {}", e.getClass().getSimpleName());
             throw new InvalidJwtAuthenticationException("Expired or invalid JWT token");
         }
+        finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.commit();
+            }
+        }
     }
 }
\ No newline at end of file
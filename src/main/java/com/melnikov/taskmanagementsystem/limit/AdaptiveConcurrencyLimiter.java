@@ -0,0 +1,124 @@
+package com.melnikov.taskmanagementsystem.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AIMD limit on requests in flight. A request slower than {@code load-shedding.latency-threshold}
+ * or failing with an exception cuts the limit by {@code backoff-ratio}. A fast one raises it by one
+ * while at least half of it is in use, so the limit only grows when it is actually the bottleneck.
+ * When the database slows down, excess requests are then refused at once instead of queueing on
+ * Tomcat threads until they all time out.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter implements InitializingBean {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Map<RequestPriority, Counter> rejected = new EnumMap<>(RequestPriority.class);
+
+    private volatile double limit;
+
+    @Value("${load-shedding.initial-limit:100}")
+    private int initialLimit = 100;
+
+    @Value("${load-shedding.min-limit:10}")
+    private int minLimit = 10;
+
+    @Value("${load-shedding.max-limit:200}")
+    private int maxLimit = 200;
+
+    @Value("${load-shedding.latency-threshold:PT0.5S}")
+    private Duration latencyThreshold = Duration.ofMillis(500);
+
+    @Value("${load-shedding.backoff-ratio:0.9}")
+    private double backoffRatio = 0.9;
+
+    @Value("${load-shedding.normal-share:0.9}")
+    private double normalShare = 0.9;
+
+    @Value("${load-shedding.bulk-share:0.5}")
+    private double bulkShare = 0.5;
+
+    @Autowired
+    public AdaptiveConcurrencyLimiter(MeterRegistry meterRegistry) {
+        for (RequestPriority priority : RequestPriority.values()) {
+            rejected.put(priority, meterRegistry.counter("http.concurrency.rejected", "priority", priority.name().toLowerCase()));
+        }
+        Gauge.builder("http.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive limit of requests in flight")
+                .register(meterRegistry);
+        Gauge.builder("http.concurrency.in-flight", inFlight, AtomicInteger::get)
+                .description("Requests in flight counted against the limit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        limit = initialLimit;
+    }
+
+    /**
+     * Takes a slot if requests in flight are below this priority's share of the limit. Every
+     * successful call must be followed by exactly one {@link #release}.
+     */
+    public boolean tryAcquire(RequestPriority priority) {
+        int allowed = Math.max(1, (int) (getLimit() * share(priority)));
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= allowed) {
+                rejected.get(priority).increment();
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Frees the slot and feeds the request's latency to the limit; a failed request counts as a
+     * drop. A null latency only frees the slot.
+     */
+    public void release(Duration latency, boolean failed) {
+        int current = inFlight.getAndDecrement();
+        if (latency != null) {
+            update(current, failed || latency.compareTo(latencyThreshold) > 0);
+        }
+    }
+
+    public double getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(int inFlightAtEnd, boolean dropped) {
+        double current = limit;
+        if (dropped) {
+            limit = Math.max(minLimit, current * backoffRatio);
+        }
+        else if (inFlightAtEnd * 2 >= current) {
+            limit = Math.min(maxLimit, current + 1);
+        }
+    }
+
+    private double share(RequestPriority priority) {
+        return switch (priority) {
+            case CRITICAL -> 1.0;
+            case NORMAL -> normalShare;
+            case BULK -> bulkShare;
+        };
+    }
+}
@@ -0,0 +1,71 @@
+package com.melnikov.taskmanagementsystem.limit;
+
+import com.melnikov.taskmanagementsystem.exception.request.DeadlineExceededException;
+
+import java.time.Duration;
+
+/**
+ * Time budget of the request running on the current thread, set by {@code RequestDeadlineFilter}.
+ * {@code DeadlineDataSource} caps the query timeout of every statement at what is left of it, and
+ * {@link #check()} runs before each service call, so an expired request stops instead of starting
+ * more work. Threads without a deadline, scheduled jobs and queue workers, are never cut short.
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> currentDeadline = new ThreadLocal<>();
+
+    private final Duration budget;
+
+    private final long expiresAtNanos;
+
+    private Deadline(Duration budget, long startNanos) {
+        this.budget = budget;
+        this.expiresAtNanos = startNanos + budget.toNanos();
+    }
+
+    public static Deadline after(Duration budget) {
+        return new Deadline(budget, System.nanoTime());
+    }
+
+    /**
+     * Sets the deadline of the current thread, {@code null} clears it.
+     *
+     * @return the deadline set before, to restore once done
+     */
+    public static Deadline set(Deadline deadline) {
+        Deadline previous = currentDeadline.get();
+        if (deadline != null) {
+            currentDeadline.set(deadline);
+        }
+        else {
+            currentDeadline.remove();
+        }
+        return previous;
+    }
+
+    public static Deadline current() {
+        return currentDeadline.get();
+    }
+
+    /**
+     * Throws {@link DeadlineExceededException} if the current thread has a deadline and it has passed.
+     */
+    public static void check() {
+        Deadline deadline = currentDeadline.get();
+        if (deadline != null && deadline.isExpired()) {
+            throw new DeadlineExceededException("Request deadline of " + deadline.budget.toMillis() + " ms exceeded");
+        }
+    }
+
+    public Duration getBudget() {
+        return budget;
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, expiresAtNanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+}
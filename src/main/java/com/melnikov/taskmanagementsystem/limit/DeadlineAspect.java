@@ -0,0 +1,26 @@
+package com.melnikov.taskmanagementsystem.limit;
+
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Checks the request {@link Deadline} before each call into a request-facing service, the ones
+ * timed as {@code app.service}, so a request that ran out of time stops between steps.
+ */
+@Aspect
+@Component
+// ahead of @Transactional, an expired request doesn't open a transaction; not HIGHEST_PRECEDENCE,
+// that would run before ExposeInvocationInterceptor
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "deadlines.enabled", havingValue = "true", matchIfMissing = true)
+public class DeadlineAspect {
+
+    @Before("within(com.melnikov.taskmanagementsystem.service..*) && @within(io.micrometer.core.annotation.Timed)")
+    public void checkDeadline() {
+        Deadline.check();
+    }
+}
@@ -0,0 +1,11 @@
+package com.melnikov.taskmanagementsystem.limit;
+
+/**
+ * Endpoint groups with their own {@code rate-limit.<group>} limits.
+ */
+public enum RateLimitGroup {
+    // /auth/*, keyed by client IP
+    AUTH,
+    READS,
+    WRITES
+}
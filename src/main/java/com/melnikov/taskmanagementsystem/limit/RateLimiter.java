@@ -0,0 +1,145 @@
+package com.melnikov.taskmanagementsystem.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket per endpoint group and client key. A bucket that has refilled is dropped, which
+ * loses nothing, so only clients that spent tokens recently take memory. The map never grows past
+ * {@code rate-limit.max-keys}: new clients beyond it share one overflow bucket per group until
+ * buckets expire.
+ */
+@Component
+public class RateLimiter implements InitializingBean {
+
+    private static final long SWEEP_SPACING_NANOS = 1_000_000_000L;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    private final Map<RateLimitGroup, Limit> limits = new EnumMap<>(RateLimitGroup.class);
+
+    private final Map<RateLimitGroup, TokenBucket> overflowBuckets = new EnumMap<>(RateLimitGroup.class);
+
+    private final Map<RateLimitGroup, Counter> rejected = new EnumMap<>(RateLimitGroup.class);
+
+    private final Counter overflowed;
+
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime() - SWEEP_SPACING_NANOS);
+
+    @Value("${rate-limit.max-keys:100000}")
+    private int maxKeys = 100_000;
+
+    @Value("${rate-limit.auth.capacity:10}")
+    private long authCapacity = 10;
+
+    @Value("${rate-limit.auth.refill-per-second:0.2}")
+    private double authRefillPerSecond = 0.2;
+
+    @Value("${rate-limit.reads.capacity:100}")
+    private long readsCapacity = 100;
+
+    @Value("${rate-limit.reads.refill-per-second:20}")
+    private double readsRefillPerSecond = 20;
+
+    @Value("${rate-limit.writes.capacity:30}")
+    private long writesCapacity = 30;
+
+    @Value("${rate-limit.writes.refill-per-second:5}")
+    private double writesRefillPerSecond = 5;
+
+    @Autowired
+    public RateLimiter(MeterRegistry meterRegistry) {
+        for (RateLimitGroup group : RateLimitGroup.values()) {
+            rejected.put(group, meterRegistry.counter("http.rate-limit.rejected", "group", group.name().toLowerCase()));
+        }
+        this.overflowed = meterRegistry.counter("http.rate-limit.overflowed");
+        Gauge.builder("http.rate-limit.keys", buckets, Map::size)
+                .description("Clients with a partly spent token bucket")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        limits.put(RateLimitGroup.AUTH, Limit.of(authCapacity, authRefillPerSecond));
+        limits.put(RateLimitGroup.READS, Limit.of(readsCapacity, readsRefillPerSecond));
+        limits.put(RateLimitGroup.WRITES, Limit.of(writesCapacity, writesRefillPerSecond));
+        long now = System.nanoTime();
+        for (RateLimitGroup group : RateLimitGroup.values()) {
+            overflowBuckets.put(group, new TokenBucket(now));
+        }
+    }
+
+    public Decision tryAcquire(RateLimitGroup group, String key) {
+        Limit limit = limits.get(group);
+        long now = System.nanoTime();
+        TokenBucket.Result result = bucket(group, key, now).take(now, limit.interval(), limit.capacity());
+        if (!result.allowed()) {
+            rejected.get(group).increment();
+        }
+        return new Decision(result.allowed(), limit.capacity(), result.remaining(),
+                toSeconds(result.resetNanos()), toSeconds(result.retryAfterNanos()));
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval:PT1M}")
+    public void sweep() {
+        long now = System.nanoTime();
+        lastSweep.set(now);
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private TokenBucket bucket(RateLimitGroup group, String key, long now) {
+        String bucketKey = group.name() + ':' + key;
+        TokenBucket bucket = buckets.get(bucketKey);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxKeys) {
+            long last = lastSweep.get();
+            // one caller sweeps, and not more often than once a second, the rest don't wait for it
+            if (now - last >= SWEEP_SPACING_NANOS && lastSweep.compareAndSet(last, now)) {
+                buckets.values().removeIf(candidate -> candidate.isFull(now));
+            }
+            if (buckets.size() >= maxKeys) {
+                overflowed.increment();
+                return overflowBuckets.get(group);
+            }
+        }
+        return buckets.computeIfAbsent(bucketKey, k -> new TokenBucket(now));
+    }
+
+    private static long toSeconds(long nanos) {
+        return nanos <= 0 ? 0 : (nanos + 999_999_999L) / 1_000_000_000L;
+    }
+
+    record Limit(long capacity, long interval) {
+
+        static Limit of(long capacity, double refillPerSecond) {
+            if (capacity < 1 || refillPerSecond <= 0) {
+                throw new IllegalArgumentException("Rate limit capacity and refill rate must be positive");
+            }
+            return new Limit(capacity, Math.max(1, (long) (1_000_000_000L / refillPerSecond)));
+        }
+    }
+
+    /**
+     * @param resetSeconds      until the bucket is full again
+     * @param retryAfterSeconds until the next token, when not allowed
+     */
+    public record Decision(boolean allowed, long limit, long remaining, long resetSeconds, long retryAfterSeconds) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.melnikov.taskmanagementsystem.limit;
+
+/**
+ * How much of the concurrency limit a request may fill before it is shed.
+ */
+public enum RequestPriority {
+    // sign-in/sign-up and admin mutations
+    CRITICAL,
+    NORMAL,
+    // list and export reads, first to go
+    BULK
+}
@@ -0,0 +1,47 @@
+package com.melnikov.taskmanagementsystem.limit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket. Instead of a token count and a refill time it keeps the single instant
+ * ({@link System#nanoTime()}) at which the bucket will be full again, so taking a token is one CAS
+ * and a bucket that is full again is the same as a new one and can be dropped.
+ */
+final class TokenBucket {
+
+    private final AtomicLong fullAt;
+
+    TokenBucket(long now) {
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * @param interval nanos it takes to refill one token
+     * @param capacity bucket size in tokens
+     */
+    Result take(long now, long interval, long capacity) {
+        long window = interval * capacity;
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + interval;
+            long untilFull = next - now;
+            if (untilFull > window) {
+                return new Result(false, 0, current - now, untilFull - window);
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return new Result(true, (window - untilFull) / interval, untilFull, 0);
+            }
+        }
+    }
+
+    boolean isFull(long now) {
+        return fullAt.get() - now <= 0;
+    }
+
+    /**
+     * @param resetNanos      time until the bucket is full again
+     * @param retryAfterNanos time until the next token, when not allowed
+     */
+    record Result(boolean allowed, long remaining, long resetNanos, long retryAfterNanos) {
+    }
+}
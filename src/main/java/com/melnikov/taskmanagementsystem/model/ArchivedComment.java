@@ -0,0 +1,25 @@
+package com.melnikov.taskmanagementsystem.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "archived_comments", indexes = {
+        @Index(name = "idx_archived_comments_task_id_id", columnList = "task_id, id")
+})
+@Data
+@NoArgsConstructor
+public class ArchivedComment {
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String text;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "author_id", nullable = false)
+    private Long authorId;
+}
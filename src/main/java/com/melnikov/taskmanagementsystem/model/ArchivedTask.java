@@ -0,0 +1,49 @@
+package com.melnikov.taskmanagementsystem.model;
+
+import com.melnikov.taskmanagementsystem.model.utils.Priority;
+import com.melnikov.taskmanagementsystem.model.utils.Status;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "archived_tasks", indexes = {
+        @Index(name = "idx_archived_tasks_archived_at", columnList = "archived_at")
+})
+@Data
+@NoArgsConstructor
+public class ArchivedTask {
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Priority priority;
+
+    @Column(name = "author_id", nullable = false)
+    private Long authorId;
+
+    @Column(name = "assignee_id")
+    private Long assigneeId;
+
+    @Column(name = "comment_count", nullable = false)
+    private int commentCount;
+
+    @Column(name = "last_activity_at")
+    private Instant lastActivityAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+}
@@ -5,7 +5,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        @Index(name = "idx_comments_task_id_id", columnList = "task_id, id")
+})
 @Data
 @NoArgsConstructor
 public class Comment {
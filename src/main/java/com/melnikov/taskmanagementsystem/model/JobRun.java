@@ -0,0 +1,49 @@
+package com.melnikov.taskmanagementsystem.model;
+
+import com.melnikov.taskmanagementsystem.model.utils.JobStatus;
+import com.melnikov.taskmanagementsystem.model.utils.JobTrigger;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One run of a cluster job on the node that held its lock. A run left RUNNING by a node that died
+ * stays so until it is pruned.
+ */
+@Entity
+@Table(name = "job_runs", indexes = {
+        @Index(name = "idx_job_runs_job_name_started_at", columnList = "job_name, started_at"),
+        @Index(name = "idx_job_runs_started_at", columnList = "started_at")
+})
+@Data
+@NoArgsConstructor
+public class JobRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_name", nullable = false, length = 100)
+    private String jobName;
+
+    @Column(nullable = false)
+    private String node;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "trigger_type", nullable = false, length = 20)
+    private JobTrigger trigger;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private JobStatus status;
+
+    @Column(name = "started_at", nullable = false)
+    private Instant startedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    @Column(length = 1000)
+    private String error;
+}
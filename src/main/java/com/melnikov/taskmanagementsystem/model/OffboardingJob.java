@@ -0,0 +1,50 @@
+package com.melnikov.taskmanagementsystem.model;
+
+import com.melnikov.taskmanagementsystem.model.utils.JobStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Progress of one user offboarding. The work itself runs as a queued job, the counters are advanced
+ * in the transaction of each batch they count.
+ */
+@Entity
+@Table(name = "offboarding_jobs")
+@Data
+@NoArgsConstructor
+public class OffboardingJob {
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "successor_id")
+    private Long successorId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private JobStatus status;
+
+    @Column(name = "assigned_tasks_moved", nullable = false)
+    private long assignedTasksMoved;
+
+    @Column(name = "authored_tasks_moved", nullable = false)
+    private long authoredTasksMoved;
+
+    @Column(name = "comments_moved", nullable = false)
+    private long commentsMoved;
+
+    @Column(name = "started_at", nullable = false)
+    private Instant startedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    @Column(length = 1000)
+    private String error;
+}
@@ -0,0 +1,59 @@
+package com.melnikov.taskmanagementsystem.model;
+
+import com.melnikov.taskmanagementsystem.model.utils.QueuedJobStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+/**
+ * A unit of background work for the {@code JobHandler} of its type. {@code runAt} is when the job
+ * may be claimed next: the scheduled time or retry time of a pending job, the end of the visibility
+ * timeout of a running one, after which a job whose worker died is claimed again.
+ */
+@Entity
+@Table(name = "job_queue", indexes = {
+        @Index(name = "idx_job_queue_status_run_at", columnList = "status, run_at")
+})
+@Data
+@NoArgsConstructor
+public class QueuedJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String type;
+
+    @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
+    @Column(nullable = false)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private QueuedJobStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "max_attempts", nullable = false)
+    private int maxAttempts;
+
+    @Column(name = "run_at", nullable = false)
+    private Instant runAt;
+
+    @Column(name = "locked_by")
+    private String lockedBy;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+}
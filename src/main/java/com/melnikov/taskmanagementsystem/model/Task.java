@@ -5,12 +5,20 @@ import com.melnikov.taskmanagementsystem.model.utils.Status;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.SQLRestriction;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_last_activity_at", columnList = "last_activity_at"),
+        @Index(name = "idx_tasks_deleted_at", columnList = "deleted_at"),
+        @Index(name = "idx_tasks_status_last_activity_at", columnList = "status, last_activity_at")
+})
+@SQLRestriction("deleted_at is null")
 @Data
 @NoArgsConstructor
 public class Task {
@@ -42,4 +50,22 @@ public class Task {
 
     @OneToMany(mappedBy = "task", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Comment> comments = new ArrayList<>();
+
+    // written only by TaskRepository.adjustCommentCount so stale entities can't overwrite it
+    @ColumnDefault("0")
+    @Column(name = "comment_count", nullable = false, updatable = false)
+    private int commentCount;
+
+    @Column(name = "last_activity_at")
+    private Instant lastActivityAt;
+
+    // tombstone: the task is hidden from every query and removed later by TaskPurgeService
+    @Column(name = "deleted_at")
+    private Instant deletedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void touchLastActivity() {
+        lastActivityAt = Instant.now();
+    }
 }
@@ -0,0 +1,36 @@
+package com.melnikov.taskmanagementsystem.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One row per user a task or comment change concerns. The id is the change sequence clients sync
+ * from; the changed rows themselves are read at sync time, so a missing one becomes a tombstone.
+ */
+@Entity
+@Table(name = "task_changes", indexes = {
+        @Index(name = "idx_task_changes_user_id_id", columnList = "user_id, id"),
+        @Index(name = "idx_task_changes_changed_at", columnList = "changed_at")
+})
+@Data
+@NoArgsConstructor
+public class TaskChange {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "comment_id")
+    private Long commentId;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+}
@@ -0,0 +1,13 @@
+package com.melnikov.taskmanagementsystem.model.utils;
+
+public enum ChangeType {
+    TASK_CREATED,
+    TASK_UPDATED,
+    TASK_DELETED,
+    COMMENT_CREATED,
+    COMMENT_UPDATED,
+    COMMENT_DELETED,
+    USER_CREATED,
+    USER_UPDATED,
+    USER_DELETED
+}
@@ -0,0 +1,7 @@
+package com.melnikov.taskmanagementsystem.model.utils;
+
+public enum JobStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package com.melnikov.taskmanagementsystem.model.utils;
+
+public enum JobTrigger {
+    SCHEDULED,
+    MANUAL
+}
@@ -0,0 +1,8 @@
+package com.melnikov.taskmanagementsystem.model.utils;
+
+public enum QueuedJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    DEAD
+}
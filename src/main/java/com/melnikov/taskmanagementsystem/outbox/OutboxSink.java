@@ -0,0 +1,16 @@
+package com.melnikov.taskmanagementsystem.outbox;
+
+import com.melnikov.taskmanagementsystem.event.OutboxEvent;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination the outbox relay hands committed messages to, selected with {@code outbox.sink}.
+ * Events arrive in id order; a batch is marked published only after {@link #publish} returns, so an
+ * implementation that fails part way will see the whole batch again.
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxEvent> events) throws IOException;
+}
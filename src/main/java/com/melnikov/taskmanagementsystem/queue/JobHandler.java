@@ -0,0 +1,17 @@
+package com.melnikov.taskmanagementsystem.queue;
+
+/**
+ * Runs queued jobs of one type. A job is retried after a failure and may also run again when its
+ * worker died or overran the visibility timeout, so handling has to be idempotent.
+ */
+public interface JobHandler<T> {
+
+    String getType();
+
+    /**
+     * Type the JSON payload is read as.
+     */
+    Class<T> getPayloadType();
+
+    void handle(T payload) throws Exception;
+}
@@ -0,0 +1,29 @@
+package com.melnikov.taskmanagementsystem.repository;
+
+import com.melnikov.taskmanagementsystem.model.ArchivedComment;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ArchivedCommentRepository extends JpaRepository<ArchivedComment, Long> {
+    List<ArchivedComment> findByTaskIdOrderByIdDesc(Long taskId, Limit limit);
+    List<ArchivedComment> findByTaskIdAndIdLessThanOrderByIdDesc(Long taskId, Long id, Limit limit);
+
+    @Modifying
+    @Query(value = "insert into archived_comments (id, text, task_id, author_id) " +
+            "select id, text, task_id, author_id from comments " +
+            "where task_id in (:taskIds) and task_id in (select id from archived_tasks where id in (:taskIds))", nativeQuery = true)
+    int copyFromComments(@Param("taskIds") List<Long> taskIds);
+
+    // a comment that isn't in the archive yet stays where it is
+    @Modifying
+    @Query(value = "delete from comments where task_id in (:taskIds) " +
+            "and id in (select id from archived_comments where task_id in (:taskIds))", nativeQuery = true)
+    int deleteFromComments(@Param("taskIds") List<Long> taskIds);
+}
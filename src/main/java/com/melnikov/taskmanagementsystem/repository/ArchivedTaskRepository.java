@@ -0,0 +1,35 @@
+package com.melnikov.taskmanagementsystem.repository;
+
+import com.melnikov.taskmanagementsystem.model.ArchivedTask;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+
+    // a null last_activity_at is a task TaskActivityBackfillService hasn't reached yet, its age is unknown;
+    // the row locks keep new comments (their foreign key needs a key share lock) and edits out until commit
+    @Query(value = "select id from tasks where status = 'COMPLETED' and deleted_at is null " +
+            "and last_activity_at < :cutoff order by id limit :limit for update skip locked", nativeQuery = true)
+    List<Long> findArchivableTaskIds(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "insert into archived_tasks (id, title, description, status, priority, author_id, assignee_id, " +
+            "comment_count, last_activity_at, archived_at) " +
+            "select id, title, description, status, priority, author_id, assignee_id, comment_count, last_activity_at, :archivedAt " +
+            "from tasks where id in (:ids) and status = 'COMPLETED' and deleted_at is null and last_activity_at < :cutoff",
+            nativeQuery = true)
+    int copyFromTasks(@Param("ids") List<Long> ids, @Param("cutoff") Instant cutoff, @Param("archivedAt") Instant archivedAt);
+
+    // only tasks that made it into the archive
+    @Modifying
+    @Query(value = "delete from tasks where id in (:ids) and id in (select id from archived_tasks where id in (:ids))",
+            nativeQuery = true)
+    int deleteFromTasks(@Param("ids") List<Long> ids);
+}
@@ -1,12 +1,42 @@
 package com.melnikov.taskmanagementsystem.repository;
 
 import com.melnikov.taskmanagementsystem.model.Comment;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     Page<Comment> findByTaskId(Long taskId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "author")
+    List<Comment> findByTaskIdOrderByIdDesc(Long taskId, Limit limit);
+
+    @EntityGraph(attributePaths = "author")
+    List<Comment> findByTaskIdAndIdLessThanOrderByIdDesc(Long taskId, Long id, Limit limit);
+
+    @EntityGraph(attributePaths = {"author", "task", "task.author", "task.assignee"})
+    List<Comment> findByIdIn(Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "delete from comments where id in (select id from comments where task_id = :taskId limit :limit)", nativeQuery = true)
+    int deleteBatchByTaskId(@Param("taskId") Long taskId, @Param("limit") int limit);
+
+    boolean existsByAuthorId(Long authorId);
+
+    @Query(value = "select id from comments where author_id = :userId order by id limit :limit for update", nativeQuery = true)
+    List<Long> lockIdsByAuthorId(@Param("userId") Long userId, @Param("limit") int limit);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = "update comments set author_id = :successorId where id in :ids", nativeQuery = true)
+    int reattribute(@Param("ids") Collection<Long> ids, @Param("successorId") Long successorId);
 }
@@ -0,0 +1,25 @@
+package com.melnikov.taskmanagementsystem.repository;
+
+import com.melnikov.taskmanagementsystem.model.JobRun;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface JobRunRepository extends JpaRepository<JobRun, Long> {
+
+    Page<JobRun> findByJobNameOrderByStartedAtDescIdDesc(String jobName, Pageable pageable);
+
+    Optional<JobRun> findFirstByJobNameOrderByStartedAtDescIdDesc(String jobName);
+
+    @Modifying
+    @Query("delete from JobRun r where r.startedAt < :cutoff")
+    int deleteStartedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,28 @@
+package com.melnikov.taskmanagementsystem.repository;
+
+import com.melnikov.taskmanagementsystem.model.OffboardingJob;
+import com.melnikov.taskmanagementsystem.model.utils.JobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface OffboardingJobRepository extends JpaRepository<OffboardingJob, String> {
+
+    @Modifying
+    @Query("update OffboardingJob j set j.assignedTasksMoved = j.assignedTasksMoved + :assigned, " +
+            "j.authoredTasksMoved = j.authoredTasksMoved + :authored, j.commentsMoved = j.commentsMoved + :comments " +
+            "where j.id = :id")
+    int addProgress(@Param("id") String id, @Param("assigned") long assigned, @Param("authored") long authored,
+                    @Param("comments") long comments);
+
+    @Modifying
+    @Query("update OffboardingJob j set j.status = :status, j.error = :error, j.finishedAt = :finishedAt " +
+            "where j.id = :id and j.status = com.melnikov.taskmanagementsystem.model.utils.JobStatus.RUNNING")
+    int finish(@Param("id") String id, @Param("status") JobStatus status, @Param("error") String error,
+               @Param("finishedAt") Instant finishedAt);
+}
@@ -0,0 +1,51 @@
+package com.melnikov.taskmanagementsystem.repository;
+
+import com.melnikov.taskmanagementsystem.model.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+    // rows locked by another relay are skipped instead of waited for
+    @Query(value = "select * from outbox_messages where published_at is null order by id limit :limit " +
+            "for update skip locked", nativeQuery = true)
+    List<OutboxMessage> lockPendingBatch(@Param("limit") int limit);
+
+    /**
+     * Oldest pending message of each given aggregate that isn't one of {@code ids}, i.e. one another
+     * relay holds or this batch didn't reach.
+     */
+    @Query("select m.aggregateType as aggregateType, m.aggregateId as aggregateId, min(m.id) as firstId " +
+            "from OutboxMessage m where m.publishedAt is null and m.id < :maxId and m.id not in :ids " +
+            "and m.aggregateId in :aggregateIds group by m.aggregateType, m.aggregateId")
+    List<PendingHead> findPendingHeadsOutside(@Param("maxId") Long maxId, @Param("ids") Collection<Long> ids,
+                                              @Param("aggregateIds") Collection<Long> aggregateIds);
+
+    @Modifying
+    @Query("update OutboxMessage m set m.publishedAt = :publishedAt where m.id in :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") Instant publishedAt);
+
+    @Query("select min(m.createdAt) from OutboxMessage m where m.publishedAt is null")
+    Optional<Instant> findOldestPendingCreatedAt();
+
+    @Modifying
+    @Query(value = "delete from outbox_messages where id in (select id from outbox_messages " +
+            "where published_at < :publishedAt order by id limit :limit)", nativeQuery = true)
+    int deleteBatchPublishedBefore(@Param("publishedAt") Instant publishedAt, @Param("limit") int limit);
+
+    interface PendingHead {
+        String getAggregateType();
+
+        Long getAggregateId();
+
+        Long getFirstId();
+    }
+}
@@ -0,0 +1,42 @@
+package com.melnikov.taskmanagementsystem.repository;
+
+import com.melnikov.taskmanagementsystem.model.QueuedJob;
+import com.melnikov.taskmanagementsystem.model.utils.QueuedJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface QueuedJobRepository extends JpaRepository<QueuedJob, Long> {
+    // pending jobs that are due and running jobs whose visibility timeout is over, rows claimed by
+    // another worker are skipped instead of waited for
+    @Query(value = "select * from job_queue where status in ('PENDING', 'RUNNING') and run_at <= :now " +
+            "order by run_at, id limit :limit for update skip locked", nativeQuery = true)
+    List<QueuedJob> lockClaimableBatch(@Param("now") Instant now, @Param("limit") int limit);
+
+    /**
+     * Ends a claim, unless the visibility timeout ran out and another worker claimed the job since.
+     */
+    @Modifying
+    @Query("update QueuedJob j set j.status = :status, j.runAt = :runAt, j.lastError = :error, j.finishedAt = :finishedAt, " +
+            "j.lockedBy = null where j.id = :id and j.status = 'RUNNING' and j.lockedBy = :lockedBy and j.attempts = :attempts")
+    int finish(@Param("id") Long id, @Param("lockedBy") String lockedBy, @Param("attempts") int attempts,
+               @Param("status") QueuedJobStatus status, @Param("runAt") Instant runAt,
+               @Param("error") String error, @Param("finishedAt") Instant finishedAt);
+
+    @Query("select min(j.runAt) from QueuedJob j where j.status = 'PENDING' and j.runAt <= :now")
+    Optional<Instant> findOldestDueRunAt(@Param("now") Instant now);
+
+    long countByStatus(QueuedJobStatus status);
+
+    @Modifying
+    @Query(value = "delete from job_queue where id in (select id from job_queue " +
+            "where status = 'COMPLETED' and finished_at < :finishedAt order by id limit :limit)", nativeQuery = true)
+    int deleteBatchCompletedBefore(@Param("finishedAt") Instant finishedAt, @Param("limit") int limit);
+}
@@ -0,0 +1,28 @@
+package com.melnikov.taskmanagementsystem.repository;
+
+import com.melnikov.taskmanagementsystem.model.TaskChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TaskChangeRepository extends JpaRepository<TaskChange, Long> {
+    List<TaskChange> findByUserIdAndIdGreaterThanOrderById(Long userId, Long id, Limit limit);
+
+    Optional<TaskChange> findFirstByOrderById();
+
+    @Query("select max(c.id) from TaskChange c where c.changedAt <= :changedAt")
+    Optional<Long> findMaxIdChangedAtOrBefore(@Param("changedAt") Instant changedAt);
+
+    @Modifying
+    @Query(value = "delete from task_changes where id in " +
+            "(select id from task_changes where id < :id order by id limit :limit)", nativeQuery = true)
+    int deleteBatchBefore(@Param("id") Long id, @Param("limit") int limit);
+}
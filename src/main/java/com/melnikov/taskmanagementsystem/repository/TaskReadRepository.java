@@ -0,0 +1,168 @@
+package com.melnikov.taskmanagementsystem.repository;
+
+import com.melnikov.taskmanagementsystem.dto.CommentDTO;
+import com.melnikov.taskmanagementsystem.dto.TaskDTO;
+import com.melnikov.taskmanagementsystem.model.utils.Priority;
+import com.melnikov.taskmanagementsystem.model.utils.Status;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking read access to tasks and comments over R2DBC. Rows are mapped straight to DTOs since
+ * the JPA entities can't be used here; the queries mirror {@link TaskRepository} and
+ * {@link CommentRepository}, including hiding soft-deleted tasks.
+ */
+@Repository
+public class TaskReadRepository {
+
+    private static final String TASK_COLUMNS = "id, title, description, status, priority, author_id, assignee_id, "
+            + "comment_count, last_activity_at";
+
+    // sortable TaskDTO properties, anything else is rejected instead of being spliced into SQL
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id",
+            "title", "title",
+            "status", "status",
+            "priority", "priority",
+            "authorId", "author_id",
+            "assigneeId", "assignee_id",
+            "commentCount", "comment_count",
+            "lastActivityAt", "last_activity_at");
+
+    private final DatabaseClient databaseClient;
+
+    // rows requested from the server at a time, so a slow consumer doesn't make the driver buffer a whole page
+    @Value("${tasks.reactive.fetch-size:256}")
+    private int fetchSize = 256;
+
+    @Autowired
+    public TaskReadRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<TaskDTO> findAll(Pageable pageable) {
+        return findTasks("where deleted_at is null", null, pageable);
+    }
+
+    public Flux<TaskDTO> findByAuthorId(Long authorId, Pageable pageable) {
+        return findTasks("where author_id = :userId and deleted_at is null", authorId, pageable);
+    }
+
+    public Flux<TaskDTO> findByAssigneeId(Long assigneeId, Pageable pageable) {
+        return findTasks("where assignee_id = :userId and deleted_at is null", assigneeId, pageable);
+    }
+
+    public Mono<TaskDTO> findById(Long id) {
+        return databaseClient.sql("select " + TASK_COLUMNS + " from tasks where id = :id and deleted_at is null")
+                .bind("id", id)
+                .map(row -> toTaskDTO(row, false))
+                .one();
+    }
+
+    public Mono<TaskDTO> findArchivedById(Long id) {
+        return databaseClient.sql("select " + TASK_COLUMNS + " from archived_tasks where id = :id")
+                .bind("id", id)
+                .map(row -> toTaskDTO(row, true))
+                .one();
+    }
+
+    public Mono<Boolean> existsById(Long id) {
+        return exists("select 1 from tasks where id = :id and deleted_at is null", id);
+    }
+
+    public Mono<Boolean> existsArchivedById(Long id) {
+        return exists("select 1 from archived_tasks where id = :id", id);
+    }
+
+    /**
+     * Newest first, optionally only comments older than {@code before}; same keyset as
+     * {@link CommentRepository#findByTaskIdAndIdLessThanOrderByIdDesc}.
+     */
+    public Flux<CommentDTO> findComments(Long taskId, Long before, int limit, boolean archived) {
+        String sql = "select id, text, task_id, author_id from " + (archived ? "archived_comments" : "comments")
+                + " where task_id = :taskId" + (before != null ? " and id < :before" : "")
+                + " order by id desc limit :limit";
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql)
+                .bind("taskId", taskId)
+                .bind("limit", limit);
+        if (before != null) {
+            spec = spec.bind("before", before);
+        }
+        return spec.filter(statement -> statement.fetchSize(fetchSize))
+                .map(TaskReadRepository::toCommentDTO)
+                .all();
+    }
+
+    private Flux<TaskDTO> findTasks(String where, Long userId, Pageable pageable) {
+        String sql = "select " + TASK_COLUMNS + " from tasks " + where + " order by " + orderBy(pageable.getSort())
+                + (pageable.isPaged() ? " limit :limit offset :offset" : "");
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql);
+        if (userId != null) {
+            spec = spec.bind("userId", userId);
+        }
+        if (pageable.isPaged()) {
+            spec = spec.bind("limit", pageable.getPageSize()).bind("offset", pageable.getOffset());
+        }
+        return spec.filter(statement -> statement.fetchSize(fetchSize))
+                .map(row -> toTaskDTO(row, false))
+                .all();
+    }
+
+    private Mono<Boolean> exists(String sql, Long id) {
+        return databaseClient.sql(sql)
+                .bind("id", id)
+                .map(row -> true)
+                .first()
+                .defaultIfEmpty(false);
+    }
+
+    // id is always the last key so offset pages stay stable when the requested order has ties
+    static String orderBy(Sort sort) {
+        String order = sort.stream()
+                .map(o -> {
+                    String column = SORT_COLUMNS.get(o.getProperty());
+                    if (column == null) {
+                        throw new IllegalArgumentException("Unsupported sort property: " + o.getProperty());
+                    }
+                    return column + (o.isAscending() ? " asc" : " desc");
+                })
+                .collect(Collectors.joining(", "));
+        return order.isEmpty() ? "id" : order + ", id";
+    }
+
+    private static TaskDTO toTaskDTO(Readable row, boolean archived) {
+        TaskDTO taskDTO = new TaskDTO();
+        taskDTO.setId(row.get("id", Long.class));
+        taskDTO.setTitle(row.get("title", String.class));
+        taskDTO.setDescription(row.get("description", String.class));
+        taskDTO.setStatus(Status.valueOf(row.get("status", String.class)));
+        taskDTO.setPriority(Priority.valueOf(row.get("priority", String.class)));
+        taskDTO.setAuthorId(row.get("author_id", Long.class));
+        taskDTO.setAssigneeId(row.get("assignee_id", Long.class));
+        taskDTO.setCommentCount(row.get("comment_count", Integer.class));
+        OffsetDateTime lastActivityAt = row.get("last_activity_at", OffsetDateTime.class);
+        taskDTO.setLastActivityAt(lastActivityAt != null ? lastActivityAt.toInstant() : null);
+        taskDTO.setArchived(archived);
+        return taskDTO;
+    }
+
+    private static CommentDTO toCommentDTO(Readable row) {
+        CommentDTO commentDTO = new CommentDTO();
+        commentDTO.setId(row.get("id", Long.class));
+        commentDTO.setText(row.get("text", String.class));
+        commentDTO.setTaskId(row.get("task_id", Long.class));
+        commentDTO.setAuthorId(row.get("author_id", Long.class));
+        return commentDTO;
+    }
+}
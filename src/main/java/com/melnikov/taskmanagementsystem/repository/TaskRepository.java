@@ -3,11 +3,81 @@ package com.melnikov.taskmanagementsystem.repository;
 import com.melnikov.taskmanagementsystem.model.Task;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
+    // author and assignee are eager, so without the graph every page row costs extra selects
+    @Override
+    @EntityGraph(attributePaths = {"author", "assignee"})
+    Page<Task> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"author", "assignee"})
     Page<Task> findByAuthorId(Long authorId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"author", "assignee"})
     Page<Task> findByAssigneeId(Long assigneeId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"author", "assignee"})
+    List<Task> findByIdIn(Collection<Long> ids);
+
+    @Modifying
+    @Query("update Task t set t.commentCount = t.commentCount + :delta, t.lastActivityAt = :activityAt where t.id = :id")
+    int adjustCommentCount(@Param("id") Long id, @Param("delta") int delta, @Param("activityAt") Instant activityAt);
+
+    @Modifying
+    @Query("update Task t set t.deletedAt = :deletedAt where t.id = :id and t.deletedAt is null")
+    int markDeleted(@Param("id") Long id, @Param("deletedAt") Instant deletedAt);
+
+    @Query(value = "select id from tasks where deleted_at is not null order by deleted_at limit :limit", nativeQuery = true)
+    List<Long> findDeletedTaskIds(@Param("limit") int limit);
+
+    @Query(value = "select min(deleted_at) from tasks where deleted_at is not null", nativeQuery = true)
+    Optional<Instant> findOldestDeletedAt();
+
+    @Modifying
+    @Query(value = "delete from tasks where id = :id and deleted_at is not null", nativeQuery = true)
+    int purgeDeleted(@Param("id") Long id);
+
+    boolean existsByAuthorId(Long authorId);
+
+    boolean existsByLastActivityAtIsNull();
+
+    @Query(value = "select id from tasks where id > :afterId order by id limit :limit for update", nativeQuery = true)
+    List<Long> lockIdBatch(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    // run with the rows locked, comment writers then can't change the count between the select and the update
+    @Modifying
+    @Query(value = "update tasks t set " +
+            "comment_count = (select count(*) from comments c where c.task_id = t.id), " +
+            "last_activity_at = coalesce(t.last_activity_at, " +
+            "(select max(tc.changed_at) from task_changes tc where tc.task_id = t.id), :now) " +
+            "where t.id between :fromId and :toId and (t.last_activity_at is null " +
+            "or t.comment_count <> (select count(*) from comments c where c.task_id = t.id))", nativeQuery = true)
+    int reconcileActivity(@Param("fromId") Long fromId, @Param("toId") Long toId, @Param("now") Instant now);
+
+    @Query(value = "select id from tasks where assignee_id = :userId order by id limit :limit for update", nativeQuery = true)
+    List<Long> lockIdsByAssigneeId(@Param("userId") Long userId, @Param("limit") int limit);
+
+    @Query(value = "select id from tasks where author_id = :userId order by id limit :limit for update", nativeQuery = true)
+    List<Long> lockIdsByAuthorId(@Param("userId") Long userId, @Param("limit") int limit);
+
+    // cleared, so the tasks loaded afterwards for the change events carry the new user
+    @Modifying(clearAutomatically = true)
+    @Query(value = "update tasks set assignee_id = :successorId where id in :ids", nativeQuery = true)
+    int reassign(@Param("ids") Collection<Long> ids, @Param("successorId") Long successorId);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = "update tasks set author_id = :successorId where id in :ids", nativeQuery = true)
+    int reattribute(@Param("ids") Collection<Long> ids, @Param("successorId") Long successorId);
 }
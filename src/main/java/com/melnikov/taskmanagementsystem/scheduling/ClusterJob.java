@@ -0,0 +1,21 @@
+package com.melnikov.taskmanagementsystem.scheduling;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a no-argument method, usually {@code @Scheduled}, as a cluster job: a run only happens on
+ * the node that gets the job's {@link ClusterLock}, is recorded in {@code job_runs} and can be
+ * started by an admin through {@code /api/admin/jobs/{name}/runs}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ClusterJob {
+
+    /**
+     * Unique job name, also the lock key.
+     */
+    String value();
+}
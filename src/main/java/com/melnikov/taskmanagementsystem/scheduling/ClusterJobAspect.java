@@ -0,0 +1,44 @@
+package com.melnikov.taskmanagementsystem.scheduling;
+
+import com.melnikov.taskmanagementsystem.model.utils.JobTrigger;
+import com.melnikov.taskmanagementsystem.service.ClusterJobService;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.UndeclaredThrowableException;
+
+/**
+ * Runs scheduled invocations of {@link ClusterJob} methods through {@link ClusterJobService}.
+ */
+@Aspect
+@Component
+public class ClusterJobAspect {
+
+    // looked up lazily, the service's own prune job is advised by this aspect
+    private final ObjectProvider<ClusterJobService> clusterJobService;
+
+    @Autowired
+    public ClusterJobAspect(ObjectProvider<ClusterJobService> clusterJobService) {
+        this.clusterJobService = clusterJobService;
+    }
+
+    @Around("@annotation(clusterJob)")
+    public Object runExclusively(ProceedingJoinPoint joinPoint, ClusterJob clusterJob) {
+        clusterJobService.getObject().runExclusively(clusterJob.value(), JobTrigger.SCHEDULED, () -> {
+            try {
+                joinPoint.proceed();
+            }
+            catch (RuntimeException | Error e) {
+                throw e;
+            }
+            catch (Throwable e) {
+                throw new UndeclaredThrowableException(e);
+            }
+        });
+        return null;
+    }
+}
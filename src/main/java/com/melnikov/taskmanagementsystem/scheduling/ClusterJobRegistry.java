@@ -0,0 +1,55 @@
+package com.melnikov.taskmanagementsystem.scheduling;
+
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Collects the {@link ClusterJob} methods of all beans, so they can be listed and started by name.
+ */
+@Component
+public class ClusterJobRegistry implements BeanPostProcessor {
+
+    private final Map<String, Runnable> jobs = new TreeMap<>();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Class<?> targetClass = AopUtils.getTargetClass(bean);
+        Map<Method, ClusterJob> methods = MethodIntrospector.selectMethods(targetClass,
+                (MethodIntrospector.MetadataLookup<ClusterJob>) method ->
+                        AnnotatedElementUtils.findMergedAnnotation(method, ClusterJob.class));
+        // called on the target, the caller takes the lock
+        Object target = AopProxyUtils.getSingletonTarget(bean);
+        Object instance = target != null ? target : bean;
+        methods.forEach((method, clusterJob) -> register(clusterJob.value(), instance, method));
+        return bean;
+    }
+
+    public synchronized Set<String> getNames() {
+        return Set.copyOf(jobs.keySet());
+    }
+
+    public synchronized Runnable getJob(String name) {
+        return jobs.get(name);
+    }
+
+    synchronized void register(String name, Object instance, Method method) {
+        if (method.getParameterCount() > 0) {
+            throw new IllegalStateException("Cluster job " + name + " must not take arguments: " + method);
+        }
+        if (jobs.containsKey(name)) {
+            throw new IllegalStateException("Duplicate cluster job name: " + name);
+        }
+        ReflectionUtils.makeAccessible(method);
+        jobs.put(name, () -> ReflectionUtils.invokeMethod(method, instance));
+    }
+}
@@ -0,0 +1,18 @@
+package com.melnikov.taskmanagementsystem.scheduling;
+
+/**
+ * Mutual exclusion for cluster jobs, selected with {@code scheduling.lock}.
+ */
+public interface ClusterLock {
+
+    /**
+     * Takes the lock without waiting. Returns null when it is held, here or on another node.
+     */
+    Lease tryAcquire(String name);
+
+    interface Lease extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
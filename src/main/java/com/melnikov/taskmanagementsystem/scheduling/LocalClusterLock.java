@@ -0,0 +1,28 @@
+package com.melnikov.taskmanagementsystem.scheduling;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * For a single instance and H2: only keeps a job from overlapping with itself, e.g. a manual run
+ * with a scheduled one.
+ */
+@Component
+@ConditionalOnProperty(name = "scheduling.lock", havingValue = "local", matchIfMissing = true)
+public class LocalClusterLock implements ClusterLock {
+
+    private final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    @Override
+    public Lease tryAcquire(String name) {
+        ReentrantLock lock = locks.computeIfAbsent(name, key -> new ReentrantLock());
+        if (!lock.tryLock()) {
+            return null;
+        }
+        return lock::unlock;
+    }
+}
@@ -0,0 +1,96 @@
+package com.melnikov.taskmanagementsystem.scheduling;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.Callable;
+
+/**
+ * Session-level PostgreSQL advisory lock held for the duration of the run on a dedicated connection
+ * outside the pool, so a long job does not keep a pooled connection or a bulkhead permit idle. If
+ * that connection dies the lock is gone too, so another node may start the job before this run
+ * noticed; jobs work in small idempotent batches for that reason.
+ */
+@Component
+@ConditionalOnProperty(name = "scheduling.lock", havingValue = "postgres")
+@Slf4j
+public class PostgresAdvisoryLock implements ClusterLock {
+
+    // first half of the two-int lock key, keeps job locks apart from other advisory lock users
+    static final int LOCK_NAMESPACE = 0x4a4f4253;
+
+    private final Callable<Connection> connectionFactory;
+
+    @Autowired
+    public PostgresAdvisoryLock(DataSourceProperties dataSourceProperties) {
+        this(() -> DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword()));
+    }
+
+    PostgresAdvisoryLock(Callable<Connection> connectionFactory) {
+        this.connectionFactory = connectionFactory;
+    }
+
+    @Override
+    public Lease tryAcquire(String name) {
+        Connection connection = null;
+        try {
+            connection = connectionFactory.call();
+            if (!call(connection, "select pg_try_advisory_lock(?, hashtext(?))", name)) {
+                connection.close();
+                return null;
+            }
+            Connection locked = connection;
+            return () -> release(locked, name);
+        }
+        catch (Exception e) {
+            closeQuietly(connection);
+            throw new DataAccessResourceFailureException("Failed to take the lock of job " + name, e);
+        }
+    }
+
+    private static void release(Connection connection, String name) {
+        try {
+            if (!call(connection, "select pg_advisory_unlock(?, hashtext(?))", name)) {
+                log.warn("Lock of job {} was not held at release", name);
+            }
+        }
+        catch (SQLException e) {
+            log.warn("Failed to release the lock of job {}: {}", name, e.getMessage());
+        }
+        finally {
+            closeQuietly(connection);
+        }
+    }
+
+    private static boolean call(Connection connection, String sql, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, LOCK_NAMESPACE);
+            statement.setString(2, name);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        }
+        catch (SQLException e) {
+            log.debug("Failed to close the job lock connection: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.melnikov.taskmanagementsystem.service;
+
+import com.melnikov.taskmanagementsystem.dto.ClusterJobDTO;
+import com.melnikov.taskmanagementsystem.dto.JobRunDTO;
+import com.melnikov.taskmanagementsystem.exception.resource.ResourceNotFoundException;
+import com.melnikov.taskmanagementsystem.model.JobRun;
+import com.melnikov.taskmanagementsystem.model.utils.JobStatus;
+import com.melnikov.taskmanagementsystem.model.utils.JobTrigger;
+import com.melnikov.taskmanagementsystem.repository.JobRunRepository;
+import com.melnikov.taskmanagementsystem.scheduling.ClusterJob;
+import com.melnikov.taskmanagementsystem.scheduling.ClusterJobRegistry;
+import com.melnikov.taskmanagementsystem.scheduling.ClusterLock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Runs {@link ClusterJob}s so that only one node at a time executes a given job, and keeps their
+ * run history. A node that doesn't get the lock skips the run; the history only has the runs that
+ * actually happened.
+ */
+@Service
+@Slf4j
+public class ClusterJobService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JobRunRepository jobRunRepository;
+
+    private final ClusterLock clusterLock;
+
+    private final ClusterJobRegistry clusterJobRegistry;
+
+    private final TaskExecutor taskExecutor;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${scheduling.node-id:}")
+    private String nodeId = "";
+
+    @Value("${scheduling.history-retention:P30D}")
+    private Duration historyRetention = Duration.ofDays(30);
+
+    @Autowired
+    public ClusterJobService(JobRunRepository jobRunRepository, ClusterLock clusterLock,
+                             ClusterJobRegistry clusterJobRegistry, TaskExecutor taskExecutor,
+                             PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.jobRunRepository = jobRunRepository;
+        this.clusterLock = clusterLock;
+        this.clusterJobRegistry = clusterJobRegistry;
+        this.taskExecutor = taskExecutor;
+        // history is written in its own transactions, so a failing job can't roll it back
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs the job body if this node gets the job's lock, returns false when the job is already
+     * running somewhere. Failures are recorded and rethrown.
+     */
+    public boolean runExclusively(String name, JobTrigger trigger, Runnable body) {
+        ClusterLock.Lease lease = clusterLock.tryAcquire(name);
+        if (lease == null) {
+            meterRegistry.counter("scheduling.jobs.skipped", "job", name).increment();
+            log.debug("Job {} is running on another node, skipping", name);
+            return false;
+        }
+        try (lease) {
+            JobRun run = start(name, trigger);
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                body.run();
+                finish(run, JobStatus.COMPLETED, null);
+                sample.stop(durationTimer(name, "completed"));
+                return true;
+            }
+            catch (RuntimeException | Error e) {
+                finish(run, JobStatus.FAILED, e.toString());
+                sample.stop(durationTimer(name, "failed"));
+                log.warn("Job {} failed on node {}: {}", name, run.getNode(), e.getMessage());
+                throw e;
+            }
+        }
+    }
+
+    public List<ClusterJobDTO> getJobs() {
+        return clusterJobRegistry.getNames().stream()
+                .sorted()
+                .map(name -> new ClusterJobDTO(name, jobRunRepository.findFirstByJobNameOrderByStartedAtDescIdDesc(name)
+                        .map(ClusterJobService::convertToDTO)
+                        .orElse(null)))
+                .toList();
+    }
+
+    public Page<JobRunDTO> getRuns(String name, Pageable pageable) {
+        requireJob(name);
+        return jobRunRepository.findByJobNameOrderByStartedAtDescIdDesc(name, pageable)
+                .map(ClusterJobService::convertToDTO);
+    }
+
+    /**
+     * Starts the job in the background. It goes through the same lock as a scheduled run, so it is
+     * skipped if the job is already running.
+     */
+    public void trigger(String name) {
+        Runnable job = requireJob(name);
+        log.info("Job {} triggered manually", name);
+        taskExecutor.execute(() -> {
+            try {
+                runExclusively(name, JobTrigger.MANUAL, job);
+            }
+            catch (RuntimeException e) {
+                // already recorded
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${scheduling.history-prune-interval:PT1H}")
+    @ClusterJob("job-runs-prune")
+    public void pruneHistory() {
+        Instant cutoff = Instant.now().minus(historyRetention);
+        Integer deleted = transactionTemplate.execute(status -> jobRunRepository.deleteStartedBefore(cutoff));
+        if (deleted != null && deleted > 0) {
+            log.info("Pruned {} job runs started before {}", deleted, cutoff);
+        }
+    }
+
+    private Runnable requireJob(String name) {
+        Runnable job = clusterJobRegistry.getJob(name);
+        if (job == null) {
+            throw new ResourceNotFoundException("Job not found with name: " + name);
+        }
+        return job;
+    }
+
+    private JobRun start(String name, JobTrigger trigger) {
+        JobRun run = new JobRun();
+        run.setJobName(name);
+        run.setNode(node());
+        run.setTrigger(trigger);
+        run.setStatus(JobStatus.RUNNING);
+        run.setStartedAt(Instant.now());
+        return transactionTemplate.execute(status -> jobRunRepository.save(run));
+    }
+
+    private void finish(JobRun run, JobStatus status, String error) {
+        run.setStatus(status);
+        run.setFinishedAt(Instant.now());
+        if (error != null && error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+        run.setError(error);
+        try {
+            transactionTemplate.executeWithoutResult(s -> jobRunRepository.save(run));
+        }
+        catch (RuntimeException e) {
+            log.warn("Failed to record the end of job {} run {}: {}", run.getJobName(), run.getId(), e.getMessage());
+        }
+    }
+
+    private Timer durationTimer(String name, String outcome) {
+        return Timer.builder("scheduling.jobs.duration")
+                .description("Duration of cluster job runs on the node that held the lock")
+                .tag("job", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private String node() {
+        return nodeId.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : nodeId;
+    }
+
+    static JobRunDTO convertToDTO(JobRun run) {
+        JobRunDTO dto = new JobRunDTO();
+        dto.setId(run.getId());
+        dto.setJobName(run.getJobName());
+        dto.setNode(run.getNode());
+        dto.setTrigger(run.getTrigger());
+        dto.setStatus(run.getStatus());
+        dto.setStartedAt(run.getStartedAt());
+        dto.setFinishedAt(run.getFinishedAt());
+        if (run.getFinishedAt() != null) {
+            dto.setDurationMillis(Duration.between(run.getStartedAt(), run.getFinishedAt()).toMillis());
+        }
+        dto.setError(run.getError());
+        return dto;
+    }
+}
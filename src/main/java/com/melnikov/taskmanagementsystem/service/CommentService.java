@@ -1,46 +1,75 @@
 package com.melnikov.taskmanagementsystem.service;
 
 import com.melnikov.taskmanagementsystem.dto.CommentDTO;
+import com.melnikov.taskmanagementsystem.dto.CommentWindowDTO;
 import com.melnikov.taskmanagementsystem.dto.create.CreateCommentDTO;
+import com.melnikov.taskmanagementsystem.event.TaskChangeEvent;
 import com.melnikov.taskmanagementsystem.exception.task.AuthorNotFoundException;
 import com.melnikov.taskmanagementsystem.exception.task.TaskNotFoundException;
 import com.melnikov.taskmanagementsystem.exception.comment.CommentNotFoundException;
+import com.melnikov.taskmanagementsystem.model.ArchivedComment;
 import com.melnikov.taskmanagementsystem.model.Comment;
 import com.melnikov.taskmanagementsystem.model.Task;
 import com.melnikov.taskmanagementsystem.model.User;
+import com.melnikov.taskmanagementsystem.model.utils.ChangeType;
+import com.melnikov.taskmanagementsystem.repository.ArchivedCommentRepository;
+import com.melnikov.taskmanagementsystem.repository.ArchivedTaskRepository;
 import com.melnikov.taskmanagementsystem.repository.CommentRepository;
 import com.melnikov.taskmanagementsystem.repository.TaskRepository;
 import com.melnikov.taskmanagementsystem.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Timed("app.service")
 @Slf4j
 public class CommentService {
 
+    static final int MAX_COMMENT_WINDOW_SIZE = 100;
+
     private final CommentRepository commentRepository;
 
     private final TaskRepository taskRepository;
 
     private final UserRepository userRepository;
 
+    private final ArchivedTaskRepository archivedTaskRepository;
+
+    private final ArchivedCommentRepository archivedCommentRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
     @Autowired
-    public CommentService(CommentRepository commentRepository, TaskRepository taskRepository, UserRepository userRepository) {
+    public CommentService(CommentRepository commentRepository, TaskRepository taskRepository, UserRepository userRepository,
+                          ArchivedTaskRepository archivedTaskRepository, ArchivedCommentRepository archivedCommentRepository,
+                          ApplicationEventPublisher eventPublisher) {
         this.commentRepository = commentRepository;
         this.taskRepository = taskRepository;
         this.userRepository = userRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.archivedCommentRepository = archivedCommentRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public Page<CommentDTO> getAllComments(Pageable pageable) {
-        log.info("Fetching all comments with pageable: {}", pageable);
-        return commentRepository.findAll(pageable).map(this::convertToDTO);
+        log.debug("Fetching all comments with pageable: {}", pageable);
+        return commentRepository.findAll(pageable).map(CommentService::convertToDTO);
     }
 
     public CommentDTO getCommentById(Long id) {
-        log.info("Fetching comment by id: {}", id);
+        log.debug("Fetching comment by id: {}", id);
         Comment comment = commentRepository.findById(id)
                 .orElseThrow(() -> {
                     log.warn("Comment not found with id: {}", id);
@@ -49,15 +78,19 @@ public class CommentService {
         return convertToDTO(comment);
     }
 
+    @Transactional
     public CommentDTO createComment(CreateCommentDTO createCommentDTO) {
-        log.info("Creating new comment with details: {}", createCommentDTO);
+        log.debug("Creating new comment with details: {}", createCommentDTO);
         Comment comment = convertCreateToEntity(createCommentDTO);
         Comment savedComment = commentRepository.save(comment);
+        taskRepository.adjustCommentCount(savedComment.getTask().getId(), 1, Instant.now());
+        eventPublisher.publishEvent(TaskChangeEvent.of(ChangeType.COMMENT_CREATED, savedComment.getTask(), savedComment.getId()));
         return convertToDTO(savedComment);
     }
 
+    @Transactional
     public CommentDTO updateComment(Long id, CommentDTO commentDTO) {
-        log.info("Updating comment with id: {} and details: {}", id, commentDTO);
+        log.debug("Updating comment with id: {} and details: {}", id, commentDTO);
         Comment existingComment = commentRepository.findById(id)
                 .orElseThrow(() -> {
                     log.warn("Comment not found with id: {}", id);
@@ -65,25 +98,59 @@ public class CommentService {
                 });
         existingComment.setText(commentDTO.getText());
         Comment updatedComment = commentRepository.save(existingComment);
+        taskRepository.adjustCommentCount(updatedComment.getTask().getId(), 0, Instant.now());
+        eventPublisher.publishEvent(TaskChangeEvent.of(ChangeType.COMMENT_UPDATED, updatedComment.getTask(), id));
         return convertToDTO(updatedComment);
     }
 
+    @Transactional
     public void deleteComment(Long id) {
-        log.info("Deleting comment with id: {}", id);
-        if (!commentRepository.existsById(id)) {
-            log.warn("Comment not found with id: {}", id);
-            throw new CommentNotFoundException("Comment not found with id: " + id);
-        }
+        log.debug("Deleting comment with id: {}", id);
+        Comment comment = commentRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.warn("Comment not found with id: {}", id);
+                    return new CommentNotFoundException("Comment not found with id: " + id);
+                });
         commentRepository.deleteById(id);
+        taskRepository.adjustCommentCount(comment.getTask().getId(), -1, Instant.now());
+        eventPublisher.publishEvent(TaskChangeEvent.of(ChangeType.COMMENT_DELETED, comment.getTask(), id));
     }
 
-    public Page<CommentDTO> getCommentsByTaskId(Long taskId, Pageable pageable) {
-        log.info("Fetching comments for task with id: {} and pageable: {}", taskId, pageable);
-        return commentRepository.findByTaskId(taskId, pageable).map(this::convertToDTO);
+    @Transactional(readOnly = true)
+    public CommentWindowDTO getCommentsByTaskId(Long taskId, Long before, int size) {
+        log.debug("Fetching comments for task with id: {} before comment id: {} and size: {}", taskId, before, size);
+        if (size < 1) {
+            throw new IllegalArgumentException("Comment window size must be positive: " + size);
+        }
+        int limit = Math.min(size, MAX_COMMENT_WINDOW_SIZE);
+        if (taskRepository.existsById(taskId)) {
+            List<Comment> comments = before == null
+                    ? commentRepository.findByTaskIdOrderByIdDesc(taskId, Limit.of(limit + 1))
+                    : commentRepository.findByTaskIdAndIdLessThanOrderByIdDesc(taskId, before, Limit.of(limit + 1));
+            return toWindow(comments, limit, CommentService::convertToDTO);
+        }
+        if (archivedTaskRepository.existsById(taskId)) {
+            List<ArchivedComment> comments = before == null
+                    ? archivedCommentRepository.findByTaskIdOrderByIdDesc(taskId, Limit.of(limit + 1))
+                    : archivedCommentRepository.findByTaskIdAndIdLessThanOrderByIdDesc(taskId, before, Limit.of(limit + 1));
+            return toWindow(comments, limit, CommentService::convertArchivedToDTO);
+        }
+        log.warn("Task not found with id: {}", taskId);
+        throw new TaskNotFoundException("Task not found with id: " + taskId);
     }
 
+    static <T> CommentWindowDTO toWindow(List<T> newestFirst, int limit, Function<T, CommentDTO> converter) {
+        boolean hasMore = newestFirst.size() > limit;
+        List<CommentDTO> window = (hasMore ? newestFirst.subList(0, limit) : newestFirst).stream()
+                .map(converter)
+                .collect(Collectors.toList());
+        Long nextCursor = hasMore ? window.get(window.size() - 1).getId() : null;
+        return new CommentWindowDTO(window, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
     public boolean isCommentAuthor(Long commentId, String email) {
-        log.info("Checking if user with email: {} is the author of comment with id: {}", email, commentId);
+        log.debug("Checking if user with email: {} is the author of comment with id: {}", email, commentId);
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> {
                     log.warn("Comment not found with id: {}", commentId);
@@ -93,7 +160,7 @@ public class CommentService {
         return author != null && author.getEmail().equals(email);
     }
 
-    private CommentDTO convertToDTO(Comment comment) {
+    static CommentDTO convertToDTO(Comment comment) {
         CommentDTO commentDTO = new CommentDTO();
         commentDTO.setId(comment.getId());
         commentDTO.setText(comment.getText());
@@ -102,6 +169,15 @@ public class CommentService {
         return commentDTO;
     }
 
+    static CommentDTO convertArchivedToDTO(ArchivedComment comment) {
+        CommentDTO commentDTO = new CommentDTO();
+        commentDTO.setId(comment.getId());
+        commentDTO.setText(comment.getText());
+        commentDTO.setTaskId(comment.getTaskId());
+        commentDTO.setAuthorId(comment.getAuthorId());
+        return commentDTO;
+    }
+
     private Comment convertCreateToEntity(CreateCommentDTO commentDTO) {
         Comment comment = new Comment();
         comment.setText(commentDTO.getText());
@@ -1,27 +1,94 @@
 package com.melnikov.taskmanagementsystem.service;
 
+import com.melnikov.taskmanagementsystem.cache.CacheInvalidationBus;
+import com.melnikov.taskmanagementsystem.cache.CacheInvalidationListener;
+import com.melnikov.taskmanagementsystem.config.Bulkhead;
+import com.melnikov.taskmanagementsystem.config.BulkheadDataSource;
+import com.melnikov.taskmanagementsystem.model.User;
 import com.melnikov.taskmanagementsystem.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads the user behind every authenticated request. Users are cached by email for
+ * {@code users.cache.ttl}; changes on any node evict them through the {@link CacheInvalidationBus}.
+ */
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+@Timed("app.service")
+public class CustomUserDetailsService implements UserDetailsService, CacheInvalidationListener {
 
     private final UserRepository userRepository;
 
+    private final Map<String, CachedUser> cache = new ConcurrentHashMap<>();
+
+    // bumped by every eviction, a load that overlapped one may have read the old row and isn't cached
+    private final AtomicLong generation = new AtomicLong();
+
+    @Value("${users.cache.ttl:PT5M}")
+    private Duration ttl = Duration.ofMinutes(5);
+
+    @Value("${users.cache.max-size:10000}")
+    private int maxSize = 10_000;
+
     @Autowired
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository, CacheInvalidationBus cacheInvalidationBus) {
         this.userRepository = userRepository;
+        cacheInvalidationBus.addListener(this);
     }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        return userRepository.findUserByEmail(email)
-                .orElseThrow(() -> {
-                    return new UsernameNotFoundException("User not found with email: " + email);
-                });
+        CachedUser cached = cache.get(email);
+        if (cached != null && System.nanoTime() - cached.loadedAt() < ttl.toNanos()) {
+            return cached.user();
+        }
+        long loadGeneration = generation.get();
+        // every request authenticates here, keep it off the connections of reads and batch jobs
+        Bulkhead previous = BulkheadDataSource.setBulkhead(Bulkhead.AUTH);
+        User user;
+        try {
+            user = userRepository.findUserByEmail(email)
+                    .orElseThrow(() -> {
+                        return new UsernameNotFoundException("User not found with email: " + email);
+                    });
+        }
+        finally {
+            BulkheadDataSource.setBulkhead(previous);
+        }
+        if (ttl.isPositive() && generation.get() == loadGeneration) {
+            if (cache.size() >= maxSize) {
+                cache.clear();
+            }
+            cache.put(email, new CachedUser(user, System.nanoTime()));
+        }
+        return user;
+    }
+
+    @Override
+    public void evict(String key) {
+        if (!key.startsWith("user:")) {
+            return;
+        }
+        generation.incrementAndGet();
+        cache.values().removeIf(cached -> key.equals(CacheInvalidationBus.userKey(cached.user().getId())));
+    }
+
+    @Override
+    public void evictAll() {
+        generation.incrementAndGet();
+        cache.clear();
+    }
+
+    private record CachedUser(User user, long loadedAt) {
     }
 }
@@ -0,0 +1,67 @@
+package com.melnikov.taskmanagementsystem.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.melnikov.taskmanagementsystem.model.QueuedJob;
+import com.melnikov.taskmanagementsystem.model.utils.QueuedJobStatus;
+import com.melnikov.taskmanagementsystem.repository.QueuedJobRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Adds jobs to the durable queue. Called inside a transaction, the job joins it: it is only picked
+ * up once the caller commits and disappears if it rolls back.
+ */
+@Service
+@Slf4j
+public class JobQueueService {
+
+    private final QueuedJobRepository queuedJobRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${jobs.queue.max-attempts:5}")
+    private int maxAttempts = 5;
+
+    @Autowired
+    public JobQueueService(QueuedJobRepository queuedJobRepository, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.queuedJobRepository = queuedJobRepository;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Transactional
+    public Long enqueue(String type, Object payload) {
+        return enqueue(type, payload, Duration.ZERO);
+    }
+
+    @Transactional
+    public Long enqueue(String type, Object payload, Duration delay) {
+        Instant now = Instant.now();
+        QueuedJob job = new QueuedJob();
+        job.setType(type);
+        try {
+            job.setPayload(objectMapper.writeValueAsString(payload));
+        }
+        catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Can't serialize payload of job type " + type, e);
+        }
+        job.setStatus(QueuedJobStatus.PENDING);
+        job.setMaxAttempts(maxAttempts);
+        job.setRunAt(now.plus(delay));
+        job.setCreatedAt(now);
+        Long id = queuedJobRepository.save(job).getId();
+        meterRegistry.counter("jobs.queue.enqueued", "type", type).increment();
+        log.debug("Enqueued job {} with id: {} to run at {}", type, id, job.getRunAt());
+        return id;
+    }
+}
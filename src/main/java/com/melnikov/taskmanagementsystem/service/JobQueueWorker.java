@@ -0,0 +1,311 @@
+package com.melnikov.taskmanagementsystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.melnikov.taskmanagementsystem.model.QueuedJob;
+import com.melnikov.taskmanagementsystem.model.utils.QueuedJobStatus;
+import com.melnikov.taskmanagementsystem.queue.JobHandler;
+import com.melnikov.taskmanagementsystem.repository.QueuedJobRepository;
+import com.melnikov.taskmanagementsystem.scheduling.ClusterJob;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Claims due jobs in batches with {@code FOR UPDATE SKIP LOCKED}, so any number of nodes can work
+ * the queue, and runs them on at most {@code jobs.queue.concurrency} threads. A claimed job stays
+ * invisible for {@code jobs.queue.visibility-timeout}; a failed one is retried with exponential
+ * backoff and dead-lettered after its last attempt, including one whose last attempt timed out.
+ */
+@Service
+@Slf4j
+public class JobQueueWorker implements InitializingBean, DisposableBean {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final QueuedJobRepository queuedJobRepository;
+
+    private final Map<String, JobHandler<?>> handlers = new HashMap<>();
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicReference<Instant> oldestDueRunAt = new AtomicReference<>();
+
+    private volatile long deadJobs;
+
+    private Semaphore permits;
+
+    private Executor executor;
+
+    @Value("${jobs.queue.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${jobs.queue.concurrency:4}")
+    private int concurrency = 4;
+
+    @Value("${jobs.queue.virtual-threads:false}")
+    private boolean virtualThreads;
+
+    @Value("${jobs.queue.batch-size:20}")
+    private int batchSize = 20;
+
+    @Value("${jobs.queue.visibility-timeout:PT5M}")
+    private Duration visibilityTimeout = Duration.ofMinutes(5);
+
+    @Value("${jobs.queue.backoff.initial:PT5S}")
+    private Duration initialBackoff = Duration.ofSeconds(5);
+
+    @Value("${jobs.queue.backoff.max:PT1H}")
+    private Duration maxBackoff = Duration.ofHours(1);
+
+    @Value("${jobs.queue.retention:P7D}")
+    private Duration retention = Duration.ofDays(7);
+
+    @Value("${jobs.queue.prune-batch-size:1000}")
+    private int pruneBatchSize = 1000;
+
+    @Value("${jobs.queue.shutdown-timeout:PT30S}")
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+
+    @Value("${scheduling.node-id:}")
+    private String nodeId = "";
+
+    @Autowired
+    public JobQueueWorker(QueuedJobRepository queuedJobRepository, List<JobHandler<?>> handlers, ObjectMapper objectMapper,
+                          PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.queuedJobRepository = queuedJobRepository;
+        for (JobHandler<?> handler : handlers) {
+            if (this.handlers.putIfAbsent(handler.getType(), handler) != null) {
+                throw new IllegalStateException("Duplicate handler for job type: " + handler.getType());
+            }
+        }
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("jobs.queue.lag", this, JobQueueWorker::lagSeconds)
+                .description("How long the oldest due job has been waiting to be claimed")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("jobs.queue.dead", this, worker -> worker.deadJobs)
+                .description("Jobs that failed their last attempt")
+                .register(meterRegistry);
+        Gauge.builder("jobs.queue.in-flight", this, worker -> worker.permits == null ? 0 : worker.concurrency - worker.permits.availablePermits())
+                .description("Jobs running on this node")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        permits = new Semaphore(concurrency);
+        if (executor == null) {
+            executor = virtualThreads
+                    ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("job-queue-", 0).factory())
+                    : Executors.newFixedThreadPool(concurrency, new CustomizableThreadFactory("job-queue-"));
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        enabled = false;
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+            // jobs still running are claimed again after their visibility timeout
+            if (!executorService.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                executorService.shutdownNow();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.queue.poll-interval:PT1S}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        int claimed;
+        int limit;
+        do {
+            // only this thread takes permits, so the claimed jobs never wait for one
+            limit = Math.min(batchSize, permits.availablePermits());
+            if (limit == 0) {
+                return;
+            }
+            List<QueuedJob> jobs = claim(limit);
+            for (QueuedJob job : jobs) {
+                permits.acquireUninterruptibly();
+                try {
+                    executor.execute(() -> {
+                        try {
+                            process(job);
+                        }
+                        finally {
+                            permits.release();
+                        }
+                    });
+                }
+                catch (RuntimeException e) {
+                    permits.release();
+                    log.warn("Job {} with id: {} was not started and will be claimed again: {}", job.getType(), job.getId(), e.getMessage());
+                }
+            }
+            claimed = jobs.size();
+        } while (claimed == limit && enabled);
+    }
+
+    List<QueuedJob> claim(int limit) {
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<QueuedJob> claimed = new ArrayList<>();
+            for (QueuedJob job : queuedJobRepository.lockClaimableBatch(now, limit)) {
+                if (job.getStatus() == QueuedJobStatus.RUNNING) {
+                    if (job.getAttempts() >= job.getMaxAttempts()) {
+                        // a job that keeps killing its node must not be retried forever
+                        log.error("Job {} with id: {} exceeded its visibility timeout on {} on attempt {} of {} and is dead",
+                                job.getType(), job.getId(), job.getLockedBy(), job.getAttempts(), job.getMaxAttempts());
+                        job.setStatus(QueuedJobStatus.DEAD);
+                        job.setLastError("Visibility timeout exceeded on " + job.getLockedBy() + " on the last attempt");
+                        job.setLockedBy(null);
+                        job.setFinishedAt(now);
+                        continue;
+                    }
+                    log.warn("Job {} with id: {} exceeded its visibility timeout on {}, claiming it again",
+                            job.getType(), job.getId(), job.getLockedBy());
+                }
+                job.setStatus(QueuedJobStatus.RUNNING);
+                job.setAttempts(job.getAttempts() + 1);
+                job.setLockedBy(node());
+                job.setRunAt(now.plus(visibilityTimeout));
+                claimed.add(job);
+            }
+            return claimed;
+        });
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void process(QueuedJob job) {
+        JobHandler handler = handlers.get(job.getType());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome;
+        try {
+            if (handler == null) {
+                throw new IllegalStateException("No handler for job type: " + job.getType());
+            }
+            handler.handle(objectMapper.readValue(job.getPayload(), handler.getPayloadType()));
+            finish(job, QueuedJobStatus.COMPLETED, job.getRunAt(), null);
+            outcome = "completed";
+        }
+        catch (Exception e) {
+            String error = e.toString();
+            if (handler == null || job.getAttempts() >= job.getMaxAttempts()) {
+                log.error("Job {} with id: {} failed attempt {} of {} and is dead: {}",
+                        job.getType(), job.getId(), job.getAttempts(), job.getMaxAttempts(), error);
+                finish(job, QueuedJobStatus.DEAD, job.getRunAt(), error);
+                outcome = "dead";
+            }
+            else {
+                Duration backoff = backoff(job.getAttempts());
+                log.warn("Job {} with id: {} failed attempt {} of {}, retrying in {}: {}",
+                        job.getType(), job.getId(), job.getAttempts(), job.getMaxAttempts(), backoff, error);
+                finish(job, QueuedJobStatus.PENDING, Instant.now().plus(backoff), error);
+                outcome = "retried";
+            }
+        }
+        sample.stop(Timer.builder("jobs.queue.duration")
+                .description("Duration of queued job attempts")
+                .tag("type", job.getType())
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    /**
+     * Exponential backoff with jitter: between half and all of initial * 2^(attempt - 1), capped at
+     * the maximum, so jobs that failed together don't come back together.
+     */
+    Duration backoff(int attempt) {
+        long initial = initialBackoff.toMillis();
+        long delay = maxBackoff.toMillis();
+        if (attempt - 1 < Long.numberOfLeadingZeros(initial) - 1) {
+            delay = Math.min(initial << (attempt - 1), delay);
+        }
+        return Duration.ofMillis(delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1));
+    }
+
+    private void finish(QueuedJob job, QueuedJobStatus status, Instant runAt, String error) {
+        if (error != null && error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+        Instant finishedAt = status == QueuedJobStatus.PENDING ? null : Instant.now();
+        String lastError = error;
+        try {
+            Integer updated = transactionTemplate.execute(s -> queuedJobRepository.finish(job.getId(), job.getLockedBy(),
+                    job.getAttempts(), status, runAt, lastError, finishedAt));
+            if (updated == null || updated == 0) {
+                log.warn("Job {} with id: {} was claimed again before attempt {} finished", job.getType(), job.getId(), job.getAttempts());
+            }
+        }
+        catch (RuntimeException e) {
+            // the job is claimed again after the visibility timeout
+            log.warn("Failed to record the end of job {} with id: {}: {}", job.getType(), job.getId(), e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.queue.metrics-interval:PT15S}")
+    public void refreshMetrics() {
+        transactionTemplate.executeWithoutResult(status -> {
+            oldestDueRunAt.set(queuedJobRepository.findOldestDueRunAt(Instant.now()).orElse(null));
+            deadJobs = queuedJobRepository.countByStatus(QueuedJobStatus.DEAD);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.queue.prune-interval:PT1H}")
+    @ClusterJob("job-queue-prune")
+    public void pruneCompleted() {
+        Instant cutoff = Instant.now().minus(retention);
+        int deleted;
+        int total = 0;
+        do {
+            deleted = transactionTemplate.execute(status ->
+                    queuedJobRepository.deleteBatchCompletedBefore(cutoff, pruneBatchSize));
+            total += deleted;
+        } while (deleted >= pruneBatchSize);
+        if (total > 0) {
+            log.info("Pruned {} queued jobs completed before {}", total, cutoff);
+        }
+    }
+
+    double lagSeconds() {
+        Instant oldest = oldestDueRunAt.get();
+        return oldest == null ? 0 : Math.max(0, Duration.between(oldest, Instant.now()).toMillis() / 1000.0);
+    }
+
+    private String node() {
+        return nodeId.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : nodeId;
+    }
+}
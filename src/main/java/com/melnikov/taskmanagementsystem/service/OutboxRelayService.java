@@ -0,0 +1,173 @@
+package com.melnikov.taskmanagementsystem.service;
+
+import com.melnikov.taskmanagementsystem.event.OutboxEvent;
+import com.melnikov.taskmanagementsystem.model.OutboxMessage;
+import com.melnikov.taskmanagementsystem.outbox.OutboxSink;
+import com.melnikov.taskmanagementsystem.repository.OutboxMessageRepository;
+import com.melnikov.taskmanagementsystem.scheduling.ClusterJob;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Moves committed outbox messages to the configured {@link OutboxSink}. A batch is locked with
+ * {@code FOR UPDATE SKIP LOCKED}, so several instances can relay at once, and is marked published in
+ * the same transaction once the sink returns. A failure rolls the batch back and it is sent again
+ * on the next run: delivery is at-least-once.
+ */
+@Service
+@Slf4j
+public class OutboxRelayService {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+
+    private final OutboxSink sink;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter published;
+
+    private final Counter failures;
+
+    private final AtomicReference<Instant> oldestPendingCreatedAt = new AtomicReference<>();
+
+    @Value("${outbox.relay.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize = 100;
+
+    @Value("${outbox.relay.max-batches-per-run:50}")
+    private int maxBatchesPerRun = 50;
+
+    @Value("${outbox.retention:P7D}")
+    private Duration retention = Duration.ofDays(7);
+
+    @Value("${outbox.prune-batch-size:1000}")
+    private int pruneBatchSize = 1000;
+
+    @Autowired
+    public OutboxRelayService(OutboxMessageRepository outboxMessageRepository, OutboxSink sink,
+                              PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.sink = sink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.published = meterRegistry.counter("outbox.published");
+        this.failures = meterRegistry.counter("outbox.failures");
+        Gauge.builder("outbox.lag", this, OutboxRelayService::lagSeconds)
+                .description("Age of the oldest outbox message not yet accepted by the sink")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval:PT1S}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        int batches = 0;
+        try {
+            int sent;
+            do {
+                sent = relayBatch();
+                batches++;
+            } while (sent >= batchSize && batches < maxBatchesPerRun);
+        }
+        catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Outbox batch failed and will be retried: {}", e.getMessage());
+        }
+        oldestPendingCreatedAt.set(transactionTemplate.execute(status ->
+                outboxMessageRepository.findOldestPendingCreatedAt().orElse(null)));
+    }
+
+    int relayBatch() {
+        Integer sent = transactionTemplate.execute(status -> {
+            List<OutboxMessage> batch = publishable(outboxMessageRepository.lockPendingBatch(batchSize));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            try {
+                sink.publish(batch.stream().map(OutboxRelayService::toEvent).toList());
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            outboxMessageRepository.markPublished(batch.stream().map(OutboxMessage::getId).toList(), Instant.now());
+            published.increment(batch.size());
+            log.debug("Relayed {} outbox messages", batch.size());
+            return batch.size();
+        });
+        return sent == null ? 0 : sent;
+    }
+
+    /**
+     * Drops the messages of aggregates with an older pending message outside the batch, locked by
+     * another relay or skipped earlier, so one aggregate's messages never overtake each other.
+     */
+    List<OutboxMessage> publishable(List<OutboxMessage> batch) {
+        if (batch.isEmpty()) {
+            return batch;
+        }
+        Set<Long> ids = batch.stream().map(OutboxMessage::getId).collect(Collectors.toSet());
+        Set<Long> aggregateIds = batch.stream().map(OutboxMessage::getAggregateId).collect(Collectors.toSet());
+        Long maxId = batch.get(batch.size() - 1).getId();
+        Map<String, Long> blockedFrom = new HashMap<>();
+        for (OutboxMessageRepository.PendingHead head : outboxMessageRepository.findPendingHeadsOutside(maxId, ids, aggregateIds)) {
+            blockedFrom.put(head.getAggregateType() + ":" + head.getAggregateId(), head.getFirstId());
+        }
+        if (blockedFrom.isEmpty()) {
+            return batch;
+        }
+        return batch.stream()
+                .filter(message -> {
+                    Long firstId = blockedFrom.get(message.getAggregateType() + ":" + message.getAggregateId());
+                    return firstId == null || message.getId() < firstId;
+                })
+                .toList();
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.prune-interval:PT1H}")
+    @ClusterJob("outbox-prune")
+    public void prunePublished() {
+        Instant cutoff = Instant.now().minus(retention);
+        int deleted;
+        int total = 0;
+        do {
+            deleted = transactionTemplate.execute(status ->
+                    outboxMessageRepository.deleteBatchPublishedBefore(cutoff, pruneBatchSize));
+            total += deleted;
+        } while (deleted >= pruneBatchSize);
+        if (total > 0) {
+            log.info("Pruned {} outbox messages published before {}", total, cutoff);
+        }
+    }
+
+    double lagSeconds() {
+        Instant oldest = oldestPendingCreatedAt.get();
+        return oldest == null ? 0 : Duration.between(oldest, Instant.now()).toMillis() / 1000.0;
+    }
+
+    private static OutboxEvent toEvent(OutboxMessage message) {
+        return new OutboxEvent(message.getId(), message.getAggregateType(), message.getAggregateId(),
+                message.getEventType(), message.getPayload(), message.getCreatedAt());
+    }
+}
@@ -0,0 +1,103 @@
+package com.melnikov.taskmanagementsystem.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.melnikov.taskmanagementsystem.event.TaskChangeEvent;
+import com.melnikov.taskmanagementsystem.event.UserChangeEvent;
+import com.melnikov.taskmanagementsystem.model.OutboxMessage;
+import com.melnikov.taskmanagementsystem.model.utils.ChangeType;
+import com.melnikov.taskmanagementsystem.repository.CommentRepository;
+import com.melnikov.taskmanagementsystem.repository.OutboxMessageRepository;
+import com.melnikov.taskmanagementsystem.repository.TaskRepository;
+import com.melnikov.taskmanagementsystem.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes task, comment and user changes to the outbox. The listeners run synchronously inside the
+ * mutating transaction, so a message exists exactly when its change was committed.
+ */
+@Service
+@Slf4j
+public class OutboxService {
+
+    static final String TASK_AGGREGATE = "task";
+
+    static final String USER_AGGREGATE = "user";
+
+    private final OutboxMessageRepository outboxMessageRepository;
+
+    private final TaskRepository taskRepository;
+
+    private final CommentRepository commentRepository;
+
+    private final UserRepository userRepository;
+
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public OutboxService(OutboxMessageRepository outboxMessageRepository, TaskRepository taskRepository,
+                         CommentRepository commentRepository, UserRepository userRepository, ObjectMapper objectMapper) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.taskRepository = taskRepository;
+        this.commentRepository = commentRepository;
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper.copy().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    }
+
+    @EventListener
+    public void onTaskChange(TaskChangeEvent event) {
+        Object payload = switch (event.type()) {
+            case TASK_CREATED, TASK_UPDATED -> taskRepository.findById(event.taskId())
+                    .map(TaskService::convertToSummaryDTO)
+                    .orElse(null);
+            case COMMENT_CREATED, COMMENT_UPDATED -> commentRepository.findById(event.commentId())
+                    .map(CommentService::convertToDTO)
+                    .orElse(null);
+            default -> null;
+        };
+        if (payload == null) {
+            Map<String, Long> ids = new LinkedHashMap<>();
+            ids.put("taskId", event.taskId());
+            if (event.commentId() != null) {
+                ids.put("commentId", event.commentId());
+            }
+            payload = ids;
+        }
+        append(TASK_AGGREGATE, event.taskId(), event.type(), payload);
+    }
+
+    @EventListener
+    public void onUserChange(UserChangeEvent event) {
+        Object payload = event.type() == ChangeType.USER_DELETED ? null : userRepository.findById(event.userId())
+                .map(UserService::convertToDTO)
+                .orElse(null);
+        append(USER_AGGREGATE, event.userId(), event.type(), payload != null ? payload : Map.of("userId", event.userId()));
+    }
+
+    private void append(String aggregateType, Long aggregateId, ChangeType type, Object payload) {
+        // flush first: the row locks taken by the change then order concurrent writers of one
+        // aggregate, and the message id is only allocated once the lock is held
+        outboxMessageRepository.flush();
+        OutboxMessage message = new OutboxMessage();
+        message.setAggregateType(aggregateType);
+        message.setAggregateId(aggregateId);
+        message.setEventType(type.name());
+        message.setCreatedAt(Instant.now());
+        try {
+            message.setPayload(objectMapper.writeValueAsString(payload));
+        }
+        catch (JsonProcessingException e) {
+            throw new IllegalStateException("Can't serialize outbox payload for " + aggregateType + " " + aggregateId, e);
+        }
+        outboxMessageRepository.save(message);
+        log.debug("Appended {} for {} with id: {} to the outbox", type, aggregateType, aggregateId);
+    }
+}
@@ -0,0 +1,203 @@
+package com.melnikov.taskmanagementsystem.service;
+
+import com.melnikov.taskmanagementsystem.dto.RecordingDTO;
+import com.melnikov.taskmanagementsystem.exception.resource.ResourceNotFoundException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Manages JDK Flight Recorder recordings: a continuous low-overhead recording kept in a rolling
+ * on-disk buffer, and short on-demand recordings started by an admin.
+ */
+@Service
+@Slf4j
+public class ProfilingService {
+
+    static final String CONTINUOUS_RECORDING_NAME = "continuous";
+
+    private final Map<Long, Recording> recordings = new ConcurrentHashMap<>();
+
+    private volatile Recording continuousRecording;
+
+    @Value("${profiling.jfr.continuous.enabled:false}")
+    private boolean continuousEnabled = false;
+
+    @Value("${profiling.jfr.continuous.max-age:PT30M}")
+    private Duration continuousMaxAge = Duration.ofMinutes(30);
+
+    @Value("${profiling.jfr.continuous.max-size:256MB}")
+    private DataSize continuousMaxSize = DataSize.ofMegabytes(256);
+
+    @Value("${profiling.jfr.max-duration:PT10M}")
+    private Duration maxDuration = Duration.ofMinutes(10);
+
+    @Value("${profiling.jfr.max-recordings:4}")
+    private int maxRecordings = 4;
+
+    @PostConstruct
+    public void startContinuousRecording() throws IOException, ParseException {
+        if (!continuousEnabled) {
+            return;
+        }
+        Recording recording = new Recording(Configuration.getConfiguration("default"));
+        recording.setName(CONTINUOUS_RECORDING_NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(continuousMaxAge);
+        recording.setMaxSize(continuousMaxSize.toBytes());
+        recording.start();
+        continuousRecording = recording;
+        log.info("Started continuous JFR recording keeping the last {} (at most {})", continuousMaxAge, continuousMaxSize);
+    }
+
+    @PreDestroy
+    public void closeRecordings() {
+        recordings.values().forEach(Recording::close);
+        recordings.clear();
+        if (continuousRecording != null) {
+            continuousRecording.close();
+            continuousRecording = null;
+        }
+    }
+
+    public RecordingDTO startRecording(String settings, Duration duration) throws IOException, ParseException {
+        log.debug("Starting JFR recording with settings: {} and duration: {}", settings, duration);
+        if (!"default".equals(settings) && !"profile".equals(settings)) {
+            throw new IllegalArgumentException("settings must be 'default' or 'profile'");
+        }
+        Duration recordingDuration = duration != null ? duration : maxDuration;
+        if (recordingDuration.isNegative() || recordingDuration.isZero() || recordingDuration.compareTo(maxDuration) > 0) {
+            throw new IllegalArgumentException("duration must be positive and at most " + maxDuration);
+        }
+        Configuration configuration = Configuration.getConfiguration(settings);
+
+        Recording recording;
+        // the limit check and the registration must not interleave with a concurrent start
+        synchronized (recordings) {
+            if (recordings.size() >= maxRecordings) {
+                throw new IllegalArgumentException("At most " + maxRecordings + " recordings can be kept, delete a finished one first");
+            }
+            recording = new Recording(configuration);
+            recording.setName("on-demand-" + settings);
+            recording.setToDisk(true);
+            // stops on its own if nobody comes back for it
+            recording.setDuration(recordingDuration);
+            recordings.put(recording.getId(), recording);
+        }
+        try {
+            recording.start();
+        }
+        catch (RuntimeException e) {
+            recordings.remove(recording.getId());
+            recording.close();
+            throw e;
+        }
+        return convertToDTO(recording);
+    }
+
+    public RecordingDTO stopRecording(long id) {
+        log.debug("Stopping JFR recording with id: {}", id);
+        Recording recording = findRecording(id);
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        return convertToDTO(recording);
+    }
+
+    public RecordingDTO getRecording(long id) {
+        log.debug("Fetching JFR recording with id: {}", id);
+        return convertToDTO(findRecording(id));
+    }
+
+    public List<RecordingDTO> getRecordings() {
+        log.debug("Fetching all JFR recordings");
+        return recordings.values().stream()
+                .sorted(Comparator.comparingLong(Recording::getId))
+                .map(this::convertToDTO)
+                .toList();
+    }
+
+    public void deleteRecording(long id) {
+        log.debug("Deleting JFR recording with id: {}", id);
+        Recording recording = recordings.remove(id);
+        if (recording == null) {
+            throw recordingNotFound(id);
+        }
+        recording.close();
+    }
+
+    /**
+     * Writes the recording (a snapshot if it is still running) to a temporary file the caller
+     * must delete.
+     */
+    public Path dumpRecording(long id) throws IOException {
+        log.debug("Dumping JFR recording with id: {}", id);
+        return dump(findRecording(id));
+    }
+
+    /**
+     * Writes the rolling buffer of the continuous recording to a temporary file the caller must delete.
+     */
+    public Path dumpContinuousRecording() throws IOException {
+        log.debug("Dumping continuous JFR recording");
+        Recording recording = continuousRecording;
+        if (recording == null) {
+            log.warn("Continuous JFR recording is not enabled");
+            throw new ResourceNotFoundException("Continuous JFR recording is not enabled");
+        }
+        return dump(recording);
+    }
+
+    private Path dump(Recording recording) throws IOException {
+        Path file = Files.createTempFile("recording-" + recording.getId() + "-", ".jfr");
+        try {
+            recording.dump(file);
+            return file;
+        }
+        catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    private Recording findRecording(long id) {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            throw recordingNotFound(id);
+        }
+        return recording;
+    }
+
+    private ResourceNotFoundException recordingNotFound(long id) {
+        log.warn("JFR recording not found with id: {}", id);
+        return new ResourceNotFoundException("JFR recording not found with id: " + id);
+    }
+
+    private RecordingDTO convertToDTO(Recording recording) {
+        RecordingDTO recordingDTO = new RecordingDTO();
+        recordingDTO.setId(recording.getId());
+        recordingDTO.setName(recording.getName());
+        recordingDTO.setState(recording.getState().name());
+        recordingDTO.setStartedAt(recording.getStartTime());
+        recordingDTO.setStoppedAt(recording.getStopTime());
+        recordingDTO.setDuration(recording.getDuration());
+        recordingDTO.setSize(recording.getSize());
+        return recordingDTO;
+    }
+}
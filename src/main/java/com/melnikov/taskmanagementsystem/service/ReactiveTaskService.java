@@ -0,0 +1,93 @@
+package com.melnikov.taskmanagementsystem.service;
+
+import com.melnikov.taskmanagementsystem.dto.CommentDTO;
+import com.melnikov.taskmanagementsystem.dto.TaskDTO;
+import com.melnikov.taskmanagementsystem.exception.task.TaskNotFoundException;
+import com.melnikov.taskmanagementsystem.repository.TaskReadRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-only counterpart of {@link TaskService} and {@link CommentService} on top of R2DBC. Returns
+ * the same DTOs, including the archive fallback for tasks and comments that were moved out of the
+ * hot tables.
+ */
+@Service
+@Slf4j
+public class ReactiveTaskService {
+
+    private final TaskReadRepository taskReadRepository;
+
+    @Value("${tasks.detail.comment-window:20}")
+    private int commentWindowSize = 20;
+
+    @Autowired
+    public ReactiveTaskService(TaskReadRepository taskReadRepository) {
+        this.taskReadRepository = taskReadRepository;
+    }
+
+    public Flux<TaskDTO> getAllTasks(Pageable pageable) {
+        log.debug("Streaming all tasks with pageable: {}", pageable);
+        return Flux.defer(() -> taskReadRepository.findAll(pageable));
+    }
+
+    public Flux<TaskDTO> getTasksByAuthorId(Long authorId, Pageable pageable) {
+        log.debug("Streaming tasks by author id: {} and pageable: {}", authorId, pageable);
+        return Flux.defer(() -> taskReadRepository.findByAuthorId(authorId, pageable));
+    }
+
+    public Flux<TaskDTO> getTasksByAssigneeId(Long assigneeId, Pageable pageable) {
+        log.debug("Streaming tasks by assignee id: {} and pageable: {}", assigneeId, pageable);
+        return Flux.defer(() -> taskReadRepository.findByAssigneeId(assigneeId, pageable));
+    }
+
+    public Mono<TaskDTO> getTaskById(Long id) {
+        log.debug("Fetching task by id: {}", id);
+        Mono<TaskDTO> hotTask = taskReadRepository.findById(id)
+                .flatMap(task -> withCommentWindow(task, false));
+        Mono<TaskDTO> archivedTask = taskReadRepository.findArchivedById(id)
+                .flatMap(task -> withCommentWindow(task, true));
+        return hotTask
+                .switchIfEmpty(archivedTask)
+                .switchIfEmpty(Mono.error(() -> {
+                    log.warn("Task not found with id: {}", id);
+                    return new TaskNotFoundException("Task not found with id: " + id);
+                }));
+    }
+
+    /**
+     * Streams comments of a task newest first. The id of the last comment is the cursor for the next
+     * call, as {@code nextCursor} is for {@link CommentService#getCommentsByTaskId}.
+     */
+    public Flux<CommentDTO> getCommentsByTaskId(Long taskId, Long before, int size) {
+        log.debug("Streaming comments for task with id: {} before comment id: {} and size: {}", taskId, before, size);
+        if (size < 1) {
+            return Flux.error(new IllegalArgumentException("Comment window size must be positive: " + size));
+        }
+        int limit = Math.min(size, CommentService.MAX_COMMENT_WINDOW_SIZE);
+        // resolve the table first so a missing task fails before anything has been written
+        return taskReadRepository.existsById(taskId)
+                .flatMap(hot -> hot ? Mono.just(false) : taskReadRepository.existsArchivedById(taskId)
+                        .flatMap(archived -> archived ? Mono.just(true) : Mono.error(() -> {
+                            log.warn("Task not found with id: {}", taskId);
+                            return new TaskNotFoundException("Task not found with id: " + taskId);
+                        })))
+                .flatMapMany(archived -> taskReadRepository.findComments(taskId, before, limit, archived));
+    }
+
+    private Mono<TaskDTO> withCommentWindow(TaskDTO task, boolean archived) {
+        return taskReadRepository.findComments(task.getId(), null, commentWindowSize + 1, archived)
+                .collectList()
+                .map(comments -> {
+                    boolean hasMore = comments.size() > commentWindowSize;
+                    task.setComments(hasMore ? comments.subList(0, commentWindowSize) : comments);
+                    task.setCommentsCursor(hasMore ? comments.get(commentWindowSize - 1).getId() : null);
+                    return task;
+                });
+    }
+}
@@ -0,0 +1,97 @@
+package com.melnikov.taskmanagementsystem.service;
+
+import com.melnikov.taskmanagementsystem.model.utils.JobTrigger;
+import com.melnikov.taskmanagementsystem.repository.TaskRepository;
+import com.melnikov.taskmanagementsystem.scheduling.ClusterJob;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Fills {@code comment_count} and {@code last_activity_at} of tasks created before the columns
+ * existed, and corrects counts that drifted. The activity of such a task is its newest recorded
+ * change, or the time of the backfill when it has none, so it only becomes archivable a full
+ * {@code tasks.archive.min-age} later. Runs in id batches; rows already right are skipped.
+ * <p>
+ * With {@code tasks.backfill.enabled} it runs once on startup, as long as some task still has no
+ * activity, and only on the node that gets the cluster lock. Drifted counts alone are corrected by
+ * starting the {@value #BACKFILL_JOB} job through the admin API.
+ */
+@Service
+@Slf4j
+public class TaskActivityBackfillService implements ApplicationRunner {
+
+    public static final String BACKFILL_JOB = "task-activity-backfill";
+
+    private final TaskRepository taskRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ClusterJobService clusterJobService;
+
+    @Value("${tasks.backfill.enabled:false}")
+    private boolean enabled;
+
+    @Value("${tasks.backfill.batch-size:1000}")
+    private int batchSize = 1000;
+
+    @Autowired
+    public TaskActivityBackfillService(TaskRepository taskRepository, PlatformTransactionManager transactionManager,
+                                       ClusterJobService clusterJobService) {
+        this.taskRepository = taskRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clusterJobService = clusterJobService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        if (!Boolean.TRUE.equals(transactionTemplate.execute(status -> taskRepository.existsByLastActivityAtIsNull()))) {
+            log.debug("Every task has its last activity, skipping the backfill");
+            return;
+        }
+        // nodes starting together don't scan the table in parallel, the ones without the lock skip it
+        clusterJobService.runExclusively(BACKFILL_JOB, JobTrigger.SCHEDULED, this::backfill);
+    }
+
+    @ClusterJob(BACKFILL_JOB)
+    public void reconcile() {
+        backfill();
+    }
+
+    public int backfill() {
+        Instant now = Instant.now();
+        long afterId = 0;
+        int total = 0;
+        while (true) {
+            long from = afterId;
+            long[] batch = transactionTemplate.execute(status -> {
+                List<Long> ids = taskRepository.lockIdBatch(from, batchSize);
+                if (ids.isEmpty()) {
+                    return null;
+                }
+                long last = ids.get(ids.size() - 1);
+                return new long[]{last, taskRepository.reconcileActivity(ids.get(0), last, now)};
+            });
+            if (batch == null) {
+                break;
+            }
+            afterId = batch[0];
+            total += (int) batch[1];
+        }
+        if (total > 0) {
+            log.info("Backfilled comment count and last activity of {} tasks", total);
+        }
+        return total;
+    }
+}
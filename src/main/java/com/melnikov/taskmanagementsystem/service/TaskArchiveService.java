@@ -0,0 +1,93 @@
+package com.melnikov.taskmanagementsystem.service;
+
+import com.melnikov.taskmanagementsystem.repository.ArchivedCommentRepository;
+import com.melnikov.taskmanagementsystem.repository.ArchivedTaskRepository;
+import com.melnikov.taskmanagementsystem.scheduling.ClusterJob;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@Service
+@Slf4j
+public class TaskArchiveService {
+
+    private final ArchivedTaskRepository archivedTaskRepository;
+
+    private final ArchivedCommentRepository archivedCommentRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter archivedTasks;
+
+    private final Counter archivedComments;
+
+    @Value("${tasks.archive.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${tasks.archive.min-age:P365D}")
+    private Duration minAge = Duration.ofDays(365);
+
+    @Value("${tasks.archive.batch-size:200}")
+    private int batchSize = 200;
+
+    @Value("${tasks.archive.max-batches-per-run:50}")
+    private int maxBatchesPerRun = 50;
+
+    @Autowired
+    public TaskArchiveService(ArchivedTaskRepository archivedTaskRepository, ArchivedCommentRepository archivedCommentRepository,
+                              PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.archivedCommentRepository = archivedCommentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archivedTasks = meterRegistry.counter("tasks.archive.moved", "entity", "task");
+        this.archivedComments = meterRegistry.counter("tasks.archive.moved", "entity", "comment");
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.archive.interval:PT1H}")
+    @ClusterJob("task-archive")
+    public void archiveCompletedTasks() {
+        if (!enabled) {
+            return;
+        }
+        Instant cutoff = Instant.now().minus(minAge);
+        int moved;
+        int batches = 0;
+        do {
+            moved = archiveBatch(cutoff);
+            batches++;
+        } while (moved >= batchSize && batches < maxBatchesPerRun);
+    }
+
+    int archiveBatch(Instant cutoff) {
+        Integer moved = transactionTemplate.execute(status -> {
+            List<Long> taskIds = archivedTaskRepository.findArchivableTaskIds(cutoff, batchSize);
+            if (taskIds.isEmpty()) {
+                return 0;
+            }
+            // the copy checks eligibility again, a task may have changed since it was selected
+            int tasks = archivedTaskRepository.copyFromTasks(taskIds, cutoff, Instant.now());
+            int comments = archivedCommentRepository.copyFromComments(taskIds);
+            int deletedComments = archivedCommentRepository.deleteFromComments(taskIds);
+            int deletedTasks = archivedTaskRepository.deleteFromTasks(taskIds);
+            if (deletedComments != comments || deletedTasks != tasks) {
+                // roll the batch back rather than lose a comment or leave a task in both tables
+                throw new IllegalStateException("Tasks " + taskIds + " changed while being archived");
+            }
+            archivedComments.increment(comments);
+            archivedTasks.increment(tasks);
+            log.info("Archived {} completed tasks with {} comments", tasks, comments);
+            return taskIds.size();
+        });
+        return moved == null ? 0 : moved;
+    }
+}
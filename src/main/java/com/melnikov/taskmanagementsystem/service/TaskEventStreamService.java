@@ -0,0 +1,314 @@
+package com.melnikov.taskmanagementsystem.service;
+
+import com.melnikov.taskmanagementsystem.cache.CacheInvalidationBus;
+import com.melnikov.taskmanagementsystem.cache.TaskChangeListener;
+import com.melnikov.taskmanagementsystem.dto.TaskEventDTO;
+import com.melnikov.taskmanagementsystem.event.TaskChangeEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes {@link TaskChangeEvent}s to the author and assignee of the changed task over SSE.
+ *
+ * <p>Changes arrive through the {@link CacheInvalidationBus}, so a client sees the changes committed
+ * on every node, not just on the one holding its connection. Every event gets an id from one
+ * increasing sequence and is kept in a bounded replay buffer, so a client reconnecting with
+ * {@code Last-Event-ID} receives what it missed. When that isn't possible (the events were evicted,
+ * the ids came from another node or from before a restart, or the bus lost notifications) the
+ * client gets a {@code reset} event and should reload its tasks.
+ *
+ * <p>Each connection has a bounded queue drained by its own virtual thread. Publishing only offers to
+ * those queues; a connection whose queue is full is closed instead of slowing down the publisher.
+ */
+@Service
+@Slf4j
+public class TaskEventStreamService implements TaskChangeListener, DisposableBean {
+
+    static final String RESET_EVENT = "reset";
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // guarded by lock
+    private final ArrayDeque<StoredEvent> replayBuffer = new ArrayDeque<>();
+
+    // guarded by lock; starts at the boot time so ids handed out before a restart are never reused
+    private long sequence = System.currentTimeMillis() * 1000;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Counter publishedEvents;
+
+    private final Counter droppedConnections;
+
+    @Value("${tasks.events.replay-size:10000}")
+    private int replaySize = 10_000;
+
+    @Value("${tasks.events.buffer-size:256}")
+    private int bufferSize = 256;
+
+    @Value("${tasks.events.timeout:PT30M}")
+    private Duration timeout = Duration.ofMinutes(30);
+
+    @Autowired
+    public TaskEventStreamService(MeterRegistry meterRegistry, CacheInvalidationBus cacheInvalidationBus) {
+        this.publishedEvents = meterRegistry.counter("tasks.events.published");
+        this.droppedConnections = meterRegistry.counter("tasks.events.dropped");
+        Gauge.builder("tasks.events.connections", connections, AtomicInteger::get)
+                .description("Open task event streams")
+                .register(meterRegistry);
+        cacheInvalidationBus.addTaskChangeListener(this);
+    }
+
+    /**
+     * Called by the bus once the publishing transaction committed, so rolled back changes are never
+     * announced.
+     */
+    @Override
+    public void onTaskChange(TaskChangeEvent event) {
+        if (event.userIds().isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            TaskEventDTO taskEventDTO = new TaskEventDTO(++sequence, event.type(), event.taskId(), event.commentId(), Instant.now());
+            replayBuffer.addLast(new StoredEvent(taskEventDTO, event.userIds()));
+            while (replayBuffer.size() > replaySize) {
+                replayBuffer.removeFirst();
+            }
+            for (Long userId : event.userIds()) {
+                for (Subscriber subscriber : subscribers.getOrDefault(userId, Set.of())) {
+                    offer(subscriber, toSseEvent(taskEventDTO));
+                }
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+        publishedEvents.increment();
+    }
+
+    /**
+     * Resets every open stream, since there is no telling which of them missed something.
+     */
+    @Override
+    public void onChangesMissed() {
+        lock.lock();
+        try {
+            // moves past every id handed out so far, a client reconnecting with one of them is reset too
+            replayBuffer.clear();
+            sequence++;
+            subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(subscriber -> {
+                if (!subscriber.closed) {
+                    reset(subscriber);
+                    scheduleDrain(subscriber);
+                }
+            }));
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        return subscribe(userId, lastEventId, new SseEmitter(timeout.toMillis()));
+    }
+
+    SseEmitter subscribe(Long userId, Long lastEventId, SseEmitter emitter) {
+        log.debug("Opening task event stream for user with id: {} after event id: {}", userId, lastEventId);
+        Subscriber subscriber = new Subscriber(userId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        emitter.onTimeout(() -> {
+            remove(subscriber);
+            emitter.complete();
+        });
+
+        lock.lock();
+        try {
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+            connections.incrementAndGet();
+        }
+        finally {
+            lock.unlock();
+        }
+        scheduleDrain(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Keeps idle connections from being cut by proxies and notices clients that went away.
+     */
+    @Scheduled(fixedDelayString = "${tasks.events.heartbeat:PT15S}")
+    public void sendHeartbeats() {
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(subscriber -> {
+            lock.lock();
+            try {
+                offer(subscriber, SseEmitter.event().comment("heartbeat"));
+            }
+            finally {
+                lock.unlock();
+            }
+        }));
+    }
+
+    int connectionCount() {
+        return connections.get();
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        executor.shutdownNow();
+    }
+
+    // caller holds lock
+    private void replay(Subscriber subscriber, long lastEventId) {
+        long oldest = replayBuffer.isEmpty() ? sequence + 1 : replayBuffer.peekFirst().event().getId();
+        if (lastEventId < oldest - 1 || lastEventId > sequence) {
+            log.debug("Event id: {} is outside of the replay buffer, resetting stream of user with id: {}",
+                    lastEventId, subscriber.userId);
+            reset(subscriber);
+            return;
+        }
+        for (StoredEvent stored : replayBuffer) {
+            if (stored.event().getId() > lastEventId && stored.userIds().contains(subscriber.userId)
+                    && !subscriber.queue.offer(toSseEvent(stored.event()))) {
+                reset(subscriber);
+                return;
+            }
+        }
+    }
+
+    // caller holds lock
+    private void reset(Subscriber subscriber) {
+        subscriber.queue.clear();
+        subscriber.queue.offer(SseEmitter.event().id(String.valueOf(sequence)).name(RESET_EVENT).data(""));
+    }
+
+    // caller holds lock, so events reach every queue in sequence order
+    private void offer(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (subscriber.closed) {
+            return;
+        }
+        if (!subscriber.queue.offer(event)) {
+            log.warn("Task event stream of user with id: {} fell {} events behind, closing it", subscriber.userId, bufferSize);
+            droppedConnections.increment();
+            subscriber.closed = true;
+            remove(subscriber);
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void remove(Subscriber subscriber) {
+        lock.lock();
+        try {
+            Set<Subscriber> userSubscribers = subscribers.get(subscriber.userId);
+            if (userSubscribers != null && userSubscribers.remove(subscriber)) {
+                connections.decrementAndGet();
+                if (userSubscribers.isEmpty()) {
+                    subscribers.remove(subscriber.userId);
+                }
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            executor.execute(() -> drain(subscriber));
+        }
+    }
+
+    // at most one drain per subscriber runs at a time, the draining flag is handed over on exit
+    private void drain(Subscriber subscriber) {
+        do {
+            SseEmitter.SseEventBuilder event;
+            while (!subscriber.closed && (event = subscriber.queue.poll()) != null) {
+                try {
+                    subscriber.emitter.send(event);
+                }
+                catch (IOException | IllegalStateException e) {
+                    // the container reports the broken connection and completes the emitter itself
+                    log.debug("Task event stream of user with id: {} is gone: {}", subscriber.userId, e.getMessage());
+                    subscriber.closed = true;
+                    subscriber.completed = true;
+                    remove(subscriber);
+                }
+            }
+            if (subscriber.closed) {
+                subscriber.queue.clear();
+                if (!subscriber.completed) {
+                    subscriber.completed = true;
+                    subscriber.emitter.complete();
+                }
+            }
+            subscriber.draining.set(false);
+        } while ((!subscriber.queue.isEmpty() || subscriber.closed && !subscriber.completed)
+                && subscriber.draining.compareAndSet(false, true));
+    }
+
+    private static SseEmitter.SseEventBuilder toSseEvent(TaskEventDTO taskEventDTO) {
+        return SseEmitter.event()
+                .id(String.valueOf(taskEventDTO.getId()))
+                .name(taskEventDTO.getType().name())
+                .data(taskEventDTO, MediaType.APPLICATION_JSON);
+    }
+
+    private record StoredEvent(TaskEventDTO event, Set<Long> userIds) {
+    }
+
+    private static final class Subscriber {
+
+        private final Long userId;
+
+        private final SseEmitter emitter;
+
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private volatile boolean closed;
+
+        // only touched by the drain, which the draining flag serializes
+        private boolean completed;
+
+        private Subscriber(Long userId, SseEmitter emitter, BlockingQueue<SseEmitter.SseEventBuilder> queue) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.melnikov.taskmanagementsystem.service;
+
+import com.melnikov.taskmanagementsystem.queue.JobHandler;
+import com.melnikov.taskmanagementsystem.repository.CommentRepository;
+import com.melnikov.taskmanagementsystem.repository.TaskRepository;
+import com.melnikov.taskmanagementsystem.scheduling.ClusterJob;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Service
+@Slf4j
+public class TaskPurgeService implements JobHandler<Long> {
+
+    // queued by a deferred delete, so the task doesn't wait for the next scheduled purge
+    public static final String PURGE_TASK_JOB = "purge-task";
+
+    private final TaskRepository taskRepository;
+
+    private final CommentRepository commentRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter purgedTasks;
+
+    private final Counter purgedComments;
+
+    private final AtomicReference<Instant> oldestPendingDeletedAt = new AtomicReference<>();
+
+    @Value("${tasks.purge.task-batch-size:50}")
+    private int taskBatchSize = 50;
+
+    @Value("${tasks.purge.comment-batch-size:1000}")
+    private int commentBatchSize = 1000;
+
+    @Autowired
+    public TaskPurgeService(TaskRepository taskRepository, CommentRepository commentRepository,
+                            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.commentRepository = commentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.purgedTasks = meterRegistry.counter("tasks.purge.deleted", "entity", "task");
+        this.purgedComments = meterRegistry.counter("tasks.purge.deleted", "entity", "comment");
+        Gauge.builder("tasks.purge.lag", this, TaskPurgeService::purgeLagSeconds)
+                .description("Age of the oldest soft-deleted task still waiting to be purged")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.purge.interval:PT30S}")
+    @ClusterJob("task-purge")
+    public void purgeDeletedTasks() {
+        List<Long> taskIds = transactionTemplate.execute(status -> taskRepository.findDeletedTaskIds(taskBatchSize));
+        if (taskIds != null && !taskIds.isEmpty()) {
+            log.info("Purging {} soft-deleted tasks", taskIds.size());
+            taskIds.forEach(this::purgeTask);
+        }
+        oldestPendingDeletedAt.set(transactionTemplate.execute(status -> taskRepository.findOldestDeletedAt().orElse(null)));
+    }
+
+    @Override
+    public String getType() {
+        return PURGE_TASK_JOB;
+    }
+
+    @Override
+    public Class<Long> getPayloadType() {
+        return Long.class;
+    }
+
+    @Override
+    public void handle(Long taskId) {
+        purgeTask(taskId);
+    }
+
+    void purgeTask(Long taskId) {
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> commentRepository.deleteBatchByTaskId(taskId, commentBatchSize));
+            purgedComments.increment(deleted);
+        } while (deleted >= commentBatchSize);
+
+        try {
+            Integer purged = transactionTemplate.execute(status -> taskRepository.purgeDeleted(taskId));
+            if (purged != null && purged > 0) {
+                purgedTasks.increment(purged);
+            }
+        }
+        catch (DataIntegrityViolationException e) {
+            log.warn("Task with id: {} still has comments, purge will be retried", taskId);
+        }
+    }
+
+    double purgeLagSeconds() {
+        Instant oldest = oldestPendingDeletedAt.get();
+        return oldest == null ? 0 : Duration.between(oldest, Instant.now()).toMillis() / 1000.0;
+    }
+}
@@ -1,28 +1,41 @@
 package com.melnikov.taskmanagementsystem.service;
 
 import com.melnikov.taskmanagementsystem.dto.CommentDTO;
+import com.melnikov.taskmanagementsystem.dto.CommentWindowDTO;
 import com.melnikov.taskmanagementsystem.dto.TaskDTO;
 import com.melnikov.taskmanagementsystem.dto.create.CreateTaskDTO;
+import com.melnikov.taskmanagementsystem.event.TaskChangeEvent;
 import com.melnikov.taskmanagementsystem.exception.task.AuthorNotFoundException;
 import com.melnikov.taskmanagementsystem.exception.task.AssigneeNotFoundException;
 import com.melnikov.taskmanagementsystem.exception.task.TaskNotFoundException;
+import com.melnikov.taskmanagementsystem.model.ArchivedTask;
 import com.melnikov.taskmanagementsystem.model.Comment;
 import com.melnikov.taskmanagementsystem.model.Task;
 import com.melnikov.taskmanagementsystem.model.User;
+import com.melnikov.taskmanagementsystem.model.utils.ChangeType;
 import com.melnikov.taskmanagementsystem.model.utils.Priority;
 import com.melnikov.taskmanagementsystem.model.utils.Status;
+import com.melnikov.taskmanagementsystem.repository.ArchivedCommentRepository;
+import com.melnikov.taskmanagementsystem.repository.ArchivedTaskRepository;
+import com.melnikov.taskmanagementsystem.repository.CommentRepository;
 import com.melnikov.taskmanagementsystem.repository.TaskRepository;
 import com.melnikov.taskmanagementsystem.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
+@Timed("app.service")
 @Slf4j
 public class TaskService {
 
@@ -30,38 +43,72 @@ public class TaskService {
 
     private final UserRepository userRepository;
 
+    private final CommentRepository commentRepository;
+
+    private final ArchivedTaskRepository archivedTaskRepository;
+
+    private final ArchivedCommentRepository archivedCommentRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final JobQueueService jobQueueService;
+
+    @Value("${tasks.detail.comment-window:20}")
+    private int commentWindowSize = 20;
+
     @Autowired
-    public TaskService(TaskRepository taskRepository, UserRepository userRepository) {
+    public TaskService(TaskRepository taskRepository, UserRepository userRepository, CommentRepository commentRepository,
+                       ArchivedTaskRepository archivedTaskRepository, ArchivedCommentRepository archivedCommentRepository,
+                       ApplicationEventPublisher eventPublisher, JobQueueService jobQueueService) {
         this.taskRepository = taskRepository;
         this.userRepository = userRepository;
+        this.commentRepository = commentRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.archivedCommentRepository = archivedCommentRepository;
+        this.eventPublisher = eventPublisher;
+        this.jobQueueService = jobQueueService;
     }
 
+    @Transactional(readOnly = true)
     public Page<TaskDTO> getAllTasks(Pageable pageable) {
-        log.info("Fetching all tasks with pageable: {}", pageable);
-        return taskRepository.findAll(pageable).map(this::convertToDTO);
+        log.debug("Fetching all tasks with pageable: {}", pageable);
+        return taskRepository.findAll(pageable).map(TaskService::convertToSummaryDTO);
     }
 
+    @Transactional(readOnly = true)
     public TaskDTO getTaskById(Long id){
-        log.info("Fetching task by id: {}", id);
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.warn("Task not found with id: {}", id);
-                    return new TaskNotFoundException("Task not found with id: " + id);
-                });
-        TaskDTO taskDTO = convertToDTO(task);
-        taskDTO.setComments(task.getComments().stream().map(this::convertCommentToDTO).collect(Collectors.toList()));
+        log.debug("Fetching task by id: {}", id);
+        Optional<Task> hotTask = taskRepository.findById(id);
+        if (hotTask.isEmpty()) {
+            return archivedTaskRepository.findById(id)
+                    .map(this::convertArchivedToDTO)
+                    .orElseThrow(() -> {
+                        log.warn("Task not found with id: {}", id);
+                        return new TaskNotFoundException("Task not found with id: " + id);
+                    });
+        }
+        Task task = hotTask.get();
+        TaskDTO taskDTO = convertToSummaryDTO(task);
+        CommentWindowDTO window = CommentService.toWindow(
+                commentRepository.findByTaskIdOrderByIdDesc(id, Limit.of(commentWindowSize + 1)),
+                commentWindowSize, this::convertCommentToDTO);
+        taskDTO.setComments(window.getComments());
+        taskDTO.setCommentsCursor(window.getNextCursor());
         return taskDTO;
     }
 
+    @Transactional
     public TaskDTO createTask(CreateTaskDTO createTaskDTO) {
-        log.info("Creating new task with details: {}", createTaskDTO);
+        log.debug("Creating new task with details: {}", createTaskDTO);
         Task task = convertCreateToEntity(createTaskDTO);
         Task savedTask = taskRepository.save(task);
-        return convertToDTO(savedTask);
+        eventPublisher.publishEvent(TaskChangeEvent.of(ChangeType.TASK_CREATED, savedTask, null));
+        return convertToSummaryDTO(savedTask);
     }
 
+    @Transactional
     public TaskDTO updateTask(Long id, TaskDTO taskDTO) {
-        log.info("Updating task with id: {} and details: {}", id, taskDTO);
+        log.debug("Updating task with id: {} and details: {}", id, taskDTO);
         Task existingTask = taskRepository.findById(id)
                 .orElseThrow(() -> {
                     log.warn("Task not found with id: {}", id);
@@ -76,32 +123,51 @@ public class TaskService {
                     log.warn("Assignee not found with id: {}", taskDTO.getAssigneeId());
                     return new AssigneeNotFoundException("Assignee not found with id: " + taskDTO.getAssigneeId());
                 });
+        User previousAssignee = existingTask.getAssignee();
         existingTask.setAssignee(assignee);
         Task updatedTask = taskRepository.save(existingTask);
-        return convertToDTO(updatedTask);
+        eventPublisher.publishEvent(TaskChangeEvent.of(ChangeType.TASK_UPDATED, updatedTask, null, previousAssignee));
+        return convertToSummaryDTO(updatedTask);
     }
 
+    @Transactional
     public void deleteTask(Long id) {
-        log.info("Deleting task with id: {}", id);
-        if (!taskRepository.existsById(id)) {
+        log.debug("Deleting task with id: {}", id);
+        Task task = taskRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.warn("Task not found with id: {}", id);
+                    return new TaskNotFoundException("Task not found with id: " + id);
+                });
+        taskRepository.deleteById(id);
+        eventPublisher.publishEvent(TaskChangeEvent.of(ChangeType.TASK_DELETED, task, null));
+    }
+
+    @Transactional
+    public void softDeleteTask(Long id) {
+        log.debug("Soft deleting task with id: {}", id);
+        // loaded first only to know whom to notify, markDeleted stays the source of truth
+        Optional<Task> task = taskRepository.findById(id);
+        if (task.isEmpty() || taskRepository.markDeleted(id, Instant.now()) == 0) {
             log.warn("Task not found with id: {}", id);
             throw new TaskNotFoundException("Task not found with id: " + id);
         }
-        taskRepository.deleteById(id);
+        eventPublisher.publishEvent(TaskChangeEvent.of(ChangeType.TASK_DELETED, task.get(), null));
+        jobQueueService.enqueue(TaskPurgeService.PURGE_TASK_JOB, id);
     }
 
     public Page<TaskDTO> getTasksByAuthorId(Long authorId, Pageable pageable) {
-        log.info("Fetching tasks by author id: {} and pageable: {}", authorId, pageable);
-        return taskRepository.findByAuthorId(authorId, pageable).map(this::convertToDTO);
+        log.debug("Fetching tasks by author id: {} and pageable: {}", authorId, pageable);
+        return taskRepository.findByAuthorId(authorId, pageable).map(TaskService::convertToSummaryDTO);
     }
 
     public Page<TaskDTO> getTasksByAssigneeId(Long assigneeId, Pageable pageable) {
-        log.info("Fetching tasks by assignee id: {} and pageable: {}", assigneeId, pageable);
-        return taskRepository.findByAssigneeId(assigneeId, pageable).map(this::convertToDTO);
+        log.debug("Fetching tasks by assignee id: {} and pageable: {}", assigneeId, pageable);
+        return taskRepository.findByAssigneeId(assigneeId, pageable).map(TaskService::convertToSummaryDTO);
     }
 
+    @Transactional(readOnly = true)
     public boolean isTaskAssignee(Long taskId, String email) {
-        log.info("Checking if user with email: {} is the assignee of task with id: {}", email, taskId);
+        log.debug("Checking if user with email: {} is the assignee of task with id: {}", email, taskId);
         Optional<Task> task = taskRepository.findById(taskId);
         if (task.isPresent()) {
             User assignee = task.get().getAssignee();
@@ -110,19 +176,26 @@ public class TaskService {
         return false;
     }
 
+    @Transactional(readOnly = true)
     public boolean isTaskAuthorOrAssignee(Long taskId, String email) {
-        log.info("Checking if user with email: {} is the author or assignee of task with id: {}", email, taskId);
+        log.debug("Checking if user with email: {} is the author or assignee of task with id: {}", email, taskId);
         Optional<Task> task = taskRepository.findById(taskId);
         if (task.isPresent()) {
             User author = task.get().getAuthor();
             User assignee = task.get().getAssignee();
             return (author != null && author.getEmail().equals(email)) || (assignee != null && assignee.getEmail().equals(email));
         }
+        Optional<ArchivedTask> archivedTask = archivedTaskRepository.findById(taskId);
+        if (archivedTask.isPresent()) {
+            Long userId = userRepository.findUserByEmail(email).map(User::getId).orElse(null);
+            return userId != null && (userId.equals(archivedTask.get().getAuthorId()) || userId.equals(archivedTask.get().getAssigneeId()));
+        }
         return false;
     }
 
+    @Transactional
     public TaskDTO updateTaskStatus(Long id, Status status) {
-        log.info("Updating task status with id: {} and status: {}", id, status);
+        log.debug("Updating task status with id: {} and status: {}", id, status);
         Task existingTask = taskRepository.findById(id)
                 .orElseThrow(() -> {
                     log.warn("Task not found with id: {}", id);
@@ -130,11 +203,13 @@ public class TaskService {
                 });
         existingTask.setStatus(status);
         Task updatedTask = taskRepository.save(existingTask);
-        return convertToDTO(updatedTask);
+        eventPublisher.publishEvent(TaskChangeEvent.of(ChangeType.TASK_UPDATED, updatedTask, null));
+        return convertToSummaryDTO(updatedTask);
     }
 
+    @Transactional
     public TaskDTO updateTaskPriority(Long id, Priority priority) {
-        log.info("Updating task priority with id: {} and priority: {}", id, priority);
+        log.debug("Updating task priority with id: {} and priority: {}", id, priority);
         Task existingTask = taskRepository.findById(id)
                 .orElseThrow(() -> {
                     log.warn("Task not found with id: {}", id);
@@ -142,11 +217,13 @@ public class TaskService {
                 });
         existingTask.setPriority(priority);
         Task updatedTask = taskRepository.save(existingTask);
-        return convertToDTO(updatedTask);
+        eventPublisher.publishEvent(TaskChangeEvent.of(ChangeType.TASK_UPDATED, updatedTask, null));
+        return convertToSummaryDTO(updatedTask);
     }
 
+    @Transactional
     public TaskDTO updateTaskAssignee(Long id, Long assigneeId) {
-        log.info("Updating task assignee with id: {} and assignee id: {}", id, assigneeId);
+        log.debug("Updating task assignee with id: {} and assignee id: {}", id, assigneeId);
         Task existingTask = taskRepository.findById(id)
                 .orElseThrow(() -> {
                     log.warn("Task not found with id: {}", id);
@@ -157,12 +234,14 @@ public class TaskService {
                     log.warn("Assignee not found with id: {}", assigneeId);
                     return new AssigneeNotFoundException("Assignee not found with id: " + assigneeId);
                 });
+        User previousAssignee = existingTask.getAssignee();
         existingTask.setAssignee(assignee);
         Task updatedTask = taskRepository.save(existingTask);
-        return convertToDTO(updatedTask);
+        eventPublisher.publishEvent(TaskChangeEvent.of(ChangeType.TASK_UPDATED, updatedTask, null, previousAssignee));
+        return convertToSummaryDTO(updatedTask);
     }
 
-    private TaskDTO convertToDTO(Task task) {
+    static TaskDTO convertToSummaryDTO(Task task) {
         TaskDTO taskDTO = new TaskDTO();
         taskDTO.setId(task.getId());
         taskDTO.setTitle(task.getTitle());
@@ -171,7 +250,28 @@ public class TaskService {
         taskDTO.setPriority(task.getPriority());
         taskDTO.setAuthorId(task.getAuthor().getId());
         taskDTO.setAssigneeId(task.getAssignee() != null ? task.getAssignee().getId() : null);
-        taskDTO.setComments(task.getComments().stream().map(this::convertCommentToDTO).collect(Collectors.toList()));
+        taskDTO.setCommentCount(task.getCommentCount());
+        taskDTO.setLastActivityAt(task.getLastActivityAt());
+        return taskDTO;
+    }
+
+    private TaskDTO convertArchivedToDTO(ArchivedTask task) {
+        TaskDTO taskDTO = new TaskDTO();
+        taskDTO.setId(task.getId());
+        taskDTO.setTitle(task.getTitle());
+        taskDTO.setDescription(task.getDescription());
+        taskDTO.setStatus(task.getStatus());
+        taskDTO.setPriority(task.getPriority());
+        taskDTO.setAuthorId(task.getAuthorId());
+        taskDTO.setAssigneeId(task.getAssigneeId());
+        taskDTO.setCommentCount(task.getCommentCount());
+        taskDTO.setLastActivityAt(task.getLastActivityAt());
+        taskDTO.setArchived(true);
+        CommentWindowDTO window = CommentService.toWindow(
+                archivedCommentRepository.findByTaskIdOrderByIdDesc(task.getId(), Limit.of(commentWindowSize + 1)),
+                commentWindowSize, CommentService::convertArchivedToDTO);
+        taskDTO.setComments(window.getComments());
+        taskDTO.setCommentsCursor(window.getNextCursor());
         return taskDTO;
     }
 
@@ -0,0 +1,189 @@
+package com.melnikov.taskmanagementsystem.service;
+
+import com.melnikov.taskmanagementsystem.dto.CommentDTO;
+import com.melnikov.taskmanagementsystem.dto.TaskChangesDTO;
+import com.melnikov.taskmanagementsystem.dto.TaskDTO;
+import com.melnikov.taskmanagementsystem.event.TaskChangeEvent;
+import com.melnikov.taskmanagementsystem.exception.task.SyncCursorExpiredException;
+import com.melnikov.taskmanagementsystem.model.Comment;
+import com.melnikov.taskmanagementsystem.model.Task;
+import com.melnikov.taskmanagementsystem.model.TaskChange;
+import com.melnikov.taskmanagementsystem.repository.CommentRepository;
+import com.melnikov.taskmanagementsystem.repository.TaskChangeRepository;
+import com.melnikov.taskmanagementsystem.repository.TaskRepository;
+import com.melnikov.taskmanagementsystem.scheduling.ClusterJob;
+import com.melnikov.taskmanagementsystem.sync.ChangeHorizon;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Change feed for offline clients. Every {@link TaskChangeEvent} is written to {@code task_changes}
+ * in the publishing transaction, one row per concerned user, and {@link #getChanges} returns the
+ * current state of everything a user's rows point at since a given sequence. A task or comment that
+ * no longer exists or no longer belongs to the user comes back as a tombstone.
+ */
+@Service
+@Slf4j
+public class TaskSyncService {
+
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private final TaskChangeRepository taskChangeRepository;
+
+    private final TaskRepository taskRepository;
+
+    private final CommentRepository commentRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ChangeHorizon changeHorizon;
+
+    @Value("${tasks.sync.retention:P30D}")
+    private Duration retention = Duration.ofDays(30);
+
+    @Value("${tasks.sync.prune-batch-size:1000}")
+    private int pruneBatchSize = 1000;
+
+    @Autowired
+    public TaskSyncService(TaskChangeRepository taskChangeRepository, TaskRepository taskRepository,
+                           CommentRepository commentRepository, PlatformTransactionManager transactionManager,
+                           ChangeHorizon changeHorizon) {
+        this.taskChangeRepository = taskChangeRepository;
+        this.taskRepository = taskRepository;
+        this.commentRepository = commentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.changeHorizon = changeHorizon;
+    }
+
+    /**
+     * Runs synchronously, so the rows commit or roll back together with the change itself.
+     */
+    @EventListener
+    public void recordChange(TaskChangeEvent event) {
+        Instant changedAt = Instant.now();
+        List<TaskChange> changes = event.userIds().stream()
+                .map(userId -> {
+                    TaskChange change = new TaskChange();
+                    change.setUserId(userId);
+                    change.setTaskId(event.taskId());
+                    change.setCommentId(event.commentId());
+                    change.setChangedAt(changedAt);
+                    return change;
+                })
+                .toList();
+        taskChangeRepository.saveAll(changes);
+    }
+
+    /**
+     * Changes for the user after {@code since}, oldest first. Without {@code since} only the current
+     * sequence is returned: load the tasks through the regular API and sync from it afterwards.
+     * Not read-only, so it stays on the primary: a lagging replica could miss changes below the horizon.
+     */
+    @Transactional
+    public TaskChangesDTO getChanges(Long userId, Long since, int size) {
+        log.debug("Fetching changes for user with id: {} since: {} and size: {}", userId, since, size);
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + size);
+        }
+        Instant settledAt = changeHorizon.settledBefore();
+        if (since == null) {
+            Long head = taskChangeRepository.findMaxIdChangedAtOrBefore(settledAt).orElse(0L);
+            return new TaskChangesDTO(List.of(), List.of(), List.of(), List.of(), head, false);
+        }
+        if (since < 0) {
+            throw new IllegalArgumentException("Sequence must not be negative: " + since);
+        }
+        // pruning keeps the newest expired row, so an expired oldest row marks where history starts
+        TaskChange oldest = taskChangeRepository.findFirstByOrderById().orElse(null);
+        if (oldest != null && oldest.getChangedAt().isBefore(Instant.now().minus(retention)) && since < oldest.getId() - 1) {
+            log.warn("Changes since: {} were pruned for user with id: {}", since, userId);
+            throw new SyncCursorExpiredException("Changes since " + since + " are no longer available, reload the tasks");
+        }
+
+        int limit = Math.min(size, MAX_PAGE_SIZE);
+        List<TaskChange> changes = taskChangeRepository.findByUserIdAndIdGreaterThanOrderById(userId, since, Limit.of(limit + 1));
+        boolean hasMore = changes.size() > limit;
+        List<TaskChange> page = new ArrayList<>(limit);
+        for (TaskChange change : changes.subList(0, Math.min(limit, changes.size()))) {
+            if (!change.getChangedAt().isBefore(settledAt)) {
+                hasMore = false;
+                break;
+            }
+            page.add(change);
+        }
+        if (page.isEmpty()) {
+            return new TaskChangesDTO(List.of(), List.of(), List.of(), List.of(), since, hasMore);
+        }
+
+        Set<Long> taskIds = new LinkedHashSet<>();
+        Set<Long> commentIds = new LinkedHashSet<>();
+        for (TaskChange change : page) {
+            if (change.getCommentId() != null) {
+                commentIds.add(change.getCommentId());
+            }
+            else {
+                taskIds.add(change.getTaskId());
+            }
+        }
+        List<TaskDTO> tasks = taskIds.isEmpty() ? List.of() : taskRepository.findByIdIn(taskIds).stream()
+                .filter(task -> isParticipant(task, userId))
+                .map(TaskService::convertToSummaryDTO)
+                .toList();
+        List<CommentDTO> comments = commentIds.isEmpty() ? List.of() : commentRepository.findByIdIn(commentIds).stream()
+                .filter(comment -> isVisible(comment, userId))
+                .map(CommentService::convertToDTO)
+                .toList();
+        tasks.forEach(task -> taskIds.remove(task.getId()));
+        comments.forEach(comment -> commentIds.remove(comment.getId()));
+        return new TaskChangesDTO(tasks, comments, List.copyOf(taskIds), List.copyOf(commentIds),
+                page.get(page.size() - 1).getId(), hasMore);
+    }
+
+    /**
+     * Drops changes older than the retention except the newest of them, which stays behind as the
+     * boundary; clients that last synced before it get 410 and have to reload.
+     */
+    @Scheduled(fixedDelayString = "${tasks.sync.prune-interval:PT1H}")
+    @ClusterJob("task-changes-prune")
+    public void pruneChanges() {
+        Instant cutoff = Instant.now().minus(retention);
+        Long boundary = taskChangeRepository.findMaxIdChangedAtOrBefore(cutoff).orElse(null);
+        if (boundary == null) {
+            return;
+        }
+        int deleted;
+        int total = 0;
+        do {
+            deleted = transactionTemplate.execute(status -> taskChangeRepository.deleteBatchBefore(boundary, pruneBatchSize));
+            total += deleted;
+        } while (deleted >= pruneBatchSize);
+        if (total > 0) {
+            log.info("Pruned {} task changes older than {}", total, cutoff);
+        }
+    }
+
+    private static boolean isParticipant(Task task, Long userId) {
+        return task.getDeletedAt() == null && (Objects.equals(task.getAuthor().getId(), userId)
+                || task.getAssignee() != null && Objects.equals(task.getAssignee().getId(), userId));
+    }
+
+    private static boolean isVisible(Comment comment, Long userId) {
+        return comment.getTask() != null && isParticipant(comment.getTask(), userId);
+    }
+}
@@ -0,0 +1,259 @@
+package com.melnikov.taskmanagementsystem.service;
+
+import com.melnikov.taskmanagementsystem.dto.OffboardingJobDTO;
+import com.melnikov.taskmanagementsystem.event.TaskChangeEvent;
+import com.melnikov.taskmanagementsystem.event.UserChangeEvent;
+import com.melnikov.taskmanagementsystem.exception.resource.ResourceNotFoundException;
+import com.melnikov.taskmanagementsystem.exception.user.UserNotFoundException;
+import com.melnikov.taskmanagementsystem.model.Comment;
+import com.melnikov.taskmanagementsystem.model.OffboardingJob;
+import com.melnikov.taskmanagementsystem.model.Task;
+import com.melnikov.taskmanagementsystem.model.User;
+import com.melnikov.taskmanagementsystem.model.utils.ChangeType;
+import com.melnikov.taskmanagementsystem.model.utils.JobStatus;
+import com.melnikov.taskmanagementsystem.queue.JobHandler;
+import com.melnikov.taskmanagementsystem.repository.CommentRepository;
+import com.melnikov.taskmanagementsystem.repository.OffboardingJobRepository;
+import com.melnikov.taskmanagementsystem.repository.TaskRepository;
+import com.melnikov.taskmanagementsystem.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+
+/**
+ * Offboards users through the job queue, so a job started on one node survives its restart and its
+ * progress can be polled on any node. Every batch is resumable: a job claimed again after a crash
+ * simply moves what is left.
+ */
+@Service
+@Slf4j
+public class UserOffboardingService implements JobHandler<String> {
+
+    public static final String OFFBOARD_USER_JOB = "offboard-user";
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final UserRepository userRepository;
+
+    private final TaskRepository taskRepository;
+
+    private final CommentRepository commentRepository;
+
+    private final OffboardingJobRepository offboardingJobRepository;
+
+    private final JobQueueService jobQueueService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${users.offboarding.batch-size:500}")
+    private int batchSize = 500;
+
+    @Autowired
+    public UserOffboardingService(UserRepository userRepository, TaskRepository taskRepository,
+                                  CommentRepository commentRepository, OffboardingJobRepository offboardingJobRepository,
+                                  JobQueueService jobQueueService, PlatformTransactionManager transactionManager,
+                                  ApplicationEventPublisher eventPublisher) {
+        this.userRepository = userRepository;
+        this.taskRepository = taskRepository;
+        this.commentRepository = commentRepository;
+        this.offboardingJobRepository = offboardingJobRepository;
+        this.jobQueueService = jobQueueService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public OffboardingJobDTO startOffboarding(Long userId, Long successorId) {
+        log.info("Starting offboarding of user with id: {} and successor id: {}", userId, successorId);
+        if (!userRepository.existsById(userId)) {
+            log.warn("User not found with id: {}", userId);
+            throw new UserNotFoundException("User not found with id: " + userId);
+        }
+        if (successorId != null) {
+            if (successorId.equals(userId)) {
+                throw new IllegalArgumentException("Successor must be a different user");
+            }
+            if (!userRepository.existsById(successorId)) {
+                log.warn("Successor not found with id: {}", successorId);
+                throw new UserNotFoundException("User not found with id: " + successorId);
+            }
+        }
+        else if (taskRepository.existsByAuthorId(userId) || commentRepository.existsByAuthorId(userId)) {
+            throw new IllegalArgumentException("User with id: " + userId + " authored tasks or comments, a successor is required");
+        }
+
+        OffboardingJob job = new OffboardingJob();
+        job.setId(UUID.randomUUID().toString());
+        job.setUserId(userId);
+        job.setSuccessorId(successorId);
+        job.setStatus(JobStatus.RUNNING);
+        job.setStartedAt(Instant.now());
+        OffboardingJob savedJob = offboardingJobRepository.save(job);
+        // enqueued in this transaction, so there is never a job row without work behind it
+        jobQueueService.enqueue(OFFBOARD_USER_JOB, savedJob.getId());
+        return convertToDTO(savedJob);
+    }
+
+    @Transactional(readOnly = true)
+    public OffboardingJobDTO getJob(String jobId) {
+        return offboardingJobRepository.findById(jobId)
+                .map(UserOffboardingService::convertToDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("Offboarding job not found with id: " + jobId));
+    }
+
+    @Override
+    public String getType() {
+        return OFFBOARD_USER_JOB;
+    }
+
+    @Override
+    public Class<String> getPayloadType() {
+        return String.class;
+    }
+
+    @Override
+    public void handle(String jobId) {
+        OffboardingJob job = transactionTemplate.execute(status -> offboardingJobRepository.findById(jobId).orElse(null));
+        if (job == null || job.getStatus() != JobStatus.RUNNING) {
+            // finished in the same transaction as its last batch, so this is a duplicate delivery
+            log.info("Offboarding job with id: {} is not running, skipping it", jobId);
+            return;
+        }
+        run(job);
+    }
+
+    void run(OffboardingJob job) {
+        String jobId = job.getId();
+        Long userId = job.getUserId();
+        Long successorId = job.getSuccessorId();
+        try {
+            drain(() -> reassignTasks(userId, successorId),
+                    moved -> offboardingJobRepository.addProgress(jobId, moved, 0, 0));
+            if (successorId != null) {
+                drain(() -> reattributeTasks(userId, successorId),
+                        moved -> offboardingJobRepository.addProgress(jobId, 0, moved, 0));
+                drain(() -> reattributeComments(userId, successorId),
+                        moved -> offboardingJobRepository.addProgress(jobId, 0, 0, moved));
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                // no new task or comment can reference the user once it is locked, so this sweep
+                // catches everything assigned or authored while the batches were running
+                userRepository.lockById(userId);
+                int assigned = moveAll(() -> reassignTasks(userId, successorId));
+                int authored = 0;
+                int comments = 0;
+                if (successorId != null) {
+                    authored = moveAll(() -> reattributeTasks(userId, successorId));
+                    comments = moveAll(() -> reattributeComments(userId, successorId));
+                }
+                userRepository.deleteById(userId);
+                eventPublisher.publishEvent(new UserChangeEvent(ChangeType.USER_DELETED, userId));
+                offboardingJobRepository.addProgress(jobId, assigned, authored, comments);
+                if (offboardingJobRepository.finish(jobId, JobStatus.COMPLETED, null, Instant.now()) == 0) {
+                    // a second delivery of the job that overran its visibility timeout got here first
+                    throw new IllegalStateException("Offboarding job with id: " + jobId + " is no longer running");
+                }
+            });
+            log.info("Offboarding of user with id: {} completed", userId);
+        }
+        catch (RuntimeException e) {
+            log.warn("Offboarding of user with id: {} failed: {}", userId, e.getMessage());
+            String error = e.getMessage() != null && e.getMessage().length() > MAX_ERROR_LENGTH
+                    ? e.getMessage().substring(0, MAX_ERROR_LENGTH)
+                    : e.getMessage();
+            transactionTemplate.executeWithoutResult(status ->
+                    offboardingJobRepository.finish(jobId, JobStatus.FAILED, error, Instant.now()));
+        }
+    }
+
+    /**
+     * Moves the next batch of the user's assigned tasks and publishes a change for each in the batch
+     * transaction, so the sync feed, the outbox and the caches see the move like any other
+     * reassignment. Authored tasks and comments are moved the same way.
+     */
+    private int reassignTasks(Long userId, Long successorId) {
+        List<Long> ids = taskRepository.lockIdsByAssigneeId(userId, batchSize);
+        if (!ids.isEmpty()) {
+            taskRepository.reassign(ids, successorId);
+            publishTaskUpdates(ids, userId);
+        }
+        return ids.size();
+    }
+
+    private int reattributeTasks(Long userId, Long successorId) {
+        List<Long> ids = taskRepository.lockIdsByAuthorId(userId, batchSize);
+        if (!ids.isEmpty()) {
+            taskRepository.reattribute(ids, successorId);
+            publishTaskUpdates(ids, userId);
+        }
+        return ids.size();
+    }
+
+    private int reattributeComments(Long userId, Long successorId) {
+        List<Long> ids = commentRepository.lockIdsByAuthorId(userId, batchSize);
+        if (!ids.isEmpty()) {
+            commentRepository.reattribute(ids, successorId);
+            for (Comment comment : commentRepository.findByIdIn(ids)) {
+                eventPublisher.publishEvent(TaskChangeEvent.of(ChangeType.COMMENT_UPDATED, comment.getTask(), comment.getId()));
+            }
+        }
+        return ids.size();
+    }
+
+    private void publishTaskUpdates(List<Long> taskIds, Long userId) {
+        // the offboarded user is told too, its clients drop the tasks on their next sync
+        User previous = userRepository.getReferenceById(userId);
+        for (Task task : taskRepository.findByIdIn(taskIds)) {
+            eventPublisher.publishEvent(TaskChangeEvent.of(ChangeType.TASK_UPDATED, task, null, previous));
+        }
+    }
+
+    private int moveAll(IntSupplier batch) {
+        int total = 0;
+        int moved;
+        do {
+            moved = batch.getAsInt();
+            total += moved;
+        } while (moved >= batchSize);
+        return total;
+    }
+
+    private void drain(IntSupplier batch, IntConsumer progress) {
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> {
+                int count = batch.getAsInt();
+                progress.accept(count);
+                return count;
+            });
+        } while (moved >= batchSize);
+    }
+
+    public static OffboardingJobDTO convertToDTO(OffboardingJob job) {
+        OffboardingJobDTO dto = new OffboardingJobDTO();
+        dto.setId(job.getId());
+        dto.setUserId(job.getUserId());
+        dto.setSuccessorId(job.getSuccessorId());
+        dto.setStatus(job.getStatus());
+        dto.setAssignedTasksMoved(job.getAssignedTasksMoved());
+        dto.setAuthoredTasksMoved(job.getAuthoredTasksMoved());
+        dto.setCommentsMoved(job.getCommentsMoved());
+        dto.setStartedAt(job.getStartedAt());
+        dto.setFinishedAt(job.getFinishedAt());
+        dto.setError(job.getError());
+        return dto;
+    }
+}
@@ -2,20 +2,26 @@ package com.melnikov.taskmanagementsystem.service;
 
 import com.melnikov.taskmanagementsystem.dto.UserDTO;
 import com.melnikov.taskmanagementsystem.dto.create.CreateUserDTO;
+import com.melnikov.taskmanagementsystem.event.UserChangeEvent;
 import com.melnikov.taskmanagementsystem.exception.user.RoleNotFoundException;
 import com.melnikov.taskmanagementsystem.exception.user.UserNotFoundException;
 import com.melnikov.taskmanagementsystem.model.Role;
 import com.melnikov.taskmanagementsystem.model.User;
+import com.melnikov.taskmanagementsystem.model.utils.ChangeType;
 import com.melnikov.taskmanagementsystem.repository.RoleRepository;
 import com.melnikov.taskmanagementsystem.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@Timed("app.service")
 @Slf4j
 public class UserService {
 
@@ -25,20 +31,25 @@ public class UserService {
 
     private final PasswordEncoder passwordEncoder;
 
+    private final ApplicationEventPublisher eventPublisher;
+
     @Autowired
-    public UserService(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder,
+                       ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
     }
 
+    @Transactional(readOnly = true)
     public Page<UserDTO> getAllUsers(Pageable pageable) {
-        log.info("Fetching all users with pageable: {}", pageable);
-        return userRepository.findAll(pageable).map(this::convertToDTO);
+        log.debug("Fetching all users with pageable: {}", pageable);
+        return userRepository.findAll(pageable).map(UserService::convertToDTO);
     }
 
     public UserDTO getUserById(Long id) {
-        log.info("Fetching user by id: {}", id);
+        log.debug("Fetching user by id: {}", id);
         User user = userRepository.findById(id)
                 .orElseThrow(() -> {
                     log.warn("User not found with id: {}", id);
@@ -47,16 +58,19 @@ public class UserService {
         return convertToDTO(user);
     }
 
+    @Transactional
     public UserDTO createUser(CreateUserDTO userDTO) {
-        log.info("Creating new user with details: {}", userDTO);
+        log.debug("Creating new user with details: {}", userDTO);
         User user = convertCreateToEntity(userDTO);
         user.setPassword(passwordEncoder.encode(userDTO.getPassword()));
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangeEvent(ChangeType.USER_CREATED, savedUser.getId()));
         return convertToDTO(savedUser);
     }
 
+    @Transactional
     public UserDTO updateUser(Long id, UserDTO userDTO) {
-        log.info("Updating user with id: {} and details: {}", id, userDTO);
+        log.debug("Updating user with id: {} and details: {}", id, userDTO);
         User existingUser = userRepository.findById(id)
                 .orElseThrow(() -> {
                     log.warn("User not found with id: {}", id);
@@ -71,20 +85,23 @@ public class UserService {
         }
         existingUser.setRole(role);
         User updatedUser = userRepository.save(existingUser);
+        eventPublisher.publishEvent(new UserChangeEvent(ChangeType.USER_UPDATED, updatedUser.getId()));
         return convertToDTO(updatedUser);
     }
 
+    @Transactional
     public void deleteUser(Long id) {
-        log.info("Deleting user with id: {}", id);
+        log.debug("Deleting user with id: {}", id);
         if (!userRepository.existsById(id)) {
             log.warn("User not found with id: {}", id);
             throw new UserNotFoundException("User not found with id: " + id);
         }
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(new UserChangeEvent(ChangeType.USER_DELETED, id));
     }
 
     public UserDTO getUserByEmail(String email) {
-        log.info("Fetching user by email: {}", email);
+        log.debug("Fetching user by email: {}", email);
         User user = userRepository.findUserByEmail(email)
                 .orElseThrow(() -> {
                     log.warn("User not found with email: {}", email);
@@ -93,7 +110,7 @@ public class UserService {
         return convertToDTO(user);
     }
 
-    private UserDTO convertToDTO(User user) {
+    static UserDTO convertToDTO(User user) {
         UserDTO userDTO = new UserDTO();
         userDTO.setId(user.getId());
         userDTO.setEmail(user.getEmail());
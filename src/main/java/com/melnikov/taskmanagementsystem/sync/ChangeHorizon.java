@@ -0,0 +1,17 @@
+package com.melnikov.taskmanagementsystem.sync;
+
+import java.time.Instant;
+
+/**
+ * How far the change feed may advance, selected with {@code tasks.sync.horizon}. Change ids are
+ * taken at insert, not at commit, so a transaction still in flight may yet commit a change with a
+ * lower id than one already visible.
+ */
+@FunctionalInterface
+public interface ChangeHorizon {
+
+    /**
+     * Changes recorded before the returned instant have no uncommitted predecessor left.
+     */
+    Instant settledBefore();
+}
@@ -0,0 +1,39 @@
+package com.melnikov.taskmanagementsystem.sync;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * The start of the oldest transaction that has written anything and is still open, on any node. A
+ * change id is only taken after its transaction started, so every change recorded before that is
+ * committed or rolled back. A long transaction holds the feed back until it ends; the clocks of
+ * the nodes and the database may differ by up to {@code tasks.sync.clock-skew}.
+ */
+@Component
+@ConditionalOnProperty(name = "tasks.sync.horizon", havingValue = "postgres")
+public class PostgresChangeHorizon implements ChangeHorizon {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${tasks.sync.clock-skew:PT1S}")
+    private Duration clockSkew = Duration.ofSeconds(1);
+
+    @Autowired
+    public PostgresChangeHorizon(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Instant settledBefore() {
+        Timestamp oldestWriter = jdbcTemplate.queryForObject("select coalesce(min(xact_start), clock_timestamp()) " +
+                "from pg_stat_activity where backend_xid is not null and pid <> pg_backend_pid()", Timestamp.class);
+        return oldestWriter.toInstant().minus(clockSkew);
+    }
+}
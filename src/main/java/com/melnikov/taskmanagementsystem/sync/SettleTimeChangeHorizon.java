@@ -0,0 +1,56 @@
+package com.melnikov.taskmanagementsystem.sync;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * For H2 and databases without {@code pg_stat_activity}: assumes a transaction commits within
+ * {@code tasks.sync.settle-time} of recording a change. Requests can't run longer than their
+ * deadline, so the settle time must exceed every request deadline; background jobs that record
+ * changes are not bounded that way.
+ */
+@Component
+@ConditionalOnProperty(name = "tasks.sync.horizon", havingValue = "settle-time", matchIfMissing = true)
+public class SettleTimeChangeHorizon implements ChangeHorizon, InitializingBean {
+
+    @Value("${tasks.sync.settle-time:PT15S}")
+    private Duration settleTime = Duration.ofSeconds(15);
+
+    @Value("${deadlines.enabled:true}")
+    private boolean deadlinesEnabled = true;
+
+    @Value("${deadlines.default-timeout:PT10S}")
+    private Duration defaultTimeout = Duration.ofSeconds(10);
+
+    @Value("${deadlines.path-timeouts:/auth/**=PT5S}")
+    private List<String> pathTimeouts = List.of("/auth/**=PT5S");
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!deadlinesEnabled) {
+            return;
+        }
+        Duration longest = defaultTimeout;
+        for (String entry : pathTimeouts) {
+            Duration timeout = Duration.parse(entry.substring(entry.indexOf('=') + 1).trim());
+            if (timeout.compareTo(longest) > 0) {
+                longest = timeout;
+            }
+        }
+        if (settleTime.compareTo(longest) <= 0) {
+            throw new IllegalArgumentException("tasks.sync.settle-time " + settleTime
+                    + " must be longer than the longest request deadline " + longest);
+        }
+    }
+
+    @Override
+    public Instant settledBefore() {
+        return Instant.now().minus(settleTime);
+    }
+}
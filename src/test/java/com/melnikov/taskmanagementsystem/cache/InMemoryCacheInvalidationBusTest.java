@@ -0,0 +1,92 @@
+package com.melnikov.taskmanagementsystem.cache;
+
+import com.melnikov.taskmanagementsystem.event.TaskChangeEvent;
+import com.melnikov.taskmanagementsystem.event.UserChangeEvent;
+import com.melnikov.taskmanagementsystem.model.utils.ChangeType;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InMemoryCacheInvalidationBusTest {
+
+    private final InMemoryCacheInvalidationBus bus = new InMemoryCacheInvalidationBus();
+
+    private final List<String> evicted = new ArrayList<>();
+
+    private final List<TaskChangeEvent> delivered = new ArrayList<>();
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:invalidation;DB_CLOSE_DELAY=-1");
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        bus.addListener(new CacheInvalidationListener() {
+            @Override
+            public void evict(String key) {
+                evicted.add(key);
+            }
+
+            @Override
+            public void evictAll() {
+                evicted.add("*");
+            }
+        });
+        bus.addTaskChangeListener(new TaskChangeListener() {
+            @Override
+            public void onTaskChange(TaskChangeEvent event) {
+                delivered.add(event);
+            }
+
+            @Override
+            public void onChangesMissed() {
+                delivered.clear();
+            }
+        });
+    }
+
+    @Test
+    public void testDeliversKeysOnlyAfterCommit() {
+        transactionTemplate.executeWithoutResult(status -> {
+            bus.onTaskChange(new TaskChangeEvent(ChangeType.TASK_UPDATED, 5L, null, Set.of(1L)));
+            assertTrue(evicted.isEmpty());
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            bus.onUserChange(new UserChangeEvent(ChangeType.USER_UPDATED, 7L));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(List.of("task:5"), evicted);
+    }
+
+    @Test
+    public void testDeliversTaskChangesOnlyAfterCommit() {
+        TaskChangeEvent committed = new TaskChangeEvent(ChangeType.TASK_CREATED, 5L, null, Set.of(1L));
+        transactionTemplate.executeWithoutResult(status -> {
+            bus.onTaskChange(committed);
+            assertTrue(delivered.isEmpty());
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            bus.onTaskChange(new TaskChangeEvent(ChangeType.TASK_DELETED, 6L, null, Set.of(1L)));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(List.of(committed), delivered);
+    }
+
+    @Test
+    public void testDeliversImmediatelyWithoutTransaction() {
+        bus.onUserChange(new UserChangeEvent(ChangeType.USER_DELETED, 7L));
+
+        assertEquals(List.of("user:7"), evicted);
+    }
+}
@@ -0,0 +1,137 @@
+package com.melnikov.taskmanagementsystem.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.melnikov.taskmanagementsystem.event.TaskChangeEvent;
+import com.melnikov.taskmanagementsystem.model.utils.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PostgresCacheInvalidationBusTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private PGConnection pgConnection;
+
+    @Mock
+    private PGNotification notification;
+
+    @Mock
+    private CacheInvalidationListener listener;
+
+    @Mock
+    private TaskChangeListener taskChangeListener;
+
+    private final AtomicInteger connects = new AtomicInteger();
+
+    private PostgresCacheInvalidationBus bus;
+
+    @BeforeEach
+    public void setUp() {
+        bus = new PostgresCacheInvalidationBus(jdbcTemplate, new ObjectMapper(), () -> {
+            if (connects.incrementAndGet() > 1) {
+                ReflectionTestUtils.setField(bus, "running", false);
+                throw new SQLException("Connection refused");
+            }
+            return connection;
+        });
+        ReflectionTestUtils.setField(bus, "pollTimeout", Duration.ofMillis(10));
+        ReflectionTestUtils.setField(bus, "reconnectDelay", Duration.ZERO);
+        bus.addListener(listener);
+        bus.addTaskChangeListener(taskChangeListener);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testPublishesThroughPgNotify() {
+        bus.publish("task:5");
+
+        verify(jdbcTemplate).query(eq("select pg_notify(?, ?)"), any(ResultSetExtractor.class),
+                eq(PostgresCacheInvalidationBus.CHANNEL), eq("task:5"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testPublishesTaskChangesAsJson() {
+        bus.publishTaskChange(new TaskChangeEvent(ChangeType.TASK_UPDATED, 5L, null, Set.of(1L)));
+
+        verify(jdbcTemplate).query(eq("select pg_notify(?, ?)"), any(ResultSetExtractor.class),
+                eq(PostgresCacheInvalidationBus.TASK_CHANGE_CHANNEL),
+                eq("{\"type\":\"TASK_UPDATED\",\"taskId\":5,\"commentId\":null,\"userIds\":[1]}"));
+    }
+
+    @Test
+    public void testEvictsNotifiedKeys() throws Exception {
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getNotifications(anyInt())).thenReturn(new PGNotification[]{notification});
+        when(notification.getName()).thenReturn(PostgresCacheInvalidationBus.CHANNEL);
+        when(notification.getParameter()).thenReturn("user:7");
+
+        Connection listening = bus.connect();
+
+        verify(statement).execute("LISTEN " + PostgresCacheInvalidationBus.CHANNEL);
+        verify(statement).execute("LISTEN " + PostgresCacheInvalidationBus.TASK_CHANGE_CHANNEL);
+        assertTrue(bus.poll(listening));
+        verify(listener).evict("user:7");
+        verifyNoInteractions(taskChangeListener);
+    }
+
+    @Test
+    public void testDeliversNotifiedTaskChanges() throws Exception {
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getNotifications(anyInt())).thenReturn(new PGNotification[]{notification});
+        when(notification.getName()).thenReturn(PostgresCacheInvalidationBus.TASK_CHANGE_CHANNEL);
+        when(notification.getParameter())
+                .thenReturn("{\"type\":\"COMMENT_CREATED\",\"taskId\":5,\"commentId\":9,\"userIds\":[1,2]}");
+
+        assertTrue(bus.poll(connection));
+
+        verify(taskChangeListener).onTaskChange(new TaskChangeEvent(ChangeType.COMMENT_CREATED, 5L, 9L, Set.of(1L, 2L)));
+        verify(listener, never()).evict(any());
+    }
+
+    @Test
+    public void testFlushesCachesOnEveryConnect() throws Exception {
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getNotifications(anyInt())).thenReturn(new PGNotification[0]);
+        when(connection.isValid(anyInt())).thenReturn(false);
+        ReflectionTestUtils.setField(bus, "running", true);
+
+        bus.listen();
+
+        assertEquals(2, connects.get());
+        verify(listener, times(1)).evictAll();
+        verify(taskChangeListener, times(1)).onChangesMissed();
+        verify(connection).close();
+    }
+}
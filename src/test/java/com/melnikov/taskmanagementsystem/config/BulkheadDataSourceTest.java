@@ -0,0 +1,100 @@
+package com.melnikov.taskmanagementsystem.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BulkheadDataSourceTest {
+
+    @Mock
+    private DataSource targetDataSource;
+
+    @Mock
+    private Connection connection;
+
+    private BulkheadDataSource dataSource;
+
+    @BeforeEach
+    public void setUp() {
+        dataSource = new BulkheadDataSource(targetDataSource,
+                Map.of(Bulkhead.AUTH, 1, Bulkhead.READS, 1, Bulkhead.WRITES, 1, Bulkhead.BACKGROUND, 2),
+                Map.of(Bulkhead.BACKGROUND, Duration.ofMillis(100)), Duration.ofMillis(50));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        BulkheadDataSource.setBulkhead(null);
+    }
+
+    @Test
+    public void testExhaustedBulkheadDoesNotBlockTheOthers() throws SQLException {
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        BulkheadDataSource.setBulkhead(Bulkhead.READS);
+        Connection read = dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, () -> dataSource.getConnection());
+
+        BulkheadDataSource.setBulkhead(Bulkhead.AUTH);
+        assertNotNull(dataSource.getConnection());
+        assertEquals(1, dataSource.getRejected(Bulkhead.READS));
+        assertEquals(0, dataSource.getRejected(Bulkhead.AUTH));
+        assertEquals(1, dataSource.getActiveConnections(Bulkhead.READS));
+
+        read.close();
+
+        assertEquals(0, dataSource.getActiveConnections(Bulkhead.READS));
+    }
+
+    @Test
+    public void testThreadsWithoutBulkheadUseBackground() throws SQLException {
+        when(targetDataSource.getConnection()).thenReturn(connection);
+
+        dataSource.getConnection();
+
+        assertEquals(Bulkhead.BACKGROUND, BulkheadDataSource.getBulkhead());
+        assertEquals(1, dataSource.getActiveConnections(Bulkhead.BACKGROUND));
+        assertEquals(2, dataSource.getMaxConnections(Bulkhead.BACKGROUND));
+        assertEquals(0, dataSource.getPendingThreads(Bulkhead.BACKGROUND));
+        assertEquals(0, dataSource.getActiveConnections(Bulkhead.WRITES));
+    }
+
+    @Test
+    public void testBusyBackgroundWorkDoesNotStarveWrites() throws SQLException {
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, () -> dataSource.getConnection());
+
+        BulkheadDataSource.setBulkhead(Bulkhead.WRITES);
+        assertNotNull(dataSource.getConnection());
+        assertEquals(1, dataSource.getRejected(Bulkhead.BACKGROUND));
+    }
+
+    @Test
+    public void testSetBulkheadReturnsPrevious() {
+        assertNull(BulkheadDataSource.setBulkhead(Bulkhead.READS));
+        assertEquals(Bulkhead.READS, BulkheadDataSource.setBulkhead(Bulkhead.AUTH));
+        assertEquals(Bulkhead.AUTH, BulkheadDataSource.setBulkhead(null));
+    }
+
+    @Test
+    public void testRejectsMissingBulkhead() {
+        assertThrows(IllegalArgumentException.class, () -> new BulkheadDataSource(targetDataSource,
+                Map.of(Bulkhead.AUTH, 1, Bulkhead.READS, 1, Bulkhead.WRITES, 1), Duration.ofMillis(50)));
+    }
+}
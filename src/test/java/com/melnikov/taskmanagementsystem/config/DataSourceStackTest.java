@@ -0,0 +1,83 @@
+package com.melnikov.taskmanagementsystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DataSourceStackTest {
+
+    private final JdbcDataSource primary = new JdbcDataSource();
+
+    @Test
+    public void testWrapsPrimaryInFixedOrder() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("db.bulkheads.enabled", "true")
+                .withProperty("spring.threads.virtual.enabled", "true");
+
+        DataSource dataSource = new DataSourceStack(environment).wrap(primary);
+
+        assertEquals(List.of(SqlStatementCountingDataSource.class, DeadlineDataSource.class, BulkheadDataSource.class,
+                ConcurrencyLimitingDataSource.class, JdbcDataSource.class), layers(dataSource));
+    }
+
+    @Test
+    public void testLeavesOutDisabledWrappers() {
+        MockEnvironment environment = new MockEnvironment().withProperty("deadlines.enabled", "false");
+
+        DataSource dataSource = new DataSourceStack(environment).wrap(primary);
+
+        assertEquals(List.of(SqlStatementCountingDataSource.class, JdbcDataSource.class), layers(dataSource));
+    }
+
+    @Test
+    public void testWrapsEveryReplicaPoolLikeThePrimary() throws Exception {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("db.bulkheads.enabled", "true")
+                .withProperty("db.replicas.enabled", "true")
+                .withProperty("db.replicas.urls", "jdbc:h2:mem:replica-1,jdbc:h2:mem:replica-2")
+                .withProperty("db.replicas.maximum-pool-size", "16");
+
+        DataSource dataSource = new DataSourceStack(environment).wrap(primary);
+        try {
+            assertInstanceOf(SqlStatementCountingDataSource.class, dataSource);
+            Map<String, DataSource> pools = DataSourceStack.pools(dataSource);
+            assertEquals(List.of("primary", "replica-1", "replica-2"), List.copyOf(pools.keySet()));
+            assertEquals(List.of(DeadlineDataSource.class, BulkheadDataSource.class, JdbcDataSource.class),
+                    layers(pools.get("primary")));
+            for (String replica : List.of("replica-1", "replica-2")) {
+                assertEquals(List.of(DeadlineDataSource.class, BulkheadDataSource.class, HikariDataSource.class),
+                        layers(pools.get(replica)));
+                HikariDataSource pool = pools.get(replica).unwrap(HikariDataSource.class);
+                assertEquals(replica, pool.getPoolName());
+                assertEquals(16, pool.getMaximumPoolSize());
+            }
+            // each pool counts its own connections
+            assertNotSame(pools.get("primary").unwrap(BulkheadDataSource.class),
+                    pools.get("replica-1").unwrap(BulkheadDataSource.class));
+        }
+        finally {
+            ((AutoCloseable) dataSource).close();
+        }
+    }
+
+    private static List<Class<?>> layers(DataSource dataSource) {
+        List<Class<?>> layers = new ArrayList<>();
+        DataSource layer = dataSource;
+        while (true) {
+            layers.add(layer.getClass());
+            if (!(layer instanceof DelegatingDataSource delegating)) {
+                return layers;
+            }
+            layer = delegating.getTargetDataSource();
+        }
+    }
+}
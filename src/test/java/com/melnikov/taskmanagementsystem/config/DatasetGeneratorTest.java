@@ -0,0 +1,119 @@
+package com.melnikov.taskmanagementsystem.config;
+
+import com.melnikov.taskmanagementsystem.model.Role;
+import com.melnikov.taskmanagementsystem.model.utils.RoleName;
+import com.melnikov.taskmanagementsystem.repository.RoleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class DatasetGeneratorTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    private DatasetGenerator datasetGenerator;
+
+    @BeforeEach
+    public void setUp() {
+        Role userRole = new Role();
+        userRole.setName(RoleName.ROLE_USER);
+        roleRepository.save(userRole);
+
+        datasetGenerator = new DatasetGenerator(jdbcTemplate, transactionManager, new BCryptPasswordEncoder(4));
+        ReflectionTestUtils.setField(datasetGenerator, "users", 50L);
+        ReflectionTestUtils.setField(datasetGenerator, "tasks", 2_500L);
+        ReflectionTestUtils.setField(datasetGenerator, "asOf", "2026-01-01T00:00:00Z");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("delete from comments");
+        jdbcTemplate.update("delete from tasks");
+        jdbcTemplate.update("delete from users");
+        jdbcTemplate.update("delete from roles");
+    }
+
+    @Test
+    public void testGenerateIsDeterministicAndConsistent() throws Exception {
+        datasetGenerator.generate();
+        List<String> firstRun = snapshot();
+
+        assertEquals(50, jdbcTemplate.queryForObject("select count(*) from users", Long.class));
+        assertEquals(2_500, jdbcTemplate.queryForObject("select count(*) from tasks", Long.class));
+        assertEquals(jdbcTemplate.queryForObject("select sum(comment_count) from tasks", Long.class),
+                jdbcTemplate.queryForObject("select count(*) from comments", Long.class));
+
+        tearDown();
+        setUp();
+        datasetGenerator.generate();
+
+        assertEquals(firstRun, snapshot());
+    }
+
+    @Test
+    public void testAssigneesAreSkewed() throws Exception {
+        datasetGenerator.generate();
+
+        List<Long> perAssignee = jdbcTemplate.queryForList(
+                "select count(*) from tasks where assignee_id is not null group by assignee_id order by count(*) desc", Long.class);
+
+        assertTrue(perAssignee.get(0) > 5 * perAssignee.get(perAssignee.size() / 2));
+    }
+
+    @Test
+    public void testGeneratedIdsDoNotBreakLaterInserts() throws Exception {
+        datasetGenerator.generate();
+        Long roleId = jdbcTemplate.queryForObject("select id from roles", Long.class);
+
+        jdbcTemplate.update("insert into users (email, password, role_id) values ('late@example.com', 'password', ?)", roleId);
+
+        assertEquals(51, jdbcTemplate.queryForObject("select id from users where email = 'late@example.com'", Long.class));
+    }
+
+    @Test
+    public void testCommentCountsAreHeavyTailed() {
+        SplittableRandom random = new SplittableRandom(1);
+        long total = 0;
+        int max = 0;
+        int zeros = 0;
+        for (int i = 0; i < 100_000; i++) {
+            int count = DatasetGenerator.commentCount(random, 5, 1.5, 10_000);
+            total += count;
+            max = Math.max(max, count);
+            zeros += count == 0 ? 1 : 0;
+        }
+
+        assertTrue(zeros > 30_000);
+        assertTrue(max > 500);
+        assertTrue(total / 100_000.0 > 3 && total / 100_000.0 < 7);
+    }
+
+    private List<String> snapshot() {
+        return jdbcTemplate.queryForList("select concat(id, ':', status, ':', priority, ':', author_id, ':', "
+                + "coalesce(assignee_id, 0), ':', comment_count, ':', last_activity_at) from tasks order by id", String.class);
+    }
+}
@@ -0,0 +1,85 @@
+package com.melnikov.taskmanagementsystem.config;
+
+import com.melnikov.taskmanagementsystem.exception.request.DeadlineExceededException;
+import com.melnikov.taskmanagementsystem.limit.Deadline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DeadlineDataSourceTest {
+
+    @Mock
+    private DataSource targetDataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    private DeadlineDataSource dataSource;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        dataSource = new DeadlineDataSource(targetDataSource);
+        when(targetDataSource.getConnection()).thenReturn(connection);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Deadline.set(null);
+    }
+
+    @Test
+    public void testCapsQueryTimeoutAtTimeLeft() throws SQLException {
+        when(connection.prepareStatement("select 1")).thenReturn(statement);
+        Deadline.set(Deadline.after(Duration.ofMillis(2500)));
+
+        assertSame(statement, dataSource.getConnection().prepareStatement("select 1"));
+
+        verify(statement).setQueryTimeout(3);
+    }
+
+    @Test
+    public void testKeepsShorterQueryTimeout() throws SQLException {
+        when(connection.prepareStatement("select 1")).thenReturn(statement);
+        when(statement.getQueryTimeout()).thenReturn(1);
+        Deadline.set(Deadline.after(Duration.ofSeconds(10)));
+
+        dataSource.getConnection().prepareStatement("select 1");
+
+        verify(statement, never()).setQueryTimeout(anyInt());
+    }
+
+    @Test
+    public void testLeavesStatementsWithoutDeadlineAlone() throws SQLException {
+        when(connection.prepareStatement("select 1")).thenReturn(statement);
+
+        dataSource.getConnection().prepareStatement("select 1");
+
+        verifyNoInteractions(statement);
+    }
+
+    @Test
+    public void testRefusesStatementsAfterDeadline() throws SQLException {
+        Connection deadlineConnection = dataSource.getConnection();
+        Deadline.set(Deadline.after(Duration.ZERO));
+
+        assertThrows(DeadlineExceededException.class, () -> deadlineConnection.prepareStatement("select 1"));
+
+        verify(connection, never()).prepareStatement(anyString());
+    }
+}
@@ -0,0 +1,81 @@
+package com.melnikov.taskmanagementsystem.config;
+
+import com.melnikov.taskmanagementsystem.exception.user.UserNotFoundException;
+import com.melnikov.taskmanagementsystem.jwt.JwtTokenProvider;
+import com.melnikov.taskmanagementsystem.repository.RoleRepository;
+import com.melnikov.taskmanagementsystem.repository.UserRepository;
+import com.melnikov.taskmanagementsystem.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class MetricsConfigTest {
+
+    // application.yml is loaded, so the SLO buckets are the ones deployed
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(new ConfigDataApplicationContextInitializer())
+            .withConfiguration(AutoConfigurations.of(AopAutoConfiguration.class, MetricsAutoConfiguration.class,
+                    CompositeMeterRegistryAutoConfiguration.class, SimpleMetricsExportAutoConfiguration.class))
+            .withUserConfiguration(MetricsConfig.class)
+            .withBean(UserRepository.class, () -> mock(UserRepository.class))
+            .withBean(RoleRepository.class, () -> mock(RoleRepository.class))
+            .withBean(PasswordEncoder.class, () -> mock(PasswordEncoder.class))
+            .withBean(ApplicationEventPublisher.class, () -> mock(ApplicationEventPublisher.class))
+            .withBean(UserDetailsService.class, () -> username -> User.withUsername(username).password("password").roles("USER").build())
+            .withBean(UserService.class)
+            .withBean(JwtTokenProvider.class);
+
+    @Test
+    public void testServiceTimersHaveSloBuckets() {
+        contextRunner.run(context -> {
+            UserRepository userRepository = context.getBean(UserRepository.class);
+            when(userRepository.findById(1L)).thenReturn(Optional.empty());
+
+            assertThrows(UserNotFoundException.class, () -> context.getBean(UserService.class).getUserById(1L));
+
+            Timer timer = context.getBean(MeterRegistry.class).get("app.service")
+                    .tag("class", UserService.class.getName())
+                    .tag("method", "getUserById")
+                    .tag("exception", "UserNotFoundException")
+                    .timer();
+            assertEquals(1, timer.count());
+            double[] buckets = Arrays.stream(timer.takeSnapshot().histogramCounts())
+                    .mapToDouble(bucket -> bucket.bucket(TimeUnit.MILLISECONDS))
+                    .toArray();
+            assertArrayEquals(new double[]{1, 5, 10, 25, 50, 100, 250, 500, 1000, 2500}, buckets);
+        });
+    }
+
+    @Test
+    public void testJwtTimersAreRegistered() {
+        contextRunner.run(context -> {
+            JwtTokenProvider jwtTokenProvider = context.getBean(JwtTokenProvider.class);
+            String token = jwtTokenProvider.createToken("user@example.com", "ROLE_USER");
+
+            assertTrue(jwtTokenProvider.validateToken(token));
+            assertNotNull(jwtTokenProvider.getAuthentication(token));
+
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+            assertEquals(1, meterRegistry.get("jwt.validation").timer().count());
+            assertEquals(1, meterRegistry.get("jwt.authentication").timer().count());
+        });
+    }
+}
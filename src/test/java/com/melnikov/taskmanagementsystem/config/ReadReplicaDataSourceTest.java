@@ -0,0 +1,76 @@
+package com.melnikov.taskmanagementsystem.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReadReplicaDataSourceTest {
+
+    private ReadReplicaDataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate readWrite;
+
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    public void setUp() {
+        dataSource = new ReadReplicaDataSource(database("primary"), List.of(database("replica-1"), database("replica-2")));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ReadReplicaDataSource.setReplicaReadsAllowed(false);
+    }
+
+    @Test
+    public void testRoutesReadOnlyTransactionsToReplicasWhenAllowed() {
+        ReadReplicaDataSource.setReplicaReadsAllowed(true);
+
+        assertEquals("replica-1", readOnly.execute(status -> name()));
+        assertEquals("replica-2", readOnly.execute(status -> name()));
+        assertEquals("replica-1", readOnly.execute(status -> name()));
+        assertEquals("primary", readWrite.execute(status -> name()));
+        assertEquals("primary", name());
+    }
+
+    @Test
+    public void testUsesPrimaryUnlessReplicaReadsAreAllowed() {
+        assertEquals("primary", readOnly.execute(status -> name()));
+
+        ReadReplicaDataSource.setReplicaReadsAllowed(true);
+        ReadReplicaDataSource.setReplicaReadsAllowed(false);
+
+        assertFalse(ReadReplicaDataSource.isReplicaReadsAllowed());
+        assertEquals("primary", readOnly.execute(status -> name()));
+    }
+
+    private String name() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource database = new JdbcDataSource();
+        database.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("create table node (name varchar(32))");
+        jdbcTemplate.update("insert into node (name) values (?)", name);
+        return database;
+    }
+}
@@ -0,0 +1,56 @@
+package com.melnikov.taskmanagementsystem.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SqlStatementCountingDataSourceTest {
+
+    @Mock
+    private DataSource targetDataSource;
+
+    @Mock
+    private Connection connection;
+
+    private SqlStatementCountingDataSource dataSource;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        dataSource = new SqlStatementCountingDataSource(targetDataSource);
+        when(targetDataSource.getConnection()).thenReturn(connection);
+    }
+
+    @Test
+    public void testCountsEveryStatementCreatedOnConnection() {
+        int statements = SqlStatementCounter.countStatements(() -> {
+            try (Connection counted = dataSource.getConnection()) {
+                counted.createStatement();
+                counted.prepareStatement("select pg_notify(?, ?)");
+                counted.prepareCall("{call refresh()}");
+                counted.getAutoCommit();
+            }
+            catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertEquals(3, statements);
+    }
+
+    @Test
+    public void testDoesNotCountOutsideScope() throws SQLException {
+        dataSource.getConnection().createStatement();
+
+        assertEquals(0, SqlStatementCounter.current());
+    }
+}
@@ -0,0 +1,72 @@
+package com.melnikov.taskmanagementsystem.controller;
+
+import com.melnikov.taskmanagementsystem.dto.ClusterJobDTO;
+import com.melnikov.taskmanagementsystem.dto.JobRunDTO;
+import com.melnikov.taskmanagementsystem.exception.GlobalExceptionHandler;
+import com.melnikov.taskmanagementsystem.exception.resource.ResourceNotFoundException;
+import com.melnikov.taskmanagementsystem.model.utils.JobStatus;
+import com.melnikov.taskmanagementsystem.service.ClusterJobService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+public class ClusterJobControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private ClusterJobService clusterJobService;
+
+    @InjectMocks
+    private ClusterJobController clusterJobController;
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(clusterJobController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    public void testGetJobs() throws Exception {
+        JobRunDTO run = new JobRunDTO();
+        run.setId(3L);
+        run.setStatus(JobStatus.COMPLETED);
+        when(clusterJobService.getJobs()).thenReturn(List.of(new ClusterJobDTO("task-purge", run)));
+
+        mockMvc.perform(get("/api/admin/jobs"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("task-purge"))
+                .andExpect(jsonPath("$[0].lastRun.status").value("COMPLETED"));
+    }
+
+    @Test
+    public void testRunJob() throws Exception {
+        mockMvc.perform(post("/api/admin/jobs/task-purge/runs"))
+                .andExpect(status().isAccepted());
+
+        verify(clusterJobService).trigger("task-purge");
+    }
+
+    @Test
+    public void testRunUnknownJob() throws Exception {
+        doThrow(new ResourceNotFoundException("Job not found with name: missing")).when(clusterJobService).trigger("missing");
+
+        mockMvc.perform(post("/api/admin/jobs/missing/runs"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -2,6 +2,7 @@ package com.melnikov.taskmanagementsystem.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.melnikov.taskmanagementsystem.dto.CommentDTO;
+import com.melnikov.taskmanagementsystem.dto.CommentWindowDTO;
 import com.melnikov.taskmanagementsystem.dto.create.CreateCommentDTO;
 import com.melnikov.taskmanagementsystem.service.CommentService;
 import org.junit.jupiter.api.BeforeEach;
@@ -121,29 +122,27 @@ public class CommentControllerTest {
 
     @Test
     public void testGetCommentsByTaskId() throws Exception {
-        List<CommentDTO> comments = Arrays.asList(commentDTO);
-        Page<CommentDTO> commentPage = new PageImpl<>(comments, PageRequest.of(0, 10), comments.size());
-        when(commentService.getCommentsByTaskId(eq(1L), any(PageRequest.class))).thenReturn(commentPage);
+        CommentWindowDTO window = new CommentWindowDTO(Arrays.asList(commentDTO), 1L);
+        when(commentService.getCommentsByTaskId(1L, 5L, 10)).thenReturn(window);
 
         mockMvc.perform(get("/api/comments/task/1")
-                        .param("page", "0")
+                        .param("before", "5")
                         .param("size", "10"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$.content[0].text").value("This is a test comment"));
+                .andExpect(jsonPath("$.comments[0].text").value("This is a test comment"))
+                .andExpect(jsonPath("$.nextCursor").value(1));
     }
 
     @Test
     public void testGetCommentsByTaskIdNoComments() throws Exception {
-        List<CommentDTO> comments = Arrays.asList();
-        Page<CommentDTO> commentPage = new PageImpl<>(comments, PageRequest.of(0, 10), comments.size());
-        when(commentService.getCommentsByTaskId(eq(1L), any(PageRequest.class))).thenReturn(commentPage);
+        CommentWindowDTO window = new CommentWindowDTO(Arrays.asList(), null);
+        when(commentService.getCommentsByTaskId(1L, null, 20)).thenReturn(window);
 
-        mockMvc.perform(get("/api/comments/task/1")
-                        .param("page", "0")
-                        .param("size", "10"))
+        mockMvc.perform(get("/api/comments/task/1"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$.content").isEmpty());
+                .andExpect(jsonPath("$.comments").isEmpty())
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
     }
 }
\ No newline at end of file
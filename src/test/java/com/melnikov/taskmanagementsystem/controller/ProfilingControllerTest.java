@@ -0,0 +1,88 @@
+package com.melnikov.taskmanagementsystem.controller;
+
+import com.melnikov.taskmanagementsystem.dto.RecordingDTO;
+import com.melnikov.taskmanagementsystem.exception.GlobalExceptionHandler;
+import com.melnikov.taskmanagementsystem.exception.resource.ResourceNotFoundException;
+import com.melnikov.taskmanagementsystem.service.ProfilingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ProfilingControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private ProfilingService profilingService;
+
+    @InjectMocks
+    private ProfilingController profilingController;
+
+    private RecordingDTO recordingDTO;
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(profilingController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        recordingDTO = new RecordingDTO();
+        recordingDTO.setId(7L);
+        recordingDTO.setName("on-demand-profile");
+        recordingDTO.setState("RUNNING");
+    }
+
+    @Test
+    public void testStartRecording() throws Exception {
+        when(profilingService.startRecording("profile", Duration.ofSeconds(30))).thenReturn(recordingDTO);
+
+        mockMvc.perform(post("/api/admin/profiling/recordings").param("duration", "PT30S"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.state").value("RUNNING"));
+
+        verify(profilingService, times(1)).startRecording("profile", Duration.ofSeconds(30));
+    }
+
+    @Test
+    public void testDownloadRecordingStreamsAndDeletesFile() throws Exception {
+        Path file = Files.createTempFile("recording-7-", ".jfr");
+        Files.write(file, new byte[]{1, 2, 3});
+        when(profilingService.dumpRecording(7L)).thenReturn(file);
+
+        MvcResult result = mockMvc.perform(get("/api/admin/profiling/recordings/7/file"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"recording-7.jfr\""))
+                .andExpect(content().bytes(new byte[]{1, 2, 3}));
+
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    public void testStopUnknownRecording() throws Exception {
+        when(profilingService.stopRecording(9L)).thenThrow(new ResourceNotFoundException("JFR recording not found with id: 9"));
+
+        mockMvc.perform(post("/api/admin/profiling/recordings/9/stop"))
+                .andExpect(status().isNotFound());
+    }
+}
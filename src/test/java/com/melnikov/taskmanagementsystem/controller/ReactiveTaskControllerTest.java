@@ -0,0 +1,115 @@
+package com.melnikov.taskmanagementsystem.controller;
+
+import com.melnikov.taskmanagementsystem.dto.TaskDTO;
+import com.melnikov.taskmanagementsystem.exception.GlobalExceptionHandler;
+import com.melnikov.taskmanagementsystem.exception.task.TaskNotFoundException;
+import com.melnikov.taskmanagementsystem.model.utils.Priority;
+import com.melnikov.taskmanagementsystem.model.utils.Status;
+import com.melnikov.taskmanagementsystem.service.ReactiveTaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+public class ReactiveTaskControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private ReactiveTaskService reactiveTaskService;
+
+    @InjectMocks
+    private ReactiveTaskController reactiveTaskController;
+
+    private TaskDTO taskDTO;
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(reactiveTaskController)
+                .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        taskDTO = new TaskDTO();
+        taskDTO.setId(1L);
+        taskDTO.setTitle("Test Task");
+        taskDTO.setStatus(Status.PENDING);
+        taskDTO.setPriority(Priority.MEDIUM);
+        taskDTO.setAuthorId(1L);
+    }
+
+    @Test
+    public void testGetAllTasksStreamsNdjson() throws Exception {
+        TaskDTO second = new TaskDTO();
+        second.setId(2L);
+        when(reactiveTaskService.getAllTasks(any(PageRequest.class))).thenReturn(Flux.just(taskDTO, second));
+
+        MvcResult result = mockMvc.perform(get("/api/reactive/tasks").param("page", "0").param("size", "2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(matchesPattern("\\{\"id\":1,.*}\n\\{\"id\":2,.*}\n")));
+        verify(reactiveTaskService).getAllTasks(PageRequest.of(0, 2));
+    }
+
+    @Test
+    public void testGetTasksByAuthorIdAsJsonArray() throws Exception {
+        when(reactiveTaskService.getTasksByAuthorId(eq(1L), any(PageRequest.class))).thenReturn(Flux.just(taskDTO));
+
+        MvcResult result = mockMvc.perform(get("/api/reactive/tasks/author/1").accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Test Task"));
+    }
+
+    @Test
+    public void testGetTaskById() throws Exception {
+        when(reactiveTaskService.getTaskById(1L)).thenReturn(Mono.just(taskDTO));
+
+        MvcResult result = mockMvc.perform(get("/api/reactive/tasks/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Test Task"));
+    }
+
+    @Test
+    public void testGetTaskByIdNotFound() throws Exception {
+        when(reactiveTaskService.getTaskById(1L)).thenReturn(Mono.error(new TaskNotFoundException("Task not found with id: 1")));
+
+        MvcResult result = mockMvc.perform(get("/api/reactive/tasks/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -127,6 +127,15 @@ public class TaskControllerTest {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    public void testDeleteTaskDeferred() throws Exception {
+        doNothing().when(taskService).softDeleteTask(1L);
+
+        mockMvc.perform(delete("/api/tasks/1").param("deferred", "true"))
+                .andExpect(status().isAccepted());
+        verify(taskService, never()).deleteTask(1L);
+    }
+
 
     @Test
     public void testGetTasksByAuthorId() throws Exception {
@@ -0,0 +1,68 @@
+package com.melnikov.taskmanagementsystem.controller;
+
+import com.melnikov.taskmanagementsystem.model.User;
+import com.melnikov.taskmanagementsystem.service.TaskEventStreamService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+public class TaskEventControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private TaskEventStreamService taskEventStreamService;
+
+    @InjectMocks
+    private TaskEventController taskEventController;
+
+    private UsernamePasswordAuthenticationToken authentication;
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(taskEventController).build();
+
+        User user = new User();
+        user.setId(7L);
+        user.setEmail("user@example.com");
+        authentication = new UsernamePasswordAuthenticationToken(user, "", List.of());
+    }
+
+    @Test
+    public void testStreamTaskEvents() throws Exception {
+        when(taskEventStreamService.subscribe(7L, null)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/tasks/events").principal(authentication).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(taskEventStreamService, times(1)).subscribe(7L, null);
+    }
+
+    @Test
+    public void testStreamTaskEventsResumesFromLastEventId() throws Exception {
+        when(taskEventStreamService.subscribe(7L, 42L)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/tasks/events").principal(authentication).header("Last-Event-ID", "42")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(taskEventStreamService, times(1)).subscribe(7L, 42L);
+    }
+}
@@ -0,0 +1,74 @@
+package com.melnikov.taskmanagementsystem.controller;
+
+import com.melnikov.taskmanagementsystem.dto.TaskChangesDTO;
+import com.melnikov.taskmanagementsystem.dto.TaskDTO;
+import com.melnikov.taskmanagementsystem.exception.GlobalExceptionHandler;
+import com.melnikov.taskmanagementsystem.exception.task.SyncCursorExpiredException;
+import com.melnikov.taskmanagementsystem.model.User;
+import com.melnikov.taskmanagementsystem.service.TaskSyncService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+public class TaskSyncControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private TaskSyncService taskSyncService;
+
+    @InjectMocks
+    private TaskSyncController taskSyncController;
+
+    private UsernamePasswordAuthenticationToken authentication;
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(taskSyncController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        User user = new User();
+        user.setId(7L);
+        user.setEmail("user@example.com");
+        authentication = new UsernamePasswordAuthenticationToken(user, "", List.of());
+    }
+
+    @Test
+    public void testGetChanges() throws Exception {
+        TaskDTO task = new TaskDTO();
+        task.setId(1L);
+        when(taskSyncService.getChanges(7L, 10L, 100))
+                .thenReturn(new TaskChangesDTO(List.of(task), List.of(), List.of(2L), List.of(), 15L, true));
+
+        mockMvc.perform(get("/api/tasks/changes").param("since", "10").principal(authentication))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks[0].id").value(1))
+                .andExpect(jsonPath("$.deletedTaskIds[0]").value(2))
+                .andExpect(jsonPath("$.nextSince").value(15))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    @Test
+    public void testGetChangesWithExpiredCursor() throws Exception {
+        when(taskSyncService.getChanges(7L, 1L, 50)).thenThrow(new SyncCursorExpiredException("Changes since 1 are no longer available"));
+
+        mockMvc.perform(get("/api/tasks/changes").param("since", "1").param("size", "50").principal(authentication))
+                .andExpect(status().isGone());
+    }
+}
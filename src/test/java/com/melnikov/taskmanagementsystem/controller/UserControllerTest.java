@@ -1,9 +1,12 @@
 package com.melnikov.taskmanagementsystem.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.melnikov.taskmanagementsystem.dto.OffboardingJobDTO;
 import com.melnikov.taskmanagementsystem.dto.UserDTO;
 import com.melnikov.taskmanagementsystem.dto.create.CreateUserDTO;
+import com.melnikov.taskmanagementsystem.model.utils.JobStatus;
 import com.melnikov.taskmanagementsystem.model.utils.RoleName;
+import com.melnikov.taskmanagementsystem.service.UserOffboardingService;
 import com.melnikov.taskmanagementsystem.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -35,6 +38,9 @@ public class UserControllerTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private UserOffboardingService userOffboardingService;
+
     @InjectMocks
     private UserController userController;
 
@@ -125,4 +131,32 @@ public class UserControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.email").value("user@example.com"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testOffboardUser() throws Exception {
+        OffboardingJobDTO job = new OffboardingJobDTO();
+        job.setId("job-1");
+        job.setUserId(1L);
+        job.setSuccessorId(2L);
+        job.setStatus(JobStatus.RUNNING);
+        when(userOffboardingService.startOffboarding(1L, 2L)).thenReturn(job);
+
+        mockMvc.perform(post("/api/users/1/offboarding").param("successorId", "2"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value("job-1"))
+                .andExpect(jsonPath("$.status").value("RUNNING"));
+    }
+
+    @Test
+    public void testGetOffboardingJob() throws Exception {
+        OffboardingJobDTO job = new OffboardingJobDTO();
+        job.setId("job-1");
+        job.setStatus(JobStatus.COMPLETED);
+        job.setCommentsMoved(42);
+        when(userOffboardingService.getJob("job-1")).thenReturn(job);
+
+        mockMvc.perform(get("/api/users/offboarding/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.commentsMoved").value(42));
+    }
+}
@@ -0,0 +1,107 @@
+package com.melnikov.taskmanagementsystem.filter;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.melnikov.taskmanagementsystem.jwt.JwtTokenFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AccessLogFilterTest {
+
+    private AccessLogFilter accessLogFilter;
+
+    private ListAppender<ILoggingEvent> appender;
+
+    private Logger logger;
+
+    @BeforeEach
+    public void setUp() {
+        accessLogFilter = new AccessLogFilter();
+        logger = (Logger) LoggerFactory.getLogger(AccessLogFilter.LOGGER_NAME);
+        appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    public void testWritesOneStructuredLinePerRequest() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks/5");
+        request.setQueryString("secret=1");
+        request.addHeader("Authorization", "Bearer someToken");
+        FilterChain chain = (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/tasks/{id}");
+            req.setAttribute(JwtTokenFilter.AUTHENTICATED_USER_ATTRIBUTE, "user@example.com");
+        };
+
+        accessLogFilter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertEquals(1, appender.list.size());
+        String line = appender.list.get(0).getFormattedMessage();
+        assertTrue(line.contains("\"method\":\"GET\""));
+        assertTrue(line.contains("\"route\":\"/api/tasks/{id}\""));
+        assertTrue(line.contains("\"status\":200"));
+        assertTrue(line.contains("\"user\":\"user@example.com\""));
+        assertFalse(line.contains("someToken"));
+        assertFalse(line.contains("secret"));
+    }
+
+    @Test
+    public void testSamplingSkipsSuccessfulRequestsButKeepsErrors() throws ServletException, IOException {
+        ReflectionTestUtils.setField(accessLogFilter, "sampleRate", 0.0);
+
+        accessLogFilter.doFilter(new MockHttpServletRequest("GET", "/api/tasks"), new MockHttpServletResponse(),
+                (req, res) -> { });
+
+        MockHttpServletResponse failed = new MockHttpServletResponse();
+        accessLogFilter.doFilter(new MockHttpServletRequest("GET", "/api/tasks"), failed,
+                (req, res) -> failed.setStatus(503));
+
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().contains("\"status\":503"));
+    }
+
+    @Test
+    public void testAsyncRequestIsLoggedOnCompletion() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/reactive/tasks/5");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        accessLogFilter.doFilter(request, response, (req, res) -> req.startAsync());
+
+        assertTrue(appender.list.isEmpty());
+
+        response.setStatus(404);
+        request.getAsyncContext().complete();
+
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().contains("\"status\":404"));
+    }
+
+    @Test
+    public void testFormatEscapesValues() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/email/a\"b");
+
+        String line = AccessLogFilter.format(request, 404, 1_500_000);
+
+        assertTrue(line.contains("\"route\":\"/api/users/email/a\\\"b\""));
+        assertTrue(line.contains("\"durationMs\":1.500"));
+    }
+}
@@ -0,0 +1,32 @@
+package com.melnikov.taskmanagementsystem.filter;
+
+import com.melnikov.taskmanagementsystem.config.Bulkhead;
+import com.melnikov.taskmanagementsystem.config.BulkheadDataSource;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkheadFilterTest {
+
+    private final BulkheadFilter bulkheadFilter = new BulkheadFilter();
+
+    @Test
+    public void testPicksBulkheadForRequest() throws ServletException, IOException {
+        assertEquals(Bulkhead.AUTH, bulkhead("POST", "/auth/signin"));
+        assertEquals(Bulkhead.READS, bulkhead("GET", "/api/tasks"));
+        assertEquals(Bulkhead.WRITES, bulkhead("PATCH", "/api/tasks/1"));
+        assertEquals(Bulkhead.BACKGROUND, BulkheadDataSource.getBulkhead());
+    }
+
+    private Bulkhead bulkhead(String method, String uri) throws ServletException, IOException {
+        Bulkhead[] bulkhead = new Bulkhead[1];
+        bulkheadFilter.doFilter(new MockHttpServletRequest(method, uri), new MockHttpServletResponse(),
+                (req, res) -> bulkhead[0] = BulkheadDataSource.getBulkhead());
+        return bulkhead[0];
+    }
+}
@@ -0,0 +1,149 @@
+package com.melnikov.taskmanagementsystem.filter;
+
+import com.melnikov.taskmanagementsystem.limit.AdaptiveConcurrencyLimiter;
+import com.melnikov.taskmanagementsystem.limit.RequestPriority;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ConcurrencyLimitFilterTest {
+
+    @Mock
+    private AdaptiveConcurrencyLimiter limiter;
+
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        filter = new ConcurrencyLimitFilter(limiter);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testPassesAndReleasesWithLatency() throws ServletException, IOException {
+        when(limiter.tryAcquire(RequestPriority.NORMAL)).thenReturn(true);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/tasks/1"), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        verify(limiter).release(any(Duration.class), eq(false));
+    }
+
+    @Test
+    public void testRejectsWithRetryAfter() throws ServletException, IOException {
+        when(limiter.tryAcquire(RequestPriority.BULK)).thenReturn(false);
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/tasks"), response, chain);
+
+        assertNull(chain.getRequest());
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("\"status\":503"));
+        verify(limiter, never()).release(any(), anyBoolean());
+    }
+
+    @Test
+    public void testReleasesAsFailedWhenChainThrows() {
+        when(limiter.tryAcquire(RequestPriority.NORMAL)).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> filter.doFilter(new MockHttpServletRequest("POST", "/api/tasks"),
+                new MockHttpServletResponse(), (req, res) -> {
+                    throw new IllegalStateException("Boom");
+                }));
+
+        verify(limiter).release(any(Duration.class), eq(true));
+    }
+
+    @Test
+    public void testReleasesAsFailedOnServerError() throws ServletException, IOException {
+        when(limiter.tryAcquire(RequestPriority.NORMAL)).thenReturn(true);
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/tasks"), new MockHttpServletResponse(),
+                (req, res) -> ((HttpServletResponse) res).setStatus(500));
+
+        verify(limiter).release(any(Duration.class), eq(true));
+    }
+
+    @Test
+    public void testHoldsSlotUntilAsyncRequestCompletes() throws ServletException, IOException {
+        when(limiter.tryAcquire(RequestPriority.BULK)).thenReturn(true);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/reactive/tasks");
+        request.setAsyncSupported(true);
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+        verify(limiter, never()).release(any(), anyBoolean());
+
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+
+        verify(limiter).release(any(Duration.class), eq(false));
+    }
+
+    @Test
+    public void testReleasesTimedOutAsyncRequestOnceAsFailed() throws ServletException, IOException {
+        when(limiter.tryAcquire(RequestPriority.BULK)).thenReturn(true);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/reactive/tasks");
+        request.setAsyncSupported(true);
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+        MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+        asyncContext.complete();
+
+        verify(limiter).release(any(Duration.class), eq(true));
+        verifyNoMoreInteractions(ignoreStubs(limiter));
+    }
+
+    @Test
+    public void testClassifiesRequests() {
+        assertEquals(RequestPriority.CRITICAL, filter.priority(new MockHttpServletRequest("POST", "/auth/signin")));
+        assertEquals(RequestPriority.BULK, filter.priority(new MockHttpServletRequest("GET", "/api/tasks/author/1")));
+        assertEquals(RequestPriority.NORMAL, filter.priority(new MockHttpServletRequest("GET", "/api/tasks/1")));
+        assertEquals(RequestPriority.NORMAL, filter.priority(new MockHttpServletRequest("PUT", "/api/tasks/1")));
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("admin", "",
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        assertEquals(RequestPriority.CRITICAL, filter.priority(new MockHttpServletRequest("PUT", "/api/tasks/1")));
+        assertEquals(RequestPriority.BULK, filter.priority(new MockHttpServletRequest("GET", "/api/users")));
+    }
+
+    @Test
+    public void testSkipsExemptPaths() throws ServletException, IOException {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/tasks/events"), new MockHttpServletResponse(), new MockFilterChain());
+
+        verifyNoInteractions(limiter);
+    }
+}
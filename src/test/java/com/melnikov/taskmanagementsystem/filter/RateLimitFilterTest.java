@@ -0,0 +1,81 @@
+package com.melnikov.taskmanagementsystem.filter;
+
+import com.melnikov.taskmanagementsystem.jwt.JwtTokenFilter;
+import com.melnikov.taskmanagementsystem.limit.RateLimitGroup;
+import com.melnikov.taskmanagementsystem.limit.RateLimiter;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RateLimitFilterTest {
+
+    @Mock
+    private RateLimiter rateLimiter;
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        filter = new RateLimitFilter(rateLimiter);
+    }
+
+    @Test
+    public void testAllowedRequestGetsHeaders() throws ServletException, IOException {
+        when(rateLimiter.tryAcquire(RateLimitGroup.READS, "user:user@example.com"))
+                .thenReturn(new RateLimiter.Decision(true, 100, 99, 1, 0));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.setAttribute(JwtTokenFilter.AUTHENTICATED_USER_ATTRIBUTE, "user@example.com");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertNotNull(chain.getRequest());
+        assertEquals("100", response.getHeader("RateLimit-Limit"));
+        assertEquals("99", response.getHeader("RateLimit-Remaining"));
+        assertEquals("1", response.getHeader("RateLimit-Reset"));
+    }
+
+    @Test
+    public void testAuthIsLimitedByIp() throws ServletException, IOException {
+        when(rateLimiter.tryAcquire(RateLimitGroup.AUTH, "ip:10.0.0.1"))
+                .thenReturn(new RateLimiter.Decision(false, 10, 0, 50, 5));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/signin");
+        request.setRemoteAddr("10.0.0.1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertNull(chain.getRequest());
+        assertEquals(429, response.getStatus());
+        assertEquals("5", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("\"status\":429"));
+    }
+
+    @Test
+    public void testGroups() {
+        assertEquals(RateLimitGroup.AUTH, RateLimitFilter.group(new MockHttpServletRequest("POST", "/auth/signup")));
+        assertEquals(RateLimitGroup.READS, RateLimitFilter.group(new MockHttpServletRequest("GET", "/api/tasks/1")));
+        assertEquals(RateLimitGroup.WRITES, RateLimitFilter.group(new MockHttpServletRequest("DELETE", "/api/tasks/1")));
+    }
+
+    @Test
+    public void testSkipsActuator() throws ServletException, IOException {
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/prometheus"), new MockHttpServletResponse(), new MockFilterChain());
+
+        verifyNoInteractions(rateLimiter);
+    }
+}
@@ -0,0 +1,70 @@
+package com.melnikov.taskmanagementsystem.filter;
+
+import com.melnikov.taskmanagementsystem.config.ReadReplicaDataSource;
+import com.melnikov.taskmanagementsystem.jwt.JwtTokenFilter;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReadYourWritesFilterTest {
+
+    private final ReadYourWritesFilter readYourWritesFilter = new ReadYourWritesFilter();
+
+    @Test
+    public void testPinsMutationsAndFollowingReadsOfTheSameClient() throws ServletException, IOException {
+        assertTrue(replicaReadsAllowed("GET", "user@example.com", null));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(replicaReadsAllowed("POST", "user@example.com", null, response));
+        Cookie lastWrite = response.getCookie(ReadYourWritesFilter.LAST_WRITE_COOKIE);
+
+        assertNotNull(lastWrite);
+        assertEquals(5, lastWrite.getMaxAge());
+        assertTrue(lastWrite.isHttpOnly());
+        assertFalse(replicaReadsAllowed("GET", "user@example.com", lastWrite));
+        assertTrue(replicaReadsAllowed("GET", "user@example.com", null));
+        assertFalse(ReadReplicaDataSource.isReplicaReadsAllowed());
+    }
+
+    @Test
+    public void testReleasesClientAfterWindow() throws ServletException, IOException {
+        Cookie expired = new Cookie(ReadYourWritesFilter.LAST_WRITE_COOKIE, String.valueOf(System.currentTimeMillis() - 5_000));
+
+        assertTrue(replicaReadsAllowed("GET", "user@example.com", expired));
+        assertTrue(replicaReadsAllowed("GET", "user@example.com", new Cookie(ReadYourWritesFilter.LAST_WRITE_COOKIE, "forged")));
+    }
+
+    @Test
+    public void testIgnoresAnonymousRequests() throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(replicaReadsAllowed("PATCH", null, null, response));
+        assertNull(response.getCookie(ReadYourWritesFilter.LAST_WRITE_COOKIE));
+        assertTrue(replicaReadsAllowed("GET", null, new Cookie(ReadYourWritesFilter.LAST_WRITE_COOKIE,
+                String.valueOf(System.currentTimeMillis()))));
+    }
+
+    private boolean replicaReadsAllowed(String method, String user, Cookie cookie) throws ServletException, IOException {
+        return replicaReadsAllowed(method, user, cookie, new MockHttpServletResponse());
+    }
+
+    private boolean replicaReadsAllowed(String method, String user, Cookie cookie, MockHttpServletResponse response)
+            throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/tasks/1");
+        if (user != null) {
+            request.setAttribute(JwtTokenFilter.AUTHENTICATED_USER_ATTRIBUTE, user);
+        }
+        if (cookie != null) {
+            request.setCookies(cookie);
+        }
+        boolean[] allowed = new boolean[1];
+        readYourWritesFilter.doFilter(request, response,
+                (req, res) -> allowed[0] = ReadReplicaDataSource.isReplicaReadsAllowed());
+        return allowed[0];
+    }
+}
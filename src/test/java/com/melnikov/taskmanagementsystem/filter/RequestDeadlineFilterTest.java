@@ -0,0 +1,87 @@
+package com.melnikov.taskmanagementsystem.filter;
+
+import com.melnikov.taskmanagementsystem.limit.Deadline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestDeadlineFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RequestDeadlineFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        filter = new RequestDeadlineFilter(meterRegistry);
+        ReflectionTestUtils.setField(filter, "pathTimeouts", List.of("/auth/**=PT5S", "/api/tasks/**=PT2S"));
+        filter.afterPropertiesSet();
+    }
+
+    @Test
+    public void testBudgetFromPathAndHeader() {
+        assertEquals(Duration.ofSeconds(5), filter.budget(new MockHttpServletRequest("POST", "/auth/signin")));
+        assertEquals(Duration.ofSeconds(10), filter.budget(new MockHttpServletRequest("GET", "/api/users/1")));
+
+        MockHttpServletRequest shorter = new MockHttpServletRequest("GET", "/api/tasks/1");
+        shorter.addHeader(RequestDeadlineFilter.TIMEOUT_HEADER, "500");
+        assertEquals(Duration.ofMillis(500), filter.budget(shorter));
+
+        MockHttpServletRequest longer = new MockHttpServletRequest("GET", "/api/tasks/1");
+        longer.addHeader(RequestDeadlineFilter.TIMEOUT_HEADER, "60000");
+        assertEquals(Duration.ofSeconds(2), filter.budget(longer));
+
+        MockHttpServletRequest malformed = new MockHttpServletRequest("GET", "/api/tasks/1");
+        malformed.addHeader(RequestDeadlineFilter.TIMEOUT_HEADER, "soon");
+        assertEquals(Duration.ofSeconds(2), filter.budget(malformed));
+    }
+
+    @Test
+    public void testSetsDeadlineForTheRequestOnly() throws ServletException, IOException {
+        Deadline[] seen = new Deadline[1];
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/tasks/1"), new MockHttpServletResponse(),
+                (req, res) -> seen[0] = Deadline.current());
+
+        assertEquals(Duration.ofSeconds(2), seen[0].getBudget());
+        assertNull(Deadline.current());
+        assertEquals(0, meterRegistry.get("http.deadline.expired").counter().count());
+    }
+
+    @Test
+    public void testCountsExpiredRequests() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks/1");
+        request.addHeader(RequestDeadlineFilter.TIMEOUT_HEADER, "1");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            try {
+                Thread.sleep(5);
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertEquals(1, meterRegistry.get("http.deadline.expired").counter().count());
+    }
+
+    @Test
+    public void testSkipsStreams() throws ServletException, IOException {
+        Deadline[] seen = new Deadline[1];
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/tasks/events"), new MockHttpServletResponse(),
+                (req, res) -> seen[0] = Deadline.current());
+
+        assertNull(seen[0]);
+    }
+}
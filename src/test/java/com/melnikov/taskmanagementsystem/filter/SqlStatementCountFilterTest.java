@@ -0,0 +1,69 @@
+package com.melnikov.taskmanagementsystem.filter;
+
+import com.melnikov.taskmanagementsystem.config.SqlStatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SqlStatementCountFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private SqlStatementCountFilter sqlStatementCountFilter;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sqlStatementCountFilter = new SqlStatementCountFilter(meterRegistry);
+    }
+
+    @Test
+    public void testRecordsStatementsPerRoute() throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        sqlStatementCountFilter.doFilter(new MockHttpServletRequest("GET", "/api/tasks"), response, statements(2));
+
+        DistributionSummary summary = meterRegistry.get("http.server.sql.statements")
+                .tag("method", "GET").tag("uri", "/api/tasks").summary();
+        assertEquals(1, summary.count());
+        assertEquals(2.0, summary.totalAmount());
+        assertNull(response.getHeader(SqlStatementCountFilter.STATEMENT_COUNT_HEADER));
+        assertEquals(0, SqlStatementCounter.current());
+    }
+
+    @Test
+    public void testWritesHeaderBeforeBodyInDiagnosticMode() throws ServletException, IOException {
+        ReflectionTestUtils.setField(sqlStatementCountFilter, "headerEnabled", true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        sqlStatementCountFilter.doFilter(new MockHttpServletRequest("GET", "/api/tasks"), response, (req, res) -> {
+            statements(3).doFilter(req, res);
+            res.getWriter().write("[]");
+            res.flushBuffer();
+            SqlStatementCounter.record();
+        });
+
+        assertTrue(response.isCommitted());
+        assertEquals("3", response.getHeader(SqlStatementCountFilter.STATEMENT_COUNT_HEADER));
+    }
+
+    private FilterChain statements(int count) {
+        return (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/tasks");
+            for (int i = 0; i < count; i++) {
+                SqlStatementCounter.record();
+            }
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package com.melnikov.taskmanagementsystem.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JfrEventsTest {
+
+    @Test
+    public void testPasswordEncoderEmitsHashEvents() throws Exception {
+        JfrPasswordEncoder encoder = new JfrPasswordEncoder(new BCryptPasswordEncoder(4));
+
+        List<RecordedEvent> events = record("com.melnikov.taskmanagementsystem.PasswordHash", () -> {
+            String hash = encoder.encode("secret");
+            assertTrue(encoder.matches("secret", hash));
+        });
+
+        assertEquals(List.of("encode", "matches"), events.stream().map(e -> e.getString("operation")).toList());
+    }
+
+    @Test
+    public void testTaskIdIsTakenFromIdParameters() {
+        assertEquals(5L, TaskOperationEventAspect.taskId(new String[]{"id"}, new Object[]{5L}));
+        assertEquals(6L, TaskOperationEventAspect.taskId(new String[]{"pageable", "taskId"}, new Object[]{null, 6L}));
+        assertEquals(0L, TaskOperationEventAspect.taskId(new String[]{"authorId", "pageable"}, new Object[]{3L, null}));
+    }
+
+    private List<RecordedEvent> record(String eventName, Runnable action) throws Exception {
+        Path file = Files.createTempFile("events-", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(eventName);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        }
+        finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
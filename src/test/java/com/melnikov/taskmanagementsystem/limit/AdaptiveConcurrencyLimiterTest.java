@@ -0,0 +1,94 @@
+package com.melnikov.taskmanagementsystem.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    public void setUp() {
+        limiter = new AdaptiveConcurrencyLimiter(meterRegistry);
+        ReflectionTestUtils.setField(limiter, "initialLimit", 10);
+        ReflectionTestUtils.setField(limiter, "minLimit", 2);
+        ReflectionTestUtils.setField(limiter, "maxLimit", 12);
+        ReflectionTestUtils.setField(limiter, "latencyThreshold", Duration.ofMillis(100));
+        ReflectionTestUtils.setField(limiter, "backoffRatio", 0.5);
+        limiter.afterPropertiesSet();
+    }
+
+    @Test
+    public void testBulkRequestsAreShedFirst() {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(RequestPriority.BULK));
+        }
+        assertFalse(limiter.tryAcquire(RequestPriority.BULK));
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire(RequestPriority.NORMAL));
+        }
+        assertFalse(limiter.tryAcquire(RequestPriority.NORMAL));
+        assertTrue(limiter.tryAcquire(RequestPriority.CRITICAL));
+        assertFalse(limiter.tryAcquire(RequestPriority.CRITICAL));
+
+        assertEquals(10, limiter.getInFlight());
+        assertEquals(1, meterRegistry.get("http.concurrency.rejected").tag("priority", "bulk").counter().count());
+    }
+
+    @Test
+    public void testSlowRequestsCutLimitMultiplicatively() {
+        limiter.tryAcquire(RequestPriority.NORMAL);
+        limiter.release(Duration.ofMillis(500), false);
+        assertEquals(5, limiter.getLimit());
+
+        limiter.tryAcquire(RequestPriority.NORMAL);
+        limiter.release(Duration.ofMillis(1), true);
+        limiter.tryAcquire(RequestPriority.NORMAL);
+        limiter.release(Duration.ofMillis(1), true);
+        assertEquals(2, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    public void testFastRequestsGrowLimitOnlyWhenItIsUsed() {
+        limiter.tryAcquire(RequestPriority.NORMAL);
+        limiter.release(Duration.ofMillis(1), false);
+        assertEquals(10, limiter.getLimit());
+
+        for (int i = 0; i < 6; i++) {
+            limiter.tryAcquire(RequestPriority.NORMAL);
+        }
+        // only the release at 6 in flight uses half of the limit
+        for (int i = 0; i < 6; i++) {
+            limiter.release(Duration.ofMillis(1), false);
+        }
+        assertEquals(11, limiter.getLimit());
+
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 10; i++) {
+                limiter.tryAcquire(RequestPriority.CRITICAL);
+            }
+            for (int i = 0; i < 10; i++) {
+                limiter.release(Duration.ofMillis(1), false);
+            }
+        }
+        assertEquals(12, limiter.getLimit());
+    }
+
+    @Test
+    public void testAsyncReleaseOnlyFreesSlot() {
+        limiter.tryAcquire(RequestPriority.NORMAL);
+        limiter.release(null, false);
+
+        assertEquals(10, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+}
@@ -0,0 +1,64 @@
+package com.melnikov.taskmanagementsystem.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    public void setUp() {
+        rateLimiter = new RateLimiter(meterRegistry);
+        ReflectionTestUtils.setField(rateLimiter, "authCapacity", 2L);
+        ReflectionTestUtils.setField(rateLimiter, "authRefillPerSecond", 0.001);
+        ReflectionTestUtils.setField(rateLimiter, "maxKeys", 2);
+        rateLimiter.afterPropertiesSet();
+    }
+
+    @Test
+    public void testLimitsEachKeySeparately() {
+        assertTrue(rateLimiter.tryAcquire(RateLimitGroup.AUTH, "ip:1").allowed());
+        assertTrue(rateLimiter.tryAcquire(RateLimitGroup.AUTH, "ip:1").allowed());
+        RateLimiter.Decision denied = rateLimiter.tryAcquire(RateLimitGroup.AUTH, "ip:1");
+
+        assertFalse(denied.allowed());
+        assertEquals(2, denied.limit());
+        assertEquals(0, denied.remaining());
+        assertEquals(1000, denied.retryAfterSeconds());
+        assertTrue(rateLimiter.tryAcquire(RateLimitGroup.AUTH, "ip:2").allowed());
+        assertTrue(rateLimiter.tryAcquire(RateLimitGroup.READS, "ip:1").allowed());
+        assertEquals(1, meterRegistry.get("http.rate-limit.rejected").tag("group", "auth").counter().count());
+    }
+
+    @Test
+    public void testNewKeysShareOverflowBucketWhenFull() {
+        rateLimiter.tryAcquire(RateLimitGroup.AUTH, "ip:1");
+        rateLimiter.tryAcquire(RateLimitGroup.AUTH, "ip:2");
+
+        assertTrue(rateLimiter.tryAcquire(RateLimitGroup.AUTH, "ip:3").allowed());
+        assertTrue(rateLimiter.tryAcquire(RateLimitGroup.AUTH, "ip:4").allowed());
+        assertFalse(rateLimiter.tryAcquire(RateLimitGroup.AUTH, "ip:5").allowed());
+
+        assertEquals(2, rateLimiter.size());
+        assertEquals(3, meterRegistry.get("http.rate-limit.overflowed").counter().count());
+    }
+
+    @Test
+    public void testSweepDropsRefilledBuckets() {
+        ReflectionTestUtils.setField(rateLimiter, "readsRefillPerSecond", 1_000_000_000.0);
+        rateLimiter.afterPropertiesSet();
+        rateLimiter.tryAcquire(RateLimitGroup.READS, "user:a");
+        rateLimiter.tryAcquire(RateLimitGroup.AUTH, "ip:1");
+
+        rateLimiter.sweep();
+
+        assertEquals(1, rateLimiter.size());
+    }
+}
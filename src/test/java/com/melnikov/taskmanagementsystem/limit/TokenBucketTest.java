@@ -0,0 +1,74 @@
+package com.melnikov.taskmanagementsystem.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    public void testBurstThenRefill() {
+        TokenBucket bucket = new TokenBucket(0);
+
+        for (int i = 2; i >= 0; i--) {
+            TokenBucket.Result result = bucket.take(0, SECOND, 3);
+            assertTrue(result.allowed());
+            assertEquals(i, result.remaining());
+        }
+        TokenBucket.Result denied = bucket.take(0, SECOND, 3);
+        assertFalse(denied.allowed());
+        assertEquals(SECOND, denied.retryAfterNanos());
+        assertEquals(3 * SECOND, denied.resetNanos());
+
+        assertTrue(bucket.take(SECOND, SECOND, 3).allowed());
+        assertFalse(bucket.take(SECOND, SECOND, 3).allowed());
+        assertFalse(bucket.isFull(3 * SECOND));
+        assertTrue(bucket.isFull(4 * SECOND));
+    }
+
+    @Test
+    public void testIdleBucketDoesNotExceedCapacity() {
+        TokenBucket bucket = new TokenBucket(0);
+
+        TokenBucket.Result result = bucket.take(100 * SECOND, SECOND, 3);
+
+        assertTrue(result.allowed());
+        assertEquals(2, result.remaining());
+    }
+
+    @Test
+    public void testConcurrentTakesNeverOverspend() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(0);
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int thread = 0; thread < 8; thread++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < 1000; i++) {
+                    if (bucket.take(0, SECOND, 100).allowed()) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(100, allowed.get());
+    }
+}
@@ -0,0 +1,42 @@
+package com.melnikov.taskmanagementsystem.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.melnikov.taskmanagementsystem.event.OutboxEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+public class FileOutboxSinkTest {
+
+    @TempDir
+    private Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    public void testAppendsOneJsonLinePerEvent() throws Exception {
+        Path path = directory.resolve("outbox/events.jsonl");
+        FileOutboxSink sink = new FileOutboxSink(objectMapper, path);
+        Instant createdAt = Instant.parse("2026-01-01T00:00:00Z");
+
+        sink.publish(List.of(new OutboxEvent(1L, "task", 7L, "TASK_UPDATED", "{\"id\":7}", createdAt)));
+        sink.publish(List.of(new OutboxEvent(2L, "user", 3L, "USER_DELETED", "{\"userId\":3}", createdAt)));
+
+        List<String> lines = Files.readAllLines(path);
+        assertEquals(2, lines.size());
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals(1, first.get("id").asLong());
+        assertEquals("TASK_UPDATED", first.get("eventType").asText());
+        assertEquals("{\"id\":7}", first.get("payload").asText());
+        assertEquals(createdAt, objectMapper.treeToValue(objectMapper.readTree(lines.get(1)), OutboxEvent.class).createdAt());
+    }
+}
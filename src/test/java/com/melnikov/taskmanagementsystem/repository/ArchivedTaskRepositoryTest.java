@@ -0,0 +1,150 @@
+package com.melnikov.taskmanagementsystem.repository;
+
+import com.melnikov.taskmanagementsystem.model.*;
+import com.melnikov.taskmanagementsystem.model.utils.Priority;
+import com.melnikov.taskmanagementsystem.model.utils.RoleName;
+import com.melnikov.taskmanagementsystem.model.utils.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+public class ArchivedTaskRepositoryTest {
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private ArchivedCommentRepository archivedCommentRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User author;
+    private Task completedTask;
+    private Task pendingTask;
+
+    @BeforeEach
+    public void setUp() {
+        Role userRole = new Role();
+        userRole.setName(RoleName.ROLE_USER);
+        roleRepository.save(userRole);
+
+        author = new User();
+        author.setEmail("author@example.com");
+        author.setPassword("password");
+        author.setRole(userRole);
+        userRepository.save(author);
+
+        completedTask = saveTask("Completed Task", Status.COMPLETED);
+        pendingTask = saveTask("Pending Task", Status.PENDING);
+
+        Comment comment = new Comment();
+        comment.setText("Closing comment");
+        comment.setTask(completedTask);
+        comment.setAuthor(author);
+        commentRepository.save(comment);
+        taskRepository.flush();
+    }
+
+    @Test
+    public void testFindArchivableTaskIds() {
+        Instant future = Instant.now().plusSeconds(60);
+        assertEquals(List.of(completedTask.getId()), archivedTaskRepository.findArchivableTaskIds(future, 10));
+        assertTrue(archivedTaskRepository.findArchivableTaskIds(Instant.now().minusSeconds(3600), 10).isEmpty());
+    }
+
+    @Test
+    public void testTaskWithoutLastActivityIsNotArchivable() {
+        entityManager.getEntityManager()
+                .createNativeQuery("update tasks set last_activity_at = null where id = :id")
+                .setParameter("id", completedTask.getId())
+                .executeUpdate();
+
+        assertTrue(archivedTaskRepository.findArchivableTaskIds(Instant.now().plusSeconds(60), 10).isEmpty());
+    }
+
+    @Test
+    public void testMoveToArchive() {
+        List<Long> ids = List.of(completedTask.getId());
+        assertEquals(1, archivedTaskRepository.copyFromTasks(ids, Instant.now().plusSeconds(60), Instant.now()));
+        assertEquals(1, archivedCommentRepository.copyFromComments(ids));
+        assertEquals(1, archivedCommentRepository.deleteFromComments(ids));
+        assertEquals(1, archivedTaskRepository.deleteFromTasks(ids));
+        entityManager.clear();
+
+        assertTrue(taskRepository.findById(completedTask.getId()).isEmpty());
+        assertTrue(taskRepository.findById(pendingTask.getId()).isPresent());
+        ArchivedTask archived = archivedTaskRepository.findById(completedTask.getId()).orElseThrow();
+        assertEquals("Completed Task", archived.getTitle());
+        assertEquals(Status.COMPLETED, archived.getStatus());
+        assertEquals(author.getId(), archived.getAuthorId());
+        List<ArchivedComment> comments = archivedCommentRepository.findByTaskIdOrderByIdDesc(completedTask.getId(), Limit.of(10));
+        assertEquals("Closing comment", comments.get(0).getText());
+    }
+
+    @Test
+    public void testCommentAddedAfterCopyIsNotDeleted() {
+        List<Long> ids = List.of(completedTask.getId());
+        archivedTaskRepository.copyFromTasks(ids, Instant.now().plusSeconds(60), Instant.now());
+        archivedCommentRepository.copyFromComments(ids);
+
+        Comment late = new Comment();
+        late.setText("Late comment");
+        late.setTask(completedTask);
+        late.setAuthor(author);
+        commentRepository.saveAndFlush(late);
+
+        assertEquals(1, archivedCommentRepository.deleteFromComments(ids));
+        entityManager.clear();
+
+        assertTrue(commentRepository.findById(late.getId()).isPresent());
+        assertTrue(archivedCommentRepository.findById(late.getId()).isEmpty());
+    }
+
+    @Test
+    public void testReopenedTaskIsNotCopiedOrDeleted() {
+        List<Long> ids = List.of(completedTask.getId());
+        entityManager.getEntityManager()
+                .createNativeQuery("update tasks set status = 'IN_PROGRESS' where id = :id")
+                .setParameter("id", completedTask.getId())
+                .executeUpdate();
+
+        assertEquals(0, archivedTaskRepository.copyFromTasks(ids, Instant.now().plusSeconds(60), Instant.now()));
+        assertEquals(0, archivedCommentRepository.copyFromComments(ids));
+        assertEquals(0, archivedCommentRepository.deleteFromComments(ids));
+        assertEquals(0, archivedTaskRepository.deleteFromTasks(ids));
+    }
+
+    private Task saveTask(String title, Status status) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription("Description of " + title);
+        task.setStatus(status);
+        task.setPriority(Priority.MEDIUM);
+        task.setAuthor(author);
+        return taskRepository.save(task);
+    }
+}
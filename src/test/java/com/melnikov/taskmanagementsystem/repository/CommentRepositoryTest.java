@@ -11,11 +11,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
@@ -117,4 +120,59 @@ public class CommentRepositoryTest {
         assertEquals(10, comments.getContent().size());
         assertEquals(26, comments.getTotalElements()); // 25 + 1 initial comment
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testKeysetWindow() {
+        for (int i = 0; i < 5; i++) {
+            Comment newComment = new Comment();
+            newComment.setText("Comment " + i);
+            newComment.setTask(task);
+            newComment.setAuthor(author);
+            commentRepository.save(newComment);
+        }
+
+        List<Comment> newest = commentRepository.findByTaskIdOrderByIdDesc(task.getId(), Limit.of(3));
+        assertEquals(3, newest.size());
+        assertEquals("Comment 4", newest.get(0).getText());
+
+        List<Comment> older = commentRepository.findByTaskIdAndIdLessThanOrderByIdDesc(
+                task.getId(), newest.get(2).getId(), Limit.of(10));
+        assertEquals(3, older.size());
+        assertEquals("Comment 1", older.get(0).getText());
+        assertEquals("This is a test comment", older.get(2).getText());
+    }
+
+    @Test
+    public void testDeleteBatchByTaskId() {
+        for (int i = 0; i < 4; i++) {
+            Comment newComment = new Comment();
+            newComment.setText("Comment " + i);
+            newComment.setTask(task);
+            newComment.setAuthor(author);
+            commentRepository.save(newComment);
+        }
+        commentRepository.flush();
+
+        assertEquals(3, commentRepository.deleteBatchByTaskId(task.getId(), 3));
+        assertEquals(2, commentRepository.deleteBatchByTaskId(task.getId(), 3));
+        assertEquals(0, commentRepository.deleteBatchByTaskId(task.getId(), 3));
+    }
+
+    @Test
+    public void testReattribute() {
+        User successor = new User();
+        successor.setEmail("successor@example.com");
+        successor.setPassword("password");
+        successor.setRole(userRole);
+        userRepository.save(successor);
+        commentRepository.flush();
+
+        List<Long> ids = commentRepository.lockIdsByAuthorId(author.getId(), 10);
+        assertEquals(List.of(comment.getId()), ids);
+        assertEquals(1, commentRepository.reattribute(ids, successor.getId()));
+
+        assertTrue(commentRepository.lockIdsByAuthorId(author.getId(), 10).isEmpty());
+        assertEquals(successor.getId(), commentRepository.findById(comment.getId()).orElseThrow().getAuthor().getId());
+        assertFalse(commentRepository.existsByAuthorId(author.getId()));
+    }
+}
@@ -0,0 +1,60 @@
+package com.melnikov.taskmanagementsystem.repository;
+
+import com.melnikov.taskmanagementsystem.model.OffboardingJob;
+import com.melnikov.taskmanagementsystem.model.utils.JobStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+public class OffboardingJobRepositoryTest {
+
+    @Autowired
+    private OffboardingJobRepository offboardingJobRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    public void setUp() {
+        OffboardingJob job = new OffboardingJob();
+        job.setId("job-1");
+        job.setUserId(1L);
+        job.setSuccessorId(2L);
+        job.setStatus(JobStatus.RUNNING);
+        job.setStartedAt(Instant.now());
+        offboardingJobRepository.saveAndFlush(job);
+    }
+
+    @Test
+    public void testAddProgress() {
+        assertEquals(1, offboardingJobRepository.addProgress("job-1", 2, 0, 0));
+        assertEquals(1, offboardingJobRepository.addProgress("job-1", 1, 3, 4));
+        entityManager.clear();
+
+        OffboardingJob job = offboardingJobRepository.findById("job-1").orElseThrow();
+        assertEquals(3, job.getAssignedTasksMoved());
+        assertEquals(3, job.getAuthoredTasksMoved());
+        assertEquals(4, job.getCommentsMoved());
+    }
+
+    @Test
+    public void testFinishOnlyOnce() {
+        assertEquals(1, offboardingJobRepository.finish("job-1", JobStatus.COMPLETED, null, Instant.now()));
+        assertEquals(0, offboardingJobRepository.finish("job-1", JobStatus.FAILED, "late", Instant.now()));
+        entityManager.clear();
+
+        OffboardingJob job = offboardingJobRepository.findById("job-1").orElseThrow();
+        assertEquals(JobStatus.COMPLETED, job.getStatus());
+        assertNull(job.getError());
+        assertNotNull(job.getFinishedAt());
+    }
+}
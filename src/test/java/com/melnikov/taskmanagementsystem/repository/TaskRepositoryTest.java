@@ -10,11 +10,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.Instant;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
@@ -30,6 +35,9 @@ public class TaskRepositoryTest {
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     private User author;
     private User assignee;
     private Task task;
@@ -131,4 +139,96 @@ public class TaskRepositoryTest {
         assertEquals(10, tasks.getContent().size());
         assertEquals(26, tasks.getTotalElements()); // 25 + 1 initial task
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testAdjustCommentCount() {
+        Instant activityAt = Instant.parse("2030-01-01T00:00:00Z");
+        taskRepository.adjustCommentCount(task.getId(), 2, activityAt);
+        taskRepository.adjustCommentCount(task.getId(), -1, activityAt);
+        entityManager.clear();
+
+        Task reloaded = taskRepository.findById(task.getId()).orElseThrow();
+        assertEquals(1, reloaded.getCommentCount());
+        assertEquals(activityAt, reloaded.getLastActivityAt());
+    }
+
+    @Test
+    public void testEntityUpdateDoesNotOverwriteCommentCount() {
+        taskRepository.adjustCommentCount(task.getId(), 3, Instant.now());
+        task.setTitle("Renamed Task");
+        taskRepository.saveAndFlush(task);
+        entityManager.clear();
+
+        assertEquals(3, taskRepository.findById(task.getId()).orElseThrow().getCommentCount());
+    }
+
+    @Test
+    public void testSortByLastActivity() {
+        Task newTask = new Task();
+        newTask.setTitle("Newer Task");
+        newTask.setDescription("This is a newer task");
+        newTask.setStatus(Status.PENDING);
+        newTask.setPriority(Priority.LOW);
+        newTask.setAuthor(author);
+        taskRepository.save(newTask);
+        taskRepository.adjustCommentCount(newTask.getId(), 1, Instant.now().plusSeconds(60));
+        entityManager.clear();
+
+        Page<Task> tasks = taskRepository.findAll(PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "lastActivityAt")));
+        assertEquals("Newer Task", tasks.getContent().get(0).getTitle());
+    }
+
+    @Test
+    public void testMarkDeletedHidesTask() {
+        assertEquals(1, taskRepository.markDeleted(task.getId(), Instant.now()));
+        entityManager.clear();
+
+        assertTrue(taskRepository.findById(task.getId()).isEmpty());
+        assertFalse(taskRepository.existsById(task.getId()));
+        assertTrue(taskRepository.findByAuthorId(author.getId(), PageRequest.of(0, 10)).isEmpty());
+        assertEquals(0, taskRepository.markDeleted(task.getId(), Instant.now()));
+    }
+
+    @Test
+    public void testPurgeDeleted() {
+        assertEquals(0, taskRepository.purgeDeleted(task.getId()));
+        assertTrue(taskRepository.findDeletedTaskIds(10).isEmpty());
+        assertTrue(taskRepository.findOldestDeletedAt().isEmpty());
+
+        taskRepository.markDeleted(task.getId(), Instant.now());
+        assertEquals(List.of(task.getId()), taskRepository.findDeletedTaskIds(10));
+        assertTrue(taskRepository.findOldestDeletedAt().isPresent());
+        assertEquals(1, taskRepository.purgeDeleted(task.getId()));
+        assertTrue(taskRepository.findDeletedTaskIds(10).isEmpty());
+    }
+
+    @Test
+    public void testReassignAndReattributeBatches() {
+        for (int i = 0; i < 2; i++) {
+            Task newTask = new Task();
+            newTask.setTitle("Task " + i);
+            newTask.setDescription("This is task " + i);
+            newTask.setStatus(Status.PENDING);
+            newTask.setPriority(Priority.MEDIUM);
+            newTask.setAuthor(author);
+            newTask.setAssignee(assignee);
+            taskRepository.save(newTask);
+        }
+        taskRepository.flush();
+
+        List<Long> first = taskRepository.lockIdsByAssigneeId(assignee.getId(), 2);
+        assertEquals(2, first.size());
+        assertEquals(2, taskRepository.reassign(first, null));
+        List<Long> second = taskRepository.lockIdsByAssigneeId(assignee.getId(), 2);
+        assertEquals(1, second.size());
+        assertEquals(1, taskRepository.reassign(second, null));
+        assertTrue(taskRepository.lockIdsByAssigneeId(assignee.getId(), 2).isEmpty());
+        List<Long> authored = taskRepository.lockIdsByAuthorId(author.getId(), 10);
+        assertEquals(3, authored.size());
+        assertEquals(3, taskRepository.reattribute(authored, assignee.getId()));
+
+        assertTrue(taskRepository.findByAssigneeId(assignee.getId(), PageRequest.of(0, 10)).isEmpty());
+        assertEquals(3, taskRepository.findByAuthorId(assignee.getId(), PageRequest.of(0, 10)).getTotalElements());
+        assertFalse(taskRepository.existsByAuthorId(author.getId()));
+    }
+}
@@ -0,0 +1,76 @@
+package com.melnikov.taskmanagementsystem.scheduling;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PostgresAdvisoryLockTest {
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private PostgresAdvisoryLock lock;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        lock = new PostgresAdvisoryLock(() -> connection);
+    }
+
+    @Test
+    public void testHoldsConnectionUntilReleased() throws Exception {
+        when(resultSet.getBoolean(1)).thenReturn(true);
+
+        ClusterLock.Lease lease = lock.tryAcquire("task-purge");
+
+        assertNotNull(lease);
+        verify(connection).prepareStatement("select pg_try_advisory_lock(?, hashtext(?))");
+        verify(statement, atLeastOnce()).setInt(1, PostgresAdvisoryLock.LOCK_NAMESPACE);
+        verify(statement, atLeastOnce()).setString(2, "task-purge");
+        verify(connection, never()).close();
+
+        lease.close();
+
+        verify(connection).prepareStatement("select pg_advisory_unlock(?, hashtext(?))");
+        verify(connection).close();
+    }
+
+    @Test
+    public void testReturnsNullWhenHeldElsewhere() throws Exception {
+        when(resultSet.getBoolean(1)).thenReturn(false);
+
+        assertNull(lock.tryAcquire("task-purge"));
+
+        verify(connection).close();
+    }
+
+    @Test
+    public void testClosesConnectionWhenLockQueryFails() throws Exception {
+        when(resultSet.getBoolean(1)).thenThrow(new SQLException("connection reset"));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> lock.tryAcquire("task-purge"));
+
+        verify(connection).close();
+    }
+}
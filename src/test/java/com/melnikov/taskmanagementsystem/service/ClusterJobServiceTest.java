@@ -0,0 +1,164 @@
+package com.melnikov.taskmanagementsystem.service;
+
+import com.melnikov.taskmanagementsystem.dto.ClusterJobDTO;
+import com.melnikov.taskmanagementsystem.dto.JobRunDTO;
+import com.melnikov.taskmanagementsystem.exception.resource.ResourceNotFoundException;
+import com.melnikov.taskmanagementsystem.model.JobRun;
+import com.melnikov.taskmanagementsystem.model.utils.JobStatus;
+import com.melnikov.taskmanagementsystem.model.utils.JobTrigger;
+import com.melnikov.taskmanagementsystem.repository.JobRunRepository;
+import com.melnikov.taskmanagementsystem.scheduling.ClusterJob;
+import com.melnikov.taskmanagementsystem.scheduling.ClusterJobRegistry;
+import com.melnikov.taskmanagementsystem.scheduling.ClusterLock;
+import com.melnikov.taskmanagementsystem.scheduling.LocalClusterLock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ClusterJobServiceTest {
+
+    @Autowired
+    private JobRunRepository jobRunRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ClusterLock clusterLock = new LocalClusterLock();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final SampleJobs sampleJobs = new SampleJobs();
+
+    private ClusterJobService clusterJobService;
+
+    @BeforeEach
+    public void setUp() {
+        ClusterJobRegistry registry = new ClusterJobRegistry();
+        registry.postProcessAfterInitialization(sampleJobs, "sampleJobs");
+        clusterJobService = new ClusterJobService(jobRunRepository, clusterLock, registry, Runnable::run,
+                transactionManager, meterRegistry);
+        ReflectionTestUtils.setField(clusterJobService, "nodeId", "node-1");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jobRunRepository.deleteAll();
+    }
+
+    @Test
+    public void testRecordsCompletedRun() {
+        assertTrue(clusterJobService.runExclusively("sample", JobTrigger.SCHEDULED, sampleJobs::sample));
+
+        List<JobRun> runs = jobRunRepository.findAll();
+        assertEquals(1, runs.size());
+        assertEquals(JobStatus.COMPLETED, runs.get(0).getStatus());
+        assertEquals("node-1", runs.get(0).getNode());
+        assertNotNull(runs.get(0).getFinishedAt());
+        assertEquals(1, meterRegistry.get("scheduling.jobs.duration").tag("job", "sample").tag("outcome", "completed").timer().count());
+    }
+
+    @Test
+    public void testRecordsAndRethrowsFailure() {
+        assertThrows(IllegalStateException.class, () -> clusterJobService.runExclusively("failing", JobTrigger.SCHEDULED, () -> {
+            throw new IllegalStateException("Boom");
+        }));
+
+        JobRun run = jobRunRepository.findAll().get(0);
+        assertEquals(JobStatus.FAILED, run.getStatus());
+        assertTrue(run.getError().contains("Boom"));
+        assertEquals(1, meterRegistry.get("scheduling.jobs.duration").tag("outcome", "failed").timer().count());
+    }
+
+    @Test
+    public void testSkipsRunWhileLockIsHeldElsewhere() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> {
+            try (ClusterLock.Lease lease = clusterLock.tryAcquire("sample")) {
+                locked.countDown();
+                release.await();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+        assertFalse(clusterJobService.runExclusively("sample", JobTrigger.SCHEDULED, sampleJobs::sample));
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        assertEquals(0, sampleJobs.runs.get());
+        assertEquals(0, jobRunRepository.count());
+        assertEquals(1, meterRegistry.get("scheduling.jobs.skipped").tag("job", "sample").counter().count());
+        assertTrue(clusterJobService.runExclusively("sample", JobTrigger.SCHEDULED, sampleJobs::sample));
+    }
+
+    @Test
+    public void testManualTriggerAndHistory() {
+        clusterJobService.trigger("sample");
+        clusterJobService.trigger("sample");
+
+        assertEquals(2, sampleJobs.runs.get());
+        List<JobRunDTO> runs = clusterJobService.getRuns("sample", PageRequest.of(0, 10)).getContent();
+        assertEquals(2, runs.size());
+        assertEquals(JobTrigger.MANUAL, runs.get(0).getTrigger());
+        assertTrue(runs.get(0).getId() > runs.get(1).getId());
+        assertNotNull(runs.get(0).getDurationMillis());
+
+        List<ClusterJobDTO> jobs = clusterJobService.getJobs();
+        assertEquals(List.of("sample"), jobs.stream().map(ClusterJobDTO::getName).toList());
+        assertEquals(runs.get(0).getId(), jobs.get(0).getLastRun().getId());
+    }
+
+    @Test
+    public void testUnknownJob() {
+        assertThrows(ResourceNotFoundException.class, () -> clusterJobService.trigger("missing"));
+        assertThrows(ResourceNotFoundException.class, () -> clusterJobService.getRuns("missing", PageRequest.of(0, 10)));
+    }
+
+    @Test
+    public void testPruneHistory() {
+        clusterJobService.runExclusively("sample", JobTrigger.SCHEDULED, sampleJobs::sample);
+        JobRun old = jobRunRepository.findAll().get(0);
+        old.setStartedAt(Instant.now().minus(Duration.ofDays(31)));
+        jobRunRepository.save(old);
+        clusterJobService.runExclusively("sample", JobTrigger.SCHEDULED, sampleJobs::sample);
+
+        clusterJobService.pruneHistory();
+
+        assertEquals(1, jobRunRepository.count());
+    }
+
+    static class SampleJobs {
+
+        private final AtomicInteger runs = new AtomicInteger();
+
+        @ClusterJob("sample")
+        public void sample() {
+            runs.incrementAndGet();
+        }
+    }
+}
@@ -1,13 +1,19 @@
 package com.melnikov.taskmanagementsystem.service;
 
 import com.melnikov.taskmanagementsystem.dto.CommentDTO;
+import com.melnikov.taskmanagementsystem.dto.CommentWindowDTO;
 import com.melnikov.taskmanagementsystem.dto.create.CreateCommentDTO;
+import com.melnikov.taskmanagementsystem.event.TaskChangeEvent;
 import com.melnikov.taskmanagementsystem.exception.comment.CommentNotFoundException;
 import com.melnikov.taskmanagementsystem.exception.task.AuthorNotFoundException;
 import com.melnikov.taskmanagementsystem.exception.task.TaskNotFoundException;
+import com.melnikov.taskmanagementsystem.model.ArchivedComment;
 import com.melnikov.taskmanagementsystem.model.Comment;
 import com.melnikov.taskmanagementsystem.model.Task;
 import com.melnikov.taskmanagementsystem.model.User;
+import com.melnikov.taskmanagementsystem.model.utils.ChangeType;
+import com.melnikov.taskmanagementsystem.repository.ArchivedCommentRepository;
+import com.melnikov.taskmanagementsystem.repository.ArchivedTaskRepository;
 import com.melnikov.taskmanagementsystem.repository.CommentRepository;
 import com.melnikov.taskmanagementsystem.repository.TaskRepository;
 import com.melnikov.taskmanagementsystem.repository.UserRepository;
@@ -17,14 +23,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -43,6 +55,15 @@ public class CommentServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Mock
+    private ArchivedCommentRepository archivedCommentRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CommentService commentService;
 
@@ -114,6 +135,8 @@ public class CommentServiceTest {
         CommentDTO createdComment = commentService.createComment(createCommentDTO);
         assertNotNull(createdComment);
         assertEquals("This is a test comment", createdComment.getText());
+        verify(taskRepository, times(1)).adjustCommentCount(eq(1L), eq(1), any(Instant.class));
+        verify(eventPublisher).publishEvent(new TaskChangeEvent(ChangeType.COMMENT_CREATED, 1L, 1L, Set.of()));
     }
 
     @Test
@@ -146,35 +169,83 @@ public class CommentServiceTest {
 
     @Test
     public void testDeleteComment() {
-        when(commentRepository.existsById(1L)).thenReturn(true);
+        when(commentRepository.findById(1L)).thenReturn(Optional.of(comment));
         commentService.deleteComment(1L);
         verify(commentRepository, times(1)).deleteById(1L);
+        verify(taskRepository, times(1)).adjustCommentCount(eq(1L), eq(-1), any(Instant.class));
+        verify(eventPublisher).publishEvent(new TaskChangeEvent(ChangeType.COMMENT_DELETED, 1L, 1L, Set.of()));
     }
 
     @Test
     public void testDeleteCommentNotFound() {
-        when(commentRepository.existsById(1L)).thenReturn(false);
+        when(commentRepository.findById(1L)).thenReturn(Optional.empty());
         assertThrows(CommentNotFoundException.class, () -> commentService.deleteComment(1L));
     }
 
     @Test
     public void testGetCommentsByTaskId() {
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<Comment> commentPage = new PageImpl<>(Arrays.asList(comment), pageable, 1);
-        when(commentRepository.findByTaskId(1L, pageable)).thenReturn(commentPage);
+        when(taskRepository.existsById(1L)).thenReturn(true);
+        when(commentRepository.findByTaskIdOrderByIdDesc(1L, Limit.of(11))).thenReturn(Arrays.asList(comment));
 
-        Page<CommentDTO> comments = commentService.getCommentsByTaskId(1L, pageable);
-        assertEquals(1, comments.getContent().size());
-        assertEquals("This is a test comment", comments.getContent().get(0).getText());
+        CommentWindowDTO window = commentService.getCommentsByTaskId(1L, null, 10);
+        assertEquals(1, window.getComments().size());
+        assertEquals("This is a test comment", window.getComments().get(0).getText());
+        assertNull(window.getNextCursor());
     }
 
     @Test
     public void testGetCommentsByTaskIdNoComments() {
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<Comment> commentPage = new PageImpl<>(Arrays.asList(), pageable, 0);
-        when(commentRepository.findByTaskId(1L, pageable)).thenReturn(commentPage);
+        when(taskRepository.existsById(1L)).thenReturn(true);
+        when(commentRepository.findByTaskIdOrderByIdDesc(1L, Limit.of(11))).thenReturn(Arrays.asList());
 
-        Page<CommentDTO> comments = commentService.getCommentsByTaskId(1L, pageable);
-        assertTrue(comments.getContent().isEmpty());
+        CommentWindowDTO window = commentService.getCommentsByTaskId(1L, null, 10);
+        assertTrue(window.getComments().isEmpty());
+    }
+
+    @Test
+    public void testGetCommentsByTaskIdBeforeCursor() {
+        List<Comment> older = new ArrayList<>();
+        for (long id = 9; id >= 7; id--) {
+            Comment olderComment = new Comment();
+            olderComment.setId(id);
+            olderComment.setText("Comment " + id);
+            olderComment.setTask(task);
+            olderComment.setAuthor(author);
+            older.add(olderComment);
+        }
+        when(taskRepository.existsById(1L)).thenReturn(true);
+        when(commentRepository.findByTaskIdAndIdLessThanOrderByIdDesc(1L, 10L, Limit.of(3))).thenReturn(older);
+
+        CommentWindowDTO window = commentService.getCommentsByTaskId(1L, 10L, 2);
+        assertEquals(2, window.getComments().size());
+        assertEquals(9L, window.getComments().get(0).getId());
+        assertEquals(8L, window.getNextCursor());
+    }
+
+    @Test
+    public void testGetCommentsByTaskIdForArchivedTask() {
+        ArchivedComment archivedComment = new ArchivedComment();
+        archivedComment.setId(3L);
+        archivedComment.setText("Archived comment");
+        archivedComment.setTaskId(1L);
+        archivedComment.setAuthorId(1L);
+        when(taskRepository.existsById(1L)).thenReturn(false);
+        when(archivedTaskRepository.existsById(1L)).thenReturn(true);
+        when(archivedCommentRepository.findByTaskIdAndIdLessThanOrderByIdDesc(1L, 10L, Limit.of(11))).thenReturn(List.of(archivedComment));
+
+        CommentWindowDTO window = commentService.getCommentsByTaskId(1L, 10L, 10);
+        assertEquals("Archived comment", window.getComments().get(0).getText());
+        assertNull(window.getNextCursor());
+    }
+
+    @Test
+    public void testGetCommentsByTaskIdForDeletedTask() {
+        when(taskRepository.existsById(1L)).thenReturn(false);
+        assertThrows(TaskNotFoundException.class, () -> commentService.getCommentsByTaskId(1L, null, 10));
+    }
+
+    @Test
+    public void testGetCommentsByTaskIdInvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> commentService.getCommentsByTaskId(1L, null, 0));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,85 @@
+package com.melnikov.taskmanagementsystem.service;
+
+import com.melnikov.taskmanagementsystem.cache.InMemoryCacheInvalidationBus;
+import com.melnikov.taskmanagementsystem.event.TaskChangeEvent;
+import com.melnikov.taskmanagementsystem.event.UserChangeEvent;
+import com.melnikov.taskmanagementsystem.model.User;
+import com.melnikov.taskmanagementsystem.model.utils.ChangeType;
+import com.melnikov.taskmanagementsystem.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+public class CustomUserDetailsServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final InMemoryCacheInvalidationBus cacheInvalidationBus = new InMemoryCacheInvalidationBus();
+
+    private CustomUserDetailsService customUserDetailsService;
+
+    private User user;
+
+    @BeforeEach
+    public void setUp() {
+        customUserDetailsService = new CustomUserDetailsService(userRepository, cacheInvalidationBus);
+        user = new User();
+        user.setId(1L);
+        user.setEmail("user@example.com");
+    }
+
+    @Test
+    public void testCachesUsersUntilTheyChange() {
+        when(userRepository.findUserByEmail("user@example.com")).thenReturn(Optional.of(user));
+
+        assertSame(user, customUserDetailsService.loadUserByUsername("user@example.com"));
+        assertSame(user, customUserDetailsService.loadUserByUsername("user@example.com"));
+        verify(userRepository, times(1)).findUserByEmail("user@example.com");
+
+        cacheInvalidationBus.onTaskChange(new TaskChangeEvent(ChangeType.TASK_UPDATED, 1L, null, Set.of(1L)));
+        cacheInvalidationBus.onUserChange(new UserChangeEvent(ChangeType.USER_UPDATED, 2L));
+        customUserDetailsService.loadUserByUsername("user@example.com");
+        verify(userRepository, times(1)).findUserByEmail("user@example.com");
+
+        cacheInvalidationBus.onUserChange(new UserChangeEvent(ChangeType.USER_UPDATED, 1L));
+        customUserDetailsService.loadUserByUsername("user@example.com");
+        verify(userRepository, times(2)).findUserByEmail("user@example.com");
+
+        customUserDetailsService.evictAll();
+        customUserDetailsService.loadUserByUsername("user@example.com");
+        verify(userRepository, times(3)).findUserByEmail("user@example.com");
+    }
+
+    @Test
+    public void testDoesNotCacheWithZeroTtl() {
+        ReflectionTestUtils.setField(customUserDetailsService, "ttl", Duration.ZERO);
+        when(userRepository.findUserByEmail("user@example.com")).thenReturn(Optional.of(user));
+
+        customUserDetailsService.loadUserByUsername("user@example.com");
+        customUserDetailsService.loadUserByUsername("user@example.com");
+
+        verify(userRepository, times(2)).findUserByEmail("user@example.com");
+    }
+
+    @Test
+    public void testLoadUserByUsernameNotFound() {
+        when(userRepository.findUserByEmail("missing@example.com")).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> customUserDetailsService.loadUserByUsername("missing@example.com"));
+    }
+}
@@ -0,0 +1,238 @@
+package com.melnikov.taskmanagementsystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.melnikov.taskmanagementsystem.model.QueuedJob;
+import com.melnikov.taskmanagementsystem.model.utils.QueuedJobStatus;
+import com.melnikov.taskmanagementsystem.queue.JobHandler;
+import com.melnikov.taskmanagementsystem.repository.QueuedJobRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class JobQueueWorkerTest {
+
+    @Autowired
+    private QueuedJobRepository queuedJobRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final RecordingHandler handler = new RecordingHandler();
+
+    private JobQueueService jobQueueService;
+
+    private JobQueueWorker worker;
+
+    @BeforeEach
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        jobQueueService = new JobQueueService(queuedJobRepository, objectMapper, meterRegistry);
+        ReflectionTestUtils.setField(jobQueueService, "maxAttempts", 2);
+        worker = new JobQueueWorker(queuedJobRepository, List.of(handler), objectMapper, transactionManager, meterRegistry);
+        ReflectionTestUtils.setField(worker, "executor", (Executor) Runnable::run);
+        ReflectionTestUtils.setField(worker, "nodeId", "node-1");
+        ReflectionTestUtils.setField(worker, "initialBackoff", Duration.ofMinutes(1));
+        worker.afterPropertiesSet();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        queuedJobRepository.deleteAll();
+    }
+
+    @Test
+    public void testRunsJobAndCompletesIt() {
+        Long id = jobQueueService.enqueue("echo", new Payload("hello"));
+
+        worker.poll();
+
+        assertEquals(List.of("hello"), handler.handled);
+        QueuedJob job = queuedJobRepository.findById(id).orElseThrow();
+        assertEquals(QueuedJobStatus.COMPLETED, job.getStatus());
+        assertEquals(1, job.getAttempts());
+        assertNull(job.getLockedBy());
+        assertNotNull(job.getFinishedAt());
+        assertEquals(1, meterRegistry.get("jobs.queue.duration").tag("type", "echo").tag("outcome", "completed").timer().count());
+    }
+
+    @Test
+    public void testJobEnqueuedInRolledBackTransactionIsDropped() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jobQueueService.enqueue("echo", new Payload("hello"));
+            status.setRollbackOnly();
+        });
+
+        worker.poll();
+
+        assertTrue(handler.handled.isEmpty());
+        assertEquals(0, queuedJobRepository.count());
+    }
+
+    @Test
+    public void testDelayedJobWaits() {
+        jobQueueService.enqueue("echo", new Payload("later"), Duration.ofMinutes(5));
+
+        worker.poll();
+
+        assertTrue(handler.handled.isEmpty());
+    }
+
+    @Test
+    public void testRetriesWithBackoffThenDeadLetters() {
+        Long id = jobQueueService.enqueue("echo", new Payload("fail"));
+
+        worker.poll();
+
+        QueuedJob job = queuedJobRepository.findById(id).orElseThrow();
+        assertEquals(QueuedJobStatus.PENDING, job.getStatus());
+        assertEquals(1, job.getAttempts());
+        assertTrue(job.getLastError().contains("Boom"));
+        assertTrue(job.getRunAt().isAfter(Instant.now().plusSeconds(20)));
+
+        worker.poll();
+        assertEquals(1, handler.handled.size());
+
+        job.setRunAt(Instant.now());
+        queuedJobRepository.save(job);
+        worker.poll();
+
+        job = queuedJobRepository.findById(id).orElseThrow();
+        assertEquals(QueuedJobStatus.DEAD, job.getStatus());
+        assertEquals(2, job.getAttempts());
+        worker.refreshMetrics();
+        assertEquals(1, meterRegistry.get("jobs.queue.dead").gauge().value());
+    }
+
+    @Test
+    public void testUnknownTypeIsDeadLetteredRightAway() {
+        Long id = jobQueueService.enqueue("missing", new Payload("hello"));
+
+        worker.poll();
+
+        QueuedJob job = queuedJobRepository.findById(id).orElseThrow();
+        assertEquals(QueuedJobStatus.DEAD, job.getStatus());
+        assertTrue(job.getLastError().contains("No handler"));
+    }
+
+    @Test
+    public void testReclaimsJobAfterVisibilityTimeout() {
+        Long id = jobQueueService.enqueue("echo", new Payload("hello"));
+        List<QueuedJob> claimed = worker.claim(10);
+        assertEquals(1, claimed.size());
+
+        worker.poll();
+        assertTrue(handler.handled.isEmpty());
+
+        QueuedJob job = queuedJobRepository.findById(id).orElseThrow();
+        job.setRunAt(Instant.now().minusSeconds(1));
+        queuedJobRepository.save(job);
+        worker.poll();
+
+        assertEquals(List.of("hello"), handler.handled);
+        job = queuedJobRepository.findById(id).orElseThrow();
+        assertEquals(QueuedJobStatus.COMPLETED, job.getStatus());
+        assertEquals(2, job.getAttempts());
+
+        // the first claim lost its lease and can't overwrite the outcome
+        worker.process(claimed.get(0));
+        assertEquals(QueuedJobStatus.COMPLETED, queuedJobRepository.findById(id).orElseThrow().getStatus());
+    }
+
+    @Test
+    public void testJobTimingOutOnLastAttemptIsDeadLettered() {
+        Long id = jobQueueService.enqueue("echo", new Payload("hello"));
+        worker.claim(10);
+        QueuedJob job = queuedJobRepository.findById(id).orElseThrow();
+        job.setRunAt(Instant.now().minusSeconds(1));
+        queuedJobRepository.save(job);
+        worker.claim(10);
+        job = queuedJobRepository.findById(id).orElseThrow();
+        job.setRunAt(Instant.now().minusSeconds(1));
+        queuedJobRepository.save(job);
+
+        assertTrue(worker.claim(10).isEmpty());
+
+        job = queuedJobRepository.findById(id).orElseThrow();
+        assertEquals(QueuedJobStatus.DEAD, job.getStatus());
+        assertEquals(2, job.getAttempts());
+        assertNull(job.getLockedBy());
+        assertNotNull(job.getFinishedAt());
+        assertTrue(job.getLastError().contains("node-1"));
+        worker.poll();
+        assertTrue(handler.handled.isEmpty());
+    }
+
+    @Test
+    public void testClaimsNoMoreThanFreeSlots() {
+        ReflectionTestUtils.setField(worker, "concurrency", 1);
+        ReflectionTestUtils.setField(worker, "executor", (Executor) command -> {
+        });
+        worker.afterPropertiesSet();
+        jobQueueService.enqueue("echo", new Payload("one"));
+        jobQueueService.enqueue("echo", new Payload("two"));
+
+        worker.poll();
+
+        assertEquals(1, queuedJobRepository.findAll().stream().filter(job -> job.getStatus() == QueuedJobStatus.RUNNING).count());
+    }
+
+    @Test
+    public void testBackoffGrowsAndIsCapped() {
+        ReflectionTestUtils.setField(worker, "maxBackoff", Duration.ofMinutes(10));
+
+        Duration first = worker.backoff(1);
+        Duration third = worker.backoff(3);
+
+        assertTrue(first.compareTo(Duration.ofSeconds(30)) >= 0 && first.compareTo(Duration.ofMinutes(1)) <= 0);
+        assertTrue(third.compareTo(Duration.ofMinutes(2)) >= 0 && third.compareTo(Duration.ofMinutes(4)) <= 0);
+        assertTrue(worker.backoff(100).compareTo(Duration.ofMinutes(10)) <= 0);
+    }
+
+    record Payload(String text) {
+    }
+
+    static class RecordingHandler implements JobHandler<Payload> {
+
+        private final List<String> handled = new ArrayList<>();
+
+        @Override
+        public String getType() {
+            return "echo";
+        }
+
+        @Override
+        public Class<Payload> getPayloadType() {
+            return Payload.class;
+        }
+
+        @Override
+        public void handle(Payload payload) {
+            handled.add(payload.text());
+            if (payload.text().equals("fail")) {
+                throw new IllegalStateException("Boom");
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.melnikov.taskmanagementsystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.melnikov.taskmanagementsystem.event.OutboxEvent;
+import com.melnikov.taskmanagementsystem.event.TaskChangeEvent;
+import com.melnikov.taskmanagementsystem.event.UserChangeEvent;
+import com.melnikov.taskmanagementsystem.model.OutboxMessage;
+import com.melnikov.taskmanagementsystem.model.utils.ChangeType;
+import com.melnikov.taskmanagementsystem.repository.CommentRepository;
+import com.melnikov.taskmanagementsystem.repository.OutboxMessageRepository;
+import com.melnikov.taskmanagementsystem.repository.TaskRepository;
+import com.melnikov.taskmanagementsystem.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class OutboxRelayServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private OutboxService outboxService;
+
+    private OutboxRelayService outboxRelayService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private final List<OutboxEvent> delivered = new ArrayList<>();
+
+    private int failuresLeft;
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate.update("insert into roles (id, name) values (1, 'ROLE_USER')");
+        for (long id = 1; id <= 2; id++) {
+            jdbcTemplate.update("insert into users (id, email, password, role_id) values (?, ?, 'password', 1)", id, "user" + id + "@example.com");
+        }
+        for (long id = 1; id <= 2; id++) {
+            jdbcTemplate.update("insert into tasks (id, title, description, status, priority, author_id, assignee_id, "
+                    + "comment_count, last_activity_at) values (?, ?, 'Description', 'PENDING', 'LOW', 1, 2, 0, current_timestamp)",
+                    id, "Task " + id);
+        }
+        jdbcTemplate.update("insert into comments (id, text, task_id, author_id) values (1, 'Comment', 1, 2)");
+
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        outboxService = new OutboxService(outboxMessageRepository, taskRepository, commentRepository, userRepository,
+                new ObjectMapper().findAndRegisterModules());
+        meterRegistry = new SimpleMeterRegistry();
+        outboxRelayService = new OutboxRelayService(outboxMessageRepository, events -> {
+            if (failuresLeft > 0) {
+                failuresLeft--;
+                throw new IOException("Sink unavailable");
+            }
+            delivered.addAll(events);
+        }, transactionManager, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("delete from outbox_messages");
+        jdbcTemplate.update("delete from comments");
+        jdbcTemplate.update("delete from tasks");
+        jdbcTemplate.update("delete from users");
+        jdbcTemplate.update("delete from roles");
+    }
+
+    @Test
+    public void testRelaysCommittedMessagesInOrder() {
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxService.onTaskChange(new TaskChangeEvent(ChangeType.TASK_UPDATED, 1L, null, Set.of(1L, 2L)));
+            outboxService.onTaskChange(new TaskChangeEvent(ChangeType.COMMENT_CREATED, 1L, 1L, Set.of(1L, 2L)));
+            outboxService.onUserChange(new UserChangeEvent(ChangeType.USER_UPDATED, 2L));
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxService.onTaskChange(new TaskChangeEvent(ChangeType.TASK_UPDATED, 2L, null, Set.of(1L, 2L)));
+            status.setRollbackOnly();
+        });
+
+        outboxRelayService.relay();
+
+        assertEquals(List.of("TASK_UPDATED", "COMMENT_CREATED", "USER_UPDATED"), delivered.stream().map(OutboxEvent::eventType).toList());
+        assertEquals(List.of("task", "task", "user"), delivered.stream().map(OutboxEvent::aggregateType).toList());
+        assertTrue(delivered.get(0).id() < delivered.get(1).id() && delivered.get(1).id() < delivered.get(2).id());
+        assertTrue(delivered.get(0).payload().contains("\"title\":\"Task 1\""));
+        assertTrue(delivered.get(2).payload().contains("\"email\":\"user2@example.com\""));
+        assertFalse(delivered.get(2).payload().contains("password"));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from outbox_messages where published_at is null", Long.class));
+        assertEquals(3, meterRegistry.counter("outbox.published").count());
+
+        outboxRelayService.relay();
+        assertEquals(3, delivered.size());
+    }
+
+    @Test
+    public void testDeletionsCarryOnlyIds() {
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxService.onTaskChange(new TaskChangeEvent(ChangeType.COMMENT_DELETED, 1L, 5L, Set.of(1L)));
+            outboxService.onUserChange(new UserChangeEvent(ChangeType.USER_DELETED, 2L));
+        });
+
+        outboxRelayService.relay();
+
+        assertEquals("{\"taskId\":1,\"commentId\":5}", delivered.get(0).payload());
+        assertEquals("{\"userId\":2}", delivered.get(1).payload());
+    }
+
+    @Test
+    public void testFailedBatchIsRetried() {
+        transactionTemplate.executeWithoutResult(status ->
+                outboxService.onTaskChange(new TaskChangeEvent(ChangeType.TASK_UPDATED, 1L, null, Set.of(1L))));
+        failuresLeft = 1;
+
+        outboxRelayService.relay();
+
+        assertTrue(delivered.isEmpty());
+        assertEquals(1, meterRegistry.counter("outbox.failures").count());
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from outbox_messages where published_at is null", Long.class));
+        assertTrue(outboxRelayService.lagSeconds() >= 0);
+
+        outboxRelayService.relay();
+
+        assertEquals(1, delivered.size());
+        assertEquals(0, outboxRelayService.lagSeconds());
+    }
+
+    @Test
+    public void testHoldsBackAggregatesWithOlderPendingMessageOutsideBatch() {
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxService.onTaskChange(new TaskChangeEvent(ChangeType.TASK_UPDATED, 1L, null, Set.of(1L)));
+            outboxService.onTaskChange(new TaskChangeEvent(ChangeType.TASK_UPDATED, 2L, null, Set.of(1L)));
+            outboxService.onTaskChange(new TaskChangeEvent(ChangeType.COMMENT_CREATED, 1L, 1L, Set.of(1L)));
+        });
+        List<OutboxMessage> messages = outboxMessageRepository.findAll().stream()
+                .sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+                .toList();
+
+        // the first message is taken by another relay, its task's later message has to wait for it
+        List<OutboxMessage> publishable = outboxRelayService.publishable(messages.subList(1, 3));
+
+        assertEquals(List.of(messages.get(1).getId()), publishable.stream().map(OutboxMessage::getId).toList());
+        assertEquals(messages, outboxRelayService.publishable(messages));
+    }
+
+    @Test
+    public void testPrunesPublishedMessagesAfterRetention() {
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxService.onTaskChange(new TaskChangeEvent(ChangeType.TASK_UPDATED, 1L, null, Set.of(1L)));
+            outboxService.onTaskChange(new TaskChangeEvent(ChangeType.TASK_UPDATED, 2L, null, Set.of(1L)));
+        });
+        outboxRelayService.relay();
+        transactionTemplate.executeWithoutResult(status ->
+                outboxService.onTaskChange(new TaskChangeEvent(ChangeType.TASK_UPDATED, 1L, null, Set.of(1L))));
+        jdbcTemplate.update("update outbox_messages set published_at = ? where published_at is not null",
+                Timestamp.from(Instant.now().minus(Duration.ofDays(8))));
+
+        outboxRelayService.prunePublished();
+
+        assertEquals(1, outboxMessageRepository.count());
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from outbox_messages where published_at is null", Long.class));
+    }
+}
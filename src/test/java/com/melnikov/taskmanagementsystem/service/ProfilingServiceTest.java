@@ -0,0 +1,124 @@
+package com.melnikov.taskmanagementsystem.service;
+
+import com.melnikov.taskmanagementsystem.dto.RecordingDTO;
+import com.melnikov.taskmanagementsystem.exception.resource.ResourceNotFoundException;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProfilingServiceTest {
+
+    private ProfilingService profilingService;
+
+    @BeforeEach
+    public void setUp() {
+        profilingService = new ProfilingService();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        profilingService.closeRecordings();
+    }
+
+    @Test
+    public void testStartStopAndDumpRecording() throws Exception {
+        RecordingDTO started = profilingService.startRecording("default", Duration.ofMinutes(1));
+        assertEquals("RUNNING", started.getState());
+
+        RecordingDTO stopped = profilingService.stopRecording(started.getId());
+        assertEquals("STOPPED", stopped.getState());
+
+        Path file = profilingService.dumpRecording(started.getId());
+        try {
+            assertTrue(Files.size(file) > 0);
+            assertFalse(RecordingFile.readAllEvents(file).isEmpty());
+        }
+        finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testStartRecordingRejectsUnknownSettings() {
+        assertThrows(IllegalArgumentException.class, () -> profilingService.startRecording("everything", null));
+    }
+
+    @Test
+    public void testStartRecordingRejectsTooLongDuration() {
+        assertThrows(IllegalArgumentException.class, () -> profilingService.startRecording("default", Duration.ofHours(1)));
+    }
+
+    @Test
+    public void testStartRecordingRejectsTooManyRecordings() throws Exception {
+        ReflectionTestUtils.setField(profilingService, "maxRecordings", 1);
+        profilingService.startRecording("default", null);
+
+        assertThrows(IllegalArgumentException.class, () -> profilingService.startRecording("default", null));
+    }
+
+    @Test
+    public void testConcurrentStartsRespectMaxRecordings() throws Exception {
+        ReflectionTestUtils.setField(profilingService, "maxRecordings", 2);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return profilingService.startRecording("default", null);
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                }
+                catch (ExecutionException e) {
+                    assertInstanceOf(IllegalArgumentException.class, e.getCause());
+                }
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(2, profilingService.getRecordings().size());
+    }
+
+    @Test
+    public void testDeleteUnknownRecording() {
+        assertThrows(ResourceNotFoundException.class, () -> profilingService.deleteRecording(-1L));
+    }
+
+    @Test
+    public void testDumpContinuousRecording() throws Exception {
+        assertThrows(ResourceNotFoundException.class, () -> profilingService.dumpContinuousRecording());
+
+        ReflectionTestUtils.setField(profilingService, "continuousEnabled", true);
+        profilingService.startContinuousRecording();
+
+        Path file = profilingService.dumpContinuousRecording();
+        try {
+            assertTrue(Files.size(file) > 0);
+        }
+        finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
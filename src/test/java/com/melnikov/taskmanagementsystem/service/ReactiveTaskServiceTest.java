@@ -0,0 +1,150 @@
+package com.melnikov.taskmanagementsystem.service;
+
+import com.melnikov.taskmanagementsystem.dto.CommentDTO;
+import com.melnikov.taskmanagementsystem.dto.TaskDTO;
+import com.melnikov.taskmanagementsystem.exception.task.TaskNotFoundException;
+import com.melnikov.taskmanagementsystem.repository.TaskReadRepository;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:reactive;DB_CLOSE_DELAY=-1")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ReactiveTaskServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ReactiveTaskService reactiveTaskService;
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate.update("insert into roles (id, name) values (1, 'ROLE_USER')");
+        jdbcTemplate.update("insert into users (id, email, password, role_id) values (1, 'author@example.com', 'password', 1)");
+        jdbcTemplate.update("insert into users (id, email, password, role_id) values (2, 'assignee@example.com', 'password', 1)");
+        for (long id = 1; id <= 5; id++) {
+            jdbcTemplate.update("insert into tasks (id, title, description, status, priority, author_id, assignee_id, "
+                    + "comment_count, last_activity_at) values (?, ?, 'Description', 'PENDING', ?, 1, ?, 0, current_timestamp)",
+                    id, "Task " + id, id % 2 == 0 ? "HIGH" : "LOW", id <= 3 ? 2L : null);
+        }
+        jdbcTemplate.update("update tasks set deleted_at = current_timestamp where id = 5");
+        for (long id = 1; id <= 25; id++) {
+            jdbcTemplate.update("insert into comments (id, text, task_id, author_id) values (?, ?, 1, 2)", id, "Comment " + id);
+        }
+        jdbcTemplate.update("insert into archived_tasks (id, title, description, status, priority, author_id, comment_count, "
+                + "archived_at) values (100, 'Archived', 'Description', 'COMPLETED', 'LOW', 1, 1, current_timestamp)");
+        jdbcTemplate.update("insert into archived_comments (id, text, task_id, author_id) values (100, 'Old comment', 100, 1)");
+
+        TaskReadRepository taskReadRepository = new TaskReadRepository(
+                DatabaseClient.create(ConnectionFactories.get("r2dbc:h2:mem://sa@/reactive;DB_CLOSE_DELAY=-1")));
+        reactiveTaskService = new ReactiveTaskService(taskReadRepository);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("delete from archived_comments");
+        jdbcTemplate.update("delete from archived_tasks");
+        jdbcTemplate.update("delete from comments");
+        jdbcTemplate.update("delete from tasks");
+        jdbcTemplate.update("delete from users");
+        jdbcTemplate.update("delete from roles");
+    }
+
+    @Test
+    public void testGetAllTasksSkipsDeletedAndHonoursPageAndSort() {
+        List<Long> ids = reactiveTaskService.getAllTasks(PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "priority")))
+                .map(TaskDTO::getId)
+                .collectList()
+                .block();
+
+        // enums are stored as strings, so LOW sorts after HIGH exactly as in the JPA queries
+        assertEquals(List.of(1L, 3L, 2L), ids);
+    }
+
+    @Test
+    public void testGetAllTasksRejectsUnknownSortProperty() {
+        StepVerifier.create(reactiveTaskService.getAllTasks(PageRequest.of(0, 3, Sort.by("password"))))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    @Test
+    public void testGetTasksByAssigneeId() {
+        StepVerifier.create(reactiveTaskService.getTasksByAssigneeId(2L, PageRequest.of(0, 10)).map(TaskDTO::getId))
+                .expectNext(1L, 2L, 3L)
+                .verifyComplete();
+    }
+
+    @Test
+    public void testGetTaskByIdReturnsCommentWindow() {
+        TaskDTO task = reactiveTaskService.getTaskById(1L).block();
+
+        assertNotNull(task);
+        assertEquals("Task 1", task.getTitle());
+        assertEquals(2L, task.getAssigneeId());
+        assertNotNull(task.getLastActivityAt());
+        assertEquals(20, task.getComments().size());
+        assertEquals(25L, task.getComments().get(0).getId());
+        assertEquals(6L, task.getCommentsCursor());
+    }
+
+    @Test
+    public void testGetTaskByIdFallsBackToArchive() {
+        TaskDTO task = reactiveTaskService.getTaskById(100L).block();
+
+        assertNotNull(task);
+        assertTrue(task.isArchived());
+        assertEquals(1, task.getComments().size());
+        assertNull(task.getCommentsCursor());
+    }
+
+    @Test
+    public void testGetTaskByIdNotFound() {
+        StepVerifier.create(reactiveTaskService.getTaskById(5L))
+                .expectError(TaskNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    public void testGetCommentsByTaskIdStreamsWithBackpressure() {
+        StepVerifier.create(reactiveTaskService.getCommentsByTaskId(1L, 10L, 20).map(CommentDTO::getId), 2)
+                .expectNext(9L, 8L)
+                .thenRequest(7)
+                .expectNext(7L, 6L, 5L, 4L, 3L, 2L, 1L)
+                .verifyComplete();
+    }
+
+    @Test
+    public void testGetCommentsByTaskIdForArchivedTask() {
+        StepVerifier.create(reactiveTaskService.getCommentsByTaskId(100L, null, 20).map(CommentDTO::getText))
+                .expectNext("Old comment")
+                .verifyComplete();
+    }
+
+    @Test
+    public void testGetCommentsByTaskIdNotFound() {
+        StepVerifier.create(reactiveTaskService.getCommentsByTaskId(42L, null, 20))
+                .expectError(TaskNotFoundException.class)
+                .verify();
+    }
+}
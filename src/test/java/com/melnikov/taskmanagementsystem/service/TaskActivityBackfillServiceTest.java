@@ -0,0 +1,111 @@
+package com.melnikov.taskmanagementsystem.service;
+
+import com.melnikov.taskmanagementsystem.model.utils.JobTrigger;
+import com.melnikov.taskmanagementsystem.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+public class TaskActivityBackfillServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ClusterJobService clusterJobService = mock(ClusterJobService.class);
+
+    private TaskActivityBackfillService backfillService;
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate.update("insert into roles (id, name) values (1, 'ROLE_USER')");
+        jdbcTemplate.update("insert into users (id, email, password, role_id) values (1, 'user@example.com', 'password', 1)");
+        backfillService = new TaskActivityBackfillService(taskRepository, transactionManager, clusterJobService);
+        ReflectionTestUtils.setField(backfillService, "batchSize", 2);
+    }
+
+    @Test
+    public void testFillsLegacyTasksAndFixesDriftedCounts() {
+        Instant changedAt = Instant.now().minus(400, ChronoUnit.DAYS).truncatedTo(ChronoUnit.MILLIS);
+        Instant touchedAt = Instant.now().minus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.MILLIS);
+        insertTask(1, 0, null);
+        insertTask(2, 0, null);
+        insertTask(3, 0, touchedAt);
+        insertTask(4, 1, touchedAt);
+        jdbcTemplate.update("insert into comments (id, text, task_id, author_id) values (1, 'a', 1, 1), (2, 'b', 1, 1), (3, 'c', 3, 1), (4, 'd', 4, 1)");
+        jdbcTemplate.update("insert into task_changes (user_id, task_id, changed_at) values (1, 1, ?)", Timestamp.from(changedAt));
+        Instant before = Instant.now();
+
+        assertEquals(3, backfillService.backfill());
+
+        assertEquals(2, commentCount(1));
+        assertEquals(changedAt, lastActivityAt(1));
+        assertEquals(0, commentCount(2));
+        assertFalse(lastActivityAt(2).isBefore(before.truncatedTo(ChronoUnit.MILLIS)));
+        assertEquals(1, commentCount(3));
+        assertEquals(touchedAt, lastActivityAt(3));
+        assertEquals(0, backfillService.backfill());
+    }
+
+    @Test
+    public void testStartupBackfillIsOffByDefault() {
+        insertTask(1, 0, null);
+
+        backfillService.run(null);
+
+        verifyNoInteractions(clusterJobService);
+    }
+
+    @Test
+    public void testStartupBackfillRunsUnderClusterLockWhileActivityIsMissing() {
+        ReflectionTestUtils.setField(backfillService, "enabled", true);
+        when(clusterJobService.runExclusively(eq(TaskActivityBackfillService.BACKFILL_JOB), eq(JobTrigger.SCHEDULED), any()))
+                .thenAnswer(invocation -> {
+                    invocation.<Runnable>getArgument(2).run();
+                    return true;
+                });
+        insertTask(1, 0, null);
+
+        backfillService.run(null);
+        assertNotNull(lastActivityAt(1));
+
+        // once every task has its activity, later startups only check
+        backfillService.run(null);
+        verify(clusterJobService, times(1)).runExclusively(any(), any(), any());
+    }
+
+    private void insertTask(long id, int commentCount, Instant lastActivityAt) {
+        jdbcTemplate.update("insert into tasks (id, title, description, status, priority, author_id, comment_count, last_activity_at) "
+                + "values (?, 'Task', 'Description', 'COMPLETED', 'LOW', 1, ?, ?)",
+                id, commentCount, lastActivityAt != null ? Timestamp.from(lastActivityAt) : null);
+    }
+
+    private int commentCount(long id) {
+        return jdbcTemplate.queryForObject("select comment_count from tasks where id = ?", Integer.class, id);
+    }
+
+    private Instant lastActivityAt(long id) {
+        return jdbcTemplate.queryForObject("select last_activity_at from tasks where id = ?", Timestamp.class, id).toInstant();
+    }
+}
@@ -0,0 +1,86 @@
+package com.melnikov.taskmanagementsystem.service;
+
+import com.melnikov.taskmanagementsystem.repository.ArchivedCommentRepository;
+import com.melnikov.taskmanagementsystem.repository.ArchivedTaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskArchiveServiceTest {
+
+    @Mock
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Mock
+    private ArchivedCommentRepository archivedCommentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TaskArchiveService taskArchiveService;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        taskArchiveService = new TaskArchiveService(archivedTaskRepository, archivedCommentRepository, transactionManager, meterRegistry);
+    }
+
+    @Test
+    public void testArchiveBatchCopiesThenDeletes() {
+        List<Long> ids = List.of(1L, 2L);
+        when(archivedTaskRepository.findArchivableTaskIds(any(Instant.class), eq(200))).thenReturn(ids);
+        when(archivedTaskRepository.copyFromTasks(eq(ids), any(Instant.class), any(Instant.class))).thenReturn(2);
+        when(archivedCommentRepository.copyFromComments(ids)).thenReturn(5);
+        when(archivedCommentRepository.deleteFromComments(ids)).thenReturn(5);
+        when(archivedTaskRepository.deleteFromTasks(ids)).thenReturn(2);
+
+        assertEquals(2, taskArchiveService.archiveBatch(Instant.now()));
+
+        InOrder inOrder = inOrder(archivedTaskRepository, archivedCommentRepository);
+        inOrder.verify(archivedTaskRepository).copyFromTasks(eq(ids), any(Instant.class), any(Instant.class));
+        inOrder.verify(archivedCommentRepository).copyFromComments(ids);
+        inOrder.verify(archivedCommentRepository).deleteFromComments(ids);
+        inOrder.verify(archivedTaskRepository).deleteFromTasks(ids);
+        assertEquals(2, meterRegistry.get("tasks.archive.moved").tag("entity", "task").counter().count());
+        assertEquals(5, meterRegistry.get("tasks.archive.moved").tag("entity", "comment").counter().count());
+    }
+
+    @Test
+    public void testArchiveBatchFailsWhenCommentWasAddedMeanwhile() {
+        List<Long> ids = List.of(1L);
+        when(archivedTaskRepository.findArchivableTaskIds(any(Instant.class), eq(200))).thenReturn(ids);
+        when(archivedTaskRepository.copyFromTasks(eq(ids), any(Instant.class), any(Instant.class))).thenReturn(1);
+        when(archivedCommentRepository.copyFromComments(ids)).thenReturn(2);
+        when(archivedCommentRepository.deleteFromComments(ids)).thenReturn(2);
+        when(archivedTaskRepository.deleteFromTasks(ids)).thenReturn(0);
+
+        assertThrows(IllegalStateException.class, () -> taskArchiveService.archiveBatch(Instant.now()));
+
+        assertEquals(0, meterRegistry.get("tasks.archive.moved").tag("entity", "task").counter().count());
+    }
+
+    @Test
+    public void testArchiveStopsWhenNothingIsEligible() {
+        when(archivedTaskRepository.findArchivableTaskIds(any(Instant.class), eq(200))).thenReturn(List.of());
+
+        taskArchiveService.archiveCompletedTasks();
+
+        verify(archivedTaskRepository, times(1)).findArchivableTaskIds(any(Instant.class), eq(200));
+        verify(archivedTaskRepository, never()).copyFromTasks(any(), any(), any());
+    }
+}
@@ -0,0 +1,200 @@
+package com.melnikov.taskmanagementsystem.service;
+
+import com.melnikov.taskmanagementsystem.cache.InMemoryCacheInvalidationBus;
+import com.melnikov.taskmanagementsystem.dto.TaskEventDTO;
+import com.melnikov.taskmanagementsystem.event.TaskChangeEvent;
+import com.melnikov.taskmanagementsystem.model.utils.ChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskEventStreamServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private InMemoryCacheInvalidationBus cacheInvalidationBus;
+
+    private TaskEventStreamService taskEventStreamService;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cacheInvalidationBus = new InMemoryCacheInvalidationBus();
+        taskEventStreamService = new TaskEventStreamService(meterRegistry, cacheInvalidationBus);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        taskEventStreamService.destroy();
+    }
+
+    @Test
+    public void testEventsReachOnlyTaskParticipants() throws Exception {
+        RecordingEmitter author = subscribe(1L, null);
+        RecordingEmitter assignee = subscribe(2L, null);
+        RecordingEmitter bystander = subscribe(3L, null);
+
+        taskEventStreamService.onTaskChange(new TaskChangeEvent(ChangeType.TASK_UPDATED, 10L, null, Set.of(1L, 2L)));
+        taskEventStreamService.onTaskChange(new TaskChangeEvent(ChangeType.COMMENT_CREATED, 11L, 5L, Set.of(3L)));
+
+        await(() -> author.events.size() == 1 && assignee.events.size() == 1 && bystander.events.size() == 1);
+        assertEquals(ChangeType.TASK_UPDATED, author.events.get(0).getType());
+        assertEquals(10L, assignee.events.get(0).getTaskId());
+        assertEquals(5L, bystander.events.get(0).getCommentId());
+        assertEquals(3, taskEventStreamService.connectionCount());
+        assertEquals(2, meterRegistry.counter("tasks.events.published").count());
+    }
+
+    @Test
+    public void testReplaysEventsAfterLastEventId() throws Exception {
+        RecordingEmitter first = subscribe(1L, null);
+        for (long taskId = 1; taskId <= 3; taskId++) {
+            taskEventStreamService.onTaskChange(new TaskChangeEvent(ChangeType.TASK_CREATED, taskId, null, Set.of(1L)));
+        }
+        taskEventStreamService.onTaskChange(new TaskChangeEvent(ChangeType.TASK_CREATED, 4L, null, Set.of(2L)));
+        await(() -> first.events.size() == 3);
+
+        RecordingEmitter resumed = subscribe(1L, first.events.get(0).getId());
+
+        await(() -> resumed.events.size() == 2);
+        assertEquals(List.of(2L, 3L), resumed.events.stream().map(TaskEventDTO::getTaskId).toList());
+        assertTrue(resumed.resets.isEmpty());
+    }
+
+    @Test
+    public void testResetsWhenLastEventIdIsNoLongerBuffered() throws Exception {
+        ReflectionTestUtils.setField(taskEventStreamService, "replaySize", 2);
+        RecordingEmitter first = subscribe(1L, null);
+        for (long taskId = 1; taskId <= 3; taskId++) {
+            taskEventStreamService.onTaskChange(new TaskChangeEvent(ChangeType.TASK_CREATED, taskId, null, Set.of(1L)));
+        }
+        await(() -> first.events.size() == 3);
+
+        RecordingEmitter stale = subscribe(1L, first.events.get(0).getId() - 1);
+        RecordingEmitter unknown = subscribe(1L, 1L);
+
+        await(() -> stale.resets.size() == 1 && unknown.resets.size() == 1);
+        assertTrue(stale.events.isEmpty());
+        assertEquals(String.valueOf(first.events.get(2).getId()), stale.resets.get(0));
+    }
+
+    @Test
+    public void testReceivesChangesFromTheBus() throws Exception {
+        RecordingEmitter author = subscribe(1L, null);
+
+        cacheInvalidationBus.onTaskChange(new TaskChangeEvent(ChangeType.TASK_DELETED, 10L, null, Set.of(1L)));
+
+        await(() -> author.events.size() == 1);
+        assertEquals(ChangeType.TASK_DELETED, author.events.get(0).getType());
+    }
+
+    @Test
+    public void testResetsOpenStreamsWhenChangesWereMissed() throws Exception {
+        RecordingEmitter author = subscribe(1L, null);
+        RecordingEmitter assignee = subscribe(2L, null);
+        taskEventStreamService.onTaskChange(new TaskChangeEvent(ChangeType.TASK_UPDATED, 10L, null, Set.of(1L)));
+        await(() -> author.events.size() == 1);
+
+        taskEventStreamService.onChangesMissed();
+        RecordingEmitter resumed = subscribe(1L, author.events.get(0).getId());
+
+        await(() -> author.resets.size() == 1 && assignee.resets.size() == 1 && resumed.resets.size() == 1);
+        assertTrue(resumed.events.isEmpty());
+        assertEquals(3, taskEventStreamService.connectionCount());
+    }
+
+    @Test
+    public void testSlowConsumerIsDroppedWithoutBlockingPublisher() throws Exception {
+        RecordingEmitter fast = subscribe(2L, null);
+        ReflectionTestUtils.setField(taskEventStreamService, "bufferSize", 2);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = (RecordingEmitter) taskEventStreamService.subscribe(1L, null, new RecordingEmitter(release));
+
+        for (long taskId = 1; taskId <= 10; taskId++) {
+            taskEventStreamService.onTaskChange(new TaskChangeEvent(ChangeType.TASK_UPDATED, taskId, null, Set.of(1L, 2L)));
+        }
+
+        await(() -> fast.events.size() == 10);
+        assertEquals(1, taskEventStreamService.connectionCount());
+        assertEquals(1, meterRegistry.counter("tasks.events.dropped").count());
+        release.countDown();
+        await(() -> slow.completed);
+        assertTrue(slow.events.size() < 10);
+    }
+
+    private RecordingEmitter subscribe(Long userId, Long lastEventId) {
+        return (RecordingEmitter) taskEventStreamService.subscribe(userId, lastEventId, new RecordingEmitter(null));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Keeps what would have been written to the client; optionally blocks every send until released.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<TaskEventDTO> events = new CopyOnWriteArrayList<>();
+
+        private final List<String> resets = new CopyOnWriteArrayList<>();
+
+        private final CountDownLatch release;
+
+        private volatile boolean completed;
+
+        private RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            String lines = "";
+            for (DataWithMediaType data : builder.build()) {
+                if (data.getData() instanceof TaskEventDTO taskEventDTO) {
+                    assertEquals(MediaType.APPLICATION_JSON, data.getMediaType());
+                    events.add(taskEventDTO);
+                }
+                else {
+                    lines += data.getData();
+                }
+            }
+            if (lines.contains("event:" + TaskEventStreamService.RESET_EVENT)) {
+                resets.add(lines.substring(lines.indexOf("id:") + 3, lines.indexOf('\n', lines.indexOf("id:"))));
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+            super.complete();
+        }
+    }
+}
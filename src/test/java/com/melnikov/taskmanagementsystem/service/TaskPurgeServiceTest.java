@@ -0,0 +1,79 @@
+package com.melnikov.taskmanagementsystem.service;
+
+import com.melnikov.taskmanagementsystem.repository.CommentRepository;
+import com.melnikov.taskmanagementsystem.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskPurgeServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TaskPurgeService taskPurgeService;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        taskPurgeService = new TaskPurgeService(taskRepository, commentRepository, transactionManager, meterRegistry);
+    }
+
+    @Test
+    public void testPurgeDeletesCommentsInBatchesThenTask() {
+        when(taskRepository.findDeletedTaskIds(50)).thenReturn(List.of(1L));
+        when(commentRepository.deleteBatchByTaskId(1L, 1000)).thenReturn(1000, 1000, 10);
+        when(taskRepository.purgeDeleted(1L)).thenReturn(1);
+        when(taskRepository.findOldestDeletedAt()).thenReturn(Optional.empty());
+
+        taskPurgeService.purgeDeletedTasks();
+
+        verify(commentRepository, times(3)).deleteBatchByTaskId(1L, 1000);
+        verify(taskRepository).purgeDeleted(1L);
+        assertEquals(2010, meterRegistry.get("tasks.purge.deleted").tag("entity", "comment").counter().count());
+        assertEquals(1, meterRegistry.get("tasks.purge.deleted").tag("entity", "task").counter().count());
+        assertEquals(0, meterRegistry.get("tasks.purge.lag").gauge().value());
+    }
+
+    @Test
+    public void testPurgeLagReportsOldestPendingTombstone() {
+        when(taskRepository.findDeletedTaskIds(50)).thenReturn(List.of());
+        when(taskRepository.findOldestDeletedAt()).thenReturn(Optional.of(Instant.now().minusSeconds(120)));
+
+        taskPurgeService.purgeDeletedTasks();
+
+        assertTrue(meterRegistry.get("tasks.purge.lag").gauge().value() >= 120);
+        verifyNoInteractions(commentRepository);
+    }
+
+    @Test
+    public void testPurgeRetriesWhenTaskStillReferenced() {
+        when(commentRepository.deleteBatchByTaskId(1L, 1000)).thenReturn(0);
+        when(taskRepository.purgeDeleted(1L)).thenThrow(new DataIntegrityViolationException("fk"));
+
+        taskPurgeService.purgeTask(1L);
+
+        assertEquals(0, meterRegistry.get("tasks.purge.deleted").tag("entity", "task").counter().count());
+    }
+}
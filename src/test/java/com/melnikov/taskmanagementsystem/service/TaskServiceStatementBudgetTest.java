@@ -0,0 +1,109 @@
+package com.melnikov.taskmanagementsystem.service;
+
+import com.melnikov.taskmanagementsystem.config.SqlStatementCounter;
+import com.melnikov.taskmanagementsystem.config.DataSourceConfig;
+import com.melnikov.taskmanagementsystem.model.Comment;
+import com.melnikov.taskmanagementsystem.model.Role;
+import com.melnikov.taskmanagementsystem.model.Task;
+import com.melnikov.taskmanagementsystem.model.User;
+import com.melnikov.taskmanagementsystem.model.utils.Priority;
+import com.melnikov.taskmanagementsystem.model.utils.RoleName;
+import com.melnikov.taskmanagementsystem.model.utils.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({TaskService.class, DataSourceConfig.class})
+public class TaskServiceStatementBudgetTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private JobQueueService jobQueueService;
+
+    private final List<User> users = new ArrayList<>();
+
+    private Task firstTask;
+
+    @BeforeEach
+    public void setUp() {
+        Role role = new Role();
+        role.setName(RoleName.ROLE_USER);
+        entityManager.persist(role);
+
+        for (int i = 0; i < 10; i++) {
+            User user = new User();
+            user.setEmail("user" + i + "@example.com");
+            user.setPassword("password");
+            user.setRole(role);
+            users.add(entityManager.persist(user));
+        }
+
+        for (int i = 0; i < 60; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setDescription("Description");
+            task.setStatus(Status.PENDING);
+            task.setPriority(Priority.MEDIUM);
+            task.setAuthor(users.get(i % users.size()));
+            task.setAssignee(users.get((i + 1) % users.size()));
+            entityManager.persist(task);
+            if (firstTask == null) {
+                firstTask = task;
+            }
+        }
+
+        for (int i = 0; i < 30; i++) {
+            Comment comment = new Comment();
+            comment.setText("Comment " + i);
+            comment.setTask(firstTask);
+            comment.setAuthor(users.get(i % users.size()));
+            entityManager.persist(comment);
+        }
+
+        // start every measurement from an empty persistence context, as a request would
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void testGetAllTasksPageStaysWithinBudget() {
+        int statements = SqlStatementCounter.countStatements(
+                () -> assertEquals(50, taskService.getAllTasks(PageRequest.of(0, 50)).getNumberOfElements()));
+
+        assertTrue(statements > 0 && statements <= 3, "getAllTasks issued " + statements + " statements");
+    }
+
+    @Test
+    public void testGetTasksByAuthorPageStaysWithinBudget() {
+        int statements = SqlStatementCounter.countStatements(
+                () -> taskService.getTasksByAuthorId(users.get(0).getId(), PageRequest.of(0, 50)));
+
+        assertTrue(statements <= 3, "getTasksByAuthorId issued " + statements + " statements");
+    }
+
+    @Test
+    public void testGetTaskByIdStaysWithinBudget() {
+        int statements = SqlStatementCounter.countStatements(
+                () -> assertEquals(20, taskService.getTaskById(firstTask.getId()).getComments().size()));
+
+        assertTrue(statements <= 3, "getTaskById issued " + statements + " statements");
+    }
+}
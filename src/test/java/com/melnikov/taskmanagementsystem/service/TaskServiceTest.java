@@ -4,27 +4,41 @@ import com.melnikov.taskmanagementsystem.dto.TaskDTO;
 import com.melnikov.taskmanagementsystem.dto.create.CreateTaskDTO;
 import com.melnikov.taskmanagementsystem.exception.task.AssigneeNotFoundException;
 import com.melnikov.taskmanagementsystem.exception.task.AuthorNotFoundException;
+import com.melnikov.taskmanagementsystem.event.TaskChangeEvent;
 import com.melnikov.taskmanagementsystem.exception.task.TaskNotFoundException;
+import com.melnikov.taskmanagementsystem.model.ArchivedComment;
+import com.melnikov.taskmanagementsystem.model.ArchivedTask;
+import com.melnikov.taskmanagementsystem.model.Comment;
 import com.melnikov.taskmanagementsystem.model.Task;
 import com.melnikov.taskmanagementsystem.model.User;
+import com.melnikov.taskmanagementsystem.model.utils.ChangeType;
 import com.melnikov.taskmanagementsystem.model.utils.Priority;
 import com.melnikov.taskmanagementsystem.model.utils.Status;
+import com.melnikov.taskmanagementsystem.repository.ArchivedCommentRepository;
+import com.melnikov.taskmanagementsystem.repository.ArchivedTaskRepository;
+import com.melnikov.taskmanagementsystem.repository.CommentRepository;
 import com.melnikov.taskmanagementsystem.repository.TaskRepository;
 import com.melnikov.taskmanagementsystem.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -39,6 +53,21 @@ public class TaskServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Mock
+    private ArchivedCommentRepository archivedCommentRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private JobQueueService jobQueueService;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -105,6 +134,66 @@ public class TaskServiceTest {
         assertEquals("Test Task", foundTask.getTitle());
     }
 
+    @Test
+    public void testGetTaskByIdReturnsNewestCommentWindow() {
+        List<Comment> newestFirst = new ArrayList<>();
+        for (long id = 30; id >= 10; id--) {
+            Comment comment = new Comment();
+            comment.setId(id);
+            comment.setText("Comment " + id);
+            comment.setTask(task);
+            comment.setAuthor(author);
+            newestFirst.add(comment);
+        }
+        task.setCommentCount(30);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(commentRepository.findByTaskIdOrderByIdDesc(1L, Limit.of(21))).thenReturn(newestFirst);
+
+        TaskDTO foundTask = taskService.getTaskById(1L);
+        assertEquals(20, foundTask.getComments().size());
+        assertEquals(30L, foundTask.getComments().get(0).getId());
+        assertEquals(11L, foundTask.getCommentsCursor());
+        assertEquals(30, foundTask.getCommentCount());
+    }
+
+    @Test
+    public void testGetTaskByIdFallsBackToArchive() {
+        ArchivedTask archivedTask = new ArchivedTask();
+        archivedTask.setId(1L);
+        archivedTask.setTitle("Archived Task");
+        archivedTask.setDescription("This task was archived");
+        archivedTask.setStatus(Status.COMPLETED);
+        archivedTask.setPriority(Priority.LOW);
+        archivedTask.setAuthorId(1L);
+        archivedTask.setCommentCount(1);
+        ArchivedComment archivedComment = new ArchivedComment();
+        archivedComment.setId(5L);
+        archivedComment.setText("Archived comment");
+        archivedComment.setTaskId(1L);
+        archivedComment.setAuthorId(1L);
+        when(taskRepository.findById(1L)).thenReturn(Optional.empty());
+        when(archivedTaskRepository.findById(1L)).thenReturn(Optional.of(archivedTask));
+        when(archivedCommentRepository.findByTaskIdOrderByIdDesc(1L, Limit.of(21))).thenReturn(List.of(archivedComment));
+
+        TaskDTO foundTask = taskService.getTaskById(1L);
+        assertTrue(foundTask.isArchived());
+        assertEquals("Archived Task", foundTask.getTitle());
+        assertEquals("Archived comment", foundTask.getComments().get(0).getText());
+        assertNull(foundTask.getCommentsCursor());
+    }
+
+    @Test
+    public void testIsTaskAuthorOrAssigneeForArchivedTask() {
+        ArchivedTask archivedTask = new ArchivedTask();
+        archivedTask.setId(1L);
+        archivedTask.setAuthorId(1L);
+        when(taskRepository.findById(1L)).thenReturn(Optional.empty());
+        when(archivedTaskRepository.findById(1L)).thenReturn(Optional.of(archivedTask));
+        when(userRepository.findUserByEmail("author@example.com")).thenReturn(Optional.of(author));
+
+        assertTrue(taskService.isTaskAuthorOrAssignee(1L, "author@example.com"));
+    }
+
     @Test
     public void testGetTaskByIdNotFound() {
         when(taskRepository.findById(1L)).thenReturn(Optional.empty());
@@ -142,6 +231,8 @@ public class TaskServiceTest {
         TaskDTO updatedTask = taskService.updateTask(1L, taskDTO);
         assertNotNull(updatedTask);
         assertEquals("Test Task", updatedTask.getTitle());
+        // mutations return the summary, the comments are read through getTaskById
+        assertNull(updatedTask.getComments());
     }
 
     @Test
@@ -159,15 +250,51 @@ public class TaskServiceTest {
 
     @Test
     public void testDeleteTask() {
-        when(taskRepository.existsById(1L)).thenReturn(true);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
         taskService.deleteTask(1L);
         verify(taskRepository, times(1)).deleteById(1L);
+        verify(eventPublisher).publishEvent(new TaskChangeEvent(ChangeType.TASK_DELETED, 1L, null, Set.of(1L, 2L)));
     }
 
     @Test
     public void testDeleteTaskNotFound() {
-        when(taskRepository.existsById(1L)).thenReturn(false);
+        when(taskRepository.findById(1L)).thenReturn(Optional.empty());
         assertThrows(TaskNotFoundException.class, () -> taskService.deleteTask(1L));
+        verify(taskRepository, never()).deleteById(any());
+    }
+
+    @Test
+    public void testSoftDeleteTask() {
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.markDeleted(eq(1L), any(Instant.class))).thenReturn(1);
+        taskService.softDeleteTask(1L);
+        verify(taskRepository, never()).deleteById(any());
+        verify(eventPublisher).publishEvent(new TaskChangeEvent(ChangeType.TASK_DELETED, 1L, null, Set.of(1L, 2L)));
+        verify(jobQueueService).enqueue(TaskPurgeService.PURGE_TASK_JOB, 1L);
+    }
+
+    @Test
+    public void testSoftDeleteTaskNotFound() {
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.markDeleted(eq(1L), any(Instant.class))).thenReturn(0);
+        assertThrows(TaskNotFoundException.class, () -> taskService.softDeleteTask(1L));
+        verifyNoInteractions(eventPublisher, jobQueueService);
+    }
+
+    @Test
+    public void testUpdateTaskAssigneeNotifiesPreviousAssignee() {
+        User successor = new User();
+        successor.setId(3L);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(userRepository.findById(3L)).thenReturn(Optional.of(successor));
+        when(taskRepository.save(any(Task.class))).thenReturn(task);
+
+        taskService.updateTaskAssignee(1L, 3L);
+
+        ArgumentCaptor<TaskChangeEvent> event = ArgumentCaptor.forClass(TaskChangeEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(ChangeType.TASK_UPDATED, event.getValue().type());
+        assertEquals(Set.of(1L, 2L, 3L), event.getValue().userIds());
     }
 
     @Test
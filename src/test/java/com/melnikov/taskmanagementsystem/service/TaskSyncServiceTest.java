@@ -0,0 +1,155 @@
+package com.melnikov.taskmanagementsystem.service;
+
+import com.melnikov.taskmanagementsystem.dto.CommentDTO;
+import com.melnikov.taskmanagementsystem.dto.TaskChangesDTO;
+import com.melnikov.taskmanagementsystem.dto.TaskDTO;
+import com.melnikov.taskmanagementsystem.event.TaskChangeEvent;
+import com.melnikov.taskmanagementsystem.exception.task.SyncCursorExpiredException;
+import com.melnikov.taskmanagementsystem.model.utils.ChangeType;
+import com.melnikov.taskmanagementsystem.repository.CommentRepository;
+import com.melnikov.taskmanagementsystem.repository.TaskChangeRepository;
+import com.melnikov.taskmanagementsystem.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+public class TaskSyncServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskChangeRepository taskChangeRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private TaskSyncService taskSyncService;
+
+    private long head;
+
+    private Duration settleTime = Duration.ZERO;
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate.update("insert into roles (id, name) values (1, 'ROLE_USER')");
+        for (long id = 1; id <= 3; id++) {
+            jdbcTemplate.update("insert into users (id, email, password, role_id) values (?, ?, 'password', 1)", id, "user" + id + "@example.com");
+        }
+        for (long id = 1; id <= 3; id++) {
+            jdbcTemplate.update("insert into tasks (id, title, description, status, priority, author_id, assignee_id, "
+                    + "comment_count, last_activity_at) values (?, ?, 'Description', 'PENDING', 'LOW', 1, 2, 0, current_timestamp)",
+                    id, "Task " + id);
+        }
+        jdbcTemplate.update("insert into comments (id, text, task_id, author_id) values (1, 'Comment', 1, 2)");
+
+        taskSyncService = new TaskSyncService(taskChangeRepository, taskRepository, commentRepository, transactionManager,
+                () -> Instant.now().plusMillis(1).minus(settleTime));
+        head = taskSyncService.getChanges(1L, null, 100).getNextSince();
+    }
+
+    @Test
+    public void testReturnsCurrentStateOfChangedTasksAndComments() {
+        taskSyncService.recordChange(new TaskChangeEvent(ChangeType.TASK_CREATED, 1L, null, Set.of(1L, 2L)));
+        taskSyncService.recordChange(new TaskChangeEvent(ChangeType.TASK_UPDATED, 1L, null, Set.of(1L, 2L)));
+        taskSyncService.recordChange(new TaskChangeEvent(ChangeType.COMMENT_CREATED, 1L, 1L, Set.of(1L, 2L)));
+        taskSyncService.recordChange(new TaskChangeEvent(ChangeType.TASK_CREATED, 3L, null, Set.of(3L)));
+
+        TaskChangesDTO changes = taskSyncService.getChanges(2L, head, 100);
+
+        assertEquals(List.of(1L), changes.getTasks().stream().map(TaskDTO::getId).toList());
+        assertEquals(List.of(1L), changes.getComments().stream().map(CommentDTO::getId).toList());
+        assertTrue(changes.getDeletedTaskIds().isEmpty());
+        assertFalse(changes.isHasMore());
+        assertTrue(taskSyncService.getChanges(2L, changes.getNextSince(), 100).getTasks().isEmpty());
+    }
+
+    @Test
+    public void testDeletedAndReassignedTasksComeBackAsTombstones() {
+        taskSyncService.recordChange(new TaskChangeEvent(ChangeType.TASK_CREATED, 2L, null, Set.of(1L, 2L)));
+        taskSyncService.recordChange(new TaskChangeEvent(ChangeType.TASK_CREATED, 3L, null, Set.of(1L, 2L)));
+        taskSyncService.recordChange(new TaskChangeEvent(ChangeType.COMMENT_DELETED, 1L, 99L, Set.of(1L, 2L)));
+        jdbcTemplate.update("update tasks set deleted_at = current_timestamp where id = 2");
+        jdbcTemplate.update("update tasks set assignee_id = 3 where id = 3");
+
+        TaskChangesDTO changes = taskSyncService.getChanges(2L, head, 100);
+
+        assertTrue(changes.getTasks().isEmpty());
+        assertEquals(List.of(2L, 3L), changes.getDeletedTaskIds());
+        assertEquals(List.of(99L), changes.getDeletedCommentIds());
+        assertEquals(List.of(3L), taskSyncService.getChanges(1L, head, 100).getTasks().stream().map(TaskDTO::getId).toList());
+    }
+
+    @Test
+    public void testPagesBySequence() {
+        for (long taskId = 1; taskId <= 3; taskId++) {
+            taskSyncService.recordChange(new TaskChangeEvent(ChangeType.TASK_UPDATED, taskId, null, Set.of(1L)));
+        }
+
+        TaskChangesDTO first = taskSyncService.getChanges(1L, head, 2);
+        TaskChangesDTO second = taskSyncService.getChanges(1L, first.getNextSince(), 2);
+
+        assertEquals(List.of(1L, 2L), first.getTasks().stream().map(TaskDTO::getId).toList());
+        assertTrue(first.isHasMore());
+        assertEquals(List.of(3L), second.getTasks().stream().map(TaskDTO::getId).toList());
+        assertFalse(second.isHasMore());
+    }
+
+    @Test
+    public void testHoldsBackChangesThatMayNotBeSettled() {
+        taskSyncService.recordChange(new TaskChangeEvent(ChangeType.TASK_UPDATED, 1L, null, Set.of(1L)));
+        settleTime = Duration.ofMinutes(1);
+
+        TaskChangesDTO changes = taskSyncService.getChanges(1L, head, 100);
+
+        assertTrue(changes.getTasks().isEmpty());
+        assertEquals(head, changes.getNextSince());
+        assertEquals(head, taskSyncService.getChanges(1L, null, 100).getNextSince());
+    }
+
+    @Test
+    public void testPruneKeepsBoundaryAndRejectsOlderCursors() {
+        taskSyncService.recordChange(new TaskChangeEvent(ChangeType.TASK_UPDATED, 1L, null, Set.of(1L)));
+        taskSyncService.recordChange(new TaskChangeEvent(ChangeType.TASK_UPDATED, 2L, null, Set.of(1L)));
+        Long first = taskSyncService.getChanges(1L, head, 1).getNextSince();
+        jdbcTemplate.update("update task_changes set changed_at = ?", Timestamp.from(Instant.now().minus(Duration.ofDays(31))));
+        entityManager.clear();
+
+        taskSyncService.pruneChanges();
+
+        assertEquals(1, taskChangeRepository.count());
+        assertThrows(SyncCursorExpiredException.class, () -> taskSyncService.getChanges(1L, first - 1, 100));
+        TaskChangesDTO changes = taskSyncService.getChanges(1L, first, 100);
+        assertEquals(List.of(2L), changes.getTasks().stream().map(TaskDTO::getId).toList());
+    }
+
+    @Test
+    public void testRejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> taskSyncService.getChanges(1L, head, 0));
+        assertThrows(IllegalArgumentException.class, () -> taskSyncService.getChanges(1L, -1L, 10));
+    }
+}
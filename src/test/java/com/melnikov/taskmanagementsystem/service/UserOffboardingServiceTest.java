@@ -0,0 +1,266 @@
+package com.melnikov.taskmanagementsystem.service;
+
+import com.melnikov.taskmanagementsystem.dto.OffboardingJobDTO;
+import com.melnikov.taskmanagementsystem.event.TaskChangeEvent;
+import com.melnikov.taskmanagementsystem.event.UserChangeEvent;
+import com.melnikov.taskmanagementsystem.exception.resource.ResourceNotFoundException;
+import com.melnikov.taskmanagementsystem.exception.user.UserNotFoundException;
+import com.melnikov.taskmanagementsystem.model.Comment;
+import com.melnikov.taskmanagementsystem.model.OffboardingJob;
+import com.melnikov.taskmanagementsystem.model.Task;
+import com.melnikov.taskmanagementsystem.model.User;
+import com.melnikov.taskmanagementsystem.model.utils.ChangeType;
+import com.melnikov.taskmanagementsystem.model.utils.JobStatus;
+import com.melnikov.taskmanagementsystem.repository.CommentRepository;
+import com.melnikov.taskmanagementsystem.repository.OffboardingJobRepository;
+import com.melnikov.taskmanagementsystem.repository.TaskRepository;
+import com.melnikov.taskmanagementsystem.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserOffboardingServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private OffboardingJobRepository offboardingJobRepository;
+
+    @Mock
+    private JobQueueService jobQueueService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private UserOffboardingService userOffboardingService;
+
+    @BeforeEach
+    public void setUp() {
+        userOffboardingService = new UserOffboardingService(userRepository, taskRepository, commentRepository,
+                offboardingJobRepository, jobQueueService, transactionManager, eventPublisher);
+        ReflectionTestUtils.setField(userOffboardingService, "batchSize", 2);
+    }
+
+    @Test
+    public void testStartOffboardingPersistsAndQueuesJob() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.existsById(2L)).thenReturn(true);
+        when(offboardingJobRepository.save(any(OffboardingJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        OffboardingJobDTO job = userOffboardingService.startOffboarding(1L, 2L);
+
+        assertEquals(JobStatus.RUNNING, job.getStatus());
+        assertEquals(1L, job.getUserId());
+        assertEquals(2L, job.getSuccessorId());
+        assertNotNull(job.getStartedAt());
+        verify(jobQueueService).enqueue(UserOffboardingService.OFFBOARD_USER_JOB, job.getId());
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    public void testOffboardingMovesEverythingInBatches() {
+        OffboardingJob job = job(2L);
+        when(offboardingJobRepository.findById("job-1")).thenReturn(Optional.of(job));
+        when(offboardingJobRepository.finish(eq("job-1"), eq(JobStatus.COMPLETED), isNull(), any())).thenReturn(1);
+        when(taskRepository.lockIdsByAssigneeId(1L, 2)).thenReturn(List.of(10L, 11L), List.of(12L), List.of());
+        when(taskRepository.lockIdsByAuthorId(1L, 2)).thenReturn(List.of(13L), List.of());
+        when(commentRepository.lockIdsByAuthorId(1L, 2)).thenReturn(List.of(20L, 21L), List.of(22L, 23L), List.of());
+
+        userOffboardingService.handle("job-1");
+
+        verify(offboardingJobRepository).addProgress("job-1", 2, 0, 0);
+        verify(offboardingJobRepository).addProgress("job-1", 1, 0, 0);
+        verify(offboardingJobRepository).addProgress("job-1", 0, 1, 0);
+        verify(offboardingJobRepository, times(2)).addProgress("job-1", 0, 0, 2);
+        verify(taskRepository).reassign(List.of(10L, 11L), 2L);
+        verify(taskRepository).reassign(List.of(12L), 2L);
+        verify(taskRepository).reattribute(List.of(13L), 2L);
+        verify(taskRepository, times(3)).lockIdsByAssigneeId(1L, 2);
+        verify(commentRepository).reattribute(List.of(22L, 23L), 2L);
+        verify(userRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(new UserChangeEvent(ChangeType.USER_DELETED, 1L));
+    }
+
+    @Test
+    public void testOffboardingPublishesTaskChangesForBothUsers() {
+        User offboarded = user(1L);
+        User successor = user(2L);
+        User author = user(3L);
+        Task task = new Task();
+        task.setId(10L);
+        task.setAuthor(author);
+        task.setAssignee(successor);
+        when(offboardingJobRepository.findById("job-1")).thenReturn(Optional.of(job(2L)));
+        when(offboardingJobRepository.finish(eq("job-1"), eq(JobStatus.COMPLETED), isNull(), any())).thenReturn(1);
+        when(userRepository.getReferenceById(1L)).thenReturn(offboarded);
+        when(taskRepository.lockIdsByAssigneeId(1L, 2)).thenReturn(List.of(10L), List.of());
+        when(taskRepository.findByIdIn(List.of(10L))).thenReturn(List.of(task));
+
+        userOffboardingService.handle("job-1");
+
+        InOrder inOrder = inOrder(taskRepository, eventPublisher);
+        inOrder.verify(taskRepository).reassign(List.of(10L), 2L);
+        inOrder.verify(eventPublisher).publishEvent(new TaskChangeEvent(ChangeType.TASK_UPDATED, 10L, null, Set.of(1L, 2L, 3L)));
+    }
+
+    @Test
+    public void testOffboardingPublishesCommentChanges() {
+        Task task = new Task();
+        task.setId(10L);
+        task.setAuthor(user(3L));
+        Comment comment = new Comment();
+        comment.setId(20L);
+        comment.setTask(task);
+        when(offboardingJobRepository.findById("job-1")).thenReturn(Optional.of(job(2L)));
+        when(offboardingJobRepository.finish(eq("job-1"), eq(JobStatus.COMPLETED), isNull(), any())).thenReturn(1);
+        when(commentRepository.lockIdsByAuthorId(1L, 2)).thenReturn(List.of(20L), List.of());
+        when(commentRepository.findByIdIn(List.of(20L))).thenReturn(List.of(comment));
+
+        userOffboardingService.handle("job-1");
+
+        InOrder inOrder = inOrder(commentRepository, eventPublisher);
+        inOrder.verify(commentRepository).reattribute(List.of(20L), 2L);
+        inOrder.verify(eventPublisher).publishEvent(new TaskChangeEvent(ChangeType.COMMENT_UPDATED, 10L, 20L, Set.of(3L)));
+    }
+
+    @Test
+    public void testOffboardingMovesRowsCreatedDuringTheJob() {
+        when(offboardingJobRepository.findById("job-1")).thenReturn(Optional.of(job(2L)));
+        when(offboardingJobRepository.finish(eq("job-1"), eq(JobStatus.COMPLETED), isNull(), any())).thenReturn(1);
+        // the second lookups are the sweep, they find rows authored while the batches were running
+        when(taskRepository.lockIdsByAuthorId(1L, 2)).thenReturn(List.of(13L), List.of(14L), List.of());
+        when(commentRepository.lockIdsByAuthorId(1L, 2)).thenReturn(List.of(), List.of(20L, 21L), List.of());
+
+        userOffboardingService.handle("job-1");
+
+        InOrder inOrder = inOrder(userRepository, taskRepository, commentRepository, offboardingJobRepository);
+        inOrder.verify(userRepository).lockById(1L);
+        inOrder.verify(taskRepository).reattribute(List.of(14L), 2L);
+        inOrder.verify(commentRepository).reattribute(List.of(20L, 21L), 2L);
+        inOrder.verify(userRepository).deleteById(1L);
+        inOrder.verify(offboardingJobRepository).addProgress("job-1", 0, 1, 2);
+        inOrder.verify(offboardingJobRepository).finish(eq("job-1"), eq(JobStatus.COMPLETED), isNull(), any());
+    }
+
+    @Test
+    public void testOffboardingWithoutSuccessorUnassignsTasks() {
+        when(offboardingJobRepository.findById("job-1")).thenReturn(Optional.of(job(null)));
+        when(offboardingJobRepository.finish(eq("job-1"), eq(JobStatus.COMPLETED), isNull(), any())).thenReturn(1);
+        when(taskRepository.lockIdsByAssigneeId(1L, 2)).thenReturn(List.of(10L), List.of());
+
+        userOffboardingService.handle("job-1");
+
+        verify(offboardingJobRepository).addProgress("job-1", 1, 0, 0);
+        verify(taskRepository).reassign(List.of(10L), null);
+        verify(taskRepository, never()).lockIdsByAuthorId(any(), anyInt());
+        verify(userRepository).deleteById(1L);
+    }
+
+    @Test
+    public void testFinishedJobIsNotRunAgain() {
+        OffboardingJob job = job(2L);
+        job.setStatus(JobStatus.COMPLETED);
+        when(offboardingJobRepository.findById("job-1")).thenReturn(Optional.of(job));
+
+        userOffboardingService.handle("job-1");
+
+        verifyNoInteractions(taskRepository, commentRepository, userRepository);
+    }
+
+    @Test
+    public void testOffboardingFinishedByAnotherDeliveryIsRolledBack() {
+        when(offboardingJobRepository.findById("job-1")).thenReturn(Optional.of(job(2L)));
+        when(offboardingJobRepository.finish(eq("job-1"), eq(JobStatus.COMPLETED), isNull(), any())).thenReturn(0);
+
+        userOffboardingService.handle("job-1");
+
+        verify(transactionManager).rollback(any());
+        verify(offboardingJobRepository).finish(eq("job-1"), eq(JobStatus.FAILED), contains("no longer running"), any());
+    }
+
+    @Test
+    public void testOffboardingWithoutSuccessorRejectedForAuthor() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(taskRepository.existsByAuthorId(1L)).thenReturn(true);
+        assertThrows(IllegalArgumentException.class, () -> userOffboardingService.startOffboarding(1L, null));
+        verifyNoInteractions(jobQueueService);
+    }
+
+    @Test
+    public void testOffboardingUserNotFound() {
+        when(userRepository.existsById(1L)).thenReturn(false);
+        assertThrows(UserNotFoundException.class, () -> userOffboardingService.startOffboarding(1L, 2L));
+    }
+
+    @Test
+    public void testOffboardingFailureIsReported() {
+        when(offboardingJobRepository.findById("job-1")).thenReturn(Optional.of(job(2L)));
+        doThrow(new DataIntegrityViolationException("fk")).when(userRepository).deleteById(1L);
+
+        userOffboardingService.handle("job-1");
+
+        verify(offboardingJobRepository).finish(eq("job-1"), eq(JobStatus.FAILED), eq("fk"), any(Instant.class));
+    }
+
+    @Test
+    public void testGetJob() {
+        OffboardingJob job = job(2L);
+        job.setAssignedTasksMoved(3);
+        when(offboardingJobRepository.findById("job-1")).thenReturn(Optional.of(job));
+
+        OffboardingJobDTO dto = userOffboardingService.getJob("job-1");
+
+        assertEquals("job-1", dto.getId());
+        assertEquals(JobStatus.RUNNING, dto.getStatus());
+        assertEquals(3, dto.getAssignedTasksMoved());
+    }
+
+    @Test
+    public void testGetJobNotFound() {
+        when(offboardingJobRepository.findById("missing")).thenReturn(Optional.empty());
+        assertThrows(ResourceNotFoundException.class, () -> userOffboardingService.getJob("missing"));
+    }
+
+    private static OffboardingJob job(Long successorId) {
+        OffboardingJob job = new OffboardingJob();
+        job.setId("job-1");
+        job.setUserId(1L);
+        job.setSuccessorId(successorId);
+        job.setStatus(JobStatus.RUNNING);
+        job.setStartedAt(Instant.now());
+        return job;
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+}
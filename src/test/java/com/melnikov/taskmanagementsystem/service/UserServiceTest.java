@@ -2,10 +2,12 @@ package com.melnikov.taskmanagementsystem.service;
 
 import com.melnikov.taskmanagementsystem.dto.UserDTO;
 import com.melnikov.taskmanagementsystem.dto.create.CreateUserDTO;
+import com.melnikov.taskmanagementsystem.event.UserChangeEvent;
 import com.melnikov.taskmanagementsystem.exception.user.RoleNotFoundException;
 import com.melnikov.taskmanagementsystem.exception.user.UserNotFoundException;
 import com.melnikov.taskmanagementsystem.model.Role;
 import com.melnikov.taskmanagementsystem.model.User;
+import com.melnikov.taskmanagementsystem.model.utils.ChangeType;
 import com.melnikov.taskmanagementsystem.model.utils.RoleName;
 import com.melnikov.taskmanagementsystem.repository.RoleRepository;
 import com.melnikov.taskmanagementsystem.repository.UserRepository;
@@ -15,6 +17,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -42,6 +45,9 @@ public class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserService userService;
 
@@ -109,6 +115,7 @@ public class UserServiceTest {
         UserDTO createdUser = userService.createUser(createUserDTO);
         assertNotNull(createdUser);
         assertEquals("user@example.com", createdUser.getEmail());
+        verify(eventPublisher).publishEvent(new UserChangeEvent(ChangeType.USER_CREATED, 1L));
     }
 
     @Test
@@ -126,6 +133,7 @@ public class UserServiceTest {
         UserDTO updatedUser = userService.updateUser(1L, userDTO);
         assertNotNull(updatedUser);
         assertEquals("user@example.com", updatedUser.getEmail());
+        verify(eventPublisher).publishEvent(new UserChangeEvent(ChangeType.USER_UPDATED, 1L));
     }
 
     @Test
@@ -146,12 +154,14 @@ public class UserServiceTest {
         when(userRepository.existsById(1L)).thenReturn(true);
         userService.deleteUser(1L);
         verify(userRepository, times(1)).deleteById(1L);
+        verify(eventPublisher).publishEvent(new UserChangeEvent(ChangeType.USER_DELETED, 1L));
     }
 
     @Test
     public void testDeleteUserNotFound() {
         when(userRepository.existsById(1L)).thenReturn(false);
         assertThrows(UserNotFoundException.class, () -> userService.deleteUser(1L));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
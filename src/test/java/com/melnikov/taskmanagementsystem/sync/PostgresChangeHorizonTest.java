@@ -0,0 +1,30 @@
+package com.melnikov.taskmanagementsystem.sync;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PostgresChangeHorizonTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testStopsBeforeOldestOpenWriterMinusClockSkew() {
+        Instant oldestWriter = Instant.parse("2026-01-01T10:00:00Z");
+        when(jdbcTemplate.queryForObject(contains("pg_stat_activity"), eq(Timestamp.class))).thenReturn(Timestamp.from(oldestWriter));
+
+        assertEquals(oldestWriter.minusSeconds(1), new PostgresChangeHorizon(jdbcTemplate).settledBefore());
+    }
+}
@@ -0,0 +1,47 @@
+package com.melnikov.taskmanagementsystem.sync;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SettleTimeChangeHorizonTest {
+
+    private final SettleTimeChangeHorizon horizon = new SettleTimeChangeHorizon();
+
+    @Test
+    public void testTrailsNowBySettleTime() {
+        horizon.afterPropertiesSet();
+
+        Instant settledBefore = horizon.settledBefore();
+
+        assertTrue(settledBefore.isBefore(Instant.now().minusSeconds(14)));
+        assertTrue(settledBefore.isAfter(Instant.now().minusSeconds(16)));
+    }
+
+    @Test
+    public void testRejectsSettleTimeWithinDefaultDeadline() {
+        ReflectionTestUtils.setField(horizon, "settleTime", Duration.ofSeconds(5));
+
+        assertThrows(IllegalArgumentException.class, horizon::afterPropertiesSet);
+    }
+
+    @Test
+    public void testRejectsSettleTimeWithinLongestPathDeadline() {
+        ReflectionTestUtils.setField(horizon, "pathTimeouts", List.of("/auth/**=PT5S", "/api/admin/**=PT1M"));
+
+        assertThrows(IllegalArgumentException.class, horizon::afterPropertiesSet);
+    }
+
+    @Test
+    public void testAcceptsAnySettleTimeWithoutDeadlines() {
+        ReflectionTestUtils.setField(horizon, "settleTime", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(horizon, "deadlinesEnabled", false);
+
+        assertDoesNotThrow(horizon::afterPropertiesSet);
+    }
+}